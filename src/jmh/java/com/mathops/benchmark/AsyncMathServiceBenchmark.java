@@ -0,0 +1,121 @@
+package com.mathops.benchmark;
+
+import com.mathops.operations.MathOperation;
+import com.mathops.service.AsyncMathService;
+import com.mathops.service.Instrumentation;
+import com.mathops.service.MathService;
+import com.mathops.service.ResultCallback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Four threads each compute {@code window} values of {@code sin}: directly
+ * through {@link MathService}, or by submitting them all to a shared
+ * {@link AsyncMathService} and waiting for the futures or callbacks. With one
+ * request per window the async score is the round trip through the
+ * dispatcher; with larger windows the dispatcher sees requests from every
+ * thread at once and evaluates them in batches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AsyncMathServiceBenchmark {
+    
+    @Param({"1", "64"})
+    public int window;
+    
+    private MathService direct;
+    private AsyncMathService async;
+    
+    @Setup
+    public void setUp() {
+        direct = new MathService(Instrumentation.disabled());
+        async = new AsyncMathService();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        async.close();
+    }
+    
+    @State(Scope.Thread)
+    public static class Requests implements ResultCallback {
+        
+        double[] angles;
+        double[] results;
+        CompletableFuture<?>[] futures;
+        final AtomicInteger remaining = new AtomicInteger();
+        
+        @Setup
+        public void setUp(AsyncMathServiceBenchmark benchmark) {
+            SplittableRandom random = new SplittableRandom();
+            angles = new double[benchmark.window];
+            results = new double[benchmark.window];
+            futures = new CompletableFuture<?>[benchmark.window];
+            for (int i = 0; i < angles.length; i++) {
+                angles[i] = random.nextDouble(-Math.PI, Math.PI);
+            }
+        }
+        
+        @Override
+        public void onResult(double result) {
+            results[remaining.decrementAndGet()] = result;
+        }
+        
+        @Override
+        public void onError(Throwable error) {
+            remaining.decrementAndGet();
+        }
+    }
+    
+    @Benchmark
+    public double[] direct(Requests requests) {
+        for (int i = 0; i < window; i++) {
+            requests.results[i] = direct.sin(requests.angles[i]);
+        }
+        return requests.results;
+    }
+    
+    @Benchmark
+    public CompletableFuture<?>[] futures(Requests requests) {
+        for (int i = 0; i < window; i++) {
+            requests.futures[i] = async.submit(MathOperation.SIN, requests.angles[i]);
+        }
+        for (int i = 0; i < window; i++) {
+            requests.futures[i].join();
+        }
+        return requests.futures;
+    }
+    
+    @Benchmark
+    public double[] callbacks(Requests requests) {
+        requests.remaining.set(window);
+        for (int i = 0; i < window; i++) {
+            async.submit(MathOperation.SIN, requests.angles[i], requests);
+        }
+        while (requests.remaining.get() > 0) {
+            Thread.yield();
+        }
+        return requests.results;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.mathops.benchmark;
+
+import com.mathops.operations.BigDecimalMathOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link BigDecimalMathOperations} call per operation at {@code digits}
+ * significant digits, with {@link BigDecimal#sqrt} as the JDK's own reference
+ * point, and a textbook logarithm, {@code 2 atanh((x - 1)/(x + 1))} summed with
+ * rounded {@code BigDecimal} divisions, to show what the fixed-point kernels
+ * and the double starting point save.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BigDecimalMathBenchmark {
+    
+    @Param({"34", "50", "100"})
+    private int digits;
+    
+    private BigDecimalMathOperations ops;
+    private MathContext mathContext;
+    private BigDecimal x;
+    
+    @Setup
+    public void setUp() {
+        mathContext = new MathContext(digits);
+        ops = new BigDecimalMathOperations(mathContext);
+        x = new BigDecimal("123.456789");
+    }
+    
+    @Benchmark
+    public BigDecimal squareRoot() {
+        return ops.squareRoot(x);
+    }
+    
+    @Benchmark
+    public BigDecimal naturalLog() {
+        return ops.naturalLog(x);
+    }
+    
+    @Benchmark
+    public BigDecimal naturalLogSeries() {
+        MathContext working = new MathContext(digits + 10);
+        BigDecimal u = x.subtract(BigDecimal.ONE).divide(x.add(BigDecimal.ONE), working);
+        BigDecimal uSquare = u.multiply(u, working);
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(working.getPrecision());
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal power = u;
+        for (int n = 1; power.compareTo(threshold) > 0; n += 2) {
+            sum = sum.add(power.divide(BigDecimal.valueOf(n), working), working);
+            power = power.multiply(uSquare, working);
+        }
+        return sum.multiply(BigDecimal.valueOf(2)).round(mathContext);
+    }
+    
+    @Benchmark
+    public BigDecimal exp() {
+        return ops.exp(x);
+    }
+    
+    @Benchmark
+    public BigDecimal power() {
+        return ops.power(x, new BigDecimal("2.5"));
+    }
+    
+    @Benchmark
+    public BigDecimal sin() {
+        return ops.sin(x);
+    }
+    
+    @Benchmark
+    public BigDecimal atan() {
+        return ops.atan(x);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.mathops.benchmark;
+
+import com.mathops.service.CachingMathService;
+import com.mathops.service.Instrumentation;
+import com.mathops.service.MathService;
+import com.mathops.operations.MathOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CachingMathService#power} against the uncached service for a
+ * working set that fits in the cache (mostly hits) and one that does not
+ * (mostly misses), single-threaded and contended.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CachingMathServiceBenchmark {
+    
+    @Param({"256", "1000000"})
+    public int distinctArguments;
+    
+    private MathService uncached;
+    private CachingMathService cached;
+    private double[] arguments;
+    
+    @Setup
+    public void setUp() {
+        uncached = new MathService(Instrumentation.disabled());
+        Map<MathOperation, Integer> capacities = new EnumMap<>(MathOperation.class);
+        capacities.put(MathOperation.POWER, 4096);
+        cached = new CachingMathService(Instrumentation.disabled(), capacities);
+        arguments = new double[1 << 16];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = 1.0 + (i * 7919L % distinctArguments) * 1e-3;
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+        
+        int next() {
+            index = (index + 1) & 0xFFFF;
+            return index;
+        }
+    }
+    
+    @Benchmark
+    public double uncached(Cursor cursor) {
+        return uncached.power(arguments[cursor.next()], 2.5);
+    }
+    
+    @Benchmark
+    public double cached(Cursor cursor) {
+        return cached.power(arguments[cursor.next()], 2.5);
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public double cachedContended(Cursor cursor) {
+        return cached.power(arguments[cursor.next()], 2.5);
+    }
+}
\ No newline at end of file
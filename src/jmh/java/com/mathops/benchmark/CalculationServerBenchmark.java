@@ -0,0 +1,115 @@
+package com.mathops.benchmark;
+
+import com.mathops.service.Instrumentation;
+import com.mathops.service.ParallelMathService;
+import com.mathops.operations.TrigonometricPrecision;
+import com.mathops.web.CalculationServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for {@link CalculationServer}: starts the server on a free local
+ * port and drives it from 16 client threads over keep-alive connections.
+ * Scores are requests per second. Use {@code -t} to change the number of
+ * clients and {@code -p workers=..} to size the server pool.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class CalculationServerBenchmark {
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    @Param({"0"})
+    public int workers;
+    
+    private CalculationServer server;
+    private URL single;
+    private URL batch;
+    private byte[] batchBody;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        server = new CalculationServer(
+                new ParallelMathService(Instrumentation.disabled(), TrigonometricPrecision.STANDARD,
+                        ForkJoinPool.commonPool(), ParallelMathService.DEFAULT_THRESHOLD),
+                new InetSocketAddress("localhost", 0), threads, CalculationServer.DEFAULT_QUEUE_CAPACITY);
+        server.start();
+        String base = "http://localhost:" + server.getPort();
+        single = new URL(base + "/api/power?a=2.5&b=3.25");
+        batch = new URL(base + "/api/batch");
+        StringBuilder body = new StringBuilder("{\"operation\":\"sin\",\"a\":[");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            body.append(i == 0 ? "" : ",").append(i * 0.001);
+        }
+        batchBody = body.append("]}").toString().getBytes(StandardCharsets.US_ASCII);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+    
+    @Benchmark
+    public int single() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) single.openConnection();
+        return readFully(connection);
+    }
+    
+    @Benchmark
+    public int batch() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) batch.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(batchBody.length);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(batchBody);
+        }
+        return readFully(connection);
+    }
+    
+    /**
+     * Reads and closes the response so that the connection returns to the keep-alive cache
+     */
+    private int readFully(HttpURLConnection connection) throws IOException {
+        int status = connection.getResponseCode();
+        int total = 0;
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            byte[] buffer = new byte[8192];
+            for (int read; (read = in.read(buffer)) >= 0; ) {
+                total += read;
+            }
+        }
+        if (status != 200) {
+            throw new IllegalStateException("HTTP " + status);
+        }
+        return total;
+    }
+}
\ No newline at end of file
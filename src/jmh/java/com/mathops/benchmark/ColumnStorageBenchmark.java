@@ -0,0 +1,150 @@
+package com.mathops.benchmark;
+
+import com.mathops.storage.ColumnReader;
+import com.mathops.storage.ColumnWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and scans a column of doubles as a column file and, for comparison, as
+ * CSV text with one value per line. The column scans sum every value straight
+ * from the mapped chunks, with and without checksum verification. Files live in
+ * the temporary directory and stay in the page cache, so this measures the
+ * format rather than the disk; throughput is {@code size * 8 / score} bytes per
+ * nanosecond, i.e. GB/s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ColumnStorageBenchmark {
+    
+    @Param({"8388608"})
+    private int size;
+    
+    private double[] values;
+    private Path columnFile;
+    private Path csvFile;
+    private Path scratch;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(1);
+        values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextDouble(-1e6, 1e6);
+        }
+        columnFile = Files.createTempFile("column", ".bin");
+        csvFile = Files.createTempFile("column", ".csv");
+        scratch = Files.createTempFile("scratch", ".bin");
+        writeColumn(columnFile);
+        writeCsv(csvFile);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(columnFile);
+        Files.deleteIfExists(csvFile);
+        Files.deleteIfExists(scratch);
+    }
+    
+    private void writeColumn(Path file) throws IOException {
+        try (ColumnWriter writer = ColumnWriter.create(file)) {
+            writer.write(values);
+        }
+    }
+    
+    private void writeCsv(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (double value : values) {
+                writer.write(Double.toString(value));
+                writer.newLine();
+            }
+        }
+    }
+    
+    private double scanColumn(boolean verify) throws IOException {
+        double[] sum = new double[1];
+        try (ColumnReader reader = ColumnReader.open(columnFile, verify)) {
+            reader.forEachChunk((first, chunk) -> sum[0] += sum(chunk));
+        }
+        return sum[0];
+    }
+    
+    @Benchmark
+    public long writeColumn() throws IOException {
+        writeColumn(scratch);
+        return Files.size(scratch);
+    }
+    
+    @Benchmark
+    public long writeCsv() throws IOException {
+        writeCsv(scratch);
+        return Files.size(scratch);
+    }
+    
+    @Benchmark
+    public double scanColumn() throws IOException {
+        return scanColumn(false);
+    }
+    
+    @Benchmark
+    public double scanColumnVerified() throws IOException {
+        return scanColumn(true);
+    }
+    
+    @Benchmark
+    public double scanCsv() throws IOException {
+        double sum = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csvFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sum += Double.parseDouble(line);
+            }
+        }
+        return sum;
+    }
+    
+    /**
+     * Copies a whole column chunk by chunk, mapped buffer to direct buffer
+     * @return values copied
+     */
+    @Benchmark
+    public long copyColumn() throws IOException {
+        try (ColumnReader reader = ColumnReader.open(columnFile, false);
+             ColumnWriter writer = ColumnWriter.create(scratch)) {
+            reader.forEachChunk((first, chunk) -> writer.write(chunk));
+            return writer.getValueCount();
+        }
+    }
+    
+    private static double sum(DoubleBuffer chunk) {
+        double s = 0;
+        for (int i = 0, n = chunk.remaining(); i < n; i++) {
+            s += chunk.get(i);
+        }
+        return s;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.mathops.benchmark;
+
+import com.mathops.operations.Complex;
+import com.mathops.operations.ComplexMathOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Complex arithmetic over {@code size} elements held as split real and
+ * imaginary arrays, processed by {@link ComplexMathOperations}, against the
+ * same data held as one {@link Complex} object per element, where every result
+ * is a new object. Run with {@code -prof gc} to see the allocation rate of the
+ * object baseline; the split-array kernels should show none.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplexBenchmark {
+    
+    @Param({"1024", "65536"})
+    private int size;
+    
+    private final ComplexMathOperations complexOps = new ComplexMathOperations();
+    
+    private double[] aRe;
+    private double[] aIm;
+    private double[] bRe;
+    private double[] bIm;
+    private double[] outRe;
+    private double[] outIm;
+    private Complex[] a;
+    private Complex[] b;
+    private Complex[] out;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        aRe = new double[size];
+        aIm = new double[size];
+        bRe = new double[size];
+        bIm = new double[size];
+        outRe = new double[size];
+        outIm = new double[size];
+        a = new Complex[size];
+        b = new Complex[size];
+        out = new Complex[size];
+        for (int i = 0; i < size; i++) {
+            aRe[i] = random.nextDouble(-10, 10);
+            aIm[i] = random.nextDouble(-10, 10);
+            bRe[i] = random.nextDouble(-10, 10);
+            bIm[i] = random.nextDouble(-10, 10);
+            a[i] = Complex.of(aRe[i], aIm[i]);
+            b[i] = Complex.of(bRe[i], bIm[i]);
+        }
+    }
+    
+    @Benchmark
+    public double[] multiplySplit() {
+        complexOps.multiply(aRe, aIm, bRe, bIm, outRe, outIm);
+        return outRe;
+    }
+    
+    @Benchmark
+    public Complex[] multiplyObjects() {
+        for (int i = 0; i < size; i++) {
+            out[i] = a[i].multiply(b[i]);
+        }
+        return out;
+    }
+    
+    @Benchmark
+    public double[] divideSplit() {
+        complexOps.divide(aRe, aIm, bRe, bIm, outRe, outIm);
+        return outRe;
+    }
+    
+    @Benchmark
+    public Complex[] divideObjects() {
+        for (int i = 0; i < size; i++) {
+            out[i] = a[i].divide(b[i]);
+        }
+        return out;
+    }
+    
+    @Benchmark
+    public double[] absoluteSplit() {
+        complexOps.absolute(aRe, aIm, outRe);
+        return outRe;
+    }
+    
+    @Benchmark
+    public double[] absoluteObjects() {
+        for (int i = 0; i < size; i++) {
+            outRe[i] = a[i].abs();
+        }
+        return outRe;
+    }
+    
+    @Benchmark
+    public double[] expSplit() {
+        complexOps.exp(aRe, aIm, outRe, outIm);
+        return outRe;
+    }
+    
+    @Benchmark
+    public Complex[] expObjects() {
+        for (int i = 0; i < size; i++) {
+            out[i] = a[i].exp();
+        }
+        return out;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.mathops.benchmark;
+
+import ch.qos.logback.core.OutputStreamAppender;
+
+import java.io.OutputStream;
+
+/**
+ * Logback appender that encodes events and writes them to a null stream
+ */
+public class DiscardingAppender<E> extends OutputStreamAppender<E> {
+    
+    @Override
+    public void start() {
+        setOutputStream(OutputStream.nullOutputStream());
+        super.start();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.mathops.benchmark;
+
+import com.mathops.expr.Expression;
+import com.mathops.expr.ExpressionCompiler;
+import com.mathops.operations.AdvancedMathOperations;
+import com.mathops.operations.TrigonometricOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a compiled expression with the same formula written by hand
+ * against the operations classes, and measures cached compilation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExpressionBenchmark {
+    
+    private static final String SOURCE = "sqrt(x^2 + y^2) * sin(theta)";
+    
+    private final AdvancedMathOperations advancedOps = new AdvancedMathOperations();
+    private final TrigonometricOperations trigOps = new TrigonometricOperations();
+    private final ExpressionCompiler compiler = new ExpressionCompiler();
+    private Expression expression;
+    private double[] values;
+    
+    @Setup
+    public void setUp() {
+        expression = compiler.compile(SOURCE);
+        values = new double[] {3.0, 4.0, 0.5};
+    }
+    
+    @Benchmark
+    public double handWritten() {
+        double x = values[0];
+        double y = values[1];
+        return advancedOps.squareRoot(x * x + y * y) * trigOps.sin(values[2]);
+    }
+    
+    @Benchmark
+    public double compiled() {
+        return expression.evaluate(values);
+    }
+    
+    @Benchmark
+    public double compileCachedAndEvaluate() {
+        return compiler.compile(SOURCE).evaluate(values);
+    }
+    
+    @Benchmark
+    public Expression parseUncached() {
+        return Expression.compile(SOURCE);
+    }
+}
\ No newline at end of file
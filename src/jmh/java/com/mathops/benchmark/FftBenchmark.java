@@ -0,0 +1,86 @@
+package com.mathops.benchmark;
+
+import com.mathops.fft.FastFourierTransform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forward transforms of random data: complex, real-input and, from
+ * {@link FastFourierTransform#PARALLEL_THRESHOLD} points, complex on the common
+ * pool. Sizes that are not powers of two show the cost of Bluestein's algorithm.
+ * The complex transforms work in place, so each call first copies the input
+ * into the working arrays; {@link NaiveDftBenchmark} is the O(n^2) baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FftBenchmark {
+    
+    @Param({"1024", "1000", "65536", "1048576"})
+    private int size;
+    
+    private FastFourierTransform transform;
+    private double[] sourceRe;
+    private double[] sourceIm;
+    private double[] re;
+    private double[] im;
+    private double[] in;
+    private double[] outRe;
+    private double[] outIm;
+    
+    @Setup
+    public void setUp() {
+        transform = FastFourierTransform.of(size);
+        SplittableRandom random = new SplittableRandom(1);
+        sourceRe = new double[size];
+        sourceIm = new double[size];
+        re = new double[size];
+        im = new double[size];
+        in = new double[size];
+        for (int i = 0; i < size; i++) {
+            sourceRe[i] = random.nextDouble(-1, 1);
+            sourceIm[i] = random.nextDouble(-1, 1);
+            in[i] = random.nextDouble(-1, 1);
+        }
+        outRe = new double[size / 2 + 1];
+        outIm = new double[size / 2 + 1];
+    }
+    
+    @Benchmark
+    public double[] complex() {
+        System.arraycopy(sourceRe, 0, re, 0, size);
+        System.arraycopy(sourceIm, 0, im, 0, size);
+        transform.forward(re, im);
+        return re;
+    }
+    
+    @Benchmark
+    public double[] complexParallel() {
+        System.arraycopy(sourceRe, 0, re, 0, size);
+        System.arraycopy(sourceIm, 0, im, 0, size);
+        transform.forward(re, im, ForkJoinPool.commonPool());
+        return re;
+    }
+    
+    @Benchmark
+    public double[] real() {
+        transform.forwardReal(in, outRe, outIm);
+        return outRe;
+    }
+}
\ No newline at end of file
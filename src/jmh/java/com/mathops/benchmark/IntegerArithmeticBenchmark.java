@@ -0,0 +1,150 @@
+package com.mathops.benchmark;
+
+import com.mathops.operations.BasicMathOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Integer-valued data held as {@code long[]}, processed by the exact kernels of
+ * {@link BasicMathOperations} against the floating-point path the same data
+ * took before: convert to {@code double[]}, run the double kernel, then check
+ * that every result is still an exact integer below 2^53 and convert back.
+ * {@code addExactPerElement} is the obvious loop over
+ * {@link Math#addExact(long, long)}, which writes results before it knows
+ * whether a later element overflows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntegerArithmeticBenchmark {
+    
+    /** Largest magnitude below which every integer is exact as a double */
+    private static final double MAX_EXACT = 0x1p53;
+    
+    @Param({"1024", "1000000"})
+    private int size;
+    
+    private final BasicMathOperations basicOps = new BasicMathOperations();
+    
+    private long[] a;
+    private long[] b;
+    private long[] out;
+    private double[] aDouble;
+    private double[] bDouble;
+    private double[] outDouble;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        a = new long[size];
+        b = new long[size];
+        out = new long[size];
+        aDouble = new double[size];
+        bDouble = new double[size];
+        outDouble = new double[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = random.nextLong(-1_000_000_000L, 1_000_000_000L);
+            b[i] = random.nextLong(1, 1_000_000L);
+        }
+    }
+    
+    private void toDouble() {
+        for (int i = 0; i < size; i++) {
+            aDouble[i] = a[i];
+            bDouble[i] = b[i];
+        }
+    }
+    
+    private long[] toLong() {
+        for (int i = 0; i < size; i++) {
+            double value = outDouble[i];
+            if (!(Math.abs(value) < MAX_EXACT)) {
+                throw new ArithmeticException("Result is not exact");
+            }
+            out[i] = (long) value;
+        }
+        return out;
+    }
+    
+    @Benchmark
+    public long[] addExact() {
+        basicOps.addExact(a, b, out);
+        return out;
+    }
+    
+    @Benchmark
+    public long[] addExactPerElement() {
+        for (int i = 0; i < size; i++) {
+            out[i] = Math.addExact(a[i], b[i]);
+        }
+        return out;
+    }
+    
+    @Benchmark
+    public long[] addViaDouble() {
+        toDouble();
+        basicOps.add(aDouble, bDouble, outDouble);
+        return toLong();
+    }
+    
+    @Benchmark
+    public long[] multiplyExact() {
+        basicOps.multiplyExact(a, b, out);
+        return out;
+    }
+    
+    @Benchmark
+    public long[] multiplyViaDouble() {
+        toDouble();
+        basicOps.multiply(aDouble, bDouble, outDouble);
+        return toLong();
+    }
+    
+    @Benchmark
+    public long[] floorDivide() {
+        basicOps.floorDivide(a, b, out);
+        return out;
+    }
+    
+    @Benchmark
+    public long[] floorDivideViaDouble() {
+        toDouble();
+        basicOps.divide(aDouble, bDouble, outDouble);
+        for (int i = 0; i < size; i++) {
+            outDouble[i] = Math.floor(outDouble[i]);
+        }
+        return toLong();
+    }
+    
+    @Benchmark
+    public long sumExact() {
+        return basicOps.sumExact(a);
+    }
+    
+    @Benchmark
+    public long sumViaDouble() {
+        for (int i = 0; i < size; i++) {
+            aDouble[i] = a[i];
+        }
+        double sum = basicOps.sum(aDouble);
+        if (!(Math.abs(sum) < MAX_EXACT)) {
+            throw new ArithmeticException("Sum is not exact");
+        }
+        return (long) sum;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.mathops.benchmark;
+
+import com.mathops.operations.Interval;
+import com.mathops.operations.IntervalMathOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk interval operations of {@link IntervalMathOperations} against the same
+ * operation on plain doubles, which is the cost floor, and against the scalar
+ * {@link Interval} methods, which allocate a result per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntervalBenchmark {
+    
+    private static final int SIZE = 1024;
+    
+    @Param({"add", "multiply", "squareRoot", "sin"})
+    private String operation;
+    
+    private final IntervalMathOperations intervalOps = new IntervalMathOperations();
+    
+    private double[] aLo;
+    private double[] aHi;
+    private double[] bLo;
+    private double[] bHi;
+    private double[] outLo;
+    private double[] outHi;
+    private Interval[] a;
+    private Interval[] b;
+    private Interval[] out;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        aLo = new double[SIZE];
+        aHi = new double[SIZE];
+        bLo = new double[SIZE];
+        bHi = new double[SIZE];
+        outLo = new double[SIZE];
+        outHi = new double[SIZE];
+        a = new Interval[SIZE];
+        b = new Interval[SIZE];
+        out = new Interval[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            aLo[i] = random.nextDouble(0.5, 10);
+            aHi[i] = aLo[i] + random.nextDouble(0.01);
+            bLo[i] = random.nextDouble(-10, 10);
+            bHi[i] = bLo[i] + random.nextDouble(0.01);
+            a[i] = Interval.of(aLo[i], aHi[i]);
+            b[i] = Interval.of(bLo[i], bHi[i]);
+        }
+    }
+    
+    @Benchmark
+    public double[] doubles() {
+        switch (operation) {
+            case "add":
+                for (int i = 0; i < SIZE; i++) {
+                    outLo[i] = aLo[i] + bLo[i];
+                }
+                break;
+            case "multiply":
+                for (int i = 0; i < SIZE; i++) {
+                    outLo[i] = aLo[i] * bLo[i];
+                }
+                break;
+            case "squareRoot":
+                for (int i = 0; i < SIZE; i++) {
+                    outLo[i] = Math.sqrt(aLo[i]);
+                }
+                break;
+            default:
+                for (int i = 0; i < SIZE; i++) {
+                    outLo[i] = Math.sin(bLo[i]);
+                }
+                break;
+        }
+        return outLo;
+    }
+    
+    @Benchmark
+    public double[] bulk() {
+        switch (operation) {
+            case "add": intervalOps.add(aLo, aHi, bLo, bHi, outLo, outHi); break;
+            case "multiply": intervalOps.multiply(aLo, aHi, bLo, bHi, outLo, outHi); break;
+            case "squareRoot": intervalOps.squareRoot(aLo, aHi, outLo, outHi); break;
+            default: intervalOps.sin(bLo, bHi, outLo, outHi); break;
+        }
+        return outHi;
+    }
+    
+    @Benchmark
+    public Interval[] scalar() {
+        switch (operation) {
+            case "add":
+                for (int i = 0; i < SIZE; i++) {
+                    out[i] = intervalOps.add(a[i], b[i]);
+                }
+                break;
+            case "multiply":
+                for (int i = 0; i < SIZE; i++) {
+                    out[i] = intervalOps.multiply(a[i], b[i]);
+                }
+                break;
+            case "squareRoot":
+                for (int i = 0; i < SIZE; i++) {
+                    out[i] = intervalOps.squareRoot(a[i]);
+                }
+                break;
+            default:
+                for (int i = 0; i < SIZE; i++) {
+                    out[i] = intervalOps.sin(b[i]);
+                }
+                break;
+        }
+        return out;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.mathops.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.mathops.operations.AdvancedMathOperations;
+import com.mathops.operations.BasicMathOperations;
+import com.mathops.operations.TrigonometricOperations;
+import com.mathops.service.Instrumentation;
+import com.mathops.service.LoggingMode;
+import com.mathops.service.MathService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares every operation called directly on the operations classes with the
+ * same call made through {@link MathService} under each logging mode, with and
+ * without metrics, on one thread and on all available threads sharing a single
+ * service.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MathServiceBenchmark {
+    
+    @Param({"add", "subtract", "multiply", "divide", "modulo",
+            "power", "squareRoot", "cubeRoot", "absolute", "factorial", "naturalLog", "log10",
+            "sin", "cos", "tan", "asin", "acos", "atan", "degreesToRadians", "radiansToDegrees"})
+    public String operation;
+    
+    @Param({"OFF", "SAMPLED", "ALL"})
+    public LoggingMode loggingMode;
+    
+    @Param({"false", "true"})
+    public boolean metrics;
+    
+    private final BasicMathOperations basicOps = new BasicMathOperations();
+    private final AdvancedMathOperations advancedOps = new AdvancedMathOperations();
+    private final TrigonometricOperations trigOps = new TrigonometricOperations();
+    private MathService mathService;
+    
+    private double a;
+    private double b;
+    private int n;
+    
+    @Setup
+    public void setUp() {
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        mathService = new MathService(new Instrumentation(loggingMode, 1000, metrics));
+        a = operation.equals("asin") || operation.equals("acos") ? 0.5 : 12.75;
+        b = 3.25;
+        n = 15;
+    }
+    
+    @Benchmark
+    public double direct() {
+        return callDirect();
+    }
+    
+    @Benchmark
+    public double service() {
+        return callService();
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public double directContended() {
+        return callDirect();
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public double serviceContended() {
+        return callService();
+    }
+    
+    private double callDirect() {
+        switch (operation) {
+            case "add": return basicOps.add(a, b);
+            case "subtract": return basicOps.subtract(a, b);
+            case "multiply": return basicOps.multiply(a, b);
+            case "divide": return basicOps.divide(a, b);
+            case "modulo": return basicOps.modulo(a, b);
+            case "power": return advancedOps.power(a, b);
+            case "squareRoot": return advancedOps.squareRoot(a);
+            case "cubeRoot": return advancedOps.cubeRoot(a);
+            case "absolute": return advancedOps.absolute(a);
+            case "factorial": return advancedOps.factorial(n);
+            case "naturalLog": return advancedOps.naturalLog(a);
+            case "log10": return advancedOps.log10(a);
+            case "sin": return trigOps.sin(a);
+            case "cos": return trigOps.cos(a);
+            case "tan": return trigOps.tan(a);
+            case "asin": return trigOps.asin(a);
+            case "acos": return trigOps.acos(a);
+            case "atan": return trigOps.atan(a);
+            case "degreesToRadians": return trigOps.degreesToRadians(a);
+            case "radiansToDegrees": return trigOps.radiansToDegrees(a);
+            default: throw new IllegalStateException("Unknown operation: " + operation);
+        }
+    }
+    
+    private double callService() {
+        switch (operation) {
+            case "add": return mathService.add(a, b);
+            case "subtract": return mathService.subtract(a, b);
+            case "multiply": return mathService.multiply(a, b);
+            case "divide": return mathService.divide(a, b);
+            case "modulo": return mathService.modulo(a, b);
+            case "power": return mathService.power(a, b);
+            case "squareRoot": return mathService.squareRoot(a);
+            case "cubeRoot": return mathService.cubeRoot(a);
+            case "absolute": return mathService.absolute(a);
+            case "factorial": return mathService.factorial(n);
+            case "naturalLog": return mathService.naturalLog(a);
+            case "log10": return mathService.log10(a);
+            case "sin": return mathService.sin(a);
+            case "cos": return mathService.cos(a);
+            case "tan": return mathService.tan(a);
+            case "asin": return mathService.asin(a);
+            case "acos": return mathService.acos(a);
+            case "atan": return mathService.atan(a);
+            case "degreesToRadians": return mathService.degreesToRadians(a);
+            case "radiansToDegrees": return mathService.radiansToDegrees(a);
+            default: throw new IllegalStateException("Unknown operation: " + operation);
+        }
+    }
+}
\ No newline at end of file
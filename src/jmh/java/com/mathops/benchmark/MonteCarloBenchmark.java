@@ -0,0 +1,113 @@
+package com.mathops.benchmark;
+
+import com.mathops.operations.TrigonometricPrecision;
+import com.mathops.random.MonteCarloEngine;
+import com.mathops.random.MonteCarloKernel;
+import com.mathops.stats.SummaryStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates {@code E[max(Z - 0.5, 0)]} for a standard normal {@code Z} with
+ * {@link MonteCarloEngine} and, as the baseline, with every worker drawing
+ * {@code nextGaussian} from one shared {@link Random}, on pools of 1, 2, 4 and
+ * 8 workers. The shared generator serializes the workers on its seed; the
+ * engine should scale close to linearly up to the core count.
+ * <p>
+ * Pass {@code -p parallelism=1,2,4,...} to match the machine being measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonteCarloBenchmark {
+    
+    private static final long SAMPLES = 1 << 22;
+    
+    private static final double STRIKE = 0.5;
+    
+    private static final MonteCarloKernel CALL_PAYOFF = (random, out) -> {
+        random.normal(out);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = Math.max(out[i] - STRIKE, 0);
+        }
+    };
+    
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+    
+    private ForkJoinPool pool;
+    private MonteCarloEngine engine;
+    private Random shared;
+    
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        engine = new MonteCarloEngine(pool, TrigonometricPrecision.STANDARD);
+        shared = new Random(1);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Benchmark
+    public SummaryStatistics engine() {
+        return engine.run(1, SAMPLES, CALL_PAYOFF);
+    }
+    
+    @Benchmark
+    public double sharedRandom() {
+        return pool.invoke(new SharedRandomTask(shared, 0, SAMPLES)) / SAMPLES;
+    }
+    
+    /** Sums the payoffs of {@code [first, first + count)}, split like the engine's blocks */
+    private static final class SharedRandomTask extends RecursiveTask<Double> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final Random random;
+        private final long first;
+        private final long count;
+        
+        SharedRandomTask(Random random, long first, long count) {
+            this.random = random;
+            this.first = first;
+            this.count = count;
+        }
+        
+        @Override
+        protected Double compute() {
+            if (count <= MonteCarloEngine.BLOCK_SIZE) {
+                double sum = 0;
+                for (long i = 0; i < count; i++) {
+                    sum += Math.max(random.nextGaussian() - STRIKE, 0);
+                }
+                return sum;
+            }
+            long half = count >>> 1;
+            SharedRandomTask left = new SharedRandomTask(random, first, half);
+            SharedRandomTask right = new SharedRandomTask(random, first + half, count - half);
+            invokeAll(left, right);
+            return left.join() + right.join();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.mathops.benchmark;
+
+import com.mathops.fft.FastFourierTransform;
+import com.mathops.service.Instrumentation;
+import com.mathops.service.LoggingMode;
+import com.mathops.service.MathService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The DFT written by hand, O(n^2) with a {@link MathService#sin} and
+ * {@link MathService#cos} call per term, against {@link FastFourierTransform}
+ * on the same data. Sizes stay small because the naive loop is quadratic.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NaiveDftBenchmark {
+    
+    @Param({"256", "1024"})
+    private int size;
+    
+    private final MathService mathService = new MathService(new Instrumentation(LoggingMode.OFF, 1, false));
+    private double[] sourceRe;
+    private double[] sourceIm;
+    private double[] re;
+    private double[] im;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        sourceRe = new double[size];
+        sourceIm = new double[size];
+        re = new double[size];
+        im = new double[size];
+        for (int i = 0; i < size; i++) {
+            sourceRe[i] = random.nextDouble(-1, 1);
+            sourceIm[i] = random.nextDouble(-1, 1);
+        }
+    }
+    
+    @Benchmark
+    public double[] naive() {
+        for (int k = 0; k < size; k++) {
+            double sumRe = 0;
+            double sumIm = 0;
+            for (int j = 0; j < size; j++) {
+                double angle = -2 * Math.PI * j * k / size;
+                double c = mathService.cos(angle);
+                double s = mathService.sin(angle);
+                sumRe += sourceRe[j] * c - sourceIm[j] * s;
+                sumIm += sourceRe[j] * s + sourceIm[j] * c;
+            }
+            re[k] = sumRe;
+            im[k] = sumIm;
+        }
+        return re;
+    }
+    
+    @Benchmark
+    public double[] fft() {
+        System.arraycopy(sourceRe, 0, re, 0, size);
+        System.arraycopy(sourceIm, 0, im, 0, size);
+        FastFourierTransform.of(size).forward(re, im);
+        return re;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.mathops.benchmark;
+
+import com.mathops.operations.MathOperation;
+import com.mathops.operations.OperationRegistry;
+import com.mathops.operations.UnaryChain;
+import com.mathops.service.Instrumentation;
+import com.mathops.service.MathService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs the pipeline degreesToRadians, sin, absolute, squareRoot over an array:
+ * as boxed {@code Function<Double, Double>} lambdas over {@link MathService},
+ * as a scalar {@link UnaryChain}, and as the blocked bulk form of the chain.
+ * Run with {@code -prof gc} to see the boxed version allocate per element.
+ * Scores are per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OperationChainBenchmark {
+    
+    private static final int SIZE = 1024;
+    
+    private final double[] in = new double[SIZE];
+    private final double[] out = new double[SIZE];
+    private Function<Double, Double> boxed;
+    private UnaryChain chain;
+    
+    @Setup
+    public void setUp() {
+        MathService mathService = new MathService(Instrumentation.disabled());
+        Function<Double, Double> toRadians = mathService::degreesToRadians;
+        Function<Double, Double> sin = mathService::sin;
+        Function<Double, Double> absolute = mathService::absolute;
+        Function<Double, Double> squareRoot = mathService::squareRoot;
+        boxed = toRadians.andThen(sin).andThen(absolute).andThen(squareRoot);
+        chain = OperationRegistry.standard().chain(MathOperation.DEGREES_TO_RADIANS, MathOperation.SIN,
+                MathOperation.ABSOLUTE, MathOperation.SQUARE_ROOT);
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < SIZE; i++) {
+            in[i] = random.nextDouble(-720, 720);
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] boxedFunctions() {
+        for (int i = 0; i < SIZE; i++) {
+            out[i] = boxed.apply(in[i]);
+        }
+        return out;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] chainScalar() {
+        for (int i = 0; i < SIZE; i++) {
+            out[i] = chain.applyAsDouble(in[i]);
+        }
+        return out;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] chainBulk() {
+        chain.apply(in, out);
+        return out;
+    }
+}
@@ -0,0 +1,98 @@
+package com.mathops.benchmark;
+
+import com.mathops.operations.TrigonometricPrecision;
+import com.mathops.service.Instrumentation;
+import com.mathops.service.MathService;
+import com.mathops.service.ParallelMathService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scaling curve of {@link ParallelMathService}: each bulk
+ * operation is run sequentially and on pools of 1, 2, 4 and 8 workers for
+ * several array sizes. Compute-bound operations such as {@code sin} and
+ * {@code power} should scale close to linearly up to the core count;
+ * {@code add} is limited by memory bandwidth.
+ * <p>
+ * Pass {@code -p parallelism=1,2,4,...} to match the machine being measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelMathServiceBenchmark {
+    
+    @Param({"sin", "power", "add"})
+    public String operation;
+    
+    @Param({"10000", "1000000", "10000000"})
+    public int size;
+    
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+    
+    private ForkJoinPool pool;
+    private MathService sequential;
+    private ParallelMathService parallel;
+    private double[] a;
+    private double[] b;
+    private double[] out;
+    
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        sequential = new MathService(Instrumentation.disabled());
+        parallel = new ParallelMathService(Instrumentation.disabled(), TrigonometricPrecision.STANDARD,
+                pool, ParallelMathService.DEFAULT_THRESHOLD);
+        SplittableRandom random = new SplittableRandom(1);
+        a = new double[size];
+        b = new double[size];
+        out = new double[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = random.nextDouble(0.001, 100);
+            b[i] = random.nextDouble(0.001, 4);
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Benchmark
+    public double[] sequential() {
+        run(sequential);
+        return out;
+    }
+    
+    @Benchmark
+    public double[] parallel() {
+        run(parallel);
+        return out;
+    }
+    
+    private void run(MathService service) {
+        switch (operation) {
+            case "sin": service.sin(a, out); break;
+            case "power": service.power(a, 1.5, out); break;
+            case "add": service.add(a, b, out); break;
+            default: throw new IllegalStateException("Unknown operation: " + operation);
+        }
+    }
+}
\ No newline at end of file
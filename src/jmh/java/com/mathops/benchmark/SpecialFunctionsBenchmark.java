@@ -0,0 +1,105 @@
+package com.mathops.benchmark;
+
+import com.mathops.operations.SpecialFunctionReference;
+import com.mathops.operations.SpecialFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Each special function evaluated in bulk by {@link SpecialFunctions} and
+ * element by element by the {@link SpecialFunctionReference} it is checked
+ * against. The setup prints the largest error over the benchmark's arguments,
+ * in units in the last place of the reference value and absolute, so one run
+ * reports both accuracy and speed; the Bessel functions are accurate in
+ * absolute terms only, so their ulp error is large next to their zeros.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpecialFunctionsBenchmark {
+    
+    private static final int SIZE = 256;
+    
+    @Param({"gamma", "logGamma", "erf", "erfc", "incompleteBeta", "besselJ0", "besselJ1"})
+    private String function;
+    
+    private final SpecialFunctions special = new SpecialFunctions();
+    
+    private double[] in;
+    private double[] out;
+    private DoubleUnaryOperator reference;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        in = new double[SIZE];
+        out = new double[SIZE];
+        double min;
+        double max;
+        switch (function) {
+            case "gamma": min = -20; max = 170; reference = SpecialFunctionReference::gamma; break;
+            case "logGamma": min = 0.01; max = 1000; reference = SpecialFunctionReference::logGamma; break;
+            case "erf": min = -6; max = 6; reference = SpecialFunctionReference::erf; break;
+            case "erfc": min = -6; max = 27; reference = SpecialFunctionReference::erfc; break;
+            case "incompleteBeta":
+                min = 0;
+                max = 1;
+                reference = x -> SpecialFunctionReference.regularizedIncompleteBeta(x, 2.5, 7.5);
+                break;
+            case "besselJ0": min = -60; max = 60; reference = SpecialFunctionReference::besselJ0; break;
+            case "besselJ1": min = -60; max = 60; reference = SpecialFunctionReference::besselJ1; break;
+            default: throw new IllegalArgumentException("Unknown function " + function);
+        }
+        for (int i = 0; i < SIZE; i++) {
+            in[i] = random.nextDouble(min, max);
+        }
+        fast();
+        double maxUlps = 0;
+        double maxAbsolute = 0;
+        for (int i = 0; i < SIZE; i++) {
+            double expected = reference.applyAsDouble(in[i]);
+            maxUlps = Math.max(maxUlps, Math.abs(out[i] - expected) / Math.ulp(expected));
+            maxAbsolute = Math.max(maxAbsolute, Math.abs(out[i] - expected));
+        }
+        System.out.printf("%n%s: largest error %.1f ulp, %.2g absolute, over %d arguments in [%s, %s]%n",
+                function, maxUlps, maxAbsolute, SIZE, min, max);
+    }
+    
+    @Benchmark
+    public double[] fast() {
+        switch (function) {
+            case "gamma": special.gamma(in, out); break;
+            case "logGamma": special.logGamma(in, out); break;
+            case "erf": special.erf(in, out); break;
+            case "erfc": special.erfc(in, out); break;
+            case "incompleteBeta": special.regularizedIncompleteBeta(in, 2.5, 7.5, out); break;
+            case "besselJ0": special.besselJ0(in, out); break;
+            default: special.besselJ1(in, out); break;
+        }
+        return out;
+    }
+    
+    @Benchmark
+    public double[] reference() {
+        for (int i = 0; i < SIZE; i++) {
+            out[i] = reference.applyAsDouble(in[i]);
+        }
+        return out;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.mathops.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first result of the shaded jar: each invocation starts a new JVM with
+ * {@code --batch -}, writes one record to its stdin and waits for the result
+ * line. The target is under 150 ms. Needs the jar and, for the CDS modes, the
+ * archive built by the cds profile, from the project directory:
+ * <pre>
+ *   mvn -Pcds -DskipTests package
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="StartupBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Thread)
+public class StartupBenchmark {
+    
+    private static final Path JAR = Paths.get("target", "math-operations-1.0.0.jar");
+    private static final Path ARCHIVE = Paths.get("target", "app-cds.jsa");
+    private static final byte[] RECORD = "add,1,2\n".getBytes(StandardCharsets.US_ASCII);
+    
+    /** default: the JDK's own class archive only; cds: plus the application archive; cds-c1: plus C1 only */
+    @Param({"default", "cds", "cds-c1"})
+    private String mode;
+    
+    private List<String> command;
+    
+    @Setup
+    public void setUp() {
+        if (!Files.isRegularFile(JAR)) {
+            throw new IllegalStateException(JAR.toAbsolutePath() + " not found; run mvn -Pcds -DskipTests package");
+        }
+        command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (!mode.equals("default")) {
+            if (!Files.isRegularFile(ARCHIVE)) {
+                throw new IllegalStateException(ARCHIVE.toAbsolutePath() + " not found; run mvn -Pcds -DskipTests package");
+            }
+            // -Xshare:on fails instead of silently starting without the archive
+            command.add("-XX:SharedArchiveFile=" + ARCHIVE);
+            command.add("-Xshare:on");
+        }
+        if (mode.equals("cds-c1")) {
+            command.add("-XX:TieredStopAtLevel=1");
+        }
+        command.addAll(Arrays.asList("-jar", JAR.toString(), "--batch", "-"));
+    }
+    
+    @Benchmark
+    public String firstResult() throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.US_ASCII))) {
+            // Closing stdin ends the batch, so the process exits once it has answered
+            try (OutputStream in = process.getOutputStream()) {
+                in.write(RECORD);
+            }
+            String line = out.readLine();
+            if (line == null || !line.equals("add,1,2,3.0")) {
+                throw new IllegalStateException("Unexpected output: " + line);
+            }
+            return line;
+        } finally {
+            process.waitFor();
+        }
+    }
+}
\ No newline at end of file
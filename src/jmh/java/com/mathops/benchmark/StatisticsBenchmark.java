@@ -0,0 +1,84 @@
+package com.mathops.benchmark;
+
+import com.mathops.stats.SummaryStatistics;
+import com.mathops.stats.TDigest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds an array of log-normal values into the streaming accumulators:
+ * {@link DoubleSummaryStatistics} from the JDK as the baseline, {@link SummaryStatistics},
+ * which adds Welford variance, and {@link TDigest}. {@code sortedQuantiles} is the
+ * exact alternative to the digest, copying and sorting the whole array.
+ * Scores are per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StatisticsBenchmark {
+    
+    private static final int SIZE = 65536;
+    
+    private final double[] values = new double[SIZE];
+    private final SummaryStatistics statistics = new SummaryStatistics();
+    private final TDigest digest = new TDigest();
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = Math.exp(random.nextDouble(-5, 5));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double jdkSummaryStatistics() {
+        DoubleSummaryStatistics jdk = new DoubleSummaryStatistics();
+        for (double value : values) {
+            jdk.accept(value);
+        }
+        return jdk.getAverage();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double summaryStatistics() {
+        statistics.reset();
+        statistics.acceptAll(values);
+        return statistics.getVariance();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double tDigest() {
+        digest.reset();
+        digest.acceptAll(values);
+        return digest.quantile(0.99);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double sortedQuantiles() {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) (0.99 * SIZE)];
+    }
+}
\ No newline at end of file
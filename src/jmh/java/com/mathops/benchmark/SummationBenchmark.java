@@ -0,0 +1,80 @@
+package com.mathops.benchmark;
+
+import com.mathops.operations.BasicMathOperations;
+import com.mathops.operations.SummationAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reduces arrays with each {@link SummationAlgorithm}, once small enough for L1
+ * cache and once far larger than the last-level cache. Scores are nanoseconds
+ * per call, so the bandwidth in GB/s is {@code size * 8 / score} for sums and
+ * {@code size * 16 / score} for dot products. {@code scalarLoop} is the baseline
+ * of a single running sum built on {@link BasicMathOperations#add}; it ignores
+ * the algorithm parameter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SummationBenchmark {
+    
+    @Param({"4096", "8388608"})
+    private int size;
+    
+    @Param({"NAIVE", "PAIRWISE", "KAHAN_BABUSKA"})
+    private SummationAlgorithm algorithm;
+    
+    private final BasicMathOperations basicOps = new BasicMathOperations();
+    private double[] x;
+    private double[] y;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        x = new double[size];
+        y = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = random.nextDouble(-1, 1);
+            y[i] = random.nextDouble(-1, 1);
+        }
+    }
+    
+    @Benchmark
+    public double scalarLoop() {
+        double sum = 0;
+        for (double value : x) {
+            sum = basicOps.add(sum, value);
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    public double sum() {
+        return basicOps.sum(x, algorithm);
+    }
+    
+    @Benchmark
+    public double sumOfSquares() {
+        return basicOps.sumOfSquares(x, algorithm);
+    }
+    
+    @Benchmark
+    public double dot() {
+        return basicOps.dot(x, y, algorithm);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.mathops.benchmark;
+
+import com.mathops.operations.TrigonometricOperations;
+import com.mathops.operations.TrigonometricPrecision;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the STRICT ({@link StrictMath}), STANDARD ({@link Math}) and FAST
+ * trigonometric precision modes over arrays of random angles. Scores are per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrigonometricBenchmark {
+    
+    private static final int SIZE = 1024;
+    
+    @Param({"STRICT", "STANDARD", "FAST"})
+    public TrigonometricPrecision precision;
+    
+    @Param({"10", "100000"})
+    public double range;
+    
+    private TrigonometricOperations trigOps;
+    private final double[] angles = new double[SIZE];
+    private final double[] sines = new double[SIZE];
+    private final double[] cosines = new double[SIZE];
+    
+    @Setup
+    public void setUp() {
+        trigOps = new TrigonometricOperations(precision);
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < SIZE; i++) {
+            angles[i] = random.nextDouble(-range, range);
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] sin() {
+        trigOps.sin(angles, sines);
+        return sines;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] cos() {
+        trigOps.cos(angles, cosines);
+        return cosines;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] tan() {
+        trigOps.tan(angles, sines);
+        return sines;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] atan() {
+        trigOps.atan(angles, sines);
+        return sines;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] sinCos() {
+        trigOps.sinCos(angles, sines, cosines);
+        return cosines;
+    }
+}
\ No newline at end of file
@@ -1,22 +1,46 @@
 package com.mathops;
 
+import com.mathops.batch.BatchProcessor;
+import com.mathops.batch.BatchSummary;
 import com.mathops.service.MathService;
+import com.mathops.service.ParallelMathService;
+import com.mathops.web.CalculationServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Scanner;
 
 /**
  * Main application class for Math Operations
+ * <p>
+ * Nothing is initialized eagerly: the logger, service and {@link Scanner} of the
+ * interactive console are created on first use, so a {@code --batch} run never
+ * starts logback or reads the console, and a short run spends its time on the
+ * work rather than on setup.
  */
 public class MathOperationsApp {
     
-    private static final Logger logger = LoggerFactory.getLogger(MathOperationsApp.class);
-    private static final MathService mathService = new MathService();
-    private static final Scanner scanner = new Scanner(System.in);
+    private static final int MAX_DISPLAYED_FACTORIAL = 1000;
+    
+    private static final String STANDARD_STREAM = "-";
     
     public static void main(String[] args) {
-        logger.info("Starting Math Operations Application");
+        if (args.length > 0 && args[0].equals("--batch")) {
+            System.exit(runBatch(args));
+        }
+        if (args.length > 0 && args[0].equals("--server")) {
+            runServer(args);
+            return;
+        }
+        
+        logger().info("Starting Math Operations Application");
         
         System.out.println("=== Math Operations Calculator ===");
         System.out.println("Welcome to the Math Operations Application!");
@@ -49,18 +73,64 @@ public class MathOperationsApp {
                         System.out.println("Invalid choice. Please try again.");
                 }
             } catch (Exception e) {
-                logger.error("Error during calculation: {}", e.getMessage());
+                logger().error("Error during calculation: {}", e.getMessage());
                 System.out.println("Error: " + e.getMessage());
             }
             
             if (running) {
                 System.out.println("\nPress Enter to continue...");
-                scanner.nextLine();
+                scanner().nextLine();
             }
         }
         
-        scanner.close();
-        logger.info("Math Operations Application terminated");
+        scanner().close();
+        logger().info("Math Operations Application terminated");
+    }
+    
+    /**
+     * Runs {@code --batch <input|-> [--out <output|->]}, where {@code -} is stdin or stdout
+     * @return process exit code
+     */
+    private static int runBatch(String[] args) {
+        if (args.length != 2 && !(args.length == 4 && args[2].equals("--out"))) {
+            System.err.println("Usage: --batch <input|-> [--out <output|->]");
+            return 2;
+        }
+        String inputName = args[1];
+        String outputName = args.length == 4 ? args[3] : STANDARD_STREAM;
+        
+        try (FileChannel in = inputName.equals(STANDARD_STREAM)
+                ? new FileInputStream(FileDescriptor.in).getChannel()
+                : FileChannel.open(Paths.get(inputName), StandardOpenOption.READ);
+             FileChannel out = outputName.equals(STANDARD_STREAM)
+                ? new FileOutputStream(FileDescriptor.out).getChannel()
+                : FileChannel.open(Paths.get(outputName), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            BatchSummary summary = new BatchProcessor(new MathService()).process(in, out);
+            System.err.println("Processed " + summary);
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Batch failed: " + e.getMessage());
+            return 1;
+        }
+    }
+    
+    /**
+     * Runs {@code --server [port]} until the process is stopped
+     */
+    private static void runServer(String[] args) {
+        try {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : CalculationServer.DEFAULT_PORT;
+            CalculationServer server = new CalculationServer(new ParallelMathService(), port);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "mathops-shutdown"));
+            server.start();
+        } catch (NumberFormatException e) {
+            System.err.println("Usage: --server [port]");
+            System.exit(2);
+        } catch (IOException e) {
+            logger().error("Could not start server: {}", e.getMessage());
+            System.exit(1);
+        }
     }
     
     private static void showMenu() {
@@ -78,13 +148,13 @@ public class MathOperationsApp {
         double b = getDoubleInput("Enter second number: ");
         
         System.out.println("\nResults:");
-        System.out.printf("Addition: %.2f + %.2f = %.2f%n", a, b, mathService.add(a, b));
-        System.out.printf("Subtraction: %.2f - %.2f = %.2f%n", a, b, mathService.subtract(a, b));
-        System.out.printf("Multiplication: %.2f * %.2f = %.2f%n", a, b, mathService.multiply(a, b));
+        System.out.printf("Addition: %.2f + %.2f = %.2f%n", a, b, mathService().add(a, b));
+        System.out.printf("Subtraction: %.2f - %.2f = %.2f%n", a, b, mathService().subtract(a, b));
+        System.out.printf("Multiplication: %.2f * %.2f = %.2f%n", a, b, mathService().multiply(a, b));
         
         try {
-            System.out.printf("Division: %.2f / %.2f = %.2f%n", a, b, mathService.divide(a, b));
-            System.out.printf("Modulo: %.2f %% %.2f = %.2f%n", a, b, mathService.modulo(a, b));
+            System.out.printf("Division: %.2f / %.2f = %.2f%n", a, b, mathService().divide(a, b));
+            System.out.printf("Modulo: %.2f %% %.2f = %.2f%n", a, b, mathService().modulo(a, b));
         } catch (IllegalArgumentException e) {
             System.out.println("Division/Modulo: " + e.getMessage());
         }
@@ -95,40 +165,40 @@ public class MathOperationsApp {
         double number = getDoubleInput("Enter a number: ");
         
         System.out.println("\nResults:");
-        System.out.printf("Square (%.2f^2): %.2f%n", number, mathService.power(number, 2));
-        System.out.printf("Cube (%.2f^3): %.2f%n", number, mathService.power(number, 3));
+        System.out.printf("Square (%.2f^2): %.2f%n", number, mathService().power(number, 2));
+        System.out.printf("Cube (%.2f^3): %.2f%n", number, mathService().power(number, 3));
         
         try {
-            System.out.printf("Square root: %.2f%n", mathService.squareRoot(number));
+            System.out.printf("Square root: %.2f%n", mathService().squareRoot(number));
         } catch (IllegalArgumentException e) {
             System.out.println("Square root: " + e.getMessage());
         }
         
-        System.out.printf("Cube root: %.2f%n", mathService.cubeRoot(number));
-        System.out.printf("Absolute value: %.2f%n", mathService.absolute(number));
+        System.out.printf("Cube root: %.2f%n", mathService().cubeRoot(number));
+        System.out.printf("Absolute value: %.2f%n", mathService().absolute(number));
         
         try {
-            System.out.printf("Natural log: %.2f%n", mathService.naturalLog(number));
-            System.out.printf("Log base 10: %.2f%n", mathService.log10(number));
+            System.out.printf("Natural log: %.2f%n", mathService().naturalLog(number));
+            System.out.printf("Log base 10: %.2f%n", mathService().log10(number));
         } catch (IllegalArgumentException e) {
             System.out.println("Logarithm: " + e.getMessage());
         }
         
-        if (number >= 0 && number <= 20 && number == (int) number) {
-            System.out.printf("Factorial: %d%n", mathService.factorial((int) number));
+        if (number >= 0 && number <= MAX_DISPLAYED_FACTORIAL && number == (int) number) {
+            System.out.printf("Factorial: %s%n", mathService().bigFactorial((int) number));
         }
     }
     
     private static void performTrigonometricOperations() {
         System.out.println("\n=== Trigonometric Operations ===");
         double angle = getDoubleInput("Enter angle in degrees: ");
-        double radians = mathService.degreesToRadians(angle);
+        double radians = mathService().degreesToRadians(angle);
         
         System.out.println("\nResults:");
         System.out.printf("Angle in radians: %.4f%n", radians);
-        System.out.printf("Sin(%.2f°): %.4f%n", angle, mathService.sin(radians));
-        System.out.printf("Cos(%.2f°): %.4f%n", angle, mathService.cos(radians));
-        System.out.printf("Tan(%.2f°): %.4f%n", angle, mathService.tan(radians));
+        System.out.printf("Sin(%.2f°): %.4f%n", angle, mathService().sin(radians));
+        System.out.printf("Cos(%.2f°): %.4f%n", angle, mathService().cos(radians));
+        System.out.printf("Tan(%.2f°): %.4f%n", angle, mathService().tan(radians));
     }
     
     private static void runDemoCalculations() {
@@ -136,45 +206,70 @@ public class MathOperationsApp {
         
         // Basic operations demo
         System.out.println("Basic Operations Demo:");
-        System.out.printf("10 + 5 = %.2f%n", mathService.add(10, 5));
-        System.out.printf("10 - 5 = %.2f%n", mathService.subtract(10, 5));
-        System.out.printf("10 * 5 = %.2f%n", mathService.multiply(10, 5));
-        System.out.printf("10 / 5 = %.2f%n", mathService.divide(10, 5));
+        System.out.printf("10 + 5 = %.2f%n", mathService().add(10, 5));
+        System.out.printf("10 - 5 = %.2f%n", mathService().subtract(10, 5));
+        System.out.printf("10 * 5 = %.2f%n", mathService().multiply(10, 5));
+        System.out.printf("10 / 5 = %.2f%n", mathService().divide(10, 5));
         
         // Advanced operations demo
         System.out.println("\nAdvanced Operations Demo:");
-        System.out.printf("2^8 = %.2f%n", mathService.power(2, 8));
-        System.out.printf("√16 = %.2f%n", mathService.squareRoot(16));
-        System.out.printf("5! = %d%n", mathService.factorial(5));
-        System.out.printf("ln(e) = %.4f%n", mathService.naturalLog(Math.E));
+        System.out.printf("2^8 = %.2f%n", mathService().power(2, 8));
+        System.out.printf("√16 = %.2f%n", mathService().squareRoot(16));
+        System.out.printf("5! = %d%n", mathService().factorial(5));
+        System.out.printf("ln(e) = %.4f%n", mathService().naturalLog(Math.E));
         
         // Trigonometric operations demo
         System.out.println("\nTrigonometric Operations Demo:");
-        double angle30 = mathService.degreesToRadians(30);
-        System.out.printf("Sin(30°) = %.4f%n", mathService.sin(angle30));
-        System.out.printf("Cos(60°) = %.4f%n", mathService.cos(mathService.degreesToRadians(60)));
-        System.out.printf("Tan(45°) = %.4f%n", mathService.tan(mathService.degreesToRadians(45)));
+        double angle30 = mathService().degreesToRadians(30);
+        System.out.printf("Sin(30°) = %.4f%n", mathService().sin(angle30));
+        System.out.printf("Cos(60°) = %.4f%n", mathService().cos(mathService().degreesToRadians(60)));
+        System.out.printf("Tan(45°) = %.4f%n", mathService().tan(mathService().degreesToRadians(45)));
     }
     
     private static int getIntInput(String prompt) {
         System.out.print(prompt);
-        while (!scanner.hasNextInt()) {
+        while (!scanner().hasNextInt()) {
             System.out.print("Please enter a valid integer: ");
-            scanner.next();
+            scanner().next();
         }
-        int value = scanner.nextInt();
-        scanner.nextLine(); // consume newline
+        int value = scanner().nextInt();
+        scanner().nextLine(); // consume newline
         return value;
     }
     
     private static double getDoubleInput(String prompt) {
         System.out.print(prompt);
-        while (!scanner.hasNextDouble()) {
+        while (!scanner().hasNextDouble()) {
             System.out.print("Please enter a valid number: ");
-            scanner.next();
+            scanner().next();
         }
-        double value = scanner.nextDouble();
-        scanner.nextLine(); // consume newline
+        double value = scanner().nextDouble();
+        scanner().nextLine(); // consume newline
         return value;
     }
+    
+    private static Logger logger() {
+        return LoggerHolder.LOGGER;
+    }
+    
+    private static MathService mathService() {
+        return Console.MATH_SERVICE;
+    }
+    
+    private static Scanner scanner() {
+        return Console.SCANNER;
+    }
+    
+    /** Initialized on the first call that logs */
+    private static final class LoggerHolder {
+        
+        static final Logger LOGGER = LoggerFactory.getLogger(MathOperationsApp.class);
+    }
+    
+    /** State of the interactive console, initialized by the first method that touches it */
+    private static final class Console {
+        
+        static final MathService MATH_SERVICE = new MathService();
+        static final Scanner SCANNER = new Scanner(System.in);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,285 @@
+package com.mathops.batch;
+
+import com.mathops.operations.MathOperation;
+import com.mathops.service.MathService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams {@code op,arg1[,arg2]} records through a {@link MathService}.
+ * <p>
+ * Input is read through one fixed direct buffer and output is written through
+ * another, so memory use does not depend on the size of the input. Each record
+ * is echoed followed by its result, e.g. {@code add,1,2,3.0}. A record that
+ * cannot be evaluated is echoed followed by {@code ,ERROR,} and the reason, and
+ * processing carries on with the next record. Blank lines and lines starting
+ * with {@code #} are skipped. Numbers are parsed from the raw bytes; the steady
+ * state allocates nothing per record.
+ * <p>
+ * Instances keep their buffers between runs and are not thread-safe.
+ */
+public final class BatchProcessor {
+    
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    public static final int MIN_BUFFER_SIZE = 256;
+    
+    private static final MathOperation[] OPERATIONS = MathOperation.values();
+    private static final byte[][] OPERATION_NAMES = new byte[OPERATIONS.length][];
+    private static final byte[] ERROR_MARKER = ",ERROR,".getBytes(StandardCharsets.US_ASCII);
+    
+    static {
+        for (MathOperation operation : OPERATIONS) {
+            OPERATION_NAMES[operation.ordinal()] = operation.operationName().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+    
+    private final MathService mathService;
+    private final ByteBuffer input;
+    private final ByteBuffer output;
+    private final DecimalParser parser = new DecimalParser();
+    private final StringBuilder text = new StringBuilder(32);
+    private WritableByteChannel sink;
+    
+    public BatchProcessor(MathService mathService) {
+        this(mathService, DEFAULT_BUFFER_SIZE);
+    }
+    
+    /**
+     * Creates a processor with the given buffer size
+     * @param mathService service evaluating the records
+     * @param bufferSize size of each of the input and output buffers; also the longest record accepted
+     */
+    public BatchProcessor(MathService mathService, int bufferSize) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MIN_BUFFER_SIZE);
+        }
+        this.mathService = mathService;
+        this.input = ByteBuffer.allocateDirect(bufferSize);
+        // Room for the longest record echoed back with its result or error
+        this.output = ByteBuffer.allocateDirect(bufferSize + MIN_BUFFER_SIZE);
+    }
+    
+    /**
+     * Evaluates every record from {@code in} and writes the results to {@code out}.
+     * Neither channel is closed.
+     * @param in channel supplying newline separated records
+     * @param out channel receiving one line per evaluated record
+     * @return record and error counts
+     * @throws IOException if reading or writing fails
+     */
+    public BatchSummary process(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        sink = out;
+        input.clear();
+        output.clear();
+        long records = 0;
+        long errors = 0;
+        int scanFrom = 0;
+        boolean overlong = false;
+        
+        try {
+            while (true) {
+                boolean eof = in.read(input) < 0;
+                input.flip();
+                int start = 0;
+                int limit = input.limit();
+                for (int i = scanFrom; i < limit; i++) {
+                    if (input.get(i) != '\n') {
+                        continue;
+                    }
+                    if (overlong) {
+                        overlong = false;
+                        records++;
+                        errors++;
+                        writeOverlong();
+                    } else if (!isSkipped(start, i)) {
+                        records++;
+                        if (!evaluate(start, i)) {
+                            errors++;
+                        }
+                    }
+                    start = i + 1;
+                }
+                if (eof) {
+                    if (overlong) {
+                        records++;
+                        errors++;
+                        writeOverlong();
+                    } else if (start < limit && !isSkipped(start, limit)) {
+                        records++;
+                        if (!evaluate(start, limit)) {
+                            errors++;
+                        }
+                    }
+                    break;
+                }
+                if (start == 0 && limit == input.capacity()) {
+                    // No line break in a full buffer: drop the record up to its end
+                    overlong = true;
+                    input.clear();
+                    scanFrom = 0;
+                } else {
+                    input.position(start);
+                    input.compact();
+                    scanFrom = input.position();
+                }
+            }
+            flush();
+        } finally {
+            sink = null;
+        }
+        return new BatchSummary(records, errors);
+    }
+    
+    private boolean isSkipped(int start, int end) {
+        start = skipSpaces(start, end);
+        end = trimEnd(start, end);
+        return start == end || input.get(start) == '#';
+    }
+    
+    private boolean evaluate(int start, int end) throws IOException {
+        end = trimEnd(start, end);
+        int opEnd = indexOf(',', start, end);
+        int firstEnd = opEnd < end ? indexOf(',', opEnd + 1, end) : end;
+        int secondEnd = firstEnd < end ? indexOf(',', firstEnd + 1, end) : end;
+        
+        MathOperation operation = lookup(skipSpaces(start, opEnd), trimEnd(start, opEnd));
+        if (operation == null) {
+            return fail(start, end, "unknown operation");
+        }
+        int arguments = opEnd == end ? 0 : firstEnd == end ? 1 : secondEnd == end ? 2 : 3;
+        if (arguments != operation.arity()) {
+            return fail(start, end, operation.arity() == 1 ? "expected 1 argument" : "expected 2 arguments");
+        }
+        if (!parser.parse(input, skipSpaces(opEnd + 1, firstEnd), trimEnd(opEnd + 1, firstEnd))) {
+            return fail(start, end, "invalid number");
+        }
+        double a = parser.value();
+        double b = 0;
+        if (arguments == 2) {
+            if (!parser.parse(input, skipSpaces(firstEnd + 1, end), trimEnd(firstEnd + 1, end))) {
+                return fail(start, end, "invalid number");
+            }
+            b = parser.value();
+        }
+        
+        text.setLength(0);
+        try {
+            if (operation == MathOperation.FACTORIAL) {
+                text.append(mathService.factorial(MathService.toFactorialArgument(a)));
+            } else if (arguments == 2) {
+                text.append(mathService.binaryOperator(operation).applyAsDouble(a, b));
+            } else {
+                text.append(mathService.unaryOperator(operation).applyAsDouble(a));
+            }
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return fail(start, end, e.getMessage());
+        }
+        ensureCapacity(end - start + text.length() + 2);
+        echo(start, end);
+        output.put((byte) ',');
+        putText();
+        output.put((byte) '\n');
+        return true;
+    }
+    
+    private MathOperation lookup(int start, int end) {
+        int length = end - start;
+        for (int i = 0; i < OPERATION_NAMES.length; i++) {
+            byte[] name = OPERATION_NAMES[i];
+            if (name.length != length) {
+                continue;
+            }
+            int j = 0;
+            while (j < length && name[j] == input.get(start + j)) {
+                j++;
+            }
+            if (j == length) {
+                return OPERATIONS[i];
+            }
+        }
+        return null;
+    }
+    
+    private boolean fail(int start, int end, String message) throws IOException {
+        text.setLength(0);
+        text.append(message == null ? "failed" : message);
+        ensureCapacity(end - start + ERROR_MARKER.length + text.length() + 1);
+        echo(start, end);
+        output.put(ERROR_MARKER);
+        putText();
+        output.put((byte) '\n');
+        return false;
+    }
+    
+    private void writeOverlong() throws IOException {
+        text.setLength(0);
+        text.append("record longer than ").append(input.capacity()).append(" bytes");
+        ensureCapacity(ERROR_MARKER.length + text.length());
+        output.put(ERROR_MARKER, 1, ERROR_MARKER.length - 1);
+        putText();
+        output.put((byte) '\n');
+    }
+    
+    private void echo(int start, int end) {
+        for (int i = start; i < end; i++) {
+            output.put(input.get(i));
+        }
+    }
+    
+    private void putText() {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            // Keep the output one record per line and ASCII only
+            output.put(c == '\n' || c == '\r' ? (byte) ' ' : c < 0x80 ? (byte) c : (byte) '?');
+        }
+    }
+    
+    private void ensureCapacity(int bytes) throws IOException {
+        if (output.remaining() < bytes) {
+            flush();
+        }
+        if (output.remaining() < bytes) {
+            // Only error reasons can be this long; cut them to fit
+            text.setLength(Math.max(0, text.length() - (bytes - output.remaining())));
+        }
+    }
+    
+    private void flush() throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            sink.write(output);
+        }
+        output.clear();
+    }
+    
+    private int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (input.get(i) == c) {
+                return i;
+            }
+        }
+        return to;
+    }
+    
+    private int skipSpaces(int start, int end) {
+        while (start < end && isSpace(input.get(start))) {
+            start++;
+        }
+        return start;
+    }
+    
+    private int trimEnd(int start, int end) {
+        while (end > start && isSpace(input.get(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+    
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
\ No newline at end of file
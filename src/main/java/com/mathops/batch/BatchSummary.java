@@ -0,0 +1,36 @@
+package com.mathops.batch;
+
+/**
+ * Counts of the records handled by one {@link BatchProcessor} run
+ */
+public final class BatchSummary {
+    
+    private final long records;
+    private final long errors;
+    
+    public BatchSummary(long records, long errors) {
+        this.records = records;
+        this.errors = errors;
+    }
+    
+    /**
+     * Returns the number of records read, including failed ones
+     * @return record count
+     */
+    public long getRecords() {
+        return records;
+    }
+    
+    /**
+     * Returns the number of records written as errors
+     * @return error count
+     */
+    public long getErrors() {
+        return errors;
+    }
+    
+    @Override
+    public String toString() {
+        return records + " records, " + errors + " errors";
+    }
+}
\ No newline at end of file
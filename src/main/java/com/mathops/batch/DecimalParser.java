@@ -0,0 +1,154 @@
+package com.mathops.batch;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parses decimal numbers straight from ASCII bytes without allocating.
+ * <p>
+ * Numbers whose significant digits fit in 53 bits and whose decimal exponent
+ * is within 22 are converted exactly with a single multiply or divide by a power of ten
+ * (Clinger's fast path), which covers almost every value found in practice.
+ * Anything else, including {@code NaN} and {@code Infinity}, is handed to
+ * {@link Double#parseDouble(String)} so the result is always correctly rounded.
+ * <p>
+ * Instances keep scratch state and are not thread-safe.
+ */
+public final class DecimalParser {
+    
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_MANTISSA_DIGITS = 18;
+    private static final int MAX_EXPONENT_DIGITS_VALUE = 100_000;
+    
+    private char[] scratch = new char[64];
+    private double value;
+    
+    /**
+     * Returns the value of the last successful {@link #parse}
+     * @return parsed value
+     */
+    public double value() {
+        return value;
+    }
+    
+    /**
+     * Parses the bytes in {@code [from, to)} of the buffer as a decimal number
+     * @param buffer buffer holding ASCII text, read with absolute gets
+     * @param from index of the first byte
+     * @param to index after the last byte
+     * @return true if the bytes form a number, which is then available from {@link #value()}
+     */
+    public boolean parse(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigits = false;
+        boolean truncated = false;
+        
+        while (i < to && isDigit(buffer.get(i))) {
+            int digit = buffer.get(i++) - '0';
+            anyDigits = true;
+            if (digits < MAX_MANTISSA_DIGITS) {
+                mantissa = mantissa * 10 + digit;
+                if (mantissa != 0) {
+                    digits++;
+                }
+            } else {
+                exponent++;
+                truncated |= digit != 0;
+            }
+        }
+        if (i < to && buffer.get(i) == '.') {
+            i++;
+            while (i < to && isDigit(buffer.get(i))) {
+                int digit = buffer.get(i++) - '0';
+                anyDigits = true;
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + digit;
+                    exponent--;
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                } else {
+                    truncated |= digit != 0;
+                }
+            }
+        }
+        if (anyDigits && i < to && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negativeExponent = buffer.get(i) == '-';
+                i++;
+            }
+            if (i == to || !isDigit(buffer.get(i))) {
+                return parseSlow(buffer, from, to);
+            }
+            int explicit = 0;
+            while (i < to && isDigit(buffer.get(i))) {
+                explicit = Math.min(explicit * 10 + (buffer.get(i++) - '0'), MAX_EXPONENT_DIGITS_VALUE);
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (!anyDigits || i != to) {
+            return parseSlow(buffer, from, to);
+        }
+        
+        if (mantissa == 0) {
+            value = negative ? -0.0 : 0.0;
+            return true;
+        }
+        if (truncated || mantissa >= MAX_EXACT_MANTISSA
+                || exponent < -POWERS_OF_TEN.length + 1 || exponent >= POWERS_OF_TEN.length) {
+            return parseSlow(buffer, from, to);
+        }
+        double result = exponent >= 0
+                ? mantissa * POWERS_OF_TEN[exponent]
+                : mantissa / POWERS_OF_TEN[-exponent];
+        value = negative ? -result : result;
+        return true;
+    }
+    
+    private boolean parseSlow(ByteBuffer buffer, int from, int to) {
+        int length = to - from;
+        if (length == 0) {
+            return false;
+        }
+        if (scratch.length < length) {
+            scratch = new char[Math.max(length, scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(from + i);
+            if (b <= ' ') {
+                return false;
+            }
+            scratch[i] = (char) (b & 0xFF);
+        }
+        // Double.parseDouble accepts Java type suffixes; keep the format strict
+        char last = scratch[length - 1];
+        if (last == 'd' || last == 'D' || last == 'f' || last == 'F') {
+            return false;
+        }
+        try {
+            value = Double.parseDouble(new String(scratch, 0, length));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+    
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.mathops.expr;
+
+/**
+ * Node of a compiled expression tree
+ */
+interface Evaluator {
+    
+    /**
+     * Evaluates this node
+     * @param variables variable values indexed as in {@link Expression#getVariables()}
+     * @return node value
+     */
+    double evaluate(double[] variables);
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.mathops.expr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A parsed and compiled expression that can be evaluated repeatedly.
+ * <p>
+ * Variables are bound by position: {@link #evaluate(double[])} takes one value
+ * per entry of {@link #getVariables()}, in the same order. Evaluation does not
+ * re-parse or allocate, and instances are immutable and safe to share between
+ * threads.
+ * <p>
+ * Functions are the unary and binary operations of {@code MathOperation}, by
+ * name or by the aliases {@code sqrt}, {@code cbrt}, {@code abs}, {@code ln},
+ * {@code fact}, {@code toRadians}, {@code toDegrees}, {@code pow} and
+ * {@code mod}; {@code pi} and {@code e} are constants. {@code fact} takes
+ * integers up to 20 and throws {@link ArithmeticException} above 20!.
+ */
+public final class Expression {
+    
+    private final String source;
+    private final List<String> variables;
+    private final Evaluator root;
+    
+    Expression(String source, List<String> variables, Evaluator root) {
+        this.source = source;
+        this.variables = Collections.unmodifiableList(variables);
+        this.root = root;
+    }
+    
+    /**
+     * Parses and compiles an expression without caching
+     * @param source expression text, e.g. {@code sqrt(x^2 + y^2) * sin(theta)}
+     * @return compiled expression
+     * @throws ExpressionException if the text is not a valid expression
+     */
+    public static Expression compile(String source) {
+        List<String> variables = new ArrayList<>();
+        Evaluator root = Parser.parse(source, variables);
+        return new Expression(source, variables, root);
+    }
+    
+    public String getSource() {
+        return source;
+    }
+    
+    /**
+     * Returns the variable names in binding order
+     * @return unmodifiable list of names
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+    
+    /**
+     * Returns the binding position of a variable
+     * @param name variable name
+     * @return index into the values array, or -1 if the expression does not use it
+     */
+    public int indexOf(String name) {
+        return variables.indexOf(name);
+    }
+    
+    /**
+     * Evaluates the expression
+     * @param values variable values in the order of {@link #getVariables()}
+     * @return result
+     * @throws IllegalArgumentException if fewer values than variables are given,
+     *         or if an operation rejects its arguments (e.g. division by zero)
+     * @throws ArithmeticException if a factorial argument is above 20
+     */
+    public double evaluate(double[] values) {
+        if (values.length < variables.size()) {
+            throw new IllegalArgumentException("Expected " + variables.size() + " variable values but got " + values.length);
+        }
+        return root.evaluate(values);
+    }
+    
+    /**
+     * Evaluates the expression with variables bound by name
+     * @param bindings variable values by name
+     * @return result
+     * @throws IllegalArgumentException if a variable is not bound
+     * @throws ArithmeticException if a factorial argument is above 20
+     */
+    public double evaluate(Map<String, Double> bindings) {
+        double[] values = new double[variables.size()];
+        for (int i = 0; i < values.length; i++) {
+            Double value = bindings.get(variables.get(i));
+            if (value == null) {
+                throw new IllegalArgumentException("No value bound for variable " + variables.get(i));
+            }
+            values[i] = value;
+        }
+        return root.evaluate(values);
+    }
+    
+    @Override
+    public String toString() {
+        return source;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.mathops.expr;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compiles expressions and keeps the most recently used ones in a bounded cache keyed by source text
+ */
+public class ExpressionCompiler {
+    
+    public static final int DEFAULT_CACHE_SIZE = 256;
+    
+    private final Map<String, Expression> cache;
+    
+    public ExpressionCompiler() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+    
+    /**
+     * Creates a compiler with a cache of the given size
+     * @param cacheSize maximum number of cached expressions, 0 disables caching
+     * @throws IllegalArgumentException if cacheSize is negative
+     */
+    public ExpressionCompiler(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative");
+        }
+        this.cache = new LinkedHashMap<String, Expression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Expression> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+    
+    /**
+     * Returns the compiled form of an expression, compiling it on first use
+     * @param source expression text
+     * @return compiled expression
+     * @throws ExpressionException if the text is not a valid expression
+     */
+    public Expression compile(String source) {
+        synchronized (cache) {
+            Expression cached = cache.get(source);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Expression compiled = Expression.compile(source);
+        synchronized (cache) {
+            cache.put(source, compiled);
+        }
+        return compiled;
+    }
+    
+    /**
+     * Returns the number of cached expressions
+     * @return cache size
+     */
+    public int cachedCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+    
+    /**
+     * Removes all cached expressions
+     */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+}
\ No newline at end of file
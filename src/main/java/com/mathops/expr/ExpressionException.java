@@ -0,0 +1,24 @@
+package com.mathops.expr;
+
+/**
+ * Thrown when an expression cannot be parsed or refers to unknown names
+ */
+public class ExpressionException extends IllegalArgumentException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final int position;
+    
+    public ExpressionException(String message, int position) {
+        super(message + " at position " + position);
+        this.position = position;
+    }
+    
+    /**
+     * Returns the zero-based offset in the source text where the problem was found
+     * @return character position
+     */
+    public int getPosition() {
+        return position;
+    }
+}
\ No newline at end of file
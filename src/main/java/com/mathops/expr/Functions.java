@@ -0,0 +1,69 @@
+package com.mathops.expr;
+
+import com.mathops.operations.MathOperation;
+import com.mathops.operations.OperationRegistry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Built-in functions and constants available to expressions, backed by the {@link OperationRegistry}
+ * <p>
+ * {@code factorial} and {@code fact} accept integers from 0 to 20, whose factorials are exact as
+ * doubles, and throw {@link ArithmeticException} above 20!
+ */
+final class Functions {
+    
+    private static final Map<String, DoubleUnaryOperator> UNARY = new HashMap<>();
+    private static final Map<String, DoubleBinaryOperator> BINARY = new HashMap<>();
+    private static final Map<String, Double> CONSTANTS = new HashMap<>();
+    
+    static {
+        OperationRegistry registry = OperationRegistry.standard();
+        for (MathOperation operation : MathOperation.values()) {
+            if (operation.arity() == 1) {
+                UNARY.put(operation.operationName(), registry.unary(operation));
+            }
+        }
+        unary(registry.unary(MathOperation.SQUARE_ROOT), "sqrt");
+        unary(registry.unary(MathOperation.CUBE_ROOT), "cbrt");
+        unary(registry.unary(MathOperation.ABSOLUTE), "abs");
+        unary(registry.unary(MathOperation.NATURAL_LOG), "ln");
+        unary(registry.unary(MathOperation.FACTORIAL), "fact");
+        unary(registry.unary(MathOperation.DEGREES_TO_RADIANS), "toRadians");
+        unary(registry.unary(MathOperation.RADIANS_TO_DEGREES), "toDegrees");
+        binary(registry.binary(MathOperation.POWER), "pow", "power");
+        binary(registry.binary(MathOperation.MODULO), "mod", "modulo");
+        CONSTANTS.put("pi", Math.PI);
+        CONSTANTS.put("e", Math.E);
+    }
+    
+    private Functions() {
+    }
+    
+    static DoubleUnaryOperator unary(String name) {
+        return UNARY.get(name);
+    }
+    
+    static DoubleBinaryOperator binary(String name) {
+        return BINARY.get(name);
+    }
+    
+    static Double constant(String name) {
+        return CONSTANTS.get(name);
+    }
+    
+    private static void unary(DoubleUnaryOperator function, String... names) {
+        for (String name : names) {
+            UNARY.put(name, function);
+        }
+    }
+    
+    private static void binary(DoubleBinaryOperator function, String... names) {
+        for (String name : names) {
+            BINARY.put(name, function);
+        }
+    }
+}
\ No newline at end of file
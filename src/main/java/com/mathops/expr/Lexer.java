@@ -0,0 +1,104 @@
+package com.mathops.expr;
+
+/**
+ * Splits expression source text into tokens
+ */
+final class Lexer {
+    
+    enum Type {
+        NUMBER, IDENTIFIER, PLUS, MINUS, STAR, SLASH, PERCENT, CARET, LEFT_PAREN, RIGHT_PAREN, COMMA, END
+    }
+    
+    private final String source;
+    private int position;
+    
+    private Type type;
+    private int start;
+    private double number;
+    private String identifier;
+    
+    Lexer(String source) {
+        this.source = source;
+        advance();
+    }
+    
+    Type type() {
+        return type;
+    }
+    
+    int start() {
+        return start;
+    }
+    
+    double number() {
+        return number;
+    }
+    
+    String identifier() {
+        return identifier;
+    }
+    
+    /**
+     * Moves to the next token
+     * @throws ExpressionException if the text contains an unexpected character
+     */
+    void advance() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+        start = position;
+        if (position == source.length()) {
+            type = Type.END;
+            return;
+        }
+        char c = source.charAt(position);
+        if (Character.isDigit(c) || c == '.') {
+            readNumber();
+        } else if (Character.isLetter(c) || c == '_') {
+            while (position < source.length()
+                    && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+                position++;
+            }
+            identifier = source.substring(start, position);
+            type = Type.IDENTIFIER;
+        } else {
+            position++;
+            switch (c) {
+                case '+': type = Type.PLUS; break;
+                case '-': type = Type.MINUS; break;
+                case '*': type = Type.STAR; break;
+                case '/': type = Type.SLASH; break;
+                case '%': type = Type.PERCENT; break;
+                case '^': type = Type.CARET; break;
+                case '(': type = Type.LEFT_PAREN; break;
+                case ')': type = Type.RIGHT_PAREN; break;
+                case ',': type = Type.COMMA; break;
+                default: throw new ExpressionException("Unexpected character '" + c + "'", start);
+            }
+        }
+    }
+    
+    private void readNumber() {
+        while (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+            position++;
+        }
+        if (position < source.length() && (source.charAt(position) == 'e' || source.charAt(position) == 'E')) {
+            int exponent = position + 1;
+            if (exponent < source.length() && (source.charAt(exponent) == '+' || source.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            if (exponent < source.length() && Character.isDigit(source.charAt(exponent))) {
+                position = exponent;
+                while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                    position++;
+                }
+            }
+        }
+        try {
+            number = Double.parseDouble(source.substring(start, position));
+        } catch (NumberFormatException e) {
+            throw new ExpressionException("Invalid number '" + source.substring(start, position) + "'", start);
+        }
+        type = Type.NUMBER;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,263 @@
+package com.mathops.expr;
+
+import com.mathops.operations.AdvancedMathOperations;
+import com.mathops.operations.BasicMathOperations;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Factory for the closure-tree nodes of a compiled expression.
+ * <p>
+ * Every factory folds its arguments when they are all constants, so that only
+ * the parts of an expression that depend on variables are evaluated at run time.
+ * Folding is skipped when the operation would throw, leaving the error to be
+ * reported on evaluation just like a direct call would.
+ */
+final class Nodes {
+    
+    private static final BasicMathOperations BASIC = new BasicMathOperations();
+    private static final AdvancedMathOperations ADVANCED = new AdvancedMathOperations();
+    private static final double[] NO_VARIABLES = new double[0];
+    
+    private Nodes() {
+    }
+    
+    static Evaluator constant(double value) {
+        return new Constant(value);
+    }
+    
+    static Evaluator variable(int index) {
+        return new Variable(index);
+    }
+    
+    static Evaluator negate(Evaluator operand) {
+        return fold(new Negate(operand), operand);
+    }
+    
+    static Evaluator add(Evaluator left, Evaluator right) {
+        return fold(new Add(left, right), left, right);
+    }
+    
+    static Evaluator subtract(Evaluator left, Evaluator right) {
+        return fold(new Subtract(left, right), left, right);
+    }
+    
+    static Evaluator multiply(Evaluator left, Evaluator right) {
+        return fold(new Multiply(left, right), left, right);
+    }
+    
+    static Evaluator divide(Evaluator left, Evaluator right) {
+        if (right instanceof Constant && isPowerOfTwo(((Constant) right).value)) {
+            return fold(new Scale(left, 1 / ((Constant) right).value), left);
+        }
+        return fold(new Divide(left, right), left, right);
+    }
+    
+    static Evaluator modulo(Evaluator left, Evaluator right) {
+        return fold(new Binary(BASIC::modulo, left, right), left, right);
+    }
+    
+    static Evaluator power(Evaluator base, Evaluator exponent) {
+        if (exponent instanceof Constant) {
+            double value = ((Constant) exponent).value;
+            if (value == 1) {
+                return base;
+            }
+            if (value == 2) {
+                return fold(new Square(base), base);
+            }
+        }
+        return fold(new Binary(ADVANCED::power, base, exponent), base, exponent);
+    }
+    
+    static Evaluator unary(DoubleUnaryOperator function, Evaluator operand) {
+        return fold(new Unary(function, operand), operand);
+    }
+    
+    static Evaluator binary(DoubleBinaryOperator function, Evaluator left, Evaluator right) {
+        return fold(new Binary(function, left, right), left, right);
+    }
+    
+    private static boolean isPowerOfTwo(double value) {
+        int exponent = Math.getExponent(value);
+        return exponent > Double.MIN_EXPONENT && exponent < Double.MAX_EXPONENT
+                && Math.abs(value) == Math.scalb(1.0, exponent);
+    }
+    
+    private static Evaluator fold(Evaluator node, Evaluator... operands) {
+        for (Evaluator operand : operands) {
+            if (!(operand instanceof Constant)) {
+                return node;
+            }
+        }
+        try {
+            return new Constant(node.evaluate(NO_VARIABLES));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return node;
+        }
+    }
+    
+    static final class Constant implements Evaluator {
+        final double value;
+        
+        Constant(double value) {
+            this.value = value;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return value;
+        }
+    }
+    
+    static final class Variable implements Evaluator {
+        private final int index;
+        
+        Variable(int index) {
+            this.index = index;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return variables[index];
+        }
+    }
+    
+    private static final class Negate implements Evaluator {
+        private final Evaluator operand;
+        
+        Negate(Evaluator operand) {
+            this.operand = operand;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return -operand.evaluate(variables);
+        }
+    }
+    
+    private static final class Add implements Evaluator {
+        private final Evaluator left;
+        private final Evaluator right;
+        
+        Add(Evaluator left, Evaluator right) {
+            this.left = left;
+            this.right = right;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return BASIC.add(left.evaluate(variables), right.evaluate(variables));
+        }
+    }
+    
+    private static final class Subtract implements Evaluator {
+        private final Evaluator left;
+        private final Evaluator right;
+        
+        Subtract(Evaluator left, Evaluator right) {
+            this.left = left;
+            this.right = right;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return BASIC.subtract(left.evaluate(variables), right.evaluate(variables));
+        }
+    }
+    
+    private static final class Multiply implements Evaluator {
+        private final Evaluator left;
+        private final Evaluator right;
+        
+        Multiply(Evaluator left, Evaluator right) {
+            this.left = left;
+            this.right = right;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return BASIC.multiply(left.evaluate(variables), right.evaluate(variables));
+        }
+    }
+    
+    private static final class Divide implements Evaluator {
+        private final Evaluator left;
+        private final Evaluator right;
+        
+        Divide(Evaluator left, Evaluator right) {
+            this.left = left;
+            this.right = right;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return BASIC.divide(left.evaluate(variables), right.evaluate(variables));
+        }
+    }
+    
+    /**
+     * Division by a power-of-two constant, which is exactly a multiplication by its reciprocal
+     */
+    private static final class Scale implements Evaluator {
+        private final Evaluator operand;
+        private final double factor;
+        
+        Scale(Evaluator operand, double factor) {
+            this.operand = operand;
+            this.factor = factor;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return operand.evaluate(variables) * factor;
+        }
+    }
+    
+    private static final class Square implements Evaluator {
+        private final Evaluator operand;
+        
+        Square(Evaluator operand) {
+            this.operand = operand;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            double value = operand.evaluate(variables);
+            return value * value;
+        }
+    }
+    
+    private static final class Unary implements Evaluator {
+        private final DoubleUnaryOperator function;
+        private final Evaluator operand;
+        
+        Unary(DoubleUnaryOperator function, Evaluator operand) {
+            this.function = function;
+            this.operand = operand;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return function.applyAsDouble(operand.evaluate(variables));
+        }
+    }
+    
+    private static final class Binary implements Evaluator {
+        private final DoubleBinaryOperator function;
+        private final Evaluator left;
+        private final Evaluator right;
+        
+        Binary(DoubleBinaryOperator function, Evaluator left, Evaluator right) {
+            this.function = function;
+            this.left = left;
+            this.right = right;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return function.applyAsDouble(left.evaluate(variables), right.evaluate(variables));
+        }
+    }
+}
\ No newline at end of file
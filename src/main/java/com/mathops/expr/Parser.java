@@ -0,0 +1,162 @@
+package com.mathops.expr;
+
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Recursive-descent parser that turns expression text into a closure tree.
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/' | '%') unary)*
+ * unary      := ('-' | '+') unary | power
+ * power      := primary ('^' unary)?
+ * primary    := number | name | name '(' expression (',' expression)* ')' | '(' expression ')'
+ * </pre>
+ * Exponentiation is right-associative and binds tighter than unary minus, so
+ * {@code -x^2} is {@code -(x^2)}. Names that are not functions or constants
+ * become variables, numbered in order of first appearance.
+ */
+final class Parser {
+    
+    private final Lexer lexer;
+    private final List<String> variables;
+    
+    private Parser(String source, List<String> variables) {
+        this.lexer = new Lexer(source);
+        this.variables = variables;
+    }
+    
+    /**
+     * Parses a complete expression
+     * @param source expression text
+     * @param variables receives variable names in order of first appearance
+     * @return root of the compiled tree
+     * @throws ExpressionException if the text is not a valid expression
+     */
+    static Evaluator parse(String source, List<String> variables) {
+        Parser parser = new Parser(source, variables);
+        Evaluator root = parser.expression();
+        if (parser.lexer.type() != Lexer.Type.END) {
+            throw new ExpressionException("Unexpected input", parser.lexer.start());
+        }
+        return root;
+    }
+    
+    private Evaluator expression() {
+        Evaluator left = term();
+        while (true) {
+            if (accept(Lexer.Type.PLUS)) {
+                left = Nodes.add(left, term());
+            } else if (accept(Lexer.Type.MINUS)) {
+                left = Nodes.subtract(left, term());
+            } else {
+                return left;
+            }
+        }
+    }
+    
+    private Evaluator term() {
+        Evaluator left = unary();
+        while (true) {
+            if (accept(Lexer.Type.STAR)) {
+                left = Nodes.multiply(left, unary());
+            } else if (accept(Lexer.Type.SLASH)) {
+                left = Nodes.divide(left, unary());
+            } else if (accept(Lexer.Type.PERCENT)) {
+                left = Nodes.modulo(left, unary());
+            } else {
+                return left;
+            }
+        }
+    }
+    
+    private Evaluator unary() {
+        if (accept(Lexer.Type.MINUS)) {
+            return Nodes.negate(unary());
+        }
+        if (accept(Lexer.Type.PLUS)) {
+            return unary();
+        }
+        Evaluator base = primary();
+        if (accept(Lexer.Type.CARET)) {
+            return Nodes.power(base, unary());
+        }
+        return base;
+    }
+    
+    private Evaluator primary() {
+        int start = lexer.start();
+        switch (lexer.type()) {
+            case NUMBER: {
+                double value = lexer.number();
+                lexer.advance();
+                return Nodes.constant(value);
+            }
+            case IDENTIFIER: {
+                String name = lexer.identifier();
+                lexer.advance();
+                if (accept(Lexer.Type.LEFT_PAREN)) {
+                    return call(name, start);
+                }
+                Double constant = Functions.constant(name);
+                if (constant != null) {
+                    return Nodes.constant(constant);
+                }
+                int index = variables.indexOf(name);
+                if (index < 0) {
+                    index = variables.size();
+                    variables.add(name);
+                }
+                return Nodes.variable(index);
+            }
+            case LEFT_PAREN: {
+                lexer.advance();
+                Evaluator inner = expression();
+                expect(Lexer.Type.RIGHT_PAREN, "Expected ')'");
+                return inner;
+            }
+            case END:
+                throw new ExpressionException("Unexpected end of expression", start);
+            default:
+                throw new ExpressionException("Unexpected token", start);
+        }
+    }
+    
+    private Evaluator call(String name, int start) {
+        Evaluator first = expression();
+        if (accept(Lexer.Type.COMMA)) {
+            Evaluator second = expression();
+            expect(Lexer.Type.RIGHT_PAREN, "Expected ')'");
+            DoubleBinaryOperator function = Functions.binary(name);
+            if (function == null) {
+                throw new ExpressionException(unknownFunction(name, 2), start);
+            }
+            return Nodes.binary(function, first, second);
+        }
+        expect(Lexer.Type.RIGHT_PAREN, "Expected ')' or ','");
+        DoubleUnaryOperator function = Functions.unary(name);
+        if (function == null) {
+            throw new ExpressionException(unknownFunction(name, 1), start);
+        }
+        return Nodes.unary(function, first);
+    }
+    
+    private static String unknownFunction(String name, int arity) {
+        return "Unknown function " + name + " with " + arity + (arity == 1 ? " argument" : " arguments");
+    }
+    
+    private boolean accept(Lexer.Type type) {
+        if (lexer.type() == type) {
+            lexer.advance();
+            return true;
+        }
+        return false;
+    }
+    
+    private void expect(Lexer.Type type, String message) {
+        if (!accept(type)) {
+            throw new ExpressionException(message, lexer.start());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,365 @@
+package com.mathops.fft;
+
+import com.mathops.operations.TrigonometricOperations;
+import com.mathops.operations.TrigonometricPrecision;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Discrete Fourier transform of a fixed size, on split real and imaginary arrays.
+ * <p>
+ * The forward transform computes {@code X[k] = sum x[j] e^(-2 pi i jk / n)} and
+ * the inverse divides by {@code n}, so the two round-trip. Powers of two run the
+ * in-place radix-2 kernels of {@link FftKernels} in {@code O(n log n)}; other
+ * sizes use Bluestein's algorithm, which rewrites the transform as a circular
+ * convolution computed with power-of-two transforms of at least {@code 2n - 1}
+ * points, so they cost a few times more and allocate two scratch arrays per call.
+ * <p>
+ * Twiddle factors are computed once per size with {@link TrigonometricOperations}
+ * and kept by the instance, so repeated transforms with one instance never
+ * evaluate a sine. {@link #of} shares the instances of powers of two up to
+ * {@value #MAX_CACHED_SIZE} points, which hold at most a few tens of megabytes
+ * together; other sizes get a new instance per call, which callers transforming
+ * one size repeatedly should keep themselves. Transforms given a
+ * {@link ForkJoinPool} split the work across it from {@value #PARALLEL_THRESHOLD}
+ * points on. Instances are immutable and thread-safe.
+ */
+public final class FastFourierTransform {
+    
+    /** Points below which a transform stays on the calling thread */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+    /** Largest transform, the largest power of two an array can hold */
+    public static final int MAX_SIZE = 1 << 30;
+    /** Largest size that is not a power of two, whose convolution needs twice the points */
+    public static final int MAX_BLUESTEIN_SIZE = 1 << 29;
+    /** Largest power of two whose instance {@link #of} shares */
+    public static final int MAX_CACHED_SIZE = 1 << 20;
+    
+    /** Shared power-of-two instances, indexed by the base 2 logarithm of the size */
+    private static final AtomicReferenceArray<FastFourierTransform> CACHE =
+            new AtomicReferenceArray<>(Integer.numberOfTrailingZeros(MAX_CACHED_SIZE) + 1);
+    
+    private final int size;
+    /** Power-of-two sizes only: twiddles of every stage, see {@link FftKernels} */
+    private final double[] twiddleRe;
+    private final double[] twiddleIm;
+    /** Other sizes only: the chirp e^(-i pi k^2 / n) */
+    private final double[] chirpRe;
+    private final double[] chirpIm;
+    /** Other sizes only: transform of the convolution kernel, and the transform computing it */
+    private final double[] kernelRe;
+    private final double[] kernelIm;
+    private final FastFourierTransform convolution;
+    
+    private FastFourierTransform(int size) {
+        this.size = size;
+        TrigonometricOperations trig = new TrigonometricOperations(TrigonometricPrecision.STANDARD);
+        if (isPowerOfTwo(size)) {
+            twiddleIm = new double[size];
+            twiddleRe = new double[size];
+            FftKernels.twiddleAngles(size, twiddleIm);
+            trig.sinCos(twiddleIm, twiddleIm, twiddleRe);
+            chirpRe = chirpIm = kernelRe = kernelIm = null;
+            convolution = null;
+            return;
+        }
+        twiddleRe = twiddleIm = null;
+        chirpIm = new double[size];
+        chirpRe = new double[size];
+        for (int k = 0; k < size; k++) {
+            // k^2 mod 2n keeps the angle small, and exact, for large k
+            long square = (long) k * k % (2L * size);
+            chirpIm[k] = -Math.PI * square / size;
+        }
+        trig.sinCos(chirpIm, chirpIm, chirpRe);
+        convolution = of(Integer.highestOneBit(2 * size - 2) << 1);
+        int m = convolution.size;
+        kernelRe = new double[m];
+        kernelIm = new double[m];
+        kernelRe[0] = chirpRe[0];
+        kernelIm[0] = -chirpIm[0];
+        for (int k = 1; k < size; k++) {
+            kernelRe[k] = kernelRe[m - k] = chirpRe[k];
+            kernelIm[k] = kernelIm[m - k] = -chirpIm[k];
+        }
+        convolution.forward(kernelRe, kernelIm);
+    }
+    
+    /**
+     * Returns the transform of a size: the shared instance for powers of two up to
+     * {@link #MAX_CACHED_SIZE}, created on first use, and a new instance otherwise
+     * @param size number of points
+     * @return transform
+     * @throws IllegalArgumentException if the size is not between 1 and {@link #MAX_SIZE}
+     */
+    public static FastFourierTransform of(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SIZE);
+        }
+        if (!isPowerOfTwo(size) && size > MAX_BLUESTEIN_SIZE) {
+            throw new IllegalArgumentException("Sizes that are not powers of two must be at most "
+                    + MAX_BLUESTEIN_SIZE);
+        }
+        if (!isPowerOfTwo(size) || size > MAX_CACHED_SIZE) {
+            return new FastFourierTransform(size);
+        }
+        int index = Integer.numberOfTrailingZeros(size);
+        FastFourierTransform transform = CACHE.get(index);
+        if (transform == null) {
+            transform = new FastFourierTransform(size);
+            if (!CACHE.compareAndSet(index, null, transform)) {
+                transform = CACHE.get(index);
+            }
+        }
+        return transform;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    /**
+     * Returns whether this size runs the radix-2 kernels directly rather than Bluestein's algorithm
+     * @return true if the size is a power of two
+     */
+    public boolean isRadix2() {
+        return twiddleRe != null;
+    }
+    
+    public void forward(double[] re, double[] im) {
+        forward(re, im, null);
+    }
+    
+    /**
+     * Replaces a sequence with its discrete Fourier transform
+     * @param re real parts, exactly {@code size} elements
+     * @param im imaginary parts, exactly {@code size} elements
+     * @param pool pool for large transforms, or {@code null} to stay on the calling thread
+     * @throws IllegalArgumentException if an array has the wrong length
+     */
+    public void forward(double[] re, double[] im, ForkJoinPool pool) {
+        checkLength(re, size);
+        checkLength(im, size);
+        transform(re, im, 1, pool);
+    }
+    
+    public void inverse(double[] re, double[] im) {
+        inverse(re, im, null);
+    }
+    
+    /**
+     * Replaces a spectrum with its inverse discrete Fourier transform, scaled by {@code 1 / size}
+     * @param re real parts, exactly {@code size} elements
+     * @param im imaginary parts, exactly {@code size} elements
+     * @param pool pool for large transforms, or {@code null} to stay on the calling thread
+     * @throws IllegalArgumentException if an array has the wrong length
+     */
+    public void inverse(double[] re, double[] im, ForkJoinPool pool) {
+        checkLength(re, size);
+        checkLength(im, size);
+        transform(re, im, -1, pool);
+        scale(re, im, size, 1.0 / size);
+    }
+    
+    public void forwardReal(double[] in, double[] outRe, double[] outIm) {
+        forwardReal(in, outRe, outIm, null);
+    }
+    
+    /**
+     * Transforms a real sequence. The spectrum of real input is conjugate-symmetric,
+     * {@code X[n - k] = conj(X[k])}, so only {@code X[0]} to {@code X[size / 2]} are written.
+     * Power-of-two sizes pack the input into a complex sequence of half the size and
+     * take about half the time of the complex transform.
+     * @param in real input, exactly {@code size} elements
+     * @param outRe real parts of the spectrum, exactly {@code size / 2 + 1} elements
+     * @param outIm imaginary parts of the spectrum, exactly {@code size / 2 + 1} elements
+     * @param pool pool for large transforms, or {@code null} to stay on the calling thread
+     * @throws IllegalArgumentException if an array has the wrong length
+     */
+    public void forwardReal(double[] in, double[] outRe, double[] outIm, ForkJoinPool pool) {
+        int half = size / 2;
+        checkLength(in, size);
+        checkLength(outRe, half + 1);
+        checkLength(outIm, half + 1);
+        if (!isRadix2() || size == 1) {
+            double[] re = in.clone();
+            double[] im = new double[size];
+            transform(re, im, 1, pool);
+            System.arraycopy(re, 0, outRe, 0, half + 1);
+            System.arraycopy(im, 0, outIm, 0, half + 1);
+            return;
+        }
+        for (int k = 0; k < half; k++) {
+            outRe[k] = in[2 * k];
+            outIm[k] = in[2 * k + 1];
+        }
+        FftKernels.transform(outRe, outIm, half, twiddleRe, twiddleIm, 1, parallel(pool, half));
+        // Split Z = FFT(even + i odd) into E = FFT(even) and O = FFT(odd), then X = E + W^k O
+        double z0r = outRe[0];
+        double z0i = outIm[0];
+        outRe[0] = z0r + z0i;
+        outIm[0] = 0;
+        outRe[half] = z0r - z0i;
+        outIm[half] = 0;
+        for (int k = 1; k <= half / 2; k++) {
+            int m = half - k;
+            double ar = outRe[k];
+            double ai = outIm[k];
+            double br = outRe[m];
+            double bi = outIm[m];
+            double er = (ar + br) / 2;
+            double ei = (ai - bi) / 2;
+            double or = (ai + bi) / 2;
+            double oi = (br - ar) / 2;
+            double wr = twiddleRe[half + k];
+            double wi = twiddleIm[half + k];
+            double pr = wr * or - wi * oi;
+            double pi = wr * oi + wi * or;
+            outRe[k] = er + pr;
+            outIm[k] = ei + pi;
+            outRe[m] = er - pr;
+            outIm[m] = pi - ei;
+        }
+    }
+    
+    public void inverseReal(double[] re, double[] im, double[] out) {
+        inverseReal(re, im, out, null);
+    }
+    
+    /**
+     * Reconstructs a real sequence from the half spectrum written by {@link #forwardReal},
+     * scaled by {@code 1 / size}. The imaginary parts of {@code X[0]} and, for even sizes,
+     * {@code X[size / 2]} are ignored, as they are zero for any real sequence.
+     * @param re real parts of the spectrum, exactly {@code size / 2 + 1} elements; overwritten
+     * @param im imaginary parts of the spectrum, exactly {@code size / 2 + 1} elements; overwritten
+     * @param out real output, exactly {@code size} elements
+     * @param pool pool for large transforms, or {@code null} to stay on the calling thread
+     * @throws IllegalArgumentException if an array has the wrong length
+     */
+    public void inverseReal(double[] re, double[] im, double[] out, ForkJoinPool pool) {
+        int half = size / 2;
+        checkLength(re, half + 1);
+        checkLength(im, half + 1);
+        checkLength(out, size);
+        if (!isRadix2() || size == 1) {
+            double[] fullRe = new double[size];
+            double[] fullIm = new double[size];
+            for (int k = 0; k <= half; k++) {
+                fullRe[k] = re[k];
+                fullIm[k] = im[k];
+            }
+            fullIm[0] = 0;
+            if (size % 2 == 0) {
+                fullIm[half] = 0;
+            }
+            for (int k = 1; k < size - half; k++) {
+                fullRe[size - k] = re[k];
+                fullIm[size - k] = -im[k];
+            }
+            transform(fullRe, fullIm, -1, pool);
+            for (int k = 0; k < size; k++) {
+                out[k] = fullRe[k] / size;
+            }
+            return;
+        }
+        // Undo the split of forwardReal: Z[k] = E + iO with E = (X[k] + conj(X[h - k])) / 2
+        // and O = (X[k] - conj(X[h - k])) conj(W^k) / 2
+        double x0 = re[0];
+        double xh = re[half];
+        re[0] = (x0 + xh) / 2;
+        im[0] = (x0 - xh) / 2;
+        for (int k = 1; k <= half / 2; k++) {
+            int m = half - k;
+            double ar = re[k];
+            double ai = im[k];
+            double br = re[m];
+            double bi = im[m];
+            double er = (ar + br) / 2;
+            double ei = (ai - bi) / 2;
+            double dr = (ar - br) / 2;
+            double di = (ai + bi) / 2;
+            double wr = twiddleRe[half + k];
+            double wi = twiddleIm[half + k];
+            double or = dr * wr + di * wi;
+            double oi = di * wr - dr * wi;
+            re[k] = er - oi;
+            im[k] = ei + or;
+            re[m] = er + oi;
+            im[m] = or - ei;
+        }
+        FftKernels.transform(re, im, half, twiddleRe, twiddleIm, -1, parallel(pool, half));
+        double scale = 1.0 / half;
+        for (int k = 0; k < half; k++) {
+            out[2 * k] = re[k] * scale;
+            out[2 * k + 1] = im[k] * scale;
+        }
+    }
+    
+    /** Unscaled transform of the whole arrays, forward for sign 1 and inverse for sign -1 */
+    private void transform(double[] re, double[] im, double sign, ForkJoinPool pool) {
+        if (isRadix2()) {
+            FftKernels.transform(re, im, size, twiddleRe, twiddleIm, sign, parallel(pool, size));
+            return;
+        }
+        // Bluestein: X = chirp * ((x * chirp) convolved with conj(chirp)); the inverse conjugates the chirp
+        int m = convolution.size;
+        double[] aRe = new double[m];
+        double[] aIm = new double[m];
+        for (int k = 0; k < size; k++) {
+            double cr = chirpRe[k];
+            double ci = sign * chirpIm[k];
+            aRe[k] = re[k] * cr - im[k] * ci;
+            aIm[k] = re[k] * ci + im[k] * cr;
+        }
+        convolution.transform(aRe, aIm, 1, pool);
+        for (int k = 0; k < m; k++) {
+            // The inverse convolves with the chirp itself, whose transform is conj(K[m - k])
+            int index = sign > 0 ? k : (m - k) & (m - 1);
+            double kr = kernelRe[index];
+            double ki = sign * kernelIm[index];
+            double ar = aRe[k];
+            double ai = aIm[k];
+            aRe[k] = ar * kr - ai * ki;
+            aIm[k] = ar * ki + ai * kr;
+        }
+        convolution.transform(aRe, aIm, -1, pool);
+        double scale = 1.0 / m;
+        for (int k = 0; k < size; k++) {
+            double cr = chirpRe[k];
+            double ci = sign * chirpIm[k];
+            double ar = aRe[k] * scale;
+            double ai = aIm[k] * scale;
+            re[k] = ar * cr - ai * ci;
+            im[k] = ar * ci + ai * cr;
+        }
+    }
+    
+    private static ForkJoinPool parallel(ForkJoinPool pool, int n) {
+        return n >= PARALLEL_THRESHOLD ? pool : null;
+    }
+    
+    private static void scale(double[] re, double[] im, int n, double factor) {
+        for (int k = 0; k < n; k++) {
+            re[k] *= factor;
+            im[k] *= factor;
+        }
+    }
+    
+    private static boolean isPowerOfTwo(int n) {
+        return (n & (n - 1)) == 0;
+    }
+    
+    private static void checkLength(double[] array, int length) {
+        Objects.requireNonNull(array, "array");
+        if (array.length != length) {
+            throw new IllegalArgumentException("Expected an array of " + length + " elements, got " + array.length);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "FastFourierTransform[" + size + (isRadix2() ? ", radix-2]" : ", Bluestein via " + convolution.size + "]");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,268 @@
+package com.mathops.fft;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Iterative radix-2 kernels behind {@link FastFourierTransform}, on split real
+ * and imaginary arrays.
+ * <p>
+ * A transform of size {@code n} is a bit-reversal permutation followed by
+ * {@code log2 n} butterfly stages. The twiddle factors of the stage with
+ * half-span {@code h} are {@code e^(-i pi k / h)} for {@code k < h}, stored at
+ * indices {@code [h, 2h)} of one table, so every stage reads its twiddles
+ * contiguously and a table built for {@code n} serves every smaller power of
+ * two. Stages whose span fits in {@value #BLOCK} points run block by block, so
+ * the first {@code log2 BLOCK} passes over the data happen while a block is in
+ * cache; the remaining stages sweep the whole array two at a time.
+ */
+final class FftKernels {
+    
+    /** Points per cache block, 32 KB of split doubles */
+    static final int BLOCK = 1 << 11;
+    
+    /** Butterflies below which a parallel task is not split further */
+    private static final int MIN_TASK_BUTTERFLIES = 1 << 12;
+    
+    private FftKernels() {
+    }
+    
+    /**
+     * Builds the twiddle table for transforms of up to {@code n} points
+     * @param n power of two
+     * @param angles array of at least {@code n} elements receiving the angle of every entry
+     */
+    static void twiddleAngles(int n, double[] angles) {
+        for (int h = 1; h < n; h <<= 1) {
+            for (int k = 0; k < h; k++) {
+                angles[h + k] = -Math.PI * k / h;
+            }
+        }
+    }
+    
+    /**
+     * Transforms {@code [0, n)} of the arrays in place, without scaling
+     * @param n power of two, at most the size of the twiddle table
+     * @param sign 1 for the forward transform, -1 for the inverse
+     * @param pool pool for the parallel path, or {@code null} to stay on the calling thread
+     */
+    static void transform(double[] re, double[] im, int n, double[] twRe, double[] twIm, double sign,
+                          ForkJoinPool pool) {
+        if (n < 2) {
+            return;
+        }
+        int shift = Integer.numberOfLeadingZeros(n) + 1;
+        int block = Math.min(BLOCK, n);
+        if (pool == null) {
+            bitReverse(re, im, shift, 0, n);
+            for (int b = 0; b < n; b += block) {
+                blockStages(re, im, twRe, twIm, sign, b, block);
+            }
+            int h = block;
+            for (; 2 * h < n; h <<= 2) {
+                stagePair(re, im, twRe, twIm, sign, h, 0, n >>> 2);
+            }
+            if (h < n) {
+                stage(re, im, twRe, twIm, sign, h, 0, n >>> 1);
+            }
+            return;
+        }
+        int chunk = Math.max(MIN_TASK_BUTTERFLIES, n / (pool.getParallelism() * 8));
+        pool.invoke(new RangeTask((from, to) -> bitReverse(re, im, shift, from, to), 0, n, chunk));
+        // Whole blocks per task, so tasks never share a block
+        int blockChunk = Math.max(1, chunk / block);
+        pool.invoke(new RangeTask((from, to) -> {
+            for (int b = from; b < to; b++) {
+                blockStages(re, im, twRe, twIm, sign, b * block, block);
+            }
+        }, 0, n / block, blockChunk));
+        int h = block;
+        for (; 2 * h < n; h <<= 2) {
+            int half = h;
+            pool.invoke(new RangeTask((from, to) -> stagePair(re, im, twRe, twIm, sign, half, from, to),
+                    0, n >>> 2, chunk));
+        }
+        if (h < n) {
+            int half = h;
+            pool.invoke(new RangeTask((from, to) -> stage(re, im, twRe, twIm, sign, half, from, to),
+                    0, n >>> 1, chunk));
+        }
+    }
+    
+    /**
+     * Swaps element {@code i} with its bit-reversed partner for {@code i} in {@code [from, to)}.
+     * Each pair is swapped only by its lower index, so disjoint ranges can run concurrently.
+     */
+    private static void bitReverse(double[] re, double[] im, int shift, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int j = Integer.reverse(i) >>> shift;
+            if (i < j) {
+                double t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+    }
+    
+    /** Runs every stage with span up to {@code size} on the block starting at {@code off} */
+    private static void blockStages(double[] re, double[] im, double[] twRe, double[] twIm, double sign,
+                                    int off, int size) {
+        int end = off + size;
+        for (int i = off; i < end; i += 2) {
+            double ar = re[i];
+            double ai = im[i];
+            double br = re[i + 1];
+            double bi = im[i + 1];
+            re[i] = ar + br;
+            im[i] = ai + bi;
+            re[i + 1] = ar - br;
+            im[i + 1] = ai - bi;
+        }
+        for (int h = 2; h < size; h <<= 1) {
+            for (int s = off; s < end; s += h << 1) {
+                butterflies(re, im, twRe, twIm, sign, s, h, 0, h);
+            }
+        }
+    }
+    
+    /**
+     * Runs butterflies {@code [from, to)} of the stage with half-span {@code h}, numbering them
+     * group by group; ranges split at multiples of {@code h} or of a power of two below it
+     */
+    private static void stage(double[] re, double[] im, double[] twRe, double[] twIm, double sign,
+                              int h, int from, int to) {
+        int logH = Integer.numberOfTrailingZeros(h);
+        while (from < to) {
+            int group = from >>> logH;
+            int k = from & (h - 1);
+            int count = Math.min(h - k, to - from);
+            butterflies(re, im, twRe, twIm, sign, group << (logH + 1), h, k, k + count);
+            from += count;
+        }
+    }
+    
+    /**
+     * Runs the stages with half-spans {@code h} and {@code 2h} together over quadruples
+     * {@code [from, to)}, numbered like the butterflies of {@link #stage}. Each element is
+     * loaded and stored once instead of twice; the arithmetic, and so the result, is that
+     * of the two separate stages.
+     */
+    private static void stagePair(double[] re, double[] im, double[] twRe, double[] twIm, double sign,
+                                  int h, int from, int to) {
+        int logH = Integer.numberOfTrailingZeros(h);
+        while (from < to) {
+            int group = from >>> logH;
+            int k = from & (h - 1);
+            int count = Math.min(h - k, to - from);
+            quadButterflies(re, im, twRe, twIm, sign, group << (logH + 2), h, k, k + count);
+            from += count;
+        }
+    }
+    
+    private static void quadButterflies(double[] re, double[] im, double[] twRe, double[] twIm, double sign,
+                                        int start, int h, int kFrom, int kTo) {
+        int h2 = 2 * h;
+        for (int k = kFrom; k < kTo; k++) {
+            int a = start + k;
+            int b = a + h;
+            int c = b + h;
+            int d = c + h;
+            double w1r = twRe[h + k];
+            double w1i = sign * twIm[h + k];
+            double w2r = twRe[h2 + k];
+            double w2i = sign * twIm[h2 + k];
+            double w3r = twRe[h2 + h + k];
+            double w3i = sign * twIm[h2 + h + k];
+            // Stage h: (a, b) and (c, d), both with w1
+            double xr = re[b];
+            double xi = im[b];
+            double tr = xr * w1r - xi * w1i;
+            double ti = xr * w1i + xi * w1r;
+            double ar = re[a];
+            double ai = im[a];
+            double a1r = ar + tr;
+            double a1i = ai + ti;
+            double b1r = ar - tr;
+            double b1i = ai - ti;
+            xr = re[d];
+            xi = im[d];
+            tr = xr * w1r - xi * w1i;
+            ti = xr * w1i + xi * w1r;
+            double cr = re[c];
+            double ci = im[c];
+            double c1r = cr + tr;
+            double c1i = ci + ti;
+            double d1r = cr - tr;
+            double d1i = ci - ti;
+            // Stage 2h: (a, c) with w2 and (b, d) with w3
+            tr = c1r * w2r - c1i * w2i;
+            ti = c1r * w2i + c1i * w2r;
+            re[a] = a1r + tr;
+            im[a] = a1i + ti;
+            re[c] = a1r - tr;
+            im[c] = a1i - ti;
+            tr = d1r * w3r - d1i * w3i;
+            ti = d1r * w3i + d1i * w3r;
+            re[b] = b1r + tr;
+            im[b] = b1i + ti;
+            re[d] = b1r - tr;
+            im[d] = b1i - ti;
+        }
+    }
+    
+    private static void butterflies(double[] re, double[] im, double[] twRe, double[] twIm, double sign,
+                                    int start, int h, int kFrom, int kTo) {
+        for (int k = kFrom; k < kTo; k++) {
+            int i = start + k;
+            int j = i + h;
+            double wr = twRe[h + k];
+            double wi = sign * twIm[h + k];
+            double xr = re[j];
+            double xi = im[j];
+            double tr = xr * wr - xi * wi;
+            double ti = xr * wi + xi * wr;
+            double ur = re[i];
+            double ui = im[i];
+            re[i] = ur + tr;
+            im[i] = ui + ti;
+            re[j] = ur - tr;
+            im[j] = ui - ti;
+        }
+    }
+    
+    @FunctionalInterface
+    interface RangeAction {
+        void apply(int from, int to);
+    }
+    
+    /** Halves its range until it is no larger than the chunk size */
+    static final class RangeTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final RangeAction action;
+        private final int from;
+        private final int to;
+        private final int chunk;
+        
+        RangeTask(RangeAction action, int from, int to, int chunk) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                action.apply(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(action, from, mid, chunk), new RangeTask(action, mid, to, chunk));
+        }
+    }
+}
\ No newline at end of file
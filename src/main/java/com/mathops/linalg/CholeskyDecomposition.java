@@ -0,0 +1,143 @@
+package com.mathops.linalg;
+
+/**
+ * Cholesky decomposition {@code A = L L^T} of a symmetric positive definite matrix.
+ * <p>
+ * Only the lower triangle of A is read. Each element of L is a dot product of two
+ * row prefixes of L, which are contiguous in row-major order. About half the work
+ * of {@link LUDecomposition}, and no pivoting is needed.
+ */
+public final class CholeskyDecomposition {
+    
+    private final int n;
+    private final double[] l;
+    
+    private CholeskyDecomposition(int n, double[] l) {
+        this.n = n;
+        this.l = l;
+    }
+    
+    /**
+     * Decomposes a symmetric positive definite matrix, leaving it unchanged
+     * @param matrix square matrix whose lower triangle is used
+     * @return decomposition
+     * @throws IllegalArgumentException if the matrix is not square or not positive definite
+     */
+    public static CholeskyDecomposition of(DenseMatrix matrix) {
+        if (!matrix.isSquare()) {
+            throw new IllegalArgumentException("Cholesky decomposition needs a square matrix, got "
+                    + matrix.describe());
+        }
+        int n = matrix.getRows();
+        double[] a = matrix.getData();
+        double[] l = new double[a.length];
+        for (int j = 0; j < n; j++) {
+            int rowJ = j * n;
+            double diagonal = a[rowJ + j] - MatrixKernels.dot(l, rowJ, l, rowJ, j);
+            if (!(diagonal > 0)) {
+                throw new IllegalArgumentException("Matrix is not positive definite");
+            }
+            double root = Math.sqrt(diagonal);
+            l[rowJ + j] = root;
+            for (int i = j + 1; i < n; i++) {
+                int rowI = i * n;
+                l[rowI + j] = (a[rowI + j] - MatrixKernels.dot(l, rowI, l, rowJ, j)) / root;
+            }
+        }
+        return new CholeskyDecomposition(n, l);
+    }
+    
+    /**
+     * Returns the lower triangular factor
+     * @return new matrix L
+     */
+    public DenseMatrix getLower() {
+        return DenseMatrix.wrap(n, n, l.clone());
+    }
+    
+    /**
+     * Calculates the determinant, the squared product of the diagonal of L
+     * @return determinant
+     */
+    public double determinant() {
+        double product = 1;
+        for (int i = 0; i < n; i++) {
+            product *= l[i * n + i];
+        }
+        return product * product;
+    }
+    
+    /**
+     * Solves {@code A x = b}
+     * @param b right-hand side
+     * @return new solution vector
+     * @throws IllegalArgumentException if the dimension is wrong
+     */
+    public DenseVector solve(DenseVector b) {
+        DenseVector x = DenseVector.zeros(n);
+        solveInto(b, x);
+        return x;
+    }
+    
+    /**
+     * Solves {@code A x = b} into {@code x}, allocating nothing. {@code x} may be {@code b}.
+     * @param b right-hand side
+     * @param x receives the solution
+     * @throws IllegalArgumentException if a dimension is wrong
+     */
+    public void solveInto(DenseVector b, DenseVector x) {
+        if (b.getDimension() != n || x.getDimension() != n) {
+            throw new IllegalArgumentException("Expected vectors of dimension " + n);
+        }
+        double[] bd = b.getData();
+        double[] xd = x.getData();
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+            xd[i] = (bd[i] - MatrixKernels.dot(l, row, xd, 0, i)) / l[row + i];
+        }
+        // L^T is upper triangular; its row i is column i of L, so subtract by columns instead
+        for (int i = n - 1; i >= 0; i--) {
+            xd[i] /= l[i * n + i];
+            double value = xd[i];
+            int row = i * n;
+            for (int j = 0; j < i; j++) {
+                xd[j] -= l[row + j] * value;
+            }
+        }
+    }
+    
+    /**
+     * Solves {@code A X = B} for every column of B at once
+     * @param b right-hand sides, one per column
+     * @return new solution matrix
+     * @throws IllegalArgumentException if B has the wrong number of rows
+     */
+    public DenseMatrix solve(DenseMatrix b) {
+        if (b.getRows() != n) {
+            throw new IllegalArgumentException("Expected " + n + " rows but got " + b.describe());
+        }
+        DenseMatrix x = b.copy();
+        int m = b.getColumns();
+        double[] xd = x.getData();
+        for (int k = 0; k < n; k++) {
+            scaleRow(xd, m, k, 1 / l[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                LUDecomposition.subtractRow(xd, m, i, k, l[i * n + k]);
+            }
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            scaleRow(xd, m, k, 1 / l[k * n + k]);
+            for (int i = 0; i < k; i++) {
+                LUDecomposition.subtractRow(xd, m, i, k, l[k * n + i]);
+            }
+        }
+        return x;
+    }
+    
+    private static void scaleRow(double[] data, int columns, int row, double factor) {
+        int r = row * columns;
+        for (int j = 0; j < columns; j++) {
+            data[r + j] *= factor;
+        }
+    }
+}
\ No newline at end of file
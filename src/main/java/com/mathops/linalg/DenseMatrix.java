@@ -0,0 +1,335 @@
+package com.mathops.linalg;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Dense matrix of doubles stored row-major in a single array.
+ * <p>
+ * Element {@code (i, j)} lives at index {@code i * columns + j}. Products use the
+ * cache-blocked, register-tiled kernels of {@link MatrixKernels}; the {@code Into}
+ * variants write into a caller-supplied result and allocate nothing. Products
+ * given a {@link ForkJoinPool} split the rows of the result across it once the
+ * product has at least {@value #PARALLEL_THRESHOLD} multiply-adds, and run on
+ * the calling thread below that. Matrices are mutable and not thread-safe.
+ */
+public final class DenseMatrix {
+    
+    /** Multiply-adds below which a product stays on the calling thread, about 128^3 */
+    public static final long PARALLEL_THRESHOLD = 1L << 21;
+    
+    private final int rows;
+    private final int columns;
+    private final double[] data;
+    
+    private DenseMatrix(int rows, int columns, double[] data) {
+        this.rows = rows;
+        this.columns = columns;
+        this.data = data;
+    }
+    
+    /**
+     * Creates a matrix of zeros
+     * @param rows number of rows
+     * @param columns number of columns
+     * @return new matrix
+     * @throws IllegalArgumentException if a dimension is negative or the matrix has more than 2^31 - 1 elements
+     */
+    public static DenseMatrix zeros(int rows, int columns) {
+        return new DenseMatrix(rows, columns, new double[size(rows, columns)]);
+    }
+    
+    /**
+     * Creates an identity matrix
+     * @param n number of rows and columns
+     * @return new matrix
+     */
+    public static DenseMatrix identity(int n) {
+        DenseMatrix identity = zeros(n, n);
+        for (int i = 0; i < n; i++) {
+            identity.data[i * n + i] = 1;
+        }
+        return identity;
+    }
+    
+    /**
+     * Creates a matrix holding a copy of the rows
+     * @param values rows of equal length
+     * @return new matrix
+     * @throws IllegalArgumentException if the rows differ in length
+     */
+    public static DenseMatrix of(double[][] values) {
+        int columns = values.length == 0 ? 0 : values[0].length;
+        DenseMatrix matrix = zeros(values.length, columns);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].length != columns) {
+                throw new IllegalArgumentException("Rows must all have " + columns + " columns");
+            }
+            System.arraycopy(values[i], 0, matrix.data, i * columns, columns);
+        }
+        return matrix;
+    }
+    
+    /**
+     * Creates a matrix backed by a row-major array, without copying
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param data {@code rows * columns} elements; later changes are visible in the matrix
+     * @return matrix sharing the array
+     * @throws IllegalArgumentException if the array length does not match the dimensions
+     */
+    public static DenseMatrix wrap(int rows, int columns, double[] data) {
+        if (data.length != size(rows, columns)) {
+            throw new IllegalArgumentException("Expected " + rows + " x " + columns + " elements but got " + data.length);
+        }
+        return new DenseMatrix(rows, columns, data);
+    }
+    
+    public int getRows() {
+        return rows;
+    }
+    
+    public int getColumns() {
+        return columns;
+    }
+    
+    public boolean isSquare() {
+        return rows == columns;
+    }
+    
+    public double get(int row, int column) {
+        return data[index(row, column)];
+    }
+    
+    public void set(int row, int column, double value) {
+        data[index(row, column)] = value;
+    }
+    
+    /**
+     * Returns the backing row-major array, not a copy
+     * @return elements
+     */
+    public double[] getData() {
+        return data;
+    }
+    
+    public DenseMatrix copy() {
+        return new DenseMatrix(rows, columns, data.clone());
+    }
+    
+    /**
+     * Calculates the transpose
+     * @return new {@code columns x rows} matrix
+     */
+    public DenseMatrix transpose() {
+        DenseMatrix out = zeros(columns, rows);
+        MatrixKernels.transpose(data, out.data, rows, columns);
+        return out;
+    }
+    
+    /**
+     * Writes the transpose into {@code out}. A square matrix may be transposed into itself.
+     * @param out {@code columns x rows} matrix
+     * @throws IllegalArgumentException if {@code out} has the wrong dimensions, or is this matrix and it is not square
+     */
+    public void transposeInto(DenseMatrix out) {
+        checkDimensions(out, columns, rows);
+        if (out.data == data) {
+            if (!isSquare()) {
+                throw new IllegalArgumentException("Only a square matrix can be transposed in place");
+            }
+            MatrixKernels.transposeSquare(data, rows);
+        } else {
+            MatrixKernels.transpose(data, out.data, rows, columns);
+        }
+    }
+    
+    /**
+     * Multiplies this matrix by another on the calling thread
+     * @param other matrix with as many rows as this has columns
+     * @return new {@code rows x other.columns} product
+     * @throws IllegalArgumentException if the inner dimensions differ
+     */
+    public DenseMatrix multiply(DenseMatrix other) {
+        return multiply(other, null);
+    }
+    
+    /**
+     * Multiplies this matrix by another, in parallel on the pool when the product is large
+     * @param other matrix with as many rows as this has columns
+     * @param pool pool for large products, or {@code null} to stay on the calling thread
+     * @return new {@code rows x other.columns} product
+     * @throws IllegalArgumentException if the inner dimensions differ
+     */
+    public DenseMatrix multiply(DenseMatrix other, ForkJoinPool pool) {
+        checkInner(other);
+        DenseMatrix out = zeros(rows, other.columns);
+        multiplyInto(other, out, pool);
+        return out;
+    }
+    
+    /**
+     * Writes the product of this matrix and another into {@code out} on the calling thread
+     * @param other matrix with as many rows as this has columns
+     * @param out {@code rows x other.columns} result, not sharing storage with either operand
+     * @throws IllegalArgumentException if the dimensions do not match or {@code out} is an operand
+     */
+    public void multiplyInto(DenseMatrix other, DenseMatrix out) {
+        multiplyInto(other, out, null);
+    }
+    
+    /**
+     * Writes the product of this matrix and another into {@code out}, in parallel on the pool
+     * when the product is large
+     * @param other matrix with as many rows as this has columns
+     * @param out {@code rows x other.columns} result, not sharing storage with either operand
+     * @param pool pool for large products, or {@code null} to stay on the calling thread
+     * @throws IllegalArgumentException if the dimensions do not match or {@code out} is an operand
+     */
+    public void multiplyInto(DenseMatrix other, DenseMatrix out, ForkJoinPool pool) {
+        checkInner(other);
+        checkDimensions(out, rows, other.columns);
+        if (out.data == data || out.data == other.data) {
+            throw new IllegalArgumentException("The result must not share storage with an operand");
+        }
+        long work = (long) rows * columns * other.columns;
+        if (pool == null || work < PARALLEL_THRESHOLD || rows < 2 * MatrixKernels.MC) {
+            MatrixKernels.multiply(data, other.data, out.data, columns, other.columns, 0, rows);
+            return;
+        }
+        int rowsPerTask = Math.max(MatrixKernels.MC, rows / (pool.getParallelism() * 4));
+        pool.invoke(new MultiplyTask(data, other.data, out.data, columns, other.columns, 0, rows, rowsPerTask));
+    }
+    
+    /**
+     * Multiplies this matrix by a vector
+     * @param x vector with as many elements as this has columns
+     * @return new vector with {@code rows} elements
+     * @throws IllegalArgumentException if the dimensions do not match
+     */
+    public DenseVector multiply(DenseVector x) {
+        DenseVector out = DenseVector.zeros(rows);
+        multiplyInto(x, out);
+        return out;
+    }
+    
+    /**
+     * Writes the product of this matrix and a vector into {@code out}
+     * @param x vector with as many elements as this has columns
+     * @param out vector with {@code rows} elements, distinct from {@code x}
+     * @throws IllegalArgumentException if the dimensions do not match or {@code out} is {@code x}
+     */
+    public void multiplyInto(DenseVector x, DenseVector out) {
+        if (x.getDimension() != columns || out.getDimension() != rows) {
+            throw new IllegalArgumentException("Cannot multiply " + describe() + " matrix by vector of dimension "
+                    + x.getDimension() + " into dimension " + out.getDimension());
+        }
+        if (out.getData() == x.getData()) {
+            throw new IllegalArgumentException("The result must not share storage with an operand");
+        }
+        MatrixKernels.multiplyVector(data, x.getData(), out.getData(), rows, columns);
+    }
+    
+    private int index(int row, int column) {
+        Objects.checkIndex(row, rows);
+        Objects.checkIndex(column, columns);
+        return row * columns + column;
+    }
+    
+    private void checkInner(DenseMatrix other) {
+        if (columns != other.rows) {
+            throw new IllegalArgumentException("Cannot multiply " + describe() + " by " + other.describe());
+        }
+    }
+    
+    private static void checkDimensions(DenseMatrix matrix, int rows, int columns) {
+        if (matrix.rows != rows || matrix.columns != columns) {
+            throw new IllegalArgumentException("Expected a " + rows + "x" + columns + " matrix but got "
+                    + matrix.describe());
+        }
+    }
+    
+    private static int size(int rows, int columns) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Dimensions must not be negative");
+        }
+        long size = (long) rows * columns;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Matrix of " + rows + "x" + columns + " is too large");
+        }
+        return (int) size;
+    }
+    
+    String describe() {
+        return rows + "x" + columns;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DenseMatrix)) {
+            return false;
+        }
+        DenseMatrix other = (DenseMatrix) o;
+        return rows == other.rows && columns == other.columns && Arrays.equals(data, other.data);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + columns) + Arrays.hashCode(data);
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("DenseMatrix ").append(describe()).append(" [");
+        for (int i = 0; i < rows; i++) {
+            sb.append(i == 0 ? "" : ", ")
+                    .append(Arrays.toString(Arrays.copyOfRange(data, i * columns, (i + 1) * columns)));
+        }
+        return sb.append(']').toString();
+    }
+    
+    /**
+     * Halves its range of result rows until it is no larger than the task size;
+     * split points are kept on multiples of four so every task runs full register tiles
+     */
+    private static final class MultiplyTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final double[] a;
+        private final double[] b;
+        private final double[] c;
+        private final int k;
+        private final int n;
+        private final int rowFrom;
+        private final int rowTo;
+        private final int rowsPerTask;
+        
+        MultiplyTask(double[] a, double[] b, double[] c, int k, int n, int rowFrom, int rowTo, int rowsPerTask) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.k = k;
+            this.n = n;
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+            this.rowsPerTask = rowsPerTask;
+        }
+        
+        @Override
+        protected void compute() {
+            if (rowTo - rowFrom <= rowsPerTask) {
+                MatrixKernels.multiply(a, b, c, k, n, rowFrom, rowTo);
+                return;
+            }
+            int mid = rowFrom + (((rowTo - rowFrom) >>> 1) & ~3);
+            invokeAll(new MultiplyTask(a, b, c, k, n, rowFrom, mid, rowsPerTask),
+                    new MultiplyTask(a, b, c, k, n, mid, rowTo, rowsPerTask));
+        }
+    }
+}
\ No newline at end of file
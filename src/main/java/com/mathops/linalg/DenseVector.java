@@ -0,0 +1,136 @@
+package com.mathops.linalg;
+
+import com.mathops.operations.BasicMathOperations;
+import com.mathops.operations.SummationAlgorithm;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Dense vector of doubles backed by a plain array.
+ * <p>
+ * Vectors are mutable and not thread-safe. {@link #wrap} and {@link #getData}
+ * share the backing array without copying, so results can be written straight
+ * into arrays owned by the caller.
+ */
+public final class DenseVector {
+    
+    private static final BasicMathOperations BASIC = new BasicMathOperations();
+    
+    private final double[] data;
+    
+    private DenseVector(double[] data) {
+        this.data = data;
+    }
+    
+    /**
+     * Creates a vector of zeros
+     * @param dimension number of elements
+     * @return new vector
+     * @throws IllegalArgumentException if the dimension is negative
+     */
+    public static DenseVector zeros(int dimension) {
+        if (dimension < 0) {
+            throw new IllegalArgumentException("Dimension must not be negative");
+        }
+        return new DenseVector(new double[dimension]);
+    }
+    
+    /**
+     * Creates a vector holding a copy of the values
+     * @param values elements
+     * @return new vector
+     */
+    public static DenseVector of(double... values) {
+        return new DenseVector(values.clone());
+    }
+    
+    /**
+     * Creates a vector backed by the array, without copying
+     * @param data elements; later changes to the array are visible in the vector
+     * @return vector sharing the array
+     */
+    public static DenseVector wrap(double[] data) {
+        return new DenseVector(Objects.requireNonNull(data, "data"));
+    }
+    
+    public int getDimension() {
+        return data.length;
+    }
+    
+    public double get(int index) {
+        return data[index];
+    }
+    
+    public void set(int index, double value) {
+        data[index] = value;
+    }
+    
+    /**
+     * Returns the backing array, not a copy
+     * @return elements
+     */
+    public double[] getData() {
+        return data;
+    }
+    
+    public DenseVector copy() {
+        return new DenseVector(data.clone());
+    }
+    
+    /**
+     * Calculates the dot product, summed pairwise
+     * @param other vector of the same dimension
+     * @return dot product
+     * @throws IllegalArgumentException if the dimensions differ
+     */
+    public double dot(DenseVector other) {
+        checkDimension(other);
+        return BASIC.dot(data, other.data, SummationAlgorithm.PAIRWISE);
+    }
+    
+    /**
+     * Calculates the Euclidean norm
+     * @return square root of the sum of squares
+     */
+    public double norm() {
+        return Math.sqrt(BASIC.sumOfSquares(data, SummationAlgorithm.PAIRWISE));
+    }
+    
+    /**
+     * Adds {@code alpha * x} to this vector in place
+     * @param alpha scale factor
+     * @param x vector of the same dimension
+     * @return this vector
+     * @throws IllegalArgumentException if the dimensions differ
+     */
+    public DenseVector addScaled(double alpha, DenseVector x) {
+        checkDimension(x);
+        for (int i = 0; i < data.length; i++) {
+            data[i] += alpha * x.data[i];
+        }
+        return this;
+    }
+    
+    void checkDimension(DenseVector other) {
+        if (other.data.length != data.length) {
+            throw new IllegalArgumentException("Vector dimensions do not match: "
+                    + data.length + " and " + other.data.length);
+        }
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof DenseVector && Arrays.equals(data, ((DenseVector) o).data));
+    }
+    
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+    
+    @Override
+    public String toString() {
+        return "DenseVector" + Arrays.toString(data);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.mathops.linalg;
+
+/**
+ * LU decomposition with partial pivoting, {@code P A = L U}.
+ * <p>
+ * L (unit lower triangular, diagonal not stored) and U share one row-major
+ * array. Elimination and substitution update whole rows at a time, so their
+ * inner loops run over contiguous memory. A singular matrix still decomposes,
+ * with a zero determinant, but cannot be solved.
+ */
+public final class LUDecomposition {
+    
+    private final int n;
+    private final double[] lu;
+    private final int[] pivot;
+    private final boolean evenPermutation;
+    private final boolean singular;
+    
+    private LUDecomposition(int n, double[] lu, int[] pivot, boolean evenPermutation, boolean singular) {
+        this.n = n;
+        this.lu = lu;
+        this.pivot = pivot;
+        this.evenPermutation = evenPermutation;
+        this.singular = singular;
+    }
+    
+    /**
+     * Decomposes a square matrix, leaving it unchanged
+     * @param matrix square matrix
+     * @return decomposition
+     * @throws IllegalArgumentException if the matrix is not square
+     */
+    public static LUDecomposition of(DenseMatrix matrix) {
+        if (!matrix.isSquare()) {
+            throw new IllegalArgumentException("LU decomposition needs a square matrix, got " + matrix.describe());
+        }
+        int n = matrix.getRows();
+        double[] lu = matrix.getData().clone();
+        int[] pivot = new int[n];
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+        boolean even = true;
+        boolean singular = false;
+        for (int k = 0; k < n; k++) {
+            int p = k;
+            double max = Math.abs(lu[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                double candidate = Math.abs(lu[i * n + k]);
+                if (candidate > max) {
+                    max = candidate;
+                    p = i;
+                }
+            }
+            if (p != k) {
+                swapRows(lu, n, p, k);
+                int t = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = t;
+                even = !even;
+            }
+            double diagonal = lu[k * n + k];
+            if (diagonal == 0 || Double.isNaN(diagonal)) {
+                singular = true;
+                continue;
+            }
+            int rowK = k * n;
+            for (int i = k + 1; i < n; i++) {
+                int rowI = i * n;
+                double factor = lu[rowI + k] / diagonal;
+                lu[rowI + k] = factor;
+                if (factor != 0) {
+                    for (int j = k + 1; j < n; j++) {
+                        lu[rowI + j] -= factor * lu[rowK + j];
+                    }
+                }
+            }
+        }
+        return new LUDecomposition(n, lu, pivot, even, singular);
+    }
+    
+    public boolean isSingular() {
+        return singular;
+    }
+    
+    /**
+     * Calculates the determinant from the diagonal of U
+     * @return determinant, 0 if the matrix is singular
+     */
+    public double determinant() {
+        double determinant = evenPermutation ? 1 : -1;
+        for (int i = 0; i < n; i++) {
+            determinant *= lu[i * n + i];
+        }
+        return singular ? 0 : determinant;
+    }
+    
+    /**
+     * Returns the unit lower triangular factor
+     * @return new matrix L
+     */
+    public DenseMatrix getLower() {
+        DenseMatrix lower = DenseMatrix.identity(n);
+        double[] l = lower.getData();
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(lu, i * n, l, i * n, i);
+        }
+        return lower;
+    }
+    
+    /**
+     * Returns the upper triangular factor
+     * @return new matrix U
+     */
+    public DenseMatrix getUpper() {
+        DenseMatrix upper = DenseMatrix.zeros(n, n);
+        double[] u = upper.getData();
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(lu, i * n + i, u, i * n + i, n - i);
+        }
+        return upper;
+    }
+    
+    /**
+     * Returns the row permutation: row {@code i} of {@code L U} is row {@code pivot[i]} of A
+     * @return copy of the pivot indices
+     */
+    public int[] getPivot() {
+        return pivot.clone();
+    }
+    
+    /**
+     * Solves {@code A x = b}
+     * @param b right-hand side
+     * @return new solution vector
+     * @throws IllegalArgumentException if the dimension is wrong or the matrix is singular
+     */
+    public DenseVector solve(DenseVector b) {
+        DenseVector x = DenseVector.zeros(n);
+        solveInto(b, x);
+        return x;
+    }
+    
+    /**
+     * Solves {@code A x = b} into {@code x}, allocating nothing
+     * @param b right-hand side
+     * @param x receives the solution, distinct from {@code b}
+     * @throws IllegalArgumentException if a dimension is wrong, {@code x} is {@code b} or the matrix is singular
+     */
+    public void solveInto(DenseVector b, DenseVector x) {
+        if (b.getDimension() != n || x.getDimension() != n) {
+            throw new IllegalArgumentException("Expected vectors of dimension " + n);
+        }
+        if (b.getData() == x.getData()) {
+            throw new IllegalArgumentException("The solution must not share storage with the right-hand side");
+        }
+        checkSolvable();
+        double[] bd = b.getData();
+        double[] xd = x.getData();
+        for (int i = 0; i < n; i++) {
+            xd[i] = bd[pivot[i]] - MatrixKernels.dot(lu, i * n, xd, 0, i);
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int row = i * n;
+            xd[i] = (xd[i] - MatrixKernels.dot(lu, row + i + 1, xd, i + 1, n - i - 1)) / lu[row + i];
+        }
+    }
+    
+    /**
+     * Solves {@code A X = B} for every column of B at once
+     * @param b right-hand sides, one per column
+     * @return new solution matrix
+     * @throws IllegalArgumentException if B has the wrong number of rows or the matrix is singular
+     */
+    public DenseMatrix solve(DenseMatrix b) {
+        if (b.getRows() != n) {
+            throw new IllegalArgumentException("Expected " + n + " rows but got " + b.describe());
+        }
+        checkSolvable();
+        int m = b.getColumns();
+        DenseMatrix x = DenseMatrix.zeros(n, m);
+        double[] bd = b.getData();
+        double[] xd = x.getData();
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(bd, pivot[i] * m, xd, i * m, m);
+        }
+        // Forward then back substitution, subtracting whole solved rows
+        for (int k = 0; k < n; k++) {
+            for (int i = k + 1; i < n; i++) {
+                subtractRow(xd, m, i, k, lu[i * n + k]);
+            }
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            double diagonal = lu[k * n + k];
+            for (int j = 0; j < m; j++) {
+                xd[k * m + j] /= diagonal;
+            }
+            for (int i = 0; i < k; i++) {
+                subtractRow(xd, m, i, k, lu[i * n + k]);
+            }
+        }
+        return x;
+    }
+    
+    private void checkSolvable() {
+        if (singular) {
+            throw new IllegalArgumentException("Matrix is singular");
+        }
+    }
+    
+    static void subtractRow(double[] data, int columns, int target, int source, double factor) {
+        if (factor == 0) {
+            return;
+        }
+        int t = target * columns;
+        int s = source * columns;
+        for (int j = 0; j < columns; j++) {
+            data[t + j] -= factor * data[s + j];
+        }
+    }
+    
+    private static void swapRows(double[] data, int columns, int r1, int r2) {
+        int a = r1 * columns;
+        int b = r2 * columns;
+        for (int j = 0; j < columns; j++) {
+            double t = data[a + j];
+            data[a + j] = data[b + j];
+            data[b + j] = t;
+        }
+    }
+}
\ No newline at end of file
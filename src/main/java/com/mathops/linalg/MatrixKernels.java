@@ -0,0 +1,152 @@
+package com.mathops.linalg;
+
+import java.util.Arrays;
+
+/**
+ * Row-major kernels behind {@link DenseMatrix}.
+ * <p>
+ * The product walks {@code C += A * B} in blocks of {@value #MC} rows of A,
+ * {@value #KC} columns of A (rows of B) and {@value #NC} columns of B, so that
+ * the panel of B being reused stays in L2 cache and the rows of C being updated
+ * stay in L1. Inside a block, four rows of C are updated together: each element
+ * of B is loaded once and multiplied by four values of A held in registers, and
+ * the innermost loop runs over contiguous columns, which the JIT vectorizes.
+ */
+final class MatrixKernels {
+    
+    /** Rows of A per block */
+    static final int MC = 64;
+    
+    /** Columns of A, and rows of B, per block */
+    static final int KC = 256;
+    
+    /** Columns of B per block */
+    static final int NC = 512;
+    
+    /** Tile edge of the blocked transpose */
+    static final int TRANSPOSE_TILE = 32;
+    
+    private MatrixKernels() {
+    }
+    
+    /**
+     * Computes rows {@code [rowFrom, rowTo)} of {@code c = a * b}
+     * @param a m x k matrix
+     * @param b k x n matrix
+     * @param c m x n result, distinct from a and b
+     */
+    static void multiply(double[] a, double[] b, double[] c, int k, int n, int rowFrom, int rowTo) {
+        Arrays.fill(c, rowFrom * n, rowTo * n, 0.0);
+        for (int i0 = rowFrom; i0 < rowTo; i0 += MC) {
+            int iEnd = Math.min(i0 + MC, rowTo);
+            for (int p0 = 0; p0 < k; p0 += KC) {
+                int pEnd = Math.min(p0 + KC, k);
+                for (int j0 = 0; j0 < n; j0 += NC) {
+                    int jEnd = Math.min(j0 + NC, n);
+                    multiplyBlock(a, b, c, k, n, i0, iEnd, p0, pEnd, j0, jEnd);
+                }
+            }
+        }
+    }
+    
+    private static void multiplyBlock(double[] a, double[] b, double[] c, int k, int n,
+                                      int i0, int iEnd, int p0, int pEnd, int j0, int jEnd) {
+        int i = i0;
+        for (; i + 4 <= iEnd; i += 4) {
+            int a0 = i * k;
+            int a1 = a0 + k;
+            int a2 = a1 + k;
+            int a3 = a2 + k;
+            int c0 = i * n;
+            int c1 = c0 + n;
+            int c2 = c1 + n;
+            int c3 = c2 + n;
+            for (int p = p0; p < pEnd; p++) {
+                double x0 = a[a0 + p];
+                double x1 = a[a1 + p];
+                double x2 = a[a2 + p];
+                double x3 = a[a3 + p];
+                int bp = p * n;
+                for (int j = j0; j < jEnd; j++) {
+                    double y = b[bp + j];
+                    c[c0 + j] += x0 * y;
+                    c[c1 + j] += x1 * y;
+                    c[c2 + j] += x2 * y;
+                    c[c3 + j] += x3 * y;
+                }
+            }
+        }
+        for (; i < iEnd; i++) {
+            int ai = i * k;
+            int ci = i * n;
+            for (int p = p0; p < pEnd; p++) {
+                double x = a[ai + p];
+                int bp = p * n;
+                for (int j = j0; j < jEnd; j++) {
+                    c[ci + j] += x * b[bp + j];
+                }
+            }
+        }
+    }
+    
+    /**
+     * Computes {@code y = a * x} for an m x n matrix
+     */
+    static void multiplyVector(double[] a, double[] x, double[] y, int m, int n) {
+        for (int i = 0; i < m; i++) {
+            y[i] = dot(a, i * n, x, 0, n);
+        }
+    }
+    
+    /**
+     * Dot product of two contiguous ranges with four independent accumulators
+     */
+    static double dot(double[] a, int aOff, double[] b, int bOff, int len) {
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        int i = 0;
+        for (int unrolled = len & ~3; i < unrolled; i += 4) {
+            s0 += a[aOff + i] * b[bOff + i];
+            s1 += a[aOff + i + 1] * b[bOff + i + 1];
+            s2 += a[aOff + i + 2] * b[bOff + i + 2];
+            s3 += a[aOff + i + 3] * b[bOff + i + 3];
+        }
+        for (; i < len; i++) {
+            s0 += a[aOff + i] * b[bOff + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+    
+    /**
+     * Writes the transpose of an m x n matrix into {@code out}, tile by tile so
+     * that both the reads and the writes stay within a few cache lines
+     */
+    static void transpose(double[] a, double[] out, int m, int n) {
+        for (int i0 = 0; i0 < m; i0 += TRANSPOSE_TILE) {
+            int iEnd = Math.min(i0 + TRANSPOSE_TILE, m);
+            for (int j0 = 0; j0 < n; j0 += TRANSPOSE_TILE) {
+                int jEnd = Math.min(j0 + TRANSPOSE_TILE, n);
+                for (int i = i0; i < iEnd; i++) {
+                    for (int j = j0; j < jEnd; j++) {
+                        out[j * m + i] = a[i * n + j];
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Transposes a square n x n matrix in place
+     */
+    static void transposeSquare(double[] a, int n) {
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double t = a[i * n + j];
+                a[i * n + j] = a[j * n + i];
+                a[j * n + i] = t;
+            }
+        }
+    }
+}
\ No newline at end of file
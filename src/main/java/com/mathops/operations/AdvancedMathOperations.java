@@ -1,10 +1,107 @@
 package com.mathops.operations;
 
+import java.math.BigInteger;
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * Advanced mathematical operations utility class
+ * <p>
+ * Cube roots, logarithms and powers with a fixed exponent can opt in to a
+ * {@link TabulatedFunction}: {@link #withTable} returns operations that serve
+ * arguments inside the table's domain from the table and the rest exactly.
  */
 public class AdvancedMathOperations {
     
+    private final TabulatedFunction cubeRootTable;
+    private final TabulatedFunction naturalLogTable;
+    private final TabulatedFunction log10Table;
+    private final TabulatedFunction powerTable;
+    private final double powerTableExponent;
+    
+    /**
+     * Creates operations that compute every result exactly
+     */
+    public AdvancedMathOperations() {
+        this(null, null, null, null, Double.NaN);
+    }
+    
+    private AdvancedMathOperations(TabulatedFunction cubeRootTable, TabulatedFunction naturalLogTable,
+                                   TabulatedFunction log10Table, TabulatedFunction powerTable,
+                                   double powerTableExponent) {
+        this.cubeRootTable = cubeRootTable;
+        this.naturalLogTable = naturalLogTable;
+        this.log10Table = log10Table;
+        this.powerTable = powerTable;
+        this.powerTableExponent = powerTableExponent;
+    }
+    
+    /**
+     * Samples {@code cubeRoot}, {@code naturalLog} or {@code log10} into a table
+     * @param operation operation to tabulate
+     * @param min start of the domain
+     * @param max end of the domain
+     * @param points number of samples
+     * @param interpolation how to evaluate between samples
+     * @return table whose fallback is the exact operation
+     * @throws IllegalArgumentException if the operation cannot be tabulated or the domain is invalid
+     */
+    public TabulatedFunction tabulate(MathOperation operation, double min, double max, int points,
+                                      Interpolation interpolation) {
+        return TabulatedFunction.of(exact(operation), min, max, points, interpolation);
+    }
+    
+    /**
+     * Samples {@code x^exponent} into a table
+     * @param exponent fixed exponent
+     * @param min start of the domain
+     * @param max end of the domain
+     * @param points number of samples
+     * @param interpolation how to evaluate between samples
+     * @return table whose fallback is {@link Math#pow}
+     * @throws IllegalArgumentException if the domain is invalid or the power is not finite on it
+     */
+    public TabulatedFunction tabulatePower(double exponent, double min, double max, int points,
+                                           Interpolation interpolation) {
+        return TabulatedFunction.of(x -> Math.pow(x, exponent), min, max, points, interpolation);
+    }
+    
+    /**
+     * Returns operations that evaluate {@code cubeRoot}, {@code naturalLog} or {@code log10},
+     * scalar and bulk, through a table
+     * @param operation operation to replace
+     * @param table table to use, or {@code null} to compute the operation exactly again
+     * @return new operations; this instance is unchanged
+     * @throws IllegalArgumentException if the operation cannot be tabulated
+     */
+    public AdvancedMathOperations withTable(MathOperation operation, TabulatedFunction table) {
+        exact(operation);
+        return new AdvancedMathOperations(
+                operation == MathOperation.CUBE_ROOT ? table : cubeRootTable,
+                operation == MathOperation.NATURAL_LOG ? table : naturalLogTable,
+                operation == MathOperation.LOG10 ? table : log10Table,
+                powerTable, powerTableExponent);
+    }
+    
+    /**
+     * Returns operations that evaluate powers with exactly this exponent through a table
+     * @param exponent exponent the table was built for
+     * @param table table from {@link #tabulatePower}, or {@code null} to compute powers exactly again
+     * @return new operations; this instance is unchanged
+     */
+    public AdvancedMathOperations withPowerTable(double exponent, TabulatedFunction table) {
+        return new AdvancedMathOperations(cubeRootTable, naturalLogTable, log10Table, table,
+                table == null ? Double.NaN : exponent);
+    }
+    
+    private static DoubleUnaryOperator exact(MathOperation operation) {
+        switch (operation) {
+            case CUBE_ROOT: return Math::cbrt;
+            case NATURAL_LOG: return Math::log;
+            case LOG10: return Math::log10;
+            default: throw new IllegalArgumentException(operation.operationName() + " cannot be tabulated");
+        }
+    }
+    
     /**
      * Calculates power of a number
      * @param base base number
@@ -12,6 +109,9 @@ public class AdvancedMathOperations {
      * @return base raised to the power of exponent
      */
     public double power(double base, double exponent) {
+        if (powerTable != null && exponent == powerTableExponent) {
+            return powerTable.applyAsDouble(base);
+        }
         return Math.pow(base, exponent);
     }
     
@@ -34,7 +134,7 @@ public class AdvancedMathOperations {
      * @return cube root of the number
      */
     public double cubeRoot(double number) {
-        return Math.cbrt(number);
+        return cubeRootTable != null ? cubeRootTable.applyAsDouble(number) : Math.cbrt(number);
     }
     
     /**
@@ -51,19 +151,41 @@ public class AdvancedMathOperations {
      * @param n input number (must be non-negative integer)
      * @return factorial of n
      * @throws IllegalArgumentException if n is negative
+     * @throws ArithmeticException if n! does not fit in a long (n > 20)
      */
     public long factorial(int n) {
         if (n < 0) {
             throw new IllegalArgumentException("Factorial is not defined for negative numbers");
         }
-        if (n == 0 || n == 1) {
-            return 1;
+        if (n > FactorialEngine.MAX_LONG_FACTORIAL) {
+            throw new ArithmeticException("Factorial of " + n + " overflows long; use bigFactorial");
         }
-        long result = 1;
-        for (int i = 2; i <= n; i++) {
-            result *= i;
+        return FactorialEngine.longFactorial(n);
+    }
+    
+    /**
+     * Calculates the exact factorial of a number of any size
+     * @param n input number (must be non-negative integer)
+     * @return factorial of n
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger bigFactorial(int n) {
+        return bigFactorial(n, false);
+    }
+    
+    /**
+     * Calculates the exact factorial of a number of any size, optionally splitting
+     * the work over the common ForkJoin pool
+     * @param n input number (must be non-negative integer)
+     * @param parallel whether to multiply on several threads
+     * @return factorial of n
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger bigFactorial(int n, boolean parallel) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial is not defined for negative numbers");
         }
-        return result;
+        return FactorialEngine.factorial(n, parallel);
     }
     
     /**
@@ -76,7 +198,7 @@ public class AdvancedMathOperations {
         if (number <= 0) {
             throw new IllegalArgumentException("Logarithm is not defined for non-positive numbers");
         }
-        return Math.log(number);
+        return naturalLogTable != null ? naturalLogTable.applyAsDouble(number) : Math.log(number);
     }
     
     /**
@@ -89,6 +211,177 @@ public class AdvancedMathOperations {
         if (number <= 0) {
             throw new IllegalArgumentException("Logarithm is not defined for non-positive numbers");
         }
-        return Math.log10(number);
+        return log10Table != null ? log10Table.applyAsDouble(number) : Math.log10(number);
+    }
+    
+    /**
+     * Raises every element of an array to a fixed power
+     * @param base base numbers
+     * @param exponent exponent applied to every element
+     * @param out destination for the powers, may alias {@code base}
+     */
+    public void power(double[] base, double exponent, double[] out) {
+        power(base, exponent, out, 0, base.length);
+    }
+    
+    /**
+     * Raises every element of an array to a fixed power over the range {@code [off, off + len)}
+     * @param base base numbers
+     * @param exponent exponent applied to every element
+     * @param out destination for the powers, may alias {@code base}
+     * @param off first index in both arrays
+     * @param len number of elements
+     */
+    public void power(double[] base, double exponent, double[] out, int off, int len) {
+        ArrayChecks.checkRange(base, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        if (powerTable != null && exponent == powerTableExponent) {
+            powerTable.apply(base, out, off, len);
+            return;
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Math.pow(base[i], exponent);
+        }
+    }
+    
+    /**
+     * Calculates square roots of array elements
+     * @param in input numbers
+     * @param out destination for the square roots, may alias {@code in}
+     * @throws IllegalArgumentException if any element is negative; nothing is written in that case
+     */
+    public void squareRoot(double[] in, double[] out) {
+        squareRoot(in, out, 0, in.length);
+    }
+    
+    /**
+     * Calculates square roots of array elements over the range {@code [off, off + len)}
+     * @param in input numbers
+     * @param out destination for the square roots, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any element is negative; nothing is written in that case
+     */
+    public void squareRoot(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        ArrayChecks.checkNotBelow(in, off, len, 0, "Square root of negative number is not defined");
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Math.sqrt(in[i]);
+        }
+    }
+    
+    /**
+     * Calculates cube roots of array elements
+     * @param in input numbers
+     * @param out destination for the cube roots, may alias {@code in}
+     */
+    public void cubeRoot(double[] in, double[] out) {
+        cubeRoot(in, out, 0, in.length);
+    }
+    
+    /**
+     * Calculates cube roots of array elements over the range {@code [off, off + len)}
+     * @param in input numbers
+     * @param out destination for the cube roots, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     */
+    public void cubeRoot(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        if (cubeRootTable != null) {
+            cubeRootTable.apply(in, out, off, len);
+            return;
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Math.cbrt(in[i]);
+        }
+    }
+    
+    /**
+     * Calculates absolute values of array elements
+     * @param in input numbers
+     * @param out destination for the absolute values, may alias {@code in}
+     */
+    public void absolute(double[] in, double[] out) {
+        absolute(in, out, 0, in.length);
+    }
+    
+    /**
+     * Calculates absolute values of array elements over the range {@code [off, off + len)}
+     * @param in input numbers
+     * @param out destination for the absolute values, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     */
+    public void absolute(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Math.abs(in[i]);
+        }
+    }
+    
+    /**
+     * Calculates natural logarithms of array elements
+     * @param in input numbers
+     * @param out destination for the logarithms, may alias {@code in}
+     * @throws IllegalArgumentException if any element is not positive; nothing is written in that case
+     */
+    public void naturalLog(double[] in, double[] out) {
+        naturalLog(in, out, 0, in.length);
+    }
+    
+    /**
+     * Calculates natural logarithms of array elements over the range {@code [off, off + len)}
+     * @param in input numbers
+     * @param out destination for the logarithms, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any element is not positive; nothing is written in that case
+     */
+    public void naturalLog(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        ArrayChecks.checkPositive(in, off, len, "Logarithm is not defined for non-positive numbers");
+        if (naturalLogTable != null) {
+            naturalLogTable.apply(in, out, off, len);
+            return;
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Math.log(in[i]);
+        }
+    }
+    
+    /**
+     * Calculates base 10 logarithms of array elements
+     * @param in input numbers
+     * @param out destination for the logarithms, may alias {@code in}
+     * @throws IllegalArgumentException if any element is not positive; nothing is written in that case
+     */
+    public void log10(double[] in, double[] out) {
+        log10(in, out, 0, in.length);
+    }
+    
+    /**
+     * Calculates base 10 logarithms of array elements over the range {@code [off, off + len)}
+     * @param in input numbers
+     * @param out destination for the logarithms, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any element is not positive; nothing is written in that case
+     */
+    public void log10(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        ArrayChecks.checkPositive(in, off, len, "Logarithm is not defined for non-positive numbers");
+        if (log10Table != null) {
+            log10Table.apply(in, out, off, len);
+            return;
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Math.log10(in[i]);
+        }
     }
 }
\ No newline at end of file
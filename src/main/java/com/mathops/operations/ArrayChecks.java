@@ -0,0 +1,171 @@
+package com.mathops.operations;
+
+import java.util.Objects;
+
+/**
+ * Range and argument checks shared by the bulk array operations
+ */
+final class ArrayChecks {
+    
+    private ArrayChecks() {
+    }
+    
+    /**
+     * Verifies that {@code [off, off + len)} lies within the array
+     * @param array array to check
+     * @param off first index
+     * @param len number of elements
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    static void checkRange(double[] array, int off, int len) {
+        Objects.checkFromIndexSize(off, len, array.length);
+    }
+    
+    /**
+     * Verifies that {@code [off, off + len)} lies within the array
+     * @param array array to check
+     * @param off first index
+     * @param len number of elements
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    static void checkRange(long[] array, int off, int len) {
+        Objects.checkFromIndexSize(off, len, array.length);
+    }
+    
+    /**
+     * Verifies that every element in the range is non-zero
+     * @param array divisors
+     * @param off first index
+     * @param len number of elements
+     * @param message exception message
+     * @throws IllegalArgumentException if any element is zero
+     */
+    static void checkNonZero(long[] array, int off, int len, String message) {
+        for (int i = off, end = off + len; i < end; i++) {
+            if (array[i] == 0) {
+                throw new IllegalArgumentException(message);
+            }
+        }
+    }
+    
+    /**
+     * Verifies that every element in the range is non-zero
+     * @param array divisors
+     * @param off first index
+     * @param len number of elements
+     * @param message exception message
+     * @throws IllegalArgumentException if any element is zero
+     */
+    static void checkNonZero(double[] array, int off, int len, String message) {
+        for (int i = off, end = off + len; i < end; i++) {
+            if (array[i] == 0) {
+                throw new IllegalArgumentException(message);
+            }
+        }
+    }
+    
+    /**
+     * Verifies that no complex number in the range is zero
+     * @param real real parts of the divisors
+     * @param imaginary imaginary parts of the divisors
+     * @param off first index
+     * @param len number of elements
+     * @param message exception message
+     * @throws IllegalArgumentException if both parts of any element are zero
+     */
+    static void checkNonZero(double[] real, double[] imaginary, int off, int len, String message) {
+        for (int i = off, end = off + len; i < end; i++) {
+            if (real[i] == 0 && imaginary[i] == 0) {
+                throw new IllegalArgumentException(message);
+            }
+        }
+    }
+    
+    /**
+     * Verifies that no element in the range is below the given bound
+     * @param array values
+     * @param off first index
+     * @param len number of elements
+     * @param min smallest allowed value
+     * @param message exception message
+     * @throws IllegalArgumentException if any element is below {@code min}
+     */
+    static void checkNotBelow(double[] array, int off, int len, double min, String message) {
+        for (int i = off, end = off + len; i < end; i++) {
+            if (array[i] < min) {
+                throw new IllegalArgumentException(message);
+            }
+        }
+    }
+    
+    /**
+     * Verifies that every element in the range is strictly positive
+     * @param array values
+     * @param off first index
+     * @param len number of elements
+     * @param message exception message
+     * @throws IllegalArgumentException if any element is zero or negative
+     */
+    static void checkPositive(double[] array, int off, int len, String message) {
+        for (int i = off, end = off + len; i < end; i++) {
+            if (array[i] <= 0) {
+                throw new IllegalArgumentException(message);
+            }
+        }
+    }
+    
+    /**
+     * Verifies that every element in the range lies in {@code [-1, 1]}
+     * @param array values
+     * @param off first index
+     * @param len number of elements
+     * @param message exception message
+     * @throws IllegalArgumentException if any element is outside the range
+     */
+    static void checkUnitRange(double[] array, int off, int len, String message) {
+        for (int i = off, end = off + len; i < end; i++) {
+            double value = array[i];
+            if (value < -1 || value > 1) {
+                throw new IllegalArgumentException(message);
+            }
+        }
+    }
+    
+    /**
+     * Verifies that every element in the range lies in {@code [min, max]}
+     * @param array values
+     * @param off first index
+     * @param len number of elements
+     * @param min smallest allowed value
+     * @param max largest allowed value
+     * @param message exception message
+     * @throws IllegalArgumentException if any element is outside the range
+     */
+    static void checkBetween(double[] array, int off, int len, double min, double max, String message) {
+        for (int i = off, end = off + len; i < end; i++) {
+            double value = array[i];
+            if (value < min || value > max) {
+                throw new IllegalArgumentException(message);
+            }
+        }
+    }
+    
+    /**
+     * Verifies that every pair of bounds in the range is an interval of real numbers
+     * @param lower lower bounds
+     * @param upper upper bounds
+     * @param off first index
+     * @param len number of elements
+     * @throws IllegalArgumentException if a bound is NaN or a lower bound exceeds its upper bound
+     */
+    static void checkIntervals(double[] lower, double[] upper, int off, int len) {
+        // The width is negative or NaN exactly when Interval.isValid fails; a min reduction vectorizes
+        double minWidth = Double.POSITIVE_INFINITY;
+        for (int i = off, end = off + len; i < end; i++) {
+            minWidth = Math.min(minWidth, upper[i] - lower[i]);
+        }
+        if (!(minWidth >= 0)) {
+            throw new IllegalArgumentException("Invalid interval bounds");
+        }
+    }
+}
\ No newline at end of file
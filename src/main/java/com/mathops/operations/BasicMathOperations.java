@@ -1,7 +1,17 @@
 package com.mathops.operations;
 
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Basic mathematical operations utility class
+ * <p>
+ * Besides the {@code double} operations, integer arithmetic is available on
+ * {@code int} and {@code long} without conversion to floating point: exact
+ * operations that throw {@link ArithmeticException} instead of wrapping, floor
+ * division and modulo, and saturating operations that clamp to the type's range.
+ * They have their own names, e.g. {@code addExact}, so that integer arguments
+ * passed to {@link #divide(double, double)} are still divided as doubles.
  */
 public class BasicMathOperations {
     
@@ -62,4 +72,808 @@ public class BasicMathOperations {
         }
         return a % b;
     }
+    
+    /**
+     * Adds corresponding elements of two arrays
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the sums, may alias {@code a} or {@code b}
+     */
+    public void add(double[] a, double[] b, double[] out) {
+        add(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Adds corresponding elements of two arrays over the range {@code [off, off + len)}
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the sums, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     */
+    public void add(double[] a, double[] b, double[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+    
+    /**
+     * Subtracts corresponding elements of the second array from the first
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the differences, may alias {@code a} or {@code b}
+     */
+    public void subtract(double[] a, double[] b, double[] out) {
+        subtract(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Subtracts corresponding elements of the second array from the first over the range {@code [off, off + len)}
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the differences, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     */
+    public void subtract(double[] a, double[] b, double[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+    
+    /**
+     * Multiplies corresponding elements of two arrays
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the products, may alias {@code a} or {@code b}
+     */
+    public void multiply(double[] a, double[] b, double[] out) {
+        multiply(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Multiplies corresponding elements of two arrays over the range {@code [off, off + len)}
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the products, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     */
+    public void multiply(double[] a, double[] b, double[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+    
+    /**
+     * Divides corresponding elements of the first array by the second
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the quotients, may alias {@code a} or {@code b}
+     * @throws IllegalArgumentException if any divisor is zero; nothing is written in that case
+     */
+    public void divide(double[] a, double[] b, double[] out) {
+        divide(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Divides corresponding elements of the first array by the second over the range {@code [off, off + len)}
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the quotients, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any divisor is zero; nothing is written in that case
+     */
+    public void divide(double[] a, double[] b, double[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        ArrayChecks.checkNonZero(b, off, len, "Division by zero is not allowed");
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = a[i] / b[i];
+        }
+    }
+    
+    /**
+     * Calculates remainders of corresponding elements of two arrays
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the remainders, may alias {@code a} or {@code b}
+     * @throws IllegalArgumentException if any divisor is zero; nothing is written in that case
+     */
+    public void modulo(double[] a, double[] b, double[] out) {
+        modulo(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Calculates remainders of corresponding elements of two arrays over the range {@code [off, off + len)}
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the remainders, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any divisor is zero; nothing is written in that case
+     */
+    public void modulo(double[] a, double[] b, double[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        ArrayChecks.checkNonZero(b, off, len, "Modulo by zero is not allowed");
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = a[i] % b[i];
+        }
+    }
+    
+    /**
+     * Sums an array pairwise
+     * @param values values to sum
+     * @return sum of the values, 0 if there are none
+     */
+    public double sum(double[] values) {
+        return sum(values, 0, values.length, SummationAlgorithm.PAIRWISE);
+    }
+    
+    /**
+     * Sums an array with the given algorithm
+     * @param values values to sum
+     * @param algorithm accuracy/speed trade-off
+     * @return sum of the values, 0 if there are none
+     */
+    public double sum(double[] values, SummationAlgorithm algorithm) {
+        return sum(values, 0, values.length, algorithm);
+    }
+    
+    /**
+     * Sums an array with the given algorithm, reducing blocks of it in parallel.
+     * The result is bit-identical to {@link #sum(double[], SummationAlgorithm)}.
+     * @param values values to sum
+     * @param algorithm accuracy/speed trade-off
+     * @param pool pool reducing the blocks, or {@code null} to stay on the calling thread
+     * @return sum of the values, 0 if there are none
+     */
+    public double sum(double[] values, SummationAlgorithm algorithm, ForkJoinPool pool) {
+        return Summation.sum(values, 0, values.length, Objects.requireNonNull(algorithm, "algorithm"), pool);
+    }
+    
+    /**
+     * Sums the range {@code [off, off + len)} with the given algorithm
+     * @param values values to sum
+     * @param off first index
+     * @param len number of elements
+     * @param algorithm accuracy/speed trade-off
+     * @return sum of the values in the range
+     */
+    public double sum(double[] values, int off, int len, SummationAlgorithm algorithm) {
+        ArrayChecks.checkRange(values, off, len);
+        return Summation.sum(values, off, len, Objects.requireNonNull(algorithm, "algorithm"));
+    }
+    
+    /**
+     * Calculates the dot product of two arrays pairwise
+     * @param a first operands
+     * @param b second operands, at least as long as {@code a}
+     * @return sum of the products of corresponding elements
+     */
+    public double dot(double[] a, double[] b) {
+        return dot(a, b, 0, a.length, SummationAlgorithm.PAIRWISE);
+    }
+    
+    /**
+     * Calculates the dot product of two arrays with the given algorithm
+     * @param a first operands
+     * @param b second operands, at least as long as {@code a}
+     * @param algorithm accuracy/speed trade-off
+     * @return sum of the products of corresponding elements
+     */
+    public double dot(double[] a, double[] b, SummationAlgorithm algorithm) {
+        return dot(a, b, 0, a.length, algorithm);
+    }
+    
+    /**
+     * Calculates the dot product of two arrays with the given algorithm, reducing
+     * blocks of them in parallel. The result is bit-identical to
+     * {@link #dot(double[], double[], SummationAlgorithm)}.
+     * @param a first operands
+     * @param b second operands, at least as long as {@code a}
+     * @param algorithm accuracy/speed trade-off
+     * @param pool pool reducing the blocks, or {@code null} to stay on the calling thread
+     * @return sum of the products of corresponding elements
+     */
+    public double dot(double[] a, double[] b, SummationAlgorithm algorithm, ForkJoinPool pool) {
+        ArrayChecks.checkRange(b, 0, a.length);
+        return Summation.dot(a, b, 0, a.length, Objects.requireNonNull(algorithm, "algorithm"), pool);
+    }
+    
+    /**
+     * Calculates the dot product over the range {@code [off, off + len)} with the given algorithm
+     * @param a first operands
+     * @param b second operands
+     * @param off first index in both arrays
+     * @param len number of elements
+     * @param algorithm accuracy/speed trade-off
+     * @return sum of the products of corresponding elements in the range
+     */
+    public double dot(double[] a, double[] b, int off, int len, SummationAlgorithm algorithm) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        return Summation.dot(a, b, off, len, Objects.requireNonNull(algorithm, "algorithm"));
+    }
+    
+    /**
+     * Sums the squares of an array pairwise
+     * @param values values to square and sum
+     * @return sum of squares
+     */
+    public double sumOfSquares(double[] values) {
+        return sumOfSquares(values, 0, values.length, SummationAlgorithm.PAIRWISE);
+    }
+    
+    /**
+     * Sums the squares of an array with the given algorithm
+     * @param values values to square and sum
+     * @param algorithm accuracy/speed trade-off
+     * @return sum of squares
+     */
+    public double sumOfSquares(double[] values, SummationAlgorithm algorithm) {
+        return sumOfSquares(values, 0, values.length, algorithm);
+    }
+    
+    /**
+     * Sums the squares of an array with the given algorithm, reducing blocks of it
+     * in parallel. The result is bit-identical to
+     * {@link #sumOfSquares(double[], SummationAlgorithm)}.
+     * @param values values to square and sum
+     * @param algorithm accuracy/speed trade-off
+     * @param pool pool reducing the blocks, or {@code null} to stay on the calling thread
+     * @return sum of squares
+     */
+    public double sumOfSquares(double[] values, SummationAlgorithm algorithm, ForkJoinPool pool) {
+        return Summation.dot(values, values, 0, values.length, Objects.requireNonNull(algorithm, "algorithm"), pool);
+    }
+    
+    /**
+     * Sums the squares over the range {@code [off, off + len)} with the given algorithm
+     * @param values values to square and sum
+     * @param off first index
+     * @param len number of elements
+     * @param algorithm accuracy/speed trade-off
+     * @return sum of squares in the range
+     */
+    public double sumOfSquares(double[] values, int off, int len, SummationAlgorithm algorithm) {
+        ArrayChecks.checkRange(values, off, len);
+        return Summation.dot(values, values, off, len, Objects.requireNonNull(algorithm, "algorithm"));
+    }
+    
+    /**
+     * Adds two ints exactly
+     * @param a first number
+     * @param b second number
+     * @return sum of a and b
+     * @throws ArithmeticException if the sum overflows an int
+     */
+    public int addExact(int a, int b) {
+        return Math.addExact(a, b);
+    }
+    
+    /**
+     * Adds two longs exactly
+     * @param a first number
+     * @param b second number
+     * @return sum of a and b
+     * @throws ArithmeticException if the sum overflows a long
+     */
+    public long addExact(long a, long b) {
+        return Math.addExact(a, b);
+    }
+    
+    /**
+     * Subtracts the second int from the first exactly
+     * @param a first number
+     * @param b second number
+     * @return difference of a and b
+     * @throws ArithmeticException if the difference overflows an int
+     */
+    public int subtractExact(int a, int b) {
+        return Math.subtractExact(a, b);
+    }
+    
+    /**
+     * Subtracts the second long from the first exactly
+     * @param a first number
+     * @param b second number
+     * @return difference of a and b
+     * @throws ArithmeticException if the difference overflows a long
+     */
+    public long subtractExact(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+    
+    /**
+     * Multiplies two ints exactly
+     * @param a first number
+     * @param b second number
+     * @return product of a and b
+     * @throws ArithmeticException if the product overflows an int
+     */
+    public int multiplyExact(int a, int b) {
+        return Math.multiplyExact(a, b);
+    }
+    
+    /**
+     * Multiplies two longs exactly
+     * @param a first number
+     * @param b second number
+     * @return product of a and b
+     * @throws ArithmeticException if the product overflows a long
+     */
+    public long multiplyExact(long a, long b) {
+        return Math.multiplyExact(a, b);
+    }
+    
+    /**
+     * Divides two ints, rounding the quotient towards negative infinity
+     * @param a dividend
+     * @param b divisor
+     * @return largest int not greater than a / b, e.g. -4 for -7 / 2
+     * @throws IllegalArgumentException if divisor is zero
+     * @throws ArithmeticException for {@code Integer.MIN_VALUE / -1}, whose quotient overflows
+     */
+    public int floorDivide(int a, int b) {
+        if (b == 0) {
+            throw new IllegalArgumentException("Division by zero is not allowed");
+        }
+        if (a == Integer.MIN_VALUE && b == -1) {
+            throw new ArithmeticException("Quotient overflows int");
+        }
+        return Math.floorDiv(a, b);
+    }
+    
+    /**
+     * Divides two longs, rounding the quotient towards negative infinity
+     * @param a dividend
+     * @param b divisor
+     * @return largest long not greater than a / b, e.g. -4 for -7 / 2
+     * @throws IllegalArgumentException if divisor is zero
+     * @throws ArithmeticException for {@code Long.MIN_VALUE / -1}, whose quotient overflows
+     */
+    public long floorDivide(long a, long b) {
+        if (b == 0) {
+            throw new IllegalArgumentException("Division by zero is not allowed");
+        }
+        if (a == Long.MIN_VALUE && b == -1) {
+            throw new ArithmeticException("Quotient overflows long");
+        }
+        return Math.floorDiv(a, b);
+    }
+    
+    /**
+     * Calculates the remainder of floor division of two ints
+     * @param a dividend
+     * @param b divisor
+     * @return {@code a - floorDivide(a, b) * b}, which has the sign of the divisor, e.g. 1 for -7 mod 2
+     * @throws IllegalArgumentException if divisor is zero
+     */
+    public int floorModulo(int a, int b) {
+        if (b == 0) {
+            throw new IllegalArgumentException("Modulo by zero is not allowed");
+        }
+        return Math.floorMod(a, b);
+    }
+    
+    /**
+     * Calculates the remainder of floor division of two longs
+     * @param a dividend
+     * @param b divisor
+     * @return {@code a - floorDivide(a, b) * b}, which has the sign of the divisor, e.g. 1 for -7 mod 2
+     * @throws IllegalArgumentException if divisor is zero
+     */
+    public long floorModulo(long a, long b) {
+        if (b == 0) {
+            throw new IllegalArgumentException("Modulo by zero is not allowed");
+        }
+        return Math.floorMod(a, b);
+    }
+    
+    /**
+     * Adds two ints, clamping the sum to the int range
+     * @param a first number
+     * @param b second number
+     * @return sum of a and b, or {@code Integer.MAX_VALUE} / {@code Integer.MIN_VALUE} if it overflows
+     */
+    public int saturatedAdd(int a, int b) {
+        return clampToInt((long) a + b);
+    }
+    
+    /**
+     * Adds two longs, clamping the sum to the long range
+     * @param a first number
+     * @param b second number
+     * @return sum of a and b, or {@code Long.MAX_VALUE} / {@code Long.MIN_VALUE} if it overflows
+     */
+    public long saturatedAdd(long a, long b) {
+        return saturatedAddLong(a, b);
+    }
+    
+    /**
+     * Subtracts the second int from the first, clamping the difference to the int range
+     * @param a first number
+     * @param b second number
+     * @return difference of a and b, or {@code Integer.MAX_VALUE} / {@code Integer.MIN_VALUE} if it overflows
+     */
+    public int saturatedSubtract(int a, int b) {
+        return clampToInt((long) a - b);
+    }
+    
+    /**
+     * Subtracts the second long from the first, clamping the difference to the long range
+     * @param a first number
+     * @param b second number
+     * @return difference of a and b, or {@code Long.MAX_VALUE} / {@code Long.MIN_VALUE} if it overflows
+     */
+    public long saturatedSubtract(long a, long b) {
+        return saturatedSubtractLong(a, b);
+    }
+    
+    /**
+     * Multiplies two ints, clamping the product to the int range
+     * @param a first number
+     * @param b second number
+     * @return product of a and b, or {@code Integer.MAX_VALUE} / {@code Integer.MIN_VALUE} if it overflows
+     */
+    public int saturatedMultiply(int a, int b) {
+        return clampToInt((long) a * b);
+    }
+    
+    /**
+     * Multiplies two longs, clamping the product to the long range
+     * @param a first number
+     * @param b second number
+     * @return product of a and b, or {@code Long.MAX_VALUE} / {@code Long.MIN_VALUE} if it overflows
+     */
+    public long saturatedMultiply(long a, long b) {
+        return saturatedMultiplyLong(a, b);
+    }
+    
+    /**
+     * Adds corresponding elements of two arrays exactly
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the sums, may alias {@code a} or {@code b}
+     * @throws ArithmeticException if any sum overflows a long; nothing is written in that case
+     */
+    public void addExact(long[] a, long[] b, long[] out) {
+        addExact(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Adds corresponding elements of two arrays exactly over the range {@code [off, off + len)}
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the sums, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     * @throws ArithmeticException if any sum overflows a long; nothing is written in that case
+     */
+    public void addExact(long[] a, long[] b, long[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        // Overflow sets the sign bit of (x ^ r) & (y ^ r); OR-ing the flags keeps the loop branch-free
+        long overflow = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            long x = a[i];
+            long y = b[i];
+            long r = x + y;
+            overflow |= (x ^ r) & (y ^ r);
+        }
+        if (overflow < 0) {
+            throw new ArithmeticException("Sum overflows long");
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+    
+    /**
+     * Subtracts corresponding elements of the second array from the first exactly
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the differences, may alias {@code a} or {@code b}
+     * @throws ArithmeticException if any difference overflows a long; nothing is written in that case
+     */
+    public void subtractExact(long[] a, long[] b, long[] out) {
+        subtractExact(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Subtracts corresponding elements of the second array from the first exactly over the range
+     * {@code [off, off + len)}
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the differences, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     * @throws ArithmeticException if any difference overflows a long; nothing is written in that case
+     */
+    public void subtractExact(long[] a, long[] b, long[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        long overflow = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            long x = a[i];
+            long y = b[i];
+            long r = x - y;
+            overflow |= (x ^ y) & (x ^ r);
+        }
+        if (overflow < 0) {
+            throw new ArithmeticException("Difference overflows long");
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+    
+    /**
+     * Multiplies corresponding elements of two arrays exactly
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the products, may alias {@code a} or {@code b}
+     * @throws ArithmeticException if any product overflows a long; nothing is written in that case
+     */
+    public void multiplyExact(long[] a, long[] b, long[] out) {
+        multiplyExact(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Multiplies corresponding elements of two arrays exactly over the range {@code [off, off + len)}
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the products, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     * @throws ArithmeticException if any product overflows a long; nothing is written in that case
+     */
+    public void multiplyExact(long[] a, long[] b, long[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        // The product fits iff the high 64 bits of the 128-bit product are the sign extension of the low 64
+        long overflow = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            long x = a[i];
+            long y = b[i];
+            overflow |= Math.multiplyHigh(x, y) ^ ((x * y) >> 63);
+        }
+        if (overflow != 0) {
+            throw new ArithmeticException("Product overflows long");
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+    
+    /**
+     * Divides corresponding elements of two arrays, rounding each quotient towards negative infinity
+     * @param a dividends
+     * @param b divisors
+     * @param out destination for the quotients, may alias {@code a} or {@code b}
+     * @throws IllegalArgumentException if any divisor is zero; nothing is written in that case
+     * @throws ArithmeticException if any quotient is {@code Long.MIN_VALUE / -1}; nothing is written in that case
+     */
+    public void floorDivide(long[] a, long[] b, long[] out) {
+        floorDivide(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Divides corresponding elements of two arrays over the range {@code [off, off + len)}, rounding
+     * each quotient towards negative infinity
+     * @param a dividends
+     * @param b divisors
+     * @param out destination for the quotients, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any divisor is zero; nothing is written in that case
+     * @throws ArithmeticException if any quotient is {@code Long.MIN_VALUE / -1}; nothing is written in that case
+     */
+    public void floorDivide(long[] a, long[] b, long[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        ArrayChecks.checkNonZero(b, off, len, "Division by zero is not allowed");
+        for (int i = off, end = off + len; i < end; i++) {
+            if (a[i] == Long.MIN_VALUE && b[i] == -1) {
+                throw new ArithmeticException("Quotient overflows long");
+            }
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Math.floorDiv(a[i], b[i]);
+        }
+    }
+    
+    /**
+     * Calculates remainders of floor division of corresponding elements of two arrays
+     * @param a dividends
+     * @param b divisors
+     * @param out destination for the remainders, may alias {@code a} or {@code b}
+     * @throws IllegalArgumentException if any divisor is zero; nothing is written in that case
+     */
+    public void floorModulo(long[] a, long[] b, long[] out) {
+        floorModulo(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Calculates remainders of floor division of corresponding elements of two arrays over the range
+     * {@code [off, off + len)}
+     * @param a dividends
+     * @param b divisors
+     * @param out destination for the remainders, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any divisor is zero; nothing is written in that case
+     */
+    public void floorModulo(long[] a, long[] b, long[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        ArrayChecks.checkNonZero(b, off, len, "Modulo by zero is not allowed");
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Math.floorMod(a[i], b[i]);
+        }
+    }
+    
+    /**
+     * Adds corresponding elements of two arrays, clamping each sum to the long range
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the sums, may alias {@code a} or {@code b}
+     */
+    public void saturatedAdd(long[] a, long[] b, long[] out) {
+        saturatedAdd(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Adds corresponding elements of two arrays over the range {@code [off, off + len)}, clamping each
+     * sum to the long range
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the sums, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     */
+    public void saturatedAdd(long[] a, long[] b, long[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = saturatedAddLong(a[i], b[i]);
+        }
+    }
+    
+    /**
+     * Subtracts corresponding elements of the second array from the first, clamping each difference
+     * to the long range
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the differences, may alias {@code a} or {@code b}
+     */
+    public void saturatedSubtract(long[] a, long[] b, long[] out) {
+        saturatedSubtract(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Subtracts corresponding elements of the second array from the first over the range
+     * {@code [off, off + len)}, clamping each difference to the long range
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the differences, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     */
+    public void saturatedSubtract(long[] a, long[] b, long[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = saturatedSubtractLong(a[i], b[i]);
+        }
+    }
+    
+    /**
+     * Multiplies corresponding elements of two arrays, clamping each product to the long range
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the products, may alias {@code a} or {@code b}
+     */
+    public void saturatedMultiply(long[] a, long[] b, long[] out) {
+        saturatedMultiply(a, b, out, 0, a.length);
+    }
+    
+    /**
+     * Multiplies corresponding elements of two arrays over the range {@code [off, off + len)}, clamping
+     * each product to the long range
+     * @param a first operands
+     * @param b second operands
+     * @param out destination for the products, may alias {@code a} or {@code b}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     */
+    public void saturatedMultiply(long[] a, long[] b, long[] out, int off, int len) {
+        ArrayChecks.checkRange(a, off, len);
+        ArrayChecks.checkRange(b, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = saturatedMultiplyLong(a[i], b[i]);
+        }
+    }
+    
+    /**
+     * Sums an array exactly
+     * @param values values to sum
+     * @return sum of the values, 0 if there are none
+     * @throws ArithmeticException if the sum does not fit in a long
+     */
+    public long sumExact(long[] values) {
+        return sumExact(values, 0, values.length);
+    }
+    
+    /**
+     * Sums the range {@code [off, off + len)} exactly. Partial sums may overflow as long as the
+     * total fits, e.g. {@code MAX_VALUE + 1 - 1}.
+     * @param values values to sum
+     * @param off first index
+     * @param len number of elements
+     * @return sum of the values in the range
+     * @throws ArithmeticException if the sum does not fit in a long
+     */
+    public long sumExact(long[] values, int off, int len) {
+        ArrayChecks.checkRange(values, off, len);
+        // Wrapping sum plus a count of the 2^64 carries, i.e. a 128-bit accumulator
+        long sum = 0;
+        long carries = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            long value = values[i];
+            long r = sum + value;
+            long overflowMask = ((sum ^ r) & (value ^ r)) >> 63;
+            carries += overflowMask & (1 | (value >> 63));
+            sum = r;
+        }
+        if (carries != 0) {
+            throw new ArithmeticException("Sum overflows long");
+        }
+        return sum;
+    }
+    
+    private static int clampToInt(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+    
+    /** On overflow both operands have the sign of {@code a}; MAX_VALUE + 1 wraps to MIN_VALUE */
+    private static long saturatedAddLong(long a, long b) {
+        long r = a + b;
+        return ((a ^ r) & (b ^ r)) < 0 ? Long.MAX_VALUE + (a >>> 63) : r;
+    }
+    
+    private static long saturatedSubtractLong(long a, long b) {
+        long r = a - b;
+        return ((a ^ b) & (a ^ r)) < 0 ? Long.MAX_VALUE + (a >>> 63) : r;
+    }
+    
+    private static long saturatedMultiplyLong(long a, long b) {
+        long r = a * b;
+        if (Math.multiplyHigh(a, b) != (r >> 63)) {
+            return (a ^ b) < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return r;
+    }
 }
\ No newline at end of file
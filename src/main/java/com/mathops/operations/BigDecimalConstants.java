@@ -0,0 +1,178 @@
+package com.mathops.operations;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * pi/2, ln 2 and ln 10 in binary fixed point, and pi and ln 10 to any number
+ * of significant digits, computed once per precision and cached, for
+ * {@link BigDecimalMathOperations}.
+ * <p>
+ * A fixed-point value is a {@link BigInteger} v standing for {@code v / 2^scale}.
+ * pi/2 comes from Machin's formula {@code 8 atan(1/5) - 2 atan(1/239)}, the
+ * logarithms from {@code ln 2 = 2 atanh(1/3)} and
+ * {@code ln 10 = 3 ln 2 + 2 atanh(1/9)}; every series gains at least 3 bits
+ * per term. Only the widest fixed-point value computed so far is kept, a
+ * narrower one is a shift of it.
+ */
+final class BigDecimalConstants {
+    
+    static final double BITS_PER_DIGIT = Math.log(10) / Math.log(2);
+    
+    /** Extra bits carried while computing a constant */
+    private static final int GUARD_BITS = 16;
+    
+    private static volatile Fixed halfPi = new Fixed(0, BigInteger.ONE);
+    private static volatile Fixed ln2 = new Fixed(0, BigInteger.ONE);
+    private static volatile Fixed ln10 = new Fixed(0, BigInteger.ONE);
+    
+    private static final Map<Integer, BigDecimal> PI = new ConcurrentHashMap<>();
+    private static final Map<Integer, BigDecimal> LN10 = new ConcurrentHashMap<>();
+    private static final Map<Integer, BigInteger> POWERS_OF_TEN = new ConcurrentHashMap<>();
+    
+    private BigDecimalConstants() {
+    }
+    
+    /** A constant truncated to {@code scale} fractional bits */
+    private static final class Fixed {
+        final int scale;
+        final BigInteger value;
+        
+        Fixed(int scale, BigInteger value) {
+            this.scale = scale;
+            this.value = value;
+        }
+        
+        BigInteger at(int targetScale) {
+            return value.shiftRight(scale - targetScale);
+        }
+    }
+    
+    /**
+     * @param digits significant decimal digits
+     * @return fractional bits that hold {@code digits} digits of a value near 1, plus a byte
+     */
+    static int bitsFor(int digits) {
+        return (int) Math.ceil(digits * BITS_PER_DIGIT) + 8;
+    }
+    
+    /**
+     * @param value decimal value
+     * @param scale fractional bits
+     * @return value truncated to {@code scale} fractional bits
+     */
+    static BigInteger toFixed(BigDecimal value, int scale) {
+        BigInteger unscaled = value.unscaledValue().shiftLeft(scale);
+        return value.scale() >= 0
+                ? unscaled.divide(POWERS_OF_TEN.computeIfAbsent(value.scale(), BigInteger.TEN::pow))
+                : unscaled.multiply(BigInteger.TEN.pow(-value.scale()));
+    }
+    
+    /**
+     * @param value fixed-point value
+     * @param scale fractional bits
+     * @return {@code value / 2^scale} truncated to the first decimal place below 2^-scale
+     */
+    static BigDecimal fromFixed(BigInteger value, int scale) {
+        int decimals = (int) (scale / BITS_PER_DIGIT) + 1;
+        BigInteger powerOfTen = POWERS_OF_TEN.computeIfAbsent(decimals, BigInteger.TEN::pow);
+        return new BigDecimal(value.multiply(powerOfTen).shiftRight(scale), decimals);
+    }
+    
+    /**
+     * @param scale fractional bits
+     * @return pi/2 truncated to {@code scale} fractional bits
+     */
+    static BigInteger halfPiFixed(int scale) {
+        Fixed cached = halfPi;
+        if (cached.scale < scale) {
+            BigInteger value = atanInverse(5, scale).shiftLeft(3).subtract(atanInverse(239, scale).shiftLeft(1));
+            cached = new Fixed(scale, value);
+            halfPi = cached;
+        }
+        return cached.at(scale);
+    }
+    
+    /**
+     * @param scale fractional bits
+     * @return ln 2 truncated to {@code scale} fractional bits
+     */
+    static BigInteger ln2Fixed(int scale) {
+        Fixed cached = ln2;
+        if (cached.scale < scale) {
+            cached = new Fixed(scale, atanhInverse(3, scale).shiftLeft(1));
+            ln2 = cached;
+        }
+        return cached.at(scale);
+    }
+    
+    /**
+     * @param scale fractional bits
+     * @return ln 10 truncated to {@code scale} fractional bits
+     */
+    static BigInteger ln10Fixed(int scale) {
+        Fixed cached = ln10;
+        if (cached.scale < scale) {
+            BigInteger value = ln2Fixed(scale).multiply(BigInteger.valueOf(3)).add(atanhInverse(9, scale).shiftLeft(1));
+            cached = new Fixed(scale, value);
+            ln10 = cached;
+        }
+        return cached.at(scale);
+    }
+    
+    /**
+     * @param digits significant digits
+     * @return pi rounded to {@code digits} significant digits
+     */
+    static BigDecimal pi(int digits) {
+        return PI.computeIfAbsent(digits, d -> {
+            int scale = bitsFor(d);
+            return fromFixed(halfPiFixed(scale).shiftLeft(1), scale).round(context(d));
+        });
+    }
+    
+    /**
+     * @param digits significant digits
+     * @return ln 10 rounded to {@code digits} significant digits
+     */
+    static BigDecimal ln10(int digits) {
+        return LN10.computeIfAbsent(digits, d -> {
+            int scale = bitsFor(d);
+            return fromFixed(ln10Fixed(scale), scale).round(context(d));
+        });
+    }
+    
+    /**
+     * {@code atan(1/n) = sum (-1)^k / ((2k + 1) n^(2k + 1))}
+     */
+    private static BigInteger atanInverse(int n, int scale) {
+        return inverseSeries(n, true, scale);
+    }
+    
+    /**
+     * {@code atanh(1/n) = sum 1 / ((2k + 1) n^(2k + 1))}
+     */
+    private static BigInteger atanhInverse(int n, int scale) {
+        return inverseSeries(n, false, scale);
+    }
+    
+    private static BigInteger inverseSeries(int n, boolean alternating, int scale) {
+        BigInteger nSquare = BigInteger.valueOf((long) n * n);
+        BigInteger power = BigInteger.ONE.shiftLeft(scale + GUARD_BITS).divide(BigInteger.valueOf(n));
+        BigInteger sum = BigInteger.ZERO;
+        for (int k = 0; power.signum() != 0; k++) {
+            BigInteger term = power.divide(BigInteger.valueOf(2L * k + 1));
+            sum = alternating && (k & 1) == 1 ? sum.subtract(term) : sum.add(term);
+            power = power.divide(nSquare);
+        }
+        return sum.shiftRight(GUARD_BITS);
+    }
+    
+    private static MathContext context(int digits) {
+        return new MathContext(digits, RoundingMode.HALF_EVEN);
+    }
+}
\ No newline at end of file
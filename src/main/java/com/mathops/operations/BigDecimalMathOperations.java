@@ -0,0 +1,522 @@
+package com.mathops.operations;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Arbitrary-precision operations on {@link BigDecimal} under a fixed {@link MathContext}.
+ * <p>
+ * Arithmetic rounds once to the context. The other functions carry
+ * {@value #GUARD_DIGITS} guard digits and round once at the end, so their
+ * results are within one unit in the last place. Their series run in binary
+ * fixed point, on {@link BigInteger}s scaled by a power of two, where a term
+ * costs a multiplication, a shift and a division by a small integer rather
+ * than a rounded {@code BigDecimal} division:
+ * <ul>
+ *   <li>{@code exp} reduces {@code x = k ln 2 + r} and halves r a few more
+ *       times, so the Taylor series needs about 20 terms at 50 digits</li>
+ *   <li>{@code naturalLog} starts from the double logarithm {@code y0} and adds
+ *       {@code 2 atanh((z - 1)/(z + 1))} for {@code z = x exp(-y0)}, which is
+ *       within 1e-16 of 1 so the series converges in three or four terms</li>
+ *   <li>{@code squareRoot} uses the Newton iteration of {@link BigDecimal#sqrt}</li>
+ *   <li>{@code sin}, {@code cos} and {@code tan} reduce by pi/2 with as many
+ *       extra bits of pi as the argument has integer bits, and again with more
+ *       when the argument is close to a multiple of pi/2</li>
+ *   <li>{@code atan} halves its argument with
+ *       {@code atan(x) = 2 atan(x / (1 + sqrt(1 + x^2)))} before its series</li>
+ * </ul>
+ * pi, ln 2 and ln 10 are computed once per precision and cached, see
+ * {@link BigDecimalConstants}.
+ */
+public class BigDecimalMathOperations {
+    
+    /** Extra digits carried by the transcendental functions */
+    static final int GUARD_DIGITS = 10;
+    
+    /** Largest argument of exp whose result has a representable exponent */
+    private static final double MAX_EXP_ARGUMENT = 999_999_999 * Math.log(2);
+    
+    /** Distance from 1 below which log does not split off a power of ten */
+    private static final BigDecimal NEAR_ONE = new BigDecimal("0.5");
+    
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    
+    private final MathContext mathContext;
+    private final MathContext working;
+    private final int bits;
+    
+    /**
+     * Creates operations rounding to {@link MathContext#DECIMAL128}, 34 significant digits
+     */
+    public BigDecimalMathOperations() {
+        this(MathContext.DECIMAL128);
+    }
+    
+    /**
+     * Creates operations rounding to the given context
+     * @param mathContext precision and rounding mode of every result
+     * @throws IllegalArgumentException if the precision is unlimited
+     */
+    public BigDecimalMathOperations(MathContext mathContext) {
+        Objects.requireNonNull(mathContext, "mathContext");
+        if (mathContext.getPrecision() == 0) {
+            throw new IllegalArgumentException("Precision must be limited");
+        }
+        this.mathContext = mathContext;
+        this.working = new MathContext(mathContext.getPrecision() + GUARD_DIGITS, RoundingMode.HALF_EVEN);
+        this.bits = BigDecimalConstants.bitsFor(working.getPrecision());
+    }
+    
+    public MathContext getMathContext() {
+        return mathContext;
+    }
+    
+    /**
+     * Adds two numbers
+     * @param a first number
+     * @param b second number
+     * @return sum of a and b
+     */
+    public BigDecimal add(BigDecimal a, BigDecimal b) {
+        return a.add(b, mathContext);
+    }
+    
+    /**
+     * Subtracts second number from first
+     * @param a first number
+     * @param b second number
+     * @return difference of a and b
+     */
+    public BigDecimal subtract(BigDecimal a, BigDecimal b) {
+        return a.subtract(b, mathContext);
+    }
+    
+    /**
+     * Multiplies two numbers
+     * @param a first number
+     * @param b second number
+     * @return product of a and b
+     */
+    public BigDecimal multiply(BigDecimal a, BigDecimal b) {
+        return a.multiply(b, mathContext);
+    }
+    
+    /**
+     * Divides first number by second
+     * @param a dividend
+     * @param b divisor
+     * @return quotient of a and b
+     * @throws IllegalArgumentException if divisor is zero
+     */
+    public BigDecimal divide(BigDecimal a, BigDecimal b) {
+        if (b.signum() == 0) {
+            throw new IllegalArgumentException("Division by zero is not allowed");
+        }
+        return a.divide(b, mathContext);
+    }
+    
+    /**
+     * Calculates remainder of division, with the sign of the dividend
+     * @param a dividend
+     * @param b divisor
+     * @return remainder of a divided by b
+     * @throws IllegalArgumentException if divisor is zero
+     */
+    public BigDecimal modulo(BigDecimal a, BigDecimal b) {
+        if (b.signum() == 0) {
+            throw new IllegalArgumentException("Modulo by zero is not allowed");
+        }
+        return a.remainder(b, mathContext);
+    }
+    
+    /**
+     * Calculates power of a number; integer exponents use repeated squaring
+     * @param base base number
+     * @param exponent exponent
+     * @return base raised to the power of exponent
+     * @throws IllegalArgumentException if base is negative and exponent is not an integer,
+     *         or base is zero and exponent is negative
+     */
+    public BigDecimal power(BigDecimal base, BigDecimal exponent) {
+        if (base.signum() == 0) {
+            if (exponent.signum() < 0) {
+                throw new IllegalArgumentException("Zero cannot be raised to a negative power");
+            }
+            return exponent.signum() == 0 ? BigDecimal.ONE : BigDecimal.ZERO;
+        }
+        BigInteger integral = integralValue(exponent);
+        if (integral != null && integral.abs().compareTo(BigInteger.valueOf(999_999_999)) <= 0) {
+            return base.pow(integral.intValue(), mathContext);
+        }
+        if (base.signum() < 0) {
+            if (integral == null) {
+                throw new IllegalArgumentException("Negative base requires an integer exponent");
+            }
+            BigDecimal magnitude = power(base.negate(), exponent);
+            return integral.testBit(0) ? magnitude.negate() : magnitude;
+        }
+        // exp turns the absolute error of y log(x) into a relative error, so log needs the bits of y on top
+        int exponentBits = Math.max(0, magnitudeBits(exponent));
+        BigDecimal product = exponent.multiply(log(base, bits + exponentBits));
+        return exp(product, bits).round(mathContext);
+    }
+    
+    /**
+     * Calculates square root of a number
+     * @param number input number
+     * @return square root of the number
+     * @throws IllegalArgumentException if number is negative
+     */
+    public BigDecimal squareRoot(BigDecimal number) {
+        if (number.signum() < 0) {
+            throw new IllegalArgumentException("Square root of negative number is not defined");
+        }
+        return number.sqrt(mathContext);
+    }
+    
+    /**
+     * Calculates e raised to a power
+     * @param number exponent
+     * @return exp of the number
+     * @throws ArithmeticException if the result's exponent is out of range
+     */
+    public BigDecimal exp(BigDecimal number) {
+        return exp(number, bits).round(mathContext);
+    }
+    
+    /**
+     * Calculates natural logarithm
+     * @param number input number
+     * @return natural logarithm of the number
+     * @throws IllegalArgumentException if number is not positive
+     */
+    public BigDecimal naturalLog(BigDecimal number) {
+        if (number.signum() <= 0) {
+            throw new IllegalArgumentException("Logarithm is not defined for non-positive numbers");
+        }
+        return log(number, bits).round(mathContext);
+    }
+    
+    /**
+     * Calculates logarithm base 10; exact for powers of ten
+     * @param number input number
+     * @return logarithm base 10 of the number
+     * @throws IllegalArgumentException if number is not positive
+     */
+    public BigDecimal log10(BigDecimal number) {
+        if (number.signum() <= 0) {
+            throw new IllegalArgumentException("Logarithm is not defined for non-positive numbers");
+        }
+        BigDecimal stripped = number.stripTrailingZeros();
+        if (stripped.unscaledValue().equals(BigInteger.ONE)) {
+            return BigDecimal.valueOf(-stripped.scale()).round(mathContext);
+        }
+        return log(number, bits).divide(BigDecimalConstants.ln10(working.getPrecision()), mathContext);
+    }
+    
+    /**
+     * Calculates sine of an angle
+     * @param angle angle in radians
+     * @return sine of the angle
+     */
+    public BigDecimal sin(BigDecimal angle) {
+        Reduced reduced = reduce(angle);
+        BigInteger sin = (reduced.quadrant & 1) == 0 ? reduced.sin() : reduced.cos();
+        return round(reduced.quadrant >= 2 ? sin.negate() : sin, reduced.scale);
+    }
+    
+    /**
+     * Calculates cosine of an angle
+     * @param angle angle in radians
+     * @return cosine of the angle
+     */
+    public BigDecimal cos(BigDecimal angle) {
+        Reduced reduced = reduce(angle);
+        BigInteger cos = (reduced.quadrant & 1) == 0 ? reduced.cos() : reduced.sin();
+        return round(reduced.quadrant == 1 || reduced.quadrant == 2 ? cos.negate() : cos, reduced.scale);
+    }
+    
+    /**
+     * Calculates tangent of an angle
+     * @param angle angle in radians
+     * @return tangent of the angle
+     */
+    public BigDecimal tan(BigDecimal angle) {
+        Reduced reduced = reduce(angle);
+        BigInteger sin = reduced.sin();
+        BigInteger cos = reduced.cos();
+        BigInteger tan = (reduced.quadrant & 1) == 0
+                ? sin.shiftLeft(reduced.scale).divide(cos)
+                : cos.negate().shiftLeft(reduced.scale).divide(sin);
+        return round(tan, reduced.scale);
+    }
+    
+    /**
+     * Calculates arc sine
+     * @param value input value (must be between -1 and 1)
+     * @return arc sine in radians
+     * @throws IllegalArgumentException if value is outside [-1, 1]
+     */
+    public BigDecimal asin(BigDecimal value) {
+        int comparison = value.abs().compareTo(BigDecimal.ONE);
+        if (comparison > 0) {
+            throw new IllegalArgumentException("Arc sine is defined only for values between -1 and 1");
+        }
+        if (comparison == 0) {
+            BigDecimal halfPi = BigDecimalConstants.pi(working.getPrecision()).divide(TWO);
+            return (value.signum() < 0 ? halfPi.negate() : halfPi).round(mathContext);
+        }
+        // 1 - x^2 as (1 - x)(1 + x), exact in both factors
+        BigDecimal cosine = BigDecimal.ONE.subtract(value).multiply(BigDecimal.ONE.add(value)).sqrt(working);
+        return atan(value.divide(cosine, working), bits).round(mathContext);
+    }
+    
+    /**
+     * Calculates arc cosine
+     * @param value input value (must be between -1 and 1)
+     * @return arc cosine in radians
+     * @throws IllegalArgumentException if value is outside [-1, 1]
+     */
+    public BigDecimal acos(BigDecimal value) {
+        if (value.abs().compareTo(BigDecimal.ONE) > 0) {
+            throw new IllegalArgumentException("Arc cosine is defined only for values between -1 and 1");
+        }
+        if (value.compareTo(BigDecimal.ONE.negate()) == 0) {
+            return BigDecimalConstants.pi(working.getPrecision()).round(mathContext);
+        }
+        // acos(x) = 2 atan(sqrt((1 - x) / (1 + x))), without the cancellation of pi/2 - asin(x) near 1
+        BigDecimal ratio = BigDecimal.ONE.subtract(value).divide(BigDecimal.ONE.add(value), working).sqrt(working);
+        return atan(ratio, bits).multiply(TWO).round(mathContext);
+    }
+    
+    /**
+     * Calculates arc tangent
+     * @param value input value
+     * @return arc tangent in radians
+     */
+    public BigDecimal atan(BigDecimal value) {
+        return atan(value, bits).round(mathContext);
+    }
+    
+    private BigDecimal round(BigInteger fixed, int scale) {
+        return BigDecimalConstants.fromFixed(fixed, scale).round(mathContext);
+    }
+    
+    private static BigInteger integralValue(BigDecimal value) {
+        BigDecimal stripped = value.stripTrailingZeros();
+        return stripped.scale() <= 0 ? stripped.toBigIntegerExact() : null;
+    }
+    
+    /** Approximate binary exponent of a non-zero value, from its decimal precision and scale */
+    private static int magnitudeBits(BigDecimal value) {
+        return (int) Math.ceil((value.precision() - value.scale()) * BigDecimalConstants.BITS_PER_DIGIT);
+    }
+    
+    // Fixed-point kernels: values are BigIntegers scaled by 2^scale
+    
+    /**
+     * exp(x) = 2^k exp(r) with {@code r = x - k ln 2}, to {@code scale} bits
+     * relative to the result
+     */
+    private static BigDecimal exp(BigDecimal x, int scale) {
+        if (x.signum() == 0) {
+            return BigDecimal.ONE;
+        }
+        double estimate = x.doubleValue();
+        if (!(Math.abs(estimate) < MAX_EXP_ARGUMENT)) {
+            throw new ArithmeticException("Exponent overflow");
+        }
+        long k = Math.round(estimate / Math.log(2));
+        // ln 2 is multiplied by k, so it needs the bits of k on top
+        int reductionScale = scale + 64 - Long.numberOfLeadingZeros(Math.abs(k));
+        BigInteger r = BigDecimalConstants.toFixed(x, reductionScale)
+                .subtract(BigDecimalConstants.ln2Fixed(reductionScale).multiply(BigInteger.valueOf(k)))
+                .shiftRight(reductionScale - scale);
+        BigDecimal mantissa = BigDecimalConstants.fromFixed(expSeries(r, scale), scale);
+        if (k == 0) {
+            return mantissa;
+        }
+        MathContext mc = new MathContext((int) (scale / BigDecimalConstants.BITS_PER_DIGIT), RoundingMode.HALF_EVEN);
+        return mantissa.multiply(TWO.pow((int) k, mc), mc);
+    }
+    
+    /**
+     * Taylor series of exp(r) for |r| <= ln 2 / 2 after halving r {@code s}
+     * times, squared {@code s} times; the halvings cost no arithmetic, they
+     * only reinterpret r at a finer scale
+     */
+    private static BigInteger expSeries(BigInteger r, int scale) {
+        int halvings = (int) Math.sqrt(scale) / 2;
+        int fine = scale + halvings;
+        BigInteger one = BigInteger.ONE.shiftLeft(fine);
+        BigInteger sum = one;
+        BigInteger term = one;
+        for (long n = 1; ; n++) {
+            term = term.multiply(r).shiftRight(fine).divide(BigInteger.valueOf(n));
+            if (term.signum() == 0) {
+                break;
+            }
+            sum = sum.add(term);
+        }
+        for (int i = 0; i < halvings; i++) {
+            sum = sum.multiply(sum).shiftRight(fine);
+        }
+        return sum.shiftRight(halvings);
+    }
+    
+    /**
+     * log(x) for x > 0 to {@code scale} bits: {@code x = m 10^e} with m in [1, 10),
+     * {@code log m = y0 + 2 atanh((z - 1)/(z + 1))} where y0 is the double
+     * logarithm of m and {@code z = m exp(-y0)}; near 1, x is not split and the
+     * bits of {@code x - 1} are added so the small result keeps its precision
+     */
+    private static BigDecimal log(BigDecimal x, int scale) {
+        int e = x.precision() - x.scale() - 1;
+        BigDecimal distance = x.subtract(BigDecimal.ONE);
+        if (distance.abs().compareTo(NEAR_ONE) < 0) {
+            e = 0;
+            if (distance.signum() != 0) {
+                scale -= Math.min(0, magnitudeBits(distance));
+            }
+        }
+        BigDecimal m = x.movePointLeft(e);
+        double y0 = Math.log(m.doubleValue());
+        long k = Math.round(-y0 / Math.log(2));
+        BigInteger r = BigDecimalConstants.toFixed(new BigDecimal(-y0), scale)
+                .subtract(BigDecimalConstants.ln2Fixed(scale).multiply(BigInteger.valueOf(k)));
+        // m exp(-y0) = m 2^k exp(r)
+        BigInteger z = BigDecimalConstants.toFixed(m, scale).multiply(expSeries(r, scale)).shiftRight(scale - (int) k);
+        BigInteger one = BigInteger.ONE.shiftLeft(scale);
+        BigInteger u = z.subtract(one).shiftLeft(scale).divide(z.add(one));
+        BigInteger uSquare = u.multiply(u).shiftRight(scale);
+        BigInteger power = u;
+        BigInteger atanh = u;
+        for (long n = 3; ; n += 2) {
+            power = power.multiply(uSquare).shiftRight(scale);
+            BigInteger term = power.divide(BigInteger.valueOf(n));
+            if (term.signum() == 0) {
+                break;
+            }
+            atanh = atanh.add(term);
+        }
+        BigInteger sum = atanh.shiftLeft(1);
+        if (e != 0) {
+            // ln 10 is multiplied by e, so it needs the bits of e on top
+            int extra = 32 - Integer.numberOfLeadingZeros(Math.abs(e));
+            sum = sum.add(BigDecimalConstants.ln10Fixed(scale + extra).multiply(BigInteger.valueOf(e)).shiftRight(extra));
+        }
+        return new BigDecimal(y0).add(BigDecimalConstants.fromFixed(sum, scale));
+    }
+    
+    /** An angle reduced to {@code quadrant * pi/2 + remainder}, |remainder| <= pi/4 */
+    private static final class Reduced {
+        final int quadrant;
+        final BigInteger remainder;
+        final int scale;
+        
+        Reduced(int quadrant, BigInteger remainder, int scale) {
+            this.quadrant = quadrant;
+            this.remainder = remainder;
+            this.scale = scale;
+        }
+        
+        /** Taylor series of sin at the remainder */
+        BigInteger sin() {
+            BigInteger square = remainder.multiply(remainder).shiftRight(scale);
+            BigInteger term = remainder;
+            BigInteger sum = remainder;
+            for (long n = 2; ; n += 2) {
+                term = term.multiply(square).shiftRight(scale).divide(BigInteger.valueOf(-n * (n + 1)));
+                if (term.signum() == 0) {
+                    return sum;
+                }
+                sum = sum.add(term);
+            }
+        }
+        
+        /** Taylor series of cos at the remainder */
+        BigInteger cos() {
+            BigInteger square = remainder.multiply(remainder).shiftRight(scale);
+            BigInteger term = BigInteger.ONE.shiftLeft(scale);
+            BigInteger sum = term;
+            for (long n = 1; ; n += 2) {
+                term = term.multiply(square).shiftRight(scale).divide(BigInteger.valueOf(-n * (n + 1)));
+                if (term.signum() == 0) {
+                    return sum;
+                }
+                sum = sum.add(term);
+            }
+        }
+    }
+    
+    /**
+     * Reduces by pi/2 with enough bits of pi to keep {@link #bits} significant
+     * bits in the remainder; an angle close to a multiple of pi/2 is reduced
+     * once more with as many extra bits as the first remainder lost
+     */
+    private Reduced reduce(BigDecimal angle) {
+        if (angle.signum() == 0) {
+            return new Reduced(0, BigInteger.ZERO, bits);
+        }
+        int scale = bits + Math.abs(magnitudeBits(angle));
+        Reduced reduced = reduce(angle, scale);
+        int lost = scale - reduced.remainder.bitLength();
+        if (reduced.remainder.signum() != 0 && lost > 2) {
+            reduced = reduce(angle, scale + lost);
+        }
+        return reduced;
+    }
+    
+    private static Reduced reduce(BigDecimal angle, int scale) {
+        BigInteger fixed = BigDecimalConstants.toFixed(angle, scale);
+        BigInteger halfPi = BigDecimalConstants.halfPiFixed(scale);
+        // Nearest multiple: floor((2 angle + halfPi) / (2 halfPi))
+        BigInteger[] division = fixed.shiftLeft(1).add(halfPi).divideAndRemainder(halfPi.shiftLeft(1));
+        BigInteger quotient = division[1].signum() < 0 ? division[0].subtract(BigInteger.ONE) : division[0];
+        BigInteger remainder = fixed.subtract(halfPi.multiply(quotient));
+        return new Reduced(quotient.intValue() & 3, remainder, scale);
+    }
+    
+    /**
+     * atan(x) = sign(x) pi/2 - atan(1/x) above 1, then
+     * {@code atan(x) = 2 atan(x / (1 + sqrt(1 + x^2)))} until x is below 1/16
+     * and the alternating series converges quickly
+     */
+    private static BigDecimal atan(BigDecimal value, int targetBits) {
+        if (value.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        // Small arguments need extra bits to keep their significant bits; each halving loses one
+        int scale = targetBits + Math.max(0, -magnitudeBits(value)) + 8;
+        BigInteger one = BigInteger.ONE.shiftLeft(scale);
+        BigInteger x = BigDecimalConstants.toFixed(value, scale);
+        BigInteger offset = BigInteger.ZERO;
+        if (x.abs().compareTo(one) > 0) {
+            BigInteger halfPi = BigDecimalConstants.halfPiFixed(scale);
+            offset = x.signum() > 0 ? halfPi : halfPi.negate();
+            x = one.shiftLeft(scale).divide(x).negate();
+        }
+        BigInteger limit = one.shiftRight(4);
+        int doublings = 0;
+        while (x.abs().compareTo(limit) > 0) {
+            BigInteger root = one.shiftLeft(scale).add(x.multiply(x)).sqrt();
+            x = x.shiftLeft(scale).divide(one.add(root));
+            doublings++;
+        }
+        BigInteger square = x.multiply(x).shiftRight(scale);
+        BigInteger power = x;
+        BigInteger sum = x;
+        for (long n = 3; ; n += 2) {
+            power = power.multiply(square).shiftRight(scale).negate();
+            BigInteger term = power.divide(BigInteger.valueOf(n));
+            if (term.signum() == 0) {
+                break;
+            }
+            sum = sum.add(term);
+        }
+        return BigDecimalConstants.fromFixed(offset.add(sum.shiftLeft(doublings)), scale);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,241 @@
+package com.mathops.operations;
+
+/**
+ * Immutable complex number for scalar calculations.
+ * <p>
+ * Arithmetic follows IEEE rules, so dividing by zero or taking the logarithm of
+ * zero gives infinities or NaN here; {@link ComplexMathOperations} rejects
+ * those arguments instead. Arrays of complex numbers should be kept as split
+ * real and imaginary {@code double[]} arrays and processed with the bulk
+ * methods of {@link ComplexMathOperations}, which allocate nothing.
+ */
+public final class Complex {
+    
+    public static final Complex ZERO = new Complex(0, 0);
+    public static final Complex ONE = new Complex(1, 0);
+    public static final Complex I = new Complex(0, 1);
+    
+    /** Beyond this |Im z|, tan z equals ±i to double precision and cosh would overflow */
+    static final double TAN_IMAGINARY_LIMIT = 20;
+    
+    private final double real;
+    private final double imaginary;
+    
+    private Complex(double real, double imaginary) {
+        this.real = real;
+        this.imaginary = imaginary;
+    }
+    
+    public static Complex of(double real, double imaginary) {
+        return new Complex(real, imaginary);
+    }
+    
+    public static Complex ofReal(double real) {
+        return new Complex(real, 0);
+    }
+    
+    /**
+     * Creates a complex number from polar coordinates
+     * @param modulus distance from the origin
+     * @param argument angle from the positive real axis in radians
+     * @return {@code modulus * e^(i * argument)}
+     */
+    public static Complex polar(double modulus, double argument) {
+        return new Complex(modulus * Math.cos(argument), modulus * Math.sin(argument));
+    }
+    
+    public double getReal() {
+        return real;
+    }
+    
+    public double getImaginary() {
+        return imaginary;
+    }
+    
+    public boolean isZero() {
+        return real == 0 && imaginary == 0;
+    }
+    
+    public Complex add(Complex other) {
+        return new Complex(real + other.real, imaginary + other.imaginary);
+    }
+    
+    public Complex subtract(Complex other) {
+        return new Complex(real - other.real, imaginary - other.imaginary);
+    }
+    
+    public Complex multiply(Complex other) {
+        return new Complex(real * other.real - imaginary * other.imaginary,
+                real * other.imaginary + imaginary * other.real);
+    }
+    
+    /**
+     * Divides by another complex number with Smith's algorithm, which scales by the
+     * larger part of the divisor so that no intermediate overflows needlessly
+     * @param other divisor
+     * @return quotient
+     */
+    public Complex divide(Complex other) {
+        double c = other.real;
+        double d = other.imaginary;
+        if (Math.abs(c) >= Math.abs(d)) {
+            double r = d / c;
+            double t = c + d * r;
+            return new Complex((real + imaginary * r) / t, (imaginary - real * r) / t);
+        }
+        double r = c / d;
+        double t = d + c * r;
+        return new Complex((real * r + imaginary) / t, (imaginary * r - real) / t);
+    }
+    
+    public Complex conjugate() {
+        return new Complex(real, -imaginary);
+    }
+    
+    public Complex negate() {
+        return new Complex(-real, -imaginary);
+    }
+    
+    /**
+     * Returns the modulus {@code |z|}
+     * @return distance from the origin
+     */
+    public double abs() {
+        return abs(real, imaginary);
+    }
+    
+    /**
+     * Returns the argument in {@code (-pi, pi]}
+     * @return angle from the positive real axis in radians
+     */
+    public double arg() {
+        return Math.atan2(imaginary, real);
+    }
+    
+    public Complex exp() {
+        double scale = Math.exp(real);
+        if (imaginary == 0) {
+            return new Complex(scale, imaginary);
+        }
+        return new Complex(scale * Math.cos(imaginary), scale * Math.sin(imaginary));
+    }
+    
+    /**
+     * Returns the principal natural logarithm
+     * @return {@code ln|z| + i arg z}
+     */
+    public Complex log() {
+        return new Complex(Math.log(abs()), arg());
+    }
+    
+    /**
+     * Raises to a complex power on the principal branch. Zero to a power with
+     * positive real part is zero, and anything to the power zero is one.
+     * @param exponent power
+     * @return {@code e^(exponent * ln z)}
+     */
+    public Complex pow(Complex exponent) {
+        if (exponent.isZero()) {
+            return ONE;
+        }
+        if (isZero() && exponent.real > 0) {
+            return ZERO;
+        }
+        return exponent.multiply(log()).exp();
+    }
+    
+    /**
+     * Raises to a real power on the principal branch
+     * @param exponent power
+     * @return {@code |z|^exponent * e^(i * exponent * arg z)}
+     */
+    public Complex pow(double exponent) {
+        if (exponent == 0) {
+            return ONE;
+        }
+        if (isZero() && exponent > 0) {
+            return ZERO;
+        }
+        return polar(Math.pow(abs(), exponent), exponent * arg());
+    }
+    
+    /**
+     * Returns the principal square root, the one with non-negative real part
+     * @return square root
+     */
+    public Complex sqrt() {
+        if (isZero()) {
+            return new Complex(0, imaginary);
+        }
+        double t = Math.sqrt((Math.abs(real) + abs()) / 2);
+        if (real >= 0) {
+            return new Complex(t, imaginary / (2 * t));
+        }
+        return new Complex(Math.abs(imaginary) / (2 * t), Math.copySign(t, imaginary));
+    }
+    
+    public Complex sin() {
+        return new Complex(Math.sin(real) * Math.cosh(imaginary), Math.cos(real) * Math.sinh(imaginary));
+    }
+    
+    public Complex cos() {
+        return new Complex(Math.cos(real) * Math.cosh(imaginary), -Math.sin(real) * Math.sinh(imaginary));
+    }
+    
+    public Complex tan() {
+        return new Complex(tanReal(real, imaginary), tanImaginary(real, imaginary));
+    }
+    
+    /**
+     * Modulus without the cost of {@link Math#hypot} unless the sum of squares
+     * overflows, underflows or is NaN
+     */
+    static double abs(double real, double imaginary) {
+        double squares = real * real + imaginary * imaginary;
+        if (squares >= Double.MIN_NORMAL && squares < Double.POSITIVE_INFINITY) {
+            return Math.sqrt(squares);
+        }
+        return Math.hypot(real, imaginary);
+    }
+    
+    /** Real part of tan(x + iy) = sin 2x / (cos 2x + cosh 2y) */
+    static double tanReal(double x, double y) {
+        if (Math.abs(y) > TAN_IMAGINARY_LIMIT) {
+            // cosh 2y dominates the denominator: 2 sin 2x e^(-2|y|)
+            return 4 * Math.sin(x) * Math.cos(x) * Math.exp(-2 * Math.abs(y));
+        }
+        return Math.sin(2 * x) / (Math.cos(2 * x) + Math.cosh(2 * y));
+    }
+    
+    /** Imaginary part of tan(x + iy) = sinh 2y / (cos 2x + cosh 2y) */
+    static double tanImaginary(double x, double y) {
+        if (Math.abs(y) > TAN_IMAGINARY_LIMIT) {
+            return Math.copySign(1, y);
+        }
+        return Math.sinh(2 * y) / (Math.cos(2 * x) + Math.cosh(2 * y));
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Complex)) {
+            return false;
+        }
+        Complex other = (Complex) o;
+        return Double.compare(real, other.real) == 0 && Double.compare(imaginary, other.imaginary) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(real) + Double.hashCode(imaginary);
+    }
+    
+    @Override
+    public String toString() {
+        return imaginary < 0 || (imaginary == 0 && 1 / imaginary < 0)
+                ? real + "-" + -imaginary + "i"
+                : real + "+" + imaginary + "i";
+    }
+}
\ No newline at end of file
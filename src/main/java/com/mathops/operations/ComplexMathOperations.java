@@ -0,0 +1,611 @@
+package com.mathops.operations;
+
+import java.util.Objects;
+
+/**
+ * Complex number operations, on single {@link Complex} values and in bulk.
+ * <p>
+ * Bulk operations take complex arrays as split real and imaginary
+ * {@code double[]} arrays rather than arrays of objects, so they allocate
+ * nothing and read memory sequentially; addition, subtraction and
+ * multiplication are straight-line loops that the JIT can vectorize. Data held
+ * interleaved as {@code re0, im0, re1, im1, ...} can be converted with
+ * {@link #deinterleave} and {@link #interleave}. Outputs may alias inputs.
+ * As in {@link BasicMathOperations}, arguments are validated before anything is
+ * written, so a rejected call leaves the outputs unchanged.
+ */
+public class ComplexMathOperations {
+    
+    /**
+     * Adds two complex numbers
+     * @param a first number
+     * @param b second number
+     * @return sum of a and b
+     */
+    public Complex add(Complex a, Complex b) {
+        return a.add(b);
+    }
+    
+    /**
+     * Subtracts second complex number from first
+     * @param a first number
+     * @param b second number
+     * @return difference of a and b
+     */
+    public Complex subtract(Complex a, Complex b) {
+        return a.subtract(b);
+    }
+    
+    /**
+     * Multiplies two complex numbers
+     * @param a first number
+     * @param b second number
+     * @return product of a and b
+     */
+    public Complex multiply(Complex a, Complex b) {
+        return a.multiply(b);
+    }
+    
+    /**
+     * Divides first complex number by second
+     * @param a dividend
+     * @param b divisor
+     * @return quotient of a and b
+     * @throws IllegalArgumentException if divisor is zero
+     */
+    public Complex divide(Complex a, Complex b) {
+        if (b.isZero()) {
+            throw new IllegalArgumentException("Division by zero is not allowed");
+        }
+        return a.divide(b);
+    }
+    
+    /**
+     * Calculates the modulus
+     * @param z number
+     * @return |z|
+     */
+    public double absolute(Complex z) {
+        return z.abs();
+    }
+    
+    /**
+     * Calculates the argument
+     * @param z number
+     * @return angle from the positive real axis in {@code (-pi, pi]}
+     */
+    public double argument(Complex z) {
+        return z.arg();
+    }
+    
+    /**
+     * Calculates e raised to a complex power
+     * @param z exponent
+     * @return e^z
+     */
+    public Complex exp(Complex z) {
+        return z.exp();
+    }
+    
+    /**
+     * Calculates the principal natural logarithm
+     * @param z number
+     * @return ln|z| + i arg z
+     * @throws IllegalArgumentException if z is zero
+     */
+    public Complex naturalLog(Complex z) {
+        if (z.isZero()) {
+            throw new IllegalArgumentException("Logarithm of zero is undefined");
+        }
+        return z.log();
+    }
+    
+    /**
+     * Raises a complex number to a complex power on the principal branch
+     * @param base base
+     * @param exponent power
+     * @return base^exponent
+     * @throws IllegalArgumentException if base is zero and the exponent is non-zero with real part not positive
+     */
+    public Complex power(Complex base, Complex exponent) {
+        if (base.isZero() && !exponent.isZero() && exponent.getReal() <= 0) {
+            throw new IllegalArgumentException("Zero cannot be raised to a power with non-positive real part");
+        }
+        return base.pow(exponent);
+    }
+    
+    /**
+     * Calculates the principal square root
+     * @param z number
+     * @return square root with non-negative real part
+     */
+    public Complex squareRoot(Complex z) {
+        return z.sqrt();
+    }
+    
+    public Complex sin(Complex z) {
+        return z.sin();
+    }
+    
+    public Complex cos(Complex z) {
+        return z.cos();
+    }
+    
+    public Complex tan(Complex z) {
+        return z.tan();
+    }
+    
+    /**
+     * Adds corresponding elements of two complex arrays
+     * @param aRe real parts of the first operands
+     * @param aIm imaginary parts of the first operands
+     * @param bRe real parts of the second operands
+     * @param bIm imaginary parts of the second operands
+     * @param outRe destination for the real parts of the sums
+     * @param outIm destination for the imaginary parts of the sums
+     */
+    public void add(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm) {
+        add(aRe, aIm, bRe, bIm, outRe, outIm, 0, aRe.length);
+    }
+    
+    /**
+     * Adds corresponding elements of two complex arrays over the range {@code [off, off + len)}
+     * @param aRe real parts of the first operands
+     * @param aIm imaginary parts of the first operands
+     * @param bRe real parts of the second operands
+     * @param bIm imaginary parts of the second operands
+     * @param outRe destination for the real parts of the sums
+     * @param outIm destination for the imaginary parts of the sums
+     * @param off first index in all six arrays
+     * @param len number of elements
+     */
+    public void add(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm,
+                    int off, int len) {
+        checkBinary(aRe, aIm, bRe, bIm, outRe, outIm, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            outRe[i] = aRe[i] + bRe[i];
+            outIm[i] = aIm[i] + bIm[i];
+        }
+    }
+    
+    /**
+     * Subtracts corresponding elements of the second complex array from the first
+     * @param aRe real parts of the first operands
+     * @param aIm imaginary parts of the first operands
+     * @param bRe real parts of the second operands
+     * @param bIm imaginary parts of the second operands
+     * @param outRe destination for the real parts of the differences
+     * @param outIm destination for the imaginary parts of the differences
+     */
+    public void subtract(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm) {
+        subtract(aRe, aIm, bRe, bIm, outRe, outIm, 0, aRe.length);
+    }
+    
+    /**
+     * Subtracts corresponding elements of the second complex array from the first over the range
+     * {@code [off, off + len)}
+     * @param aRe real parts of the first operands
+     * @param aIm imaginary parts of the first operands
+     * @param bRe real parts of the second operands
+     * @param bIm imaginary parts of the second operands
+     * @param outRe destination for the real parts of the differences
+     * @param outIm destination for the imaginary parts of the differences
+     * @param off first index in all six arrays
+     * @param len number of elements
+     */
+    public void subtract(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm,
+                         int off, int len) {
+        checkBinary(aRe, aIm, bRe, bIm, outRe, outIm, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            outRe[i] = aRe[i] - bRe[i];
+            outIm[i] = aIm[i] - bIm[i];
+        }
+    }
+    
+    /**
+     * Multiplies corresponding elements of two complex arrays
+     * @param aRe real parts of the first operands
+     * @param aIm imaginary parts of the first operands
+     * @param bRe real parts of the second operands
+     * @param bIm imaginary parts of the second operands
+     * @param outRe destination for the real parts of the products
+     * @param outIm destination for the imaginary parts of the products
+     */
+    public void multiply(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm) {
+        multiply(aRe, aIm, bRe, bIm, outRe, outIm, 0, aRe.length);
+    }
+    
+    /**
+     * Multiplies corresponding elements of two complex arrays over the range {@code [off, off + len)}
+     * @param aRe real parts of the first operands
+     * @param aIm imaginary parts of the first operands
+     * @param bRe real parts of the second operands
+     * @param bIm imaginary parts of the second operands
+     * @param outRe destination for the real parts of the products
+     * @param outIm destination for the imaginary parts of the products
+     * @param off first index in all six arrays
+     * @param len number of elements
+     */
+    public void multiply(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm,
+                         int off, int len) {
+        checkBinary(aRe, aIm, bRe, bIm, outRe, outIm, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            double ar = aRe[i];
+            double ai = aIm[i];
+            double br = bRe[i];
+            double bi = bIm[i];
+            outRe[i] = ar * br - ai * bi;
+            outIm[i] = ar * bi + ai * br;
+        }
+    }
+    
+    /**
+     * Divides corresponding elements of the first complex array by the second
+     * @param aRe real parts of the dividends
+     * @param aIm imaginary parts of the dividends
+     * @param bRe real parts of the divisors
+     * @param bIm imaginary parts of the divisors
+     * @param outRe destination for the real parts of the quotients
+     * @param outIm destination for the imaginary parts of the quotients
+     * @throws IllegalArgumentException if any divisor is zero; nothing is written in that case
+     */
+    public void divide(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm) {
+        divide(aRe, aIm, bRe, bIm, outRe, outIm, 0, aRe.length);
+    }
+    
+    /**
+     * Divides corresponding elements of the first complex array by the second over the range
+     * {@code [off, off + len)}, with Smith's algorithm as in {@link Complex#divide}
+     * @param aRe real parts of the dividends
+     * @param aIm imaginary parts of the dividends
+     * @param bRe real parts of the divisors
+     * @param bIm imaginary parts of the divisors
+     * @param outRe destination for the real parts of the quotients
+     * @param outIm destination for the imaginary parts of the quotients
+     * @param off first index in all six arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any divisor is zero; nothing is written in that case
+     */
+    public void divide(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm,
+                       int off, int len) {
+        checkBinary(aRe, aIm, bRe, bIm, outRe, outIm, off, len);
+        ArrayChecks.checkNonZero(bRe, bIm, off, len, "Division by zero is not allowed");
+        for (int i = off, end = off + len; i < end; i++) {
+            double ar = aRe[i];
+            double ai = aIm[i];
+            double c = bRe[i];
+            double d = bIm[i];
+            if (Math.abs(c) >= Math.abs(d)) {
+                double r = d / c;
+                double t = c + d * r;
+                outRe[i] = (ar + ai * r) / t;
+                outIm[i] = (ai - ar * r) / t;
+            } else {
+                double r = c / d;
+                double t = d + c * r;
+                outRe[i] = (ar * r + ai) / t;
+                outIm[i] = (ai * r - ar) / t;
+            }
+        }
+    }
+    
+    /**
+     * Calculates the modulus of every element
+     * @param re real parts
+     * @param im imaginary parts
+     * @param out destination for the moduli, may alias {@code re} or {@code im}
+     */
+    public void absolute(double[] re, double[] im, double[] out) {
+        absolute(re, im, out, 0, re.length);
+    }
+    
+    /**
+     * Calculates the modulus of every element over the range {@code [off, off + len)}
+     * @param re real parts
+     * @param im imaginary parts
+     * @param out destination for the moduli, may alias {@code re} or {@code im}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     */
+    public void absolute(double[] re, double[] im, double[] out, int off, int len) {
+        checkUnaryToReal(re, im, out, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Complex.abs(re[i], im[i]);
+        }
+    }
+    
+    /**
+     * Calculates the argument of every element
+     * @param re real parts
+     * @param im imaginary parts
+     * @param out destination for the arguments, may alias {@code re} or {@code im}
+     */
+    public void argument(double[] re, double[] im, double[] out) {
+        argument(re, im, out, 0, re.length);
+    }
+    
+    /**
+     * Calculates the argument of every element over the range {@code [off, off + len)}
+     * @param re real parts
+     * @param im imaginary parts
+     * @param out destination for the arguments, may alias {@code re} or {@code im}
+     * @param off first index in all three arrays
+     * @param len number of elements
+     */
+    public void argument(double[] re, double[] im, double[] out, int off, int len) {
+        checkUnaryToReal(re, im, out, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Math.atan2(im[i], re[i]);
+        }
+    }
+    
+    public void exp(double[] re, double[] im, double[] outRe, double[] outIm) {
+        exp(re, im, outRe, outIm, 0, re.length);
+    }
+    
+    /**
+     * Calculates e raised to every element over the range {@code [off, off + len)}
+     * @param re real parts of the exponents
+     * @param im imaginary parts of the exponents
+     * @param outRe destination for the real parts
+     * @param outIm destination for the imaginary parts
+     * @param off first index in all four arrays
+     * @param len number of elements
+     */
+    public void exp(double[] re, double[] im, double[] outRe, double[] outIm, int off, int len) {
+        checkUnary(re, im, outRe, outIm, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            double scale = Math.exp(re[i]);
+            double y = im[i];
+            // A real exponent stays real even when e^x overflows, as in Complex#exp
+            outRe[i] = y == 0 ? scale : scale * Math.cos(y);
+            outIm[i] = y == 0 ? y : scale * Math.sin(y);
+        }
+    }
+    
+    /**
+     * Calculates the principal natural logarithm of every element
+     * @param re real parts
+     * @param im imaginary parts
+     * @param outRe destination for the real parts
+     * @param outIm destination for the imaginary parts
+     * @throws IllegalArgumentException if any element is zero; nothing is written in that case
+     */
+    public void naturalLog(double[] re, double[] im, double[] outRe, double[] outIm) {
+        naturalLog(re, im, outRe, outIm, 0, re.length);
+    }
+    
+    /**
+     * Calculates the principal natural logarithm of every element over the range {@code [off, off + len)}
+     * @param re real parts
+     * @param im imaginary parts
+     * @param outRe destination for the real parts
+     * @param outIm destination for the imaginary parts
+     * @param off first index in all four arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any element is zero; nothing is written in that case
+     */
+    public void naturalLog(double[] re, double[] im, double[] outRe, double[] outIm, int off, int len) {
+        checkUnary(re, im, outRe, outIm, off, len);
+        ArrayChecks.checkNonZero(re, im, off, len, "Logarithm of zero is undefined");
+        for (int i = off, end = off + len; i < end; i++) {
+            double x = re[i];
+            double y = im[i];
+            outRe[i] = Math.log(Complex.abs(x, y));
+            outIm[i] = Math.atan2(y, x);
+        }
+    }
+    
+    /**
+     * Raises every element to the same complex power
+     * @param re real parts of the bases
+     * @param im imaginary parts of the bases
+     * @param exponent power
+     * @param outRe destination for the real parts
+     * @param outIm destination for the imaginary parts
+     * @throws IllegalArgumentException if any base is zero and the exponent is non-zero with real part
+     *                                  not positive; nothing is written in that case
+     */
+    public void power(double[] re, double[] im, Complex exponent, double[] outRe, double[] outIm) {
+        power(re, im, exponent, outRe, outIm, 0, re.length);
+    }
+    
+    /**
+     * Raises every element to the same complex power over the range {@code [off, off + len)}
+     * @param re real parts of the bases
+     * @param im imaginary parts of the bases
+     * @param exponent power
+     * @param outRe destination for the real parts
+     * @param outIm destination for the imaginary parts
+     * @param off first index in all four arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any base is zero and the exponent is non-zero with real part
+     *                                  not positive; nothing is written in that case
+     */
+    public void power(double[] re, double[] im, Complex exponent, double[] outRe, double[] outIm, int off, int len) {
+        checkUnary(re, im, outRe, outIm, off, len);
+        Objects.requireNonNull(exponent, "exponent");
+        int end = off + len;
+        if (exponent.isZero()) {
+            for (int i = off; i < end; i++) {
+                outRe[i] = 1;
+                outIm[i] = 0;
+            }
+            return;
+        }
+        double wr = exponent.getReal();
+        double wi = exponent.getImaginary();
+        if (wr <= 0) {
+            ArrayChecks.checkNonZero(re, im, off, len, "Zero cannot be raised to a power with non-positive real part");
+        }
+        for (int i = off; i < end; i++) {
+            double x = re[i];
+            double y = im[i];
+            if (x == 0 && y == 0) {
+                outRe[i] = 0;
+                outIm[i] = 0;
+                continue;
+            }
+            double logModulus = Math.log(Complex.abs(x, y));
+            double argument = Math.atan2(y, x);
+            double scale = Math.exp(wr * logModulus - wi * argument);
+            double angle = wr * argument + wi * logModulus;
+            // A real result stays real even when it overflows, as in Complex#pow
+            outRe[i] = angle == 0 ? scale : scale * Math.cos(angle);
+            outIm[i] = angle == 0 ? angle : scale * Math.sin(angle);
+        }
+    }
+    
+    public void squareRoot(double[] re, double[] im, double[] outRe, double[] outIm) {
+        squareRoot(re, im, outRe, outIm, 0, re.length);
+    }
+    
+    /**
+     * Calculates the principal square root of every element over the range {@code [off, off + len)}
+     * @param re real parts
+     * @param im imaginary parts
+     * @param outRe destination for the real parts, which are never negative
+     * @param outIm destination for the imaginary parts
+     * @param off first index in all four arrays
+     * @param len number of elements
+     */
+    public void squareRoot(double[] re, double[] im, double[] outRe, double[] outIm, int off, int len) {
+        checkUnary(re, im, outRe, outIm, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            double x = re[i];
+            double y = im[i];
+            if (x == 0 && y == 0) {
+                outRe[i] = 0;
+                outIm[i] = y;
+                continue;
+            }
+            double t = Math.sqrt((Math.abs(x) + Complex.abs(x, y)) / 2);
+            if (x >= 0) {
+                outRe[i] = t;
+                outIm[i] = y / (2 * t);
+            } else {
+                outRe[i] = Math.abs(y) / (2 * t);
+                outIm[i] = Math.copySign(t, y);
+            }
+        }
+    }
+    
+    public void sin(double[] re, double[] im, double[] outRe, double[] outIm) {
+        sin(re, im, outRe, outIm, 0, re.length);
+    }
+    
+    /**
+     * Calculates the sine of every element over the range {@code [off, off + len)}
+     * @param re real parts
+     * @param im imaginary parts
+     * @param outRe destination for the real parts
+     * @param outIm destination for the imaginary parts
+     * @param off first index in all four arrays
+     * @param len number of elements
+     */
+    public void sin(double[] re, double[] im, double[] outRe, double[] outIm, int off, int len) {
+        checkUnary(re, im, outRe, outIm, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            double x = re[i];
+            double y = im[i];
+            outRe[i] = Math.sin(x) * Math.cosh(y);
+            outIm[i] = Math.cos(x) * Math.sinh(y);
+        }
+    }
+    
+    public void cos(double[] re, double[] im, double[] outRe, double[] outIm) {
+        cos(re, im, outRe, outIm, 0, re.length);
+    }
+    
+    /**
+     * Calculates the cosine of every element over the range {@code [off, off + len)}
+     * @param re real parts
+     * @param im imaginary parts
+     * @param outRe destination for the real parts
+     * @param outIm destination for the imaginary parts
+     * @param off first index in all four arrays
+     * @param len number of elements
+     */
+    public void cos(double[] re, double[] im, double[] outRe, double[] outIm, int off, int len) {
+        checkUnary(re, im, outRe, outIm, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            double x = re[i];
+            double y = im[i];
+            outRe[i] = Math.cos(x) * Math.cosh(y);
+            outIm[i] = -Math.sin(x) * Math.sinh(y);
+        }
+    }
+    
+    public void tan(double[] re, double[] im, double[] outRe, double[] outIm) {
+        tan(re, im, outRe, outIm, 0, re.length);
+    }
+    
+    /**
+     * Calculates the tangent of every element over the range {@code [off, off + len)}
+     * @param re real parts
+     * @param im imaginary parts
+     * @param outRe destination for the real parts
+     * @param outIm destination for the imaginary parts
+     * @param off first index in all four arrays
+     * @param len number of elements
+     */
+    public void tan(double[] re, double[] im, double[] outRe, double[] outIm, int off, int len) {
+        checkUnary(re, im, outRe, outIm, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            double x = re[i];
+            double y = im[i];
+            outRe[i] = Complex.tanReal(x, y);
+            outIm[i] = Complex.tanImaginary(x, y);
+        }
+    }
+    
+    /**
+     * Splits interleaved {@code re0, im0, re1, im1, ...} data into real and imaginary arrays
+     * @param interleaved source holding at least {@code 2 * re.length} values
+     * @param re destination for the real parts
+     * @param im destination for the imaginary parts, as long as {@code re}
+     */
+    public void deinterleave(double[] interleaved, double[] re, double[] im) {
+        int n = re.length;
+        ArrayChecks.checkRange(im, 0, n);
+        ArrayChecks.checkRange(interleaved, 0, 2 * n);
+        for (int i = 0; i < n; i++) {
+            re[i] = interleaved[2 * i];
+            im[i] = interleaved[2 * i + 1];
+        }
+    }
+    
+    /**
+     * Merges real and imaginary arrays into interleaved {@code re0, im0, re1, im1, ...} data
+     * @param re real parts
+     * @param im imaginary parts, as long as {@code re}
+     * @param interleaved destination holding at least {@code 2 * re.length} values
+     */
+    public void interleave(double[] re, double[] im, double[] interleaved) {
+        int n = re.length;
+        ArrayChecks.checkRange(im, 0, n);
+        ArrayChecks.checkRange(interleaved, 0, 2 * n);
+        for (int i = 0; i < n; i++) {
+            interleaved[2 * i] = re[i];
+            interleaved[2 * i + 1] = im[i];
+        }
+    }
+    
+    private static void checkBinary(double[] aRe, double[] aIm, double[] bRe, double[] bIm,
+                                    double[] outRe, double[] outIm, int off, int len) {
+        checkUnary(aRe, aIm, outRe, outIm, off, len);
+        ArrayChecks.checkRange(bRe, off, len);
+        ArrayChecks.checkRange(bIm, off, len);
+    }
+    
+    private static void checkUnary(double[] re, double[] im, double[] outRe, double[] outIm, int off, int len) {
+        checkUnaryToReal(re, im, outRe, off, len);
+        ArrayChecks.checkRange(outIm, off, len);
+    }
+    
+    private static void checkUnaryToReal(double[] re, double[] im, double[] out, int off, int len) {
+        ArrayChecks.checkRange(re, off, len);
+        ArrayChecks.checkRange(im, off, len);
+        ArrayChecks.checkRange(out, off, len);
+    }
+}
\ No newline at end of file
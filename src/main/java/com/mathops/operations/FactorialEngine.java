@@ -0,0 +1,183 @@
+package com.mathops.operations;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Factorials by the prime swing algorithm.
+ * <p>
+ * Uses {@code n! = ((n/2)!)^2 * swing(n)}, where the swing number is the product
+ * of primes up to {@code n} raised to small exponents. Prime powers are packed
+ * into {@code long} words and multiplied with a balanced product tree, so the
+ * expensive big multiplications always work on operands of similar size. The
+ * parallel variant builds the swing numbers and product trees on the common
+ * ForkJoin pool.
+ */
+final class FactorialEngine {
+    
+    /** Largest n whose factorial fits in a long */
+    static final int MAX_LONG_FACTORIAL = 20;
+    
+    private static final long[] LONG_FACTORIALS = new long[MAX_LONG_FACTORIAL + 1];
+    
+    /** Product tree ranges smaller than this are multiplied on the current thread */
+    private static final int PARALLEL_THRESHOLD = 64;
+    
+    static {
+        LONG_FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_LONG_FACTORIAL; i++) {
+            LONG_FACTORIALS[i] = LONG_FACTORIALS[i - 1] * i;
+        }
+    }
+    
+    private FactorialEngine() {
+    }
+    
+    /**
+     * Looks up a factorial that fits in a long
+     * @param n input number, between 0 and {@link #MAX_LONG_FACTORIAL}
+     * @return n!
+     */
+    static long longFactorial(int n) {
+        return LONG_FACTORIALS[n];
+    }
+    
+    /**
+     * Calculates n! exactly
+     * @param n non-negative input number
+     * @param parallel whether to use the common ForkJoin pool
+     * @return n!
+     */
+    static BigInteger factorial(int n, boolean parallel) {
+        if (n <= MAX_LONG_FACTORIAL) {
+            return BigInteger.valueOf(LONG_FACTORIALS[n]);
+        }
+        BitSet composite = sieve(n);
+        List<Integer> levels = new ArrayList<>();
+        for (int m = n; m > MAX_LONG_FACTORIAL; m /= 2) {
+            levels.add(m);
+        }
+        BigInteger[] swings = new BigInteger[levels.size()];
+        if (parallel) {
+            List<RecursiveTask<BigInteger>> tasks = new ArrayList<>();
+            for (int level : levels) {
+                tasks.add(new ProductTask(swingFactors(level, composite)));
+            }
+            for (RecursiveTask<BigInteger> task : tasks) {
+                ForkJoinPool.commonPool().execute(task);
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                swings[i] = tasks.get(i).join();
+            }
+        } else {
+            for (int i = 0; i < swings.length; i++) {
+                long[] factors = swingFactors(levels.get(i), composite);
+                swings[i] = product(factors, 0, factors.length);
+            }
+        }
+        BigInteger result = BigInteger.valueOf(LONG_FACTORIALS[levels.get(levels.size() - 1) / 2]);
+        for (int i = swings.length - 1; i >= 0; i--) {
+            result = result.multiply(result).multiply(swings[i]);
+        }
+        return result;
+    }
+    
+    /**
+     * Marks composite numbers up to n
+     * @param n upper bound
+     * @return bit set where bit i is set if i is not prime (for i >= 2)
+     */
+    private static BitSet sieve(int n) {
+        BitSet composite = new BitSet(n + 1);
+        for (int p = 2; (long) p * p <= n; p = composite.nextClearBit(p + 1)) {
+            for (int multiple = p * p; multiple <= n && multiple > 0; multiple += p) {
+                composite.set(multiple);
+            }
+        }
+        return composite;
+    }
+    
+    /**
+     * Collects the prime powers of swing(n), packed into as few longs as possible
+     * @param n swing argument
+     * @param composite sieve covering at least n
+     * @return factors whose product is swing(n)
+     */
+    private static long[] swingFactors(int n, BitSet composite) {
+        long[] factors = new long[64];
+        int count = 0;
+        long word = 1;
+        for (int p = 2; p <= n; p = composite.nextClearBit(p + 1)) {
+            int exponent = 0;
+            for (int q = n / p; q > 0; q /= p) {
+                exponent += q & 1;
+            }
+            for (int e = 0; e < exponent; e++) {
+                if (word > Long.MAX_VALUE / p) {
+                    if (count == factors.length) {
+                        factors = Arrays.copyOf(factors, count * 2);
+                    }
+                    factors[count++] = word;
+                    word = 1;
+                }
+                word *= p;
+            }
+        }
+        if (count == factors.length) {
+            factors = Arrays.copyOf(factors, count + 1);
+        }
+        factors[count++] = word;
+        return Arrays.copyOf(factors, count);
+    }
+    
+    /**
+     * Multiplies a range of factors with a balanced product tree
+     */
+    private static BigInteger product(long[] factors, int from, int to) {
+        int length = to - from;
+        if (length == 1) {
+            return BigInteger.valueOf(factors[from]);
+        }
+        if (length == 2) {
+            return BigInteger.valueOf(factors[from]).multiply(BigInteger.valueOf(factors[from + 1]));
+        }
+        int middle = (from + to) >>> 1;
+        return product(factors, from, middle).multiply(product(factors, middle, to));
+    }
+    
+    private static final class ProductTask extends RecursiveTask<BigInteger> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final long[] factors;
+        private final int from;
+        private final int to;
+        
+        ProductTask(long[] factors) {
+            this(factors, 0, factors.length);
+        }
+        
+        private ProductTask(long[] factors, int from, int to) {
+            this.factors = factors;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected BigInteger compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return product(factors, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ProductTask right = new ProductTask(factors, middle, to);
+            right.fork();
+            BigInteger left = new ProductTask(factors, from, middle).compute();
+            return left.multiply(right.join());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.mathops.operations;
+
+/**
+ * Fast approximations of sin, cos, tan and atan with documented error bounds.
+ * <p>
+ * sin, cos and tan reduce the argument once with a two-part Cody-Waite
+ * reduction by pi/2 and then evaluate the fdlibm minimax polynomials on
+ * [-pi/4, pi/4]. The reduction is exact enough for |x| up to
+ * {@value #MAX_REDUCED_ARGUMENT}; larger and non-finite arguments fall back to
+ * {@link Math}. atan uses a 33-entry table of atan(i/32) and a short series for
+ * the remainder.
+ * <p>
+ * Error bounds, verified against {@link StrictMath} by the accuracy tests:
+ * <ul>
+ *     <li>sin, cos: absolute error at most {@value #SIN_COS_ERROR_BOUND}</li>
+ *     <li>tan: absolute error at most {@value #SIN_COS_ERROR_BOUND} * (1 + tan(x)^2)</li>
+ *     <li>atan: absolute error at most {@value #ATAN_ERROR_BOUND}</li>
+ * </ul>
+ */
+final class FastTrig {
+    
+    static final double MAX_REDUCED_ARGUMENT = 1048576.0;
+    static final double SIN_COS_ERROR_BOUND = 1e-15;
+    static final double ATAN_ERROR_BOUND = 1e-15;
+    
+    private static final double TWO_OVER_PI = 6.36619772367581382433e-01;
+    /** First 33 bits of pi/2, so that k * PIO2_HI is exact for |k| < 2^20 */
+    private static final double PIO2_HI = 1.57079632673412561417e+00;
+    /** pi/2 - PIO2_HI */
+    private static final double PIO2_LO = 6.07710050650619224932e-11;
+    
+    private static final double S1 = -1.66666666666666324348e-01;
+    private static final double S2 = 8.33333333332248946124e-03;
+    private static final double S3 = -1.98412698298579493134e-04;
+    private static final double S4 = 2.75573137070700676789e-06;
+    private static final double S5 = -2.50507602534068634195e-08;
+    private static final double S6 = 1.58969099521155010221e-10;
+    
+    private static final double C1 = 4.16666666666666019037e-02;
+    private static final double C2 = -1.38888888888741095749e-03;
+    private static final double C3 = 2.48015872894767294178e-05;
+    private static final double C4 = -2.75573143513906633035e-07;
+    private static final double C5 = 2.08757232129817482790e-09;
+    private static final double C6 = -1.13596475577881948265e-11;
+    
+    private static final int ATAN_STEPS = 32;
+    private static final double[] ATAN_TABLE = new double[ATAN_STEPS + 1];
+    private static final double HALF_PI = Math.PI / 2;
+    
+    static {
+        for (int i = 0; i <= ATAN_STEPS; i++) {
+            ATAN_TABLE[i] = StrictMath.atan((double) i / ATAN_STEPS);
+        }
+    }
+    
+    private FastTrig() {
+    }
+    
+    static double sin(double x) {
+        if (!(Math.abs(x) <= MAX_REDUCED_ARGUMENT)) {
+            return Math.sin(x);
+        }
+        double k = Math.rint(x * TWO_OVER_PI);
+        double r = reduce(x, k);
+        switch ((int) k & 3) {
+            case 0: return sinKernel(r);
+            case 1: return cosKernel(r);
+            case 2: return -sinKernel(r);
+            default: return -cosKernel(r);
+        }
+    }
+    
+    static double cos(double x) {
+        if (!(Math.abs(x) <= MAX_REDUCED_ARGUMENT)) {
+            return Math.cos(x);
+        }
+        double k = Math.rint(x * TWO_OVER_PI);
+        double r = reduce(x, k);
+        switch ((int) k & 3) {
+            case 0: return cosKernel(r);
+            case 1: return -sinKernel(r);
+            case 2: return -cosKernel(r);
+            default: return sinKernel(r);
+        }
+    }
+    
+    static double tan(double x) {
+        if (!(Math.abs(x) <= MAX_REDUCED_ARGUMENT)) {
+            return Math.tan(x);
+        }
+        double k = Math.rint(x * TWO_OVER_PI);
+        double r = reduce(x, k);
+        double s = sinKernel(r);
+        double c = cosKernel(r);
+        return ((int) k & 1) == 0 ? s / c : -c / s;
+    }
+    
+    /**
+     * Calculates sine and cosine with one shared range reduction
+     * @param x angle in radians
+     * @param sinOut receives sin(x) at {@code sinIndex}
+     * @param sinIndex position in sinOut
+     * @param cosOut receives cos(x) at {@code cosIndex}
+     * @param cosIndex position in cosOut
+     */
+    static void sinCos(double x, double[] sinOut, int sinIndex, double[] cosOut, int cosIndex) {
+        if (!(Math.abs(x) <= MAX_REDUCED_ARGUMENT)) {
+            sinOut[sinIndex] = Math.sin(x);
+            cosOut[cosIndex] = Math.cos(x);
+            return;
+        }
+        double k = Math.rint(x * TWO_OVER_PI);
+        double r = reduce(x, k);
+        double s = sinKernel(r);
+        double c = cosKernel(r);
+        switch ((int) k & 3) {
+            case 0: sinOut[sinIndex] = s; cosOut[cosIndex] = c; break;
+            case 1: sinOut[sinIndex] = c; cosOut[cosIndex] = -s; break;
+            case 2: sinOut[sinIndex] = -s; cosOut[cosIndex] = -c; break;
+            default: sinOut[sinIndex] = -c; cosOut[cosIndex] = s; break;
+        }
+    }
+    
+    static double atan(double x) {
+        double a = Math.abs(x);
+        if (!(a <= 1)) {
+            if (a != a) {
+                return x;
+            }
+            return Math.copySign(HALF_PI - atanUnit(1 / a), x);
+        }
+        return Math.copySign(atanUnit(a), x);
+    }
+    
+    /** x - k * pi/2; returns x itself when k is 0 so that the sign of zero is kept */
+    private static double reduce(double x, double k) {
+        return k == 0 ? x : (x - k * PIO2_HI) - k * PIO2_LO;
+    }
+    
+    /** atan on [0, 1]: atan(x) = atan(c) + atan((x - c) / (1 + x * c)) with c the nearest table point */
+    private static double atanUnit(double x) {
+        int i = (int) (x * ATAN_STEPS + 0.5);
+        double c = (double) i / ATAN_STEPS;
+        double t = (x - c) / (1 + x * c);
+        double t2 = t * t;
+        return ATAN_TABLE[i] + (t + t * t2 * (-1.0 / 3 + t2 * (1.0 / 5 + t2 * (-1.0 / 7))));
+    }
+    
+    private static double sinKernel(double x) {
+        if (Math.abs(x) < 0x1p-27) {
+            return x;
+        }
+        double z = x * x;
+        return x + x * z * (S1 + z * (S2 + z * (S3 + z * (S4 + z * (S5 + z * S6)))));
+    }
+    
+    private static double cosKernel(double x) {
+        double z = x * x;
+        return 1 - 0.5 * z + z * z * (C1 + z * (C2 + z * (C3 + z * (C4 + z * (C5 + z * C6)))));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.mathops.operations;
+
+/**
+ * How a {@link TabulatedFunction} fills in between its samples. With {@code h} the
+ * sample spacing, the error shrinks as {@code h} for nearest, {@code h^2} for
+ * linear and {@code h^4} for cubic interpolation of a smooth function.
+ */
+public enum Interpolation {
+    
+    /** Value of the closest sample: one load per lookup */
+    NEAREST,
+    
+    /** Straight line through the two surrounding samples */
+    LINEAR,
+    
+    /** Cubic through the four surrounding samples (Lagrange form) */
+    CUBIC
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.mathops.operations;
+
+/**
+ * Immutable closed interval {@code [lower, upper]} of real numbers, used by
+ * {@link IntervalMathOperations} to enclose a result together with its
+ * rounding errors.
+ * <p>
+ * Either bound may be infinite to stand for an unbounded interval, but the
+ * interval always contains at least one real number: {@code lower <= upper},
+ * {@code lower < +inf} and {@code upper > -inf}. Arrays of intervals should be
+ * kept as paired lower and upper {@code double[]} arrays and processed with the
+ * bulk methods of {@link IntervalMathOperations}, which allocate nothing per
+ * element.
+ */
+public final class Interval {
+    
+    public static final Interval ZERO = new Interval(0, 0);
+    public static final Interval ONE = new Interval(1, 1);
+    public static final Interval ENTIRE = new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    
+    private final double lower;
+    private final double upper;
+    
+    private Interval(double lower, double upper) {
+        this.lower = lower;
+        this.upper = upper;
+    }
+    
+    /**
+     * Creates an interval
+     * @param lower smallest value
+     * @param upper largest value
+     * @return {@code [lower, upper]}
+     * @throws IllegalArgumentException if a bound is NaN, {@code lower > upper},
+     *         or the interval holds no real number
+     */
+    public static Interval of(double lower, double upper) {
+        if (!isValid(lower, upper)) {
+            throw new IllegalArgumentException("Invalid interval bounds");
+        }
+        return new Interval(lower, upper);
+    }
+    
+    /**
+     * Creates an interval holding a single number
+     * @param value finite number
+     * @return {@code [value, value]}
+     * @throws IllegalArgumentException if value is NaN or infinite
+     */
+    public static Interval point(double value) {
+        return of(value, value);
+    }
+    
+    /**
+     * Checks the bounds of an interval
+     * @param lower smallest value
+     * @param upper largest value
+     * @return whether {@code [lower, upper]} is a non-empty interval of real numbers
+     */
+    static boolean isValid(double lower, double upper) {
+        return lower <= upper && lower != Double.POSITIVE_INFINITY && upper != Double.NEGATIVE_INFINITY;
+    }
+    
+    public double getLower() {
+        return lower;
+    }
+    
+    public double getUpper() {
+        return upper;
+    }
+    
+    /**
+     * Returns the width, rounded up
+     * @return {@code upper - lower}, infinite for an unbounded interval
+     */
+    public double width() {
+        return Math.nextUp(upper - lower);
+    }
+    
+    /**
+     * Returns a number inside the interval, close to its center
+     * @return midpoint, or 0 for {@link #ENTIRE} and the finite bound for a half-line
+     */
+    public double midpoint() {
+        if (lower == Double.NEGATIVE_INFINITY) {
+            return upper == Double.POSITIVE_INFINITY ? 0 : upper;
+        }
+        if (upper == Double.POSITIVE_INFINITY) {
+            return lower;
+        }
+        // Halving first cannot overflow; the result is clamped against rounding outside
+        double mid = lower / 2 + upper / 2;
+        return Math.max(lower, Math.min(upper, mid));
+    }
+    
+    public boolean isPoint() {
+        return lower == upper;
+    }
+    
+    public boolean contains(double value) {
+        return lower <= value && value <= upper;
+    }
+    
+    /**
+     * Tests whether this interval holds every number of another
+     * @param other interval
+     * @return whether {@code other} is a subset of this interval
+     */
+    public boolean contains(Interval other) {
+        return lower <= other.lower && other.upper <= upper;
+    }
+    
+    /**
+     * Returns the smallest interval holding both intervals
+     * @param other interval
+     * @return convex hull of the union
+     */
+    public Interval hull(Interval other) {
+        return new Interval(Math.min(lower, other.lower), Math.max(upper, other.upper));
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Interval)) {
+            return false;
+        }
+        Interval other = (Interval) o;
+        return Double.compare(lower, other.lower) == 0 && Double.compare(upper, other.upper) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(lower) + Double.hashCode(upper);
+    }
+    
+    @Override
+    public String toString() {
+        return "[" + lower + ", " + upper + "]";
+    }
+}
\ No newline at end of file
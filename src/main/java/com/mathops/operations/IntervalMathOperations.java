@@ -0,0 +1,1156 @@
+package com.mathops.operations;
+
+/**
+ * Interval arithmetic: every operation returns an {@link Interval} guaranteed to
+ * hold the exact result for every combination of arguments taken from the
+ * argument intervals.
+ * <p>
+ * Bounds are rounded outward, one ulp past a floating-point result, as
+ * {@link Math#nextDown} and {@link Math#nextUp} would but without branching on
+ * the sign, which mispredicts in bulk loops. That is enough because
+ * {@code +}, {@code -}, {@code *}, {@code /} and {@code sqrt} are correctly
+ * rounded and the other {@link Math} functions used are within one ulp of the
+ * exact result; the degree conversions, whose constant is rounded as well,
+ * step twice. The functions ignore {@link TrigonometricPrecision} and tables,
+ * whose error is not bounded per call.
+ * <ul>
+ *   <li>Monotonic functions ({@code sqrt}, {@code cbrt}, {@code log},
+ *       {@code log10}, {@code asin}, {@code acos}, {@code atan}) are evaluated
+ *       at the two bounds only.</li>
+ *   <li>{@code sin} and {@code cos} take the values at the bounds and add an
+ *       extremum when the derivative, evaluated at the bounds, changes sign in
+ *       between; the derivative is skipped when a quick test on {@code x / pi}
+ *       rules an extremum out; an interval of {@code width} at least pi is split in halves
+ *       first, one of at least 2 pi covers {@code [-1, 1]}. {@link Math#sin}
+ *       and {@link Math#cos} reduce their arguments exactly, so this holds
+ *       for bounds of any magnitude.</li>
+ *   <li>{@code tan} is {@link Interval#ENTIRE} when the interval may hold a pole.</li>
+ *   <li>Dividing by an interval that holds zero, other than zero itself, gives
+ *       the half-line or {@link Interval#ENTIRE} that encloses the quotients of
+ *       its non-zero elements.</li>
+ * </ul>
+ * Bulk operations take intervals as paired lower and upper {@code double[]}
+ * arrays, allocate nothing per element, and validate the bounds and the domain
+ * before anything is written, as in {@link ComplexMathOperations}. Outputs may
+ * alias inputs.
+ */
+public class IntervalMathOperations {
+    
+    /** Narrower than pi, so that an interval below it holds at most one extremum or pole */
+    private static final double HALF_PERIOD = 3.14;
+    
+    /** Narrower than 2 pi, so that each half of an interval below it is narrower than pi */
+    private static final double FULL_PERIOD = 6.28;
+    
+    private static final double INV_PI = 1 / Math.PI;
+    
+    /** Largest magnitude for which {@code x / pi} is computed to within {@code 2^-31} */
+    private static final double REDUCTION_LIMIT = 0x1p20;
+    
+    private static final double REDUCTION_MARGIN = 0x1p-20;
+    
+    /** Just above half an ulp relative to the value, {@code 2^-53 (1 + 2^-52)} */
+    private static final double HALF_ULP = 0x1.0000000000001p-53;
+    
+    /** Largest double below which every integer is representable */
+    private static final double EXACT_INTEGER_LIMIT = 0x1p53;
+    
+    /**
+     * Adds two intervals
+     * @param a first interval
+     * @param b second interval
+     * @return enclosure of the sums
+     */
+    public Interval add(Interval a, Interval b) {
+        return Interval.of(nextDown(a.getLower() + b.getLower()), nextUp(a.getUpper() + b.getUpper()));
+    }
+    
+    /**
+     * Subtracts second interval from first
+     * @param a first interval
+     * @param b second interval
+     * @return enclosure of the differences
+     */
+    public Interval subtract(Interval a, Interval b) {
+        return Interval.of(nextDown(a.getLower() - b.getUpper()), nextUp(a.getUpper() - b.getLower()));
+    }
+    
+    /**
+     * Multiplies two intervals; zero times an infinite bound counts as zero
+     * @param a first interval
+     * @param b second interval
+     * @return enclosure of the products
+     */
+    public Interval multiply(Interval a, Interval b) {
+        double[] bounds = new double[2];
+        multiply(a.getLower(), a.getUpper(), b.getLower(), b.getUpper(), bounds);
+        return Interval.of(bounds[0], bounds[1]);
+    }
+    
+    /**
+     * Divides first interval by second
+     * @param a dividend
+     * @param b divisor
+     * @return enclosure of the quotients by the non-zero elements of b
+     * @throws IllegalArgumentException if divisor is exactly zero
+     */
+    public Interval divide(Interval a, Interval b) {
+        if (b.getLower() == 0 && b.getUpper() == 0) {
+            throw new IllegalArgumentException("Division by zero is not allowed");
+        }
+        double[] bounds = new double[2];
+        divide(a.getLower(), a.getUpper(), b.getLower(), b.getUpper(), bounds);
+        return Interval.of(bounds[0], bounds[1]);
+    }
+    
+    /**
+     * Calculates remainder of division, with the sign of the dividend as {@code %}
+     * @param a dividend
+     * @param b divisor
+     * @return enclosure of the remainders by the non-zero elements of b
+     * @throws IllegalArgumentException if divisor is exactly zero
+     */
+    public Interval modulo(Interval a, Interval b) {
+        if (b.getLower() == 0 && b.getUpper() == 0) {
+            throw new IllegalArgumentException("Modulo by zero is not allowed");
+        }
+        double lower = a.getLower();
+        double upper = a.getUpper();
+        // |a % b| < |b| and a % b has the sign of a
+        double limit = Math.max(-b.getLower(), b.getUpper());
+        double resultLower = lower >= 0 ? 0 : Math.max(lower, -limit);
+        double resultUpper = upper <= 0 ? 0 : Math.min(upper, limit);
+        if (!b.contains(0)) {
+            double[] quotient = new double[2];
+            divide(lower, upper, b.getLower(), b.getUpper(), quotient);
+            double truncated = truncate(quotient[0]);
+            // The same truncated quotient over the whole box gives a % b = a - q b exactly
+            if (truncated == truncate(quotient[1]) && Math.abs(truncated) < EXACT_INTEGER_LIMIT) {
+                double[] product = new double[2];
+                multiply(b.getLower(), b.getUpper(), truncated, truncated, product);
+                resultLower = Math.max(resultLower, nextDown(lower - product[1]));
+                resultUpper = Math.min(resultUpper, nextUp(upper - product[0]));
+            }
+        }
+        return Interval.of(resultLower, resultUpper);
+    }
+    
+    /**
+     * Raises an interval to an interval power
+     * @param base base interval
+     * @param exponent exponent interval
+     * @return enclosure of the powers
+     * @throws IllegalArgumentException if base has negative elements and exponent is not a single integer,
+     *         or base is zero and exponent is negative
+     */
+    public Interval power(Interval base, Interval exponent) {
+        checkPower(base.getLower(), base.getUpper(), exponent.getLower(), exponent.getUpper());
+        double[] bounds = new double[2];
+        power(base.getLower(), base.getUpper(), exponent.getLower(), exponent.getUpper(), bounds);
+        return Interval.of(bounds[0], bounds[1]);
+    }
+    
+    /**
+     * Calculates square root of an interval
+     * @param x interval
+     * @return enclosure of the square roots
+     * @throws IllegalArgumentException if the interval has negative elements
+     */
+    public Interval squareRoot(Interval x) {
+        if (x.getLower() < 0) {
+            throw new IllegalArgumentException("Square root of negative number is not defined");
+        }
+        return Interval.of(Math.max(0, nextDown(Math.sqrt(x.getLower()))), nextUp(Math.sqrt(x.getUpper())));
+    }
+    
+    /**
+     * Calculates cube root of an interval
+     * @param x interval
+     * @return enclosure of the cube roots
+     */
+    public Interval cubeRoot(Interval x) {
+        return Interval.of(nextDown(Math.cbrt(x.getLower())), nextUp(Math.cbrt(x.getUpper())));
+    }
+    
+    /**
+     * Calculates absolute value of an interval; exact
+     * @param x interval
+     * @return absolute values
+     */
+    public Interval absolute(Interval x) {
+        double[] bounds = new double[2];
+        absolute(x.getLower(), x.getUpper(), bounds);
+        return Interval.of(bounds[0], bounds[1]);
+    }
+    
+    /**
+     * Calculates natural logarithm of an interval
+     * @param x interval
+     * @return enclosure of the logarithms
+     * @throws IllegalArgumentException if the interval has non-positive elements
+     */
+    public Interval naturalLog(Interval x) {
+        if (x.getLower() <= 0) {
+            throw new IllegalArgumentException("Logarithm is not defined for non-positive numbers");
+        }
+        return Interval.of(nextDown(Math.log(x.getLower())), nextUp(Math.log(x.getUpper())));
+    }
+    
+    /**
+     * Calculates logarithm base 10 of an interval
+     * @param x interval
+     * @return enclosure of the logarithms
+     * @throws IllegalArgumentException if the interval has non-positive elements
+     */
+    public Interval log10(Interval x) {
+        if (x.getLower() <= 0) {
+            throw new IllegalArgumentException("Logarithm is not defined for non-positive numbers");
+        }
+        return Interval.of(nextDown(Math.log10(x.getLower())), nextUp(Math.log10(x.getUpper())));
+    }
+    
+    /**
+     * Calculates sine of an interval of angles
+     * @param x angles in radians
+     * @return enclosure of the sines
+     */
+    public Interval sin(Interval x) {
+        double[] bounds = new double[2];
+        sin(x.getLower(), x.getUpper(), bounds);
+        return Interval.of(bounds[0], bounds[1]);
+    }
+    
+    /**
+     * Calculates cosine of an interval of angles
+     * @param x angles in radians
+     * @return enclosure of the cosines
+     */
+    public Interval cos(Interval x) {
+        double[] bounds = new double[2];
+        cos(x.getLower(), x.getUpper(), bounds);
+        return Interval.of(bounds[0], bounds[1]);
+    }
+    
+    /**
+     * Calculates tangent of an interval of angles
+     * @param x angles in radians
+     * @return enclosure of the tangents, {@link Interval#ENTIRE} if x may hold a pole
+     */
+    public Interval tan(Interval x) {
+        double[] bounds = new double[2];
+        tan(x.getLower(), x.getUpper(), bounds);
+        return Interval.of(bounds[0], bounds[1]);
+    }
+    
+    /**
+     * Calculates arc sine of an interval
+     * @param x interval within {@code [-1, 1]}
+     * @return enclosure of the arc sines in radians
+     * @throws IllegalArgumentException if the interval has elements outside [-1, 1]
+     */
+    public Interval asin(Interval x) {
+        if (x.getLower() < -1 || x.getUpper() > 1) {
+            throw new IllegalArgumentException("Arc sine is defined only for values between -1 and 1");
+        }
+        return Interval.of(nextDown(Math.asin(x.getLower())), nextUp(Math.asin(x.getUpper())));
+    }
+    
+    /**
+     * Calculates arc cosine of an interval
+     * @param x interval within {@code [-1, 1]}
+     * @return enclosure of the arc cosines in radians
+     * @throws IllegalArgumentException if the interval has elements outside [-1, 1]
+     */
+    public Interval acos(Interval x) {
+        if (x.getLower() < -1 || x.getUpper() > 1) {
+            throw new IllegalArgumentException("Arc cosine is defined only for values between -1 and 1");
+        }
+        return Interval.of(Math.max(0, nextDown(Math.acos(x.getUpper()))), nextUp(Math.acos(x.getLower())));
+    }
+    
+    /**
+     * Calculates arc tangent of an interval
+     * @param x interval
+     * @return enclosure of the arc tangents in radians
+     */
+    public Interval atan(Interval x) {
+        return Interval.of(nextDown(Math.atan(x.getLower())), nextUp(Math.atan(x.getUpper())));
+    }
+    
+    /**
+     * Converts an interval of angles from degrees to radians
+     * @param degrees angles in degrees
+     * @return enclosure of the angles in radians
+     */
+    public Interval degreesToRadians(Interval degrees) {
+        return Interval.of(nextDown(nextDown(Math.toRadians(degrees.getLower()))),
+                nextUp(nextUp(Math.toRadians(degrees.getUpper()))));
+    }
+    
+    /**
+     * Converts an interval of angles from radians to degrees
+     * @param radians angles in radians
+     * @return enclosure of the angles in degrees
+     */
+    public Interval radiansToDegrees(Interval radians) {
+        return Interval.of(nextDown(nextDown(Math.toDegrees(radians.getLower()))),
+                nextUp(nextUp(Math.toDegrees(radians.getUpper()))));
+    }
+    
+    /**
+     * Adds corresponding intervals of two interval arrays
+     * @param aLo lower bounds of the first operands
+     * @param aHi upper bounds of the first operands
+     * @param bLo lower bounds of the second operands
+     * @param bHi upper bounds of the second operands
+     * @param outLo destination for the lower bounds of the sums
+     * @param outHi destination for the upper bounds of the sums
+     */
+    public void add(double[] aLo, double[] aHi, double[] bLo, double[] bHi, double[] outLo, double[] outHi) {
+        add(aLo, aHi, bLo, bHi, outLo, outHi, 0, aLo.length);
+    }
+    
+    /**
+     * Adds corresponding intervals of two interval arrays over the range {@code [off, off + len)}
+     * @param aLo lower bounds of the first operands
+     * @param aHi upper bounds of the first operands
+     * @param bLo lower bounds of the second operands
+     * @param bHi upper bounds of the second operands
+     * @param outLo destination for the lower bounds of the sums
+     * @param outHi destination for the upper bounds of the sums
+     * @param off first index in all six arrays
+     * @param len number of elements
+     */
+    public void add(double[] aLo, double[] aHi, double[] bLo, double[] bHi, double[] outLo, double[] outHi,
+                    int off, int len) {
+        checkBinary(aLo, aHi, bLo, bHi, outLo, outHi, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            double lower = aLo[i] + bLo[i];
+            double upper = aHi[i] + bHi[i];
+            outLo[i] = nextDown(lower);
+            outHi[i] = nextUp(upper);
+        }
+    }
+    
+    /**
+     * Subtracts corresponding intervals of the second interval array from the first
+     * @param aLo lower bounds of the first operands
+     * @param aHi upper bounds of the first operands
+     * @param bLo lower bounds of the second operands
+     * @param bHi upper bounds of the second operands
+     * @param outLo destination for the lower bounds of the differences
+     * @param outHi destination for the upper bounds of the differences
+     */
+    public void subtract(double[] aLo, double[] aHi, double[] bLo, double[] bHi, double[] outLo, double[] outHi) {
+        subtract(aLo, aHi, bLo, bHi, outLo, outHi, 0, aLo.length);
+    }
+    
+    /**
+     * Subtracts corresponding intervals of the second interval array from the first over the range
+     * {@code [off, off + len)}
+     * @param aLo lower bounds of the first operands
+     * @param aHi upper bounds of the first operands
+     * @param bLo lower bounds of the second operands
+     * @param bHi upper bounds of the second operands
+     * @param outLo destination for the lower bounds of the differences
+     * @param outHi destination for the upper bounds of the differences
+     * @param off first index in all six arrays
+     * @param len number of elements
+     */
+    public void subtract(double[] aLo, double[] aHi, double[] bLo, double[] bHi, double[] outLo, double[] outHi,
+                         int off, int len) {
+        checkBinary(aLo, aHi, bLo, bHi, outLo, outHi, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            double lower = aLo[i] - bHi[i];
+            double upper = aHi[i] - bLo[i];
+            outLo[i] = nextDown(lower);
+            outHi[i] = nextUp(upper);
+        }
+    }
+    
+    /**
+     * Multiplies corresponding intervals of two interval arrays
+     * @param aLo lower bounds of the first operands
+     * @param aHi upper bounds of the first operands
+     * @param bLo lower bounds of the second operands
+     * @param bHi upper bounds of the second operands
+     * @param outLo destination for the lower bounds of the products
+     * @param outHi destination for the upper bounds of the products
+     */
+    public void multiply(double[] aLo, double[] aHi, double[] bLo, double[] bHi, double[] outLo, double[] outHi) {
+        multiply(aLo, aHi, bLo, bHi, outLo, outHi, 0, aLo.length);
+    }
+    
+    /**
+     * Multiplies corresponding intervals of two interval arrays over the range {@code [off, off + len)}
+     * @param aLo lower bounds of the first operands
+     * @param aHi upper bounds of the first operands
+     * @param bLo lower bounds of the second operands
+     * @param bHi upper bounds of the second operands
+     * @param outLo destination for the lower bounds of the products
+     * @param outHi destination for the upper bounds of the products
+     * @param off first index in all six arrays
+     * @param len number of elements
+     */
+    public void multiply(double[] aLo, double[] aHi, double[] bLo, double[] bHi, double[] outLo, double[] outHi,
+                         int off, int len) {
+        checkBinary(aLo, aHi, bLo, bHi, outLo, outHi, off, len);
+        double[] bounds = null;
+        for (int i = off, end = off + len; i < end; i++) {
+            double p1 = aLo[i] * bLo[i];
+            double p2 = aLo[i] * bHi[i];
+            double p3 = aHi[i] * bLo[i];
+            double p4 = aHi[i] * bHi[i];
+            double sum = p1 + p2 + p3 + p4;
+            if (sum != sum) {
+                // Zero times an infinite bound, or infinite products of both signs
+                if (bounds == null) {
+                    bounds = new double[2];
+                }
+                multiply(aLo[i], aHi[i], bLo[i], bHi[i], bounds);
+                outLo[i] = bounds[0];
+                outHi[i] = bounds[1];
+            } else {
+                outLo[i] = nextDown(lesser(lesser(p1, p2), lesser(p3, p4)));
+                outHi[i] = nextUp(greater(greater(p1, p2), greater(p3, p4)));
+            }
+        }
+    }
+    
+    /**
+     * Divides corresponding intervals of the first interval array by the second
+     * @param aLo lower bounds of the dividends
+     * @param aHi upper bounds of the dividends
+     * @param bLo lower bounds of the divisors
+     * @param bHi upper bounds of the divisors
+     * @param outLo destination for the lower bounds of the quotients
+     * @param outHi destination for the upper bounds of the quotients
+     * @throws IllegalArgumentException if any divisor is exactly zero
+     */
+    public void divide(double[] aLo, double[] aHi, double[] bLo, double[] bHi, double[] outLo, double[] outHi) {
+        divide(aLo, aHi, bLo, bHi, outLo, outHi, 0, aLo.length);
+    }
+    
+    /**
+     * Divides corresponding intervals of the first interval array by the second over the range
+     * {@code [off, off + len)}
+     * @param aLo lower bounds of the dividends
+     * @param aHi upper bounds of the dividends
+     * @param bLo lower bounds of the divisors
+     * @param bHi upper bounds of the divisors
+     * @param outLo destination for the lower bounds of the quotients
+     * @param outHi destination for the upper bounds of the quotients
+     * @param off first index in all six arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any divisor is exactly zero
+     */
+    public void divide(double[] aLo, double[] aHi, double[] bLo, double[] bHi, double[] outLo, double[] outHi,
+                       int off, int len) {
+        checkBinary(aLo, aHi, bLo, bHi, outLo, outHi, off, len);
+        ArrayChecks.checkNonZero(bLo, bHi, off, len, "Division by zero is not allowed");
+        double[] bounds = null;
+        for (int i = off, end = off + len; i < end; i++) {
+            double divisorLower = bLo[i];
+            double divisorUpper = bHi[i];
+            if (divisorLower > 0 || divisorUpper < 0) {
+                double q1 = aLo[i] / divisorLower;
+                double q2 = aLo[i] / divisorUpper;
+                double q3 = aHi[i] / divisorLower;
+                double q4 = aHi[i] / divisorUpper;
+                double sum = q1 + q2 + q3 + q4;
+                if (sum == sum) {
+                    outLo[i] = nextDown(lesser(lesser(q1, q2), lesser(q3, q4)));
+                    outHi[i] = nextUp(greater(greater(q1, q2), greater(q3, q4)));
+                    continue;
+                }
+            }
+            if (bounds == null) {
+                bounds = new double[2];
+            }
+            divide(aLo[i], aHi[i], divisorLower, divisorUpper, bounds);
+            outLo[i] = bounds[0];
+            outHi[i] = bounds[1];
+        }
+    }
+    
+    /**
+     * Raises each interval of an array to a real power
+     * @param lo lower bounds of the bases
+     * @param hi upper bounds of the bases
+     * @param exponent power
+     * @param outLo destination for the lower bounds of the powers
+     * @param outHi destination for the upper bounds of the powers
+     * @throws IllegalArgumentException if a base has negative elements and the exponent is not an integer,
+     *         or a base is zero and the exponent is negative
+     */
+    public void power(double[] lo, double[] hi, double exponent, double[] outLo, double[] outHi) {
+        power(lo, hi, exponent, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Raises each interval of an array to a real power over the range {@code [off, off + len)}
+     * @param lo lower bounds of the bases
+     * @param hi upper bounds of the bases
+     * @param exponent power
+     * @param outLo destination for the lower bounds of the powers
+     * @param outHi destination for the upper bounds of the powers
+     * @param off first index in all four arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if a base has negative elements and the exponent is not an integer,
+     *         or a base is zero and the exponent is negative
+     */
+    public void power(double[] lo, double[] hi, double exponent, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            checkPower(lo[i], hi[i], exponent, exponent);
+        }
+        double[] bounds = new double[2];
+        for (int i = off, end = off + len; i < end; i++) {
+            power(lo[i], hi[i], exponent, exponent, bounds);
+            outLo[i] = bounds[0];
+            outHi[i] = bounds[1];
+        }
+    }
+    
+    /**
+     * Calculates square roots of an interval array
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the roots
+     * @param outHi destination for the upper bounds of the roots
+     * @throws IllegalArgumentException if any interval has negative elements
+     */
+    public void squareRoot(double[] lo, double[] hi, double[] outLo, double[] outHi) {
+        squareRoot(lo, hi, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Calculates square roots of an interval array over the range {@code [off, off + len)}
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the roots
+     * @param outHi destination for the upper bounds of the roots
+     * @param off first index in all four arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any interval has negative elements
+     */
+    public void squareRoot(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        ArrayChecks.checkNotBelow(lo, off, len, 0, "Square root of negative number is not defined");
+        for (int i = off, end = off + len; i < end; i++) {
+            double lower = Math.sqrt(lo[i]);
+            double upper = Math.sqrt(hi[i]);
+            outLo[i] = greater(0, nextDown(lower));
+            outHi[i] = nextUp(upper);
+        }
+    }
+    
+    /**
+     * Calculates cube roots of an interval array
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the roots
+     * @param outHi destination for the upper bounds of the roots
+     */
+    public void cubeRoot(double[] lo, double[] hi, double[] outLo, double[] outHi) {
+        cubeRoot(lo, hi, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Calculates cube roots of an interval array over the range {@code [off, off + len)}
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the roots
+     * @param outHi destination for the upper bounds of the roots
+     * @param off first index in all four arrays
+     * @param len number of elements
+     */
+    public void cubeRoot(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            double lower = Math.cbrt(lo[i]);
+            double upper = Math.cbrt(hi[i]);
+            outLo[i] = nextDown(lower);
+            outHi[i] = nextUp(upper);
+        }
+    }
+    
+    /**
+     * Calculates absolute values of an interval array
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the absolute values
+     * @param outHi destination for the upper bounds of the absolute values
+     */
+    public void absolute(double[] lo, double[] hi, double[] outLo, double[] outHi) {
+        absolute(lo, hi, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Calculates absolute values of an interval array over the range {@code [off, off + len)}
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the absolute values
+     * @param outHi destination for the upper bounds of the absolute values
+     * @param off first index in all four arrays
+     * @param len number of elements
+     */
+    public void absolute(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        double[] bounds = new double[2];
+        for (int i = off, end = off + len; i < end; i++) {
+            absolute(lo[i], hi[i], bounds);
+            outLo[i] = bounds[0];
+            outHi[i] = bounds[1];
+        }
+    }
+    
+    /**
+     * Calculates natural logarithms of an interval array
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the logarithms
+     * @param outHi destination for the upper bounds of the logarithms
+     * @throws IllegalArgumentException if any interval has non-positive elements
+     */
+    public void naturalLog(double[] lo, double[] hi, double[] outLo, double[] outHi) {
+        naturalLog(lo, hi, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Calculates natural logarithms of an interval array over the range {@code [off, off + len)}
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the logarithms
+     * @param outHi destination for the upper bounds of the logarithms
+     * @param off first index in all four arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any interval has non-positive elements
+     */
+    public void naturalLog(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        ArrayChecks.checkPositive(lo, off, len, "Logarithm is not defined for non-positive numbers");
+        for (int i = off, end = off + len; i < end; i++) {
+            double lower = Math.log(lo[i]);
+            double upper = Math.log(hi[i]);
+            outLo[i] = nextDown(lower);
+            outHi[i] = nextUp(upper);
+        }
+    }
+    
+    /**
+     * Calculates logarithms base 10 of an interval array
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the logarithms
+     * @param outHi destination for the upper bounds of the logarithms
+     * @throws IllegalArgumentException if any interval has non-positive elements
+     */
+    public void log10(double[] lo, double[] hi, double[] outLo, double[] outHi) {
+        log10(lo, hi, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Calculates logarithms base 10 of an interval array over the range {@code [off, off + len)}
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the logarithms
+     * @param outHi destination for the upper bounds of the logarithms
+     * @param off first index in all four arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any interval has non-positive elements
+     */
+    public void log10(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        ArrayChecks.checkPositive(lo, off, len, "Logarithm is not defined for non-positive numbers");
+        for (int i = off, end = off + len; i < end; i++) {
+            double lower = Math.log10(lo[i]);
+            double upper = Math.log10(hi[i]);
+            outLo[i] = nextDown(lower);
+            outHi[i] = nextUp(upper);
+        }
+    }
+    
+    /**
+     * Calculates sines of an interval array
+     * @param lo lower bounds of the angles in radians
+     * @param hi upper bounds of the angles in radians
+     * @param outLo destination for the lower bounds of the sines
+     * @param outHi destination for the upper bounds of the sines
+     */
+    public void sin(double[] lo, double[] hi, double[] outLo, double[] outHi) {
+        sin(lo, hi, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Calculates sines of an interval array over the range {@code [off, off + len)}
+     * @param lo lower bounds of the angles in radians
+     * @param hi upper bounds of the angles in radians
+     * @param outLo destination for the lower bounds of the sines
+     * @param outHi destination for the upper bounds of the sines
+     * @param off first index in all four arrays
+     * @param len number of elements
+     */
+    public void sin(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        double[] bounds = new double[2];
+        for (int i = off, end = off + len; i < end; i++) {
+            sin(lo[i], hi[i], bounds);
+            outLo[i] = bounds[0];
+            outHi[i] = bounds[1];
+        }
+    }
+    
+    /**
+     * Calculates cosines of an interval array
+     * @param lo lower bounds of the angles in radians
+     * @param hi upper bounds of the angles in radians
+     * @param outLo destination for the lower bounds of the cosines
+     * @param outHi destination for the upper bounds of the cosines
+     */
+    public void cos(double[] lo, double[] hi, double[] outLo, double[] outHi) {
+        cos(lo, hi, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Calculates cosines of an interval array over the range {@code [off, off + len)}
+     * @param lo lower bounds of the angles in radians
+     * @param hi upper bounds of the angles in radians
+     * @param outLo destination for the lower bounds of the cosines
+     * @param outHi destination for the upper bounds of the cosines
+     * @param off first index in all four arrays
+     * @param len number of elements
+     */
+    public void cos(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        double[] bounds = new double[2];
+        for (int i = off, end = off + len; i < end; i++) {
+            cos(lo[i], hi[i], bounds);
+            outLo[i] = bounds[0];
+            outHi[i] = bounds[1];
+        }
+    }
+    
+    /**
+     * Calculates tangents of an interval array
+     * @param lo lower bounds of the angles in radians
+     * @param hi upper bounds of the angles in radians
+     * @param outLo destination for the lower bounds of the tangents
+     * @param outHi destination for the upper bounds of the tangents
+     */
+    public void tan(double[] lo, double[] hi, double[] outLo, double[] outHi) {
+        tan(lo, hi, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Calculates tangents of an interval array over the range {@code [off, off + len)}
+     * @param lo lower bounds of the angles in radians
+     * @param hi upper bounds of the angles in radians
+     * @param outLo destination for the lower bounds of the tangents
+     * @param outHi destination for the upper bounds of the tangents
+     * @param off first index in all four arrays
+     * @param len number of elements
+     */
+    public void tan(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        double[] bounds = new double[2];
+        for (int i = off, end = off + len; i < end; i++) {
+            tan(lo[i], hi[i], bounds);
+            outLo[i] = bounds[0];
+            outHi[i] = bounds[1];
+        }
+    }
+    
+    /**
+     * Calculates arc sines of an interval array
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the arc sines
+     * @param outHi destination for the upper bounds of the arc sines
+     * @throws IllegalArgumentException if any interval has elements outside [-1, 1]
+     */
+    public void asin(double[] lo, double[] hi, double[] outLo, double[] outHi) {
+        asin(lo, hi, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Calculates arc sines of an interval array over the range {@code [off, off + len)}
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the arc sines
+     * @param outHi destination for the upper bounds of the arc sines
+     * @param off first index in all four arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any interval has elements outside [-1, 1]
+     */
+    public void asin(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        ArrayChecks.checkUnitRange(lo, off, len, "Arc sine is defined only for values between -1 and 1");
+        ArrayChecks.checkUnitRange(hi, off, len, "Arc sine is defined only for values between -1 and 1");
+        for (int i = off, end = off + len; i < end; i++) {
+            double lower = Math.asin(lo[i]);
+            double upper = Math.asin(hi[i]);
+            outLo[i] = nextDown(lower);
+            outHi[i] = nextUp(upper);
+        }
+    }
+    
+    /**
+     * Calculates arc cosines of an interval array
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the arc cosines
+     * @param outHi destination for the upper bounds of the arc cosines
+     * @throws IllegalArgumentException if any interval has elements outside [-1, 1]
+     */
+    public void acos(double[] lo, double[] hi, double[] outLo, double[] outHi) {
+        acos(lo, hi, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Calculates arc cosines of an interval array over the range {@code [off, off + len)}
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the arc cosines
+     * @param outHi destination for the upper bounds of the arc cosines
+     * @param off first index in all four arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any interval has elements outside [-1, 1]
+     */
+    public void acos(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        ArrayChecks.checkUnitRange(lo, off, len, "Arc cosine is defined only for values between -1 and 1");
+        ArrayChecks.checkUnitRange(hi, off, len, "Arc cosine is defined only for values between -1 and 1");
+        for (int i = off, end = off + len; i < end; i++) {
+            // Decreasing, so the upper bound maps to the lower one
+            double lower = Math.acos(hi[i]);
+            double upper = Math.acos(lo[i]);
+            outLo[i] = greater(0, nextDown(lower));
+            outHi[i] = nextUp(upper);
+        }
+    }
+    
+    /**
+     * Calculates arc tangents of an interval array
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the arc tangents
+     * @param outHi destination for the upper bounds of the arc tangents
+     */
+    public void atan(double[] lo, double[] hi, double[] outLo, double[] outHi) {
+        atan(lo, hi, outLo, outHi, 0, lo.length);
+    }
+    
+    /**
+     * Calculates arc tangents of an interval array over the range {@code [off, off + len)}
+     * @param lo lower bounds
+     * @param hi upper bounds
+     * @param outLo destination for the lower bounds of the arc tangents
+     * @param outHi destination for the upper bounds of the arc tangents
+     * @param off first index in all four arrays
+     * @param len number of elements
+     */
+    public void atan(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(lo, hi, outLo, outHi, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            double lower = Math.atan(lo[i]);
+            double upper = Math.atan(hi[i]);
+            outLo[i] = nextDown(lower);
+            outHi[i] = nextUp(upper);
+        }
+    }
+    
+    // Kernels on one interval, writing the lower and upper bound to bounds[0] and bounds[1]
+    
+    private static void multiply(double aLo, double aHi, double bLo, double bHi, double[] bounds) {
+        double p1 = product(aLo, bLo);
+        double p2 = product(aLo, bHi);
+        double p3 = product(aHi, bLo);
+        double p4 = product(aHi, bHi);
+        bounds[0] = nextDown(Math.min(Math.min(p1, p2), Math.min(p3, p4)));
+        bounds[1] = nextUp(Math.max(Math.max(p1, p2), Math.max(p3, p4)));
+    }
+    
+    /**
+     * Smaller of two numbers that are not NaN; in scalar loops a plain compare is
+     * much cheaper than {@link Math#min}, which also orders NaN and signed zeros
+     */
+    private static double lesser(double x, double y) {
+        return x < y ? x : y;
+    }
+    
+    /** Larger of two numbers that are not NaN */
+    private static double greater(double x, double y) {
+        return x > y ? x : y;
+    }
+    
+    /** Product where zero times infinity is zero, since an interval bound of zero is a real zero */
+    private static double product(double x, double y) {
+        return x == 0 || y == 0 ? 0 : x * y;
+    }
+    
+    /**
+     * Division with the divisor not exactly zero. A divisor with zero as one
+     * bound leaves a half-line; one with zero inside, or a dividend holding
+     * zero over a divisor holding zero, leaves every real number.
+     */
+    private static void divide(double aLo, double aHi, double bLo, double bHi, double[] bounds) {
+        if (aLo == 0 && aHi == 0) {
+            bounds[0] = 0;
+            bounds[1] = 0;
+            return;
+        }
+        double lower = Double.NEGATIVE_INFINITY;
+        double upper = Double.POSITIVE_INFINITY;
+        if (bLo > 0 || bHi < 0) {
+            double q1 = aLo / bLo;
+            double q2 = aLo / bHi;
+            double q3 = aHi / bLo;
+            double q4 = aHi / bHi;
+            double min = Math.min(Math.min(q1, q2), Math.min(q3, q4));
+            // Infinity over infinity, any quotient is possible
+            if (min == min) {
+                lower = nextDown(min);
+                upper = nextUp(Math.max(Math.max(q1, q2), Math.max(q3, q4)));
+            }
+        } else if (aLo > 0 || aHi < 0) {
+            // The dividend excludes zero and the divisor has zero as a bound
+            if (bLo == 0) {
+                if (aLo > 0) {
+                    lower = nextDown(aLo / bHi);
+                } else {
+                    upper = nextUp(aHi / bHi);
+                }
+            } else if (bHi == 0) {
+                if (aLo > 0) {
+                    upper = nextUp(aLo / bLo);
+                } else {
+                    lower = nextDown(aHi / bLo);
+                }
+            }
+        }
+        bounds[0] = lower;
+        bounds[1] = upper;
+    }
+    
+    private static void absolute(double lo, double hi, double[] bounds) {
+        if (lo >= 0) {
+            bounds[0] = lo;
+            bounds[1] = hi;
+        } else if (hi <= 0) {
+            bounds[0] = -hi;
+            bounds[1] = -lo;
+        } else {
+            bounds[0] = 0;
+            bounds[1] = Math.max(-lo, hi);
+        }
+    }
+    
+    private static void checkPower(double lo, double hi, double exponentLo, double exponentHi) {
+        if (lo == 0 && hi == 0 && exponentHi < 0) {
+            throw new IllegalArgumentException("Zero cannot be raised to a negative power");
+        }
+        if (lo < 0 && !(exponentLo == exponentHi && isInteger(exponentLo))) {
+            throw new IllegalArgumentException("Negative base requires an integer exponent");
+        }
+    }
+    
+    private static boolean isInteger(double value) {
+        return Math.abs(value) <= EXACT_INTEGER_LIMIT && value == Math.rint(value);
+    }
+    
+    /**
+     * Power of a checked base: a single integer exponent follows the sign rules
+     * of odd and even powers, otherwise the base is non-negative and x^y is
+     * monotonic in each argument, so the extremes are at the corners
+     */
+    private static void power(double lo, double hi, double exponentLo, double exponentHi, double[] bounds) {
+        if (exponentLo == exponentHi && isInteger(exponentLo)) {
+            integerPower(lo, hi, exponentLo, bounds);
+            return;
+        }
+        double p1 = Math.pow(lo, exponentLo);
+        double p2 = Math.pow(lo, exponentHi);
+        double p3 = Math.pow(hi, exponentLo);
+        double p4 = Math.pow(hi, exponentHi);
+        double min = Math.min(Math.min(p1, p2), Math.min(p3, p4));
+        if (min != min) {
+            // One to an infinite power
+            bounds[0] = 0;
+            bounds[1] = Double.POSITIVE_INFINITY;
+            return;
+        }
+        bounds[0] = Math.max(0, nextDown(min));
+        bounds[1] = nextUp(Math.max(Math.max(p1, p2), Math.max(p3, p4)));
+    }
+    
+    private static void integerPower(double lo, double hi, double n, double[] bounds) {
+        if (n == 0) {
+            bounds[0] = 1;
+            bounds[1] = 1;
+            return;
+        }
+        double magnitude = Math.abs(n);
+        if (magnitude == 1) {
+            bounds[0] = lo;
+            bounds[1] = hi;
+        } else {
+            double powerLo = Math.pow(lo, magnitude);
+            double powerHi = Math.pow(hi, magnitude);
+            if (((long) magnitude & 1) == 1 || lo >= 0) {
+                // Odd powers keep the sign, so a zero bound stays zero for the reciprocal
+                bounds[0] = lo >= 0 ? Math.max(0, nextDown(powerLo)) : nextDown(powerLo);
+                bounds[1] = hi <= 0 ? Math.min(0, nextUp(powerHi)) : nextUp(powerHi);
+            } else if (hi <= 0) {
+                bounds[0] = Math.max(0, nextDown(powerHi));
+                bounds[1] = nextUp(powerLo);
+            } else {
+                bounds[0] = 0;
+                bounds[1] = nextUp(Math.max(powerLo, powerHi));
+            }
+        }
+        if (n < 0) {
+            divide(1, 1, bounds[0], bounds[1], bounds);
+        }
+    }
+    
+    private static void sin(double lo, double hi, double[] bounds) {
+        double width = hi - lo;
+        if (!(width < FULL_PERIOD)) {
+            bounds[0] = -1;
+            bounds[1] = 1;
+        } else if (width < HALF_PERIOD) {
+            sinPiece(lo, hi, bounds);
+        } else {
+            double mid = lo + width / 2;
+            sinPiece(lo, mid, bounds);
+            double lower = bounds[0];
+            double upper = bounds[1];
+            sinPiece(mid, hi, bounds);
+            bounds[0] = Math.min(lower, bounds[0]);
+            bounds[1] = Math.max(upper, bounds[1]);
+        }
+    }
+    
+    /**
+     * Sine over less than pi, which holds at most one extremum: a maximum where
+     * the derivative cos turns from positive to negative, a minimum where it
+     * turns from negative to positive
+     */
+    private static void sinPiece(double lo, double hi, double[] bounds) {
+        double sinLo = Math.sin(lo);
+        double sinHi = Math.sin(hi);
+        boolean minimum = false;
+        boolean maximum = false;
+        if (!isMonotone(lo, hi, 0.5)) {
+            double cosLo = Math.cos(lo);
+            double cosHi = Math.cos(hi);
+            minimum = cosLo <= 0 && cosHi >= 0;
+            maximum = cosLo >= 0 && cosHi <= 0;
+        }
+        bounds[0] = minimum ? -1 : greater(-1, nextDown(lesser(sinLo, sinHi)));
+        bounds[1] = maximum ? 1 : lesser(1, nextUp(greater(sinLo, sinHi)));
+    }
+    
+    private static void cos(double lo, double hi, double[] bounds) {
+        double width = hi - lo;
+        if (!(width < FULL_PERIOD)) {
+            bounds[0] = -1;
+            bounds[1] = 1;
+        } else if (width < HALF_PERIOD) {
+            cosPiece(lo, hi, bounds);
+        } else {
+            double mid = lo + width / 2;
+            cosPiece(lo, mid, bounds);
+            double lower = bounds[0];
+            double upper = bounds[1];
+            cosPiece(mid, hi, bounds);
+            bounds[0] = Math.min(lower, bounds[0]);
+            bounds[1] = Math.max(upper, bounds[1]);
+        }
+    }
+    
+    /** Cosine over less than pi; the derivative is -sin */
+    private static void cosPiece(double lo, double hi, double[] bounds) {
+        double cosLo = Math.cos(lo);
+        double cosHi = Math.cos(hi);
+        boolean minimum = false;
+        boolean maximum = false;
+        if (!isMonotone(lo, hi, 0)) {
+            double sinLo = Math.sin(lo);
+            double sinHi = Math.sin(hi);
+            minimum = sinLo >= 0 && sinHi <= 0;
+            maximum = sinLo <= 0 && sinHi >= 0;
+        }
+        bounds[0] = minimum ? -1 : greater(-1, nextDown(lesser(cosLo, cosHi)));
+        bounds[1] = maximum ? 1 : lesser(1, nextUp(greater(cosLo, cosHi)));
+    }
+    
+    /**
+     * Tells cheaply whether {@code [lo, hi]} holds no point {@code (k + phase) pi},
+     * where sin or cos has its extrema, so the derivative need not be evaluated.
+     * The test on {@code x / pi} keeps a margin far above its rounding error and
+     * answers false beyond {@link #REDUCTION_LIMIT}, where the error grows.
+     */
+    private static boolean isMonotone(double lo, double hi, double phase) {
+        if (!(Math.abs(lo) <= REDUCTION_LIMIT && Math.abs(hi) <= REDUCTION_LIMIT)) {
+            return false;
+        }
+        return Math.floor(lo * INV_PI - phase - REDUCTION_MARGIN) == Math.floor(hi * INV_PI - phase + REDUCTION_MARGIN);
+    }
+    
+    /**
+     * Tangent, increasing between poles; over less than pi there is a pole
+     * exactly when cos changes sign
+     */
+    private static void tan(double lo, double hi, double[] bounds) {
+        if (hi - lo < HALF_PERIOD) {
+            double cosLo = Math.cos(lo);
+            double cosHi = Math.cos(hi);
+            if (cosLo > 0 == cosHi > 0 && cosLo != 0 && cosHi != 0) {
+                bounds[0] = nextDown(Math.tan(lo));
+                bounds[1] = nextUp(Math.tan(hi));
+                return;
+            }
+        }
+        bounds[0] = Double.NEGATIVE_INFINITY;
+        bounds[1] = Double.POSITIVE_INFINITY;
+    }
+    
+    /**
+     * Steps one ulp up, as {@link Math#nextUp}, without branching on the sign:
+     * half an ulp and a little more is added, which rounds to the next double.
+     * Below {@code 2^-969} in magnitude the step may be two ulps.
+     */
+    private static double nextUp(double value) {
+        if (value == Double.NEGATIVE_INFINITY) {
+            return -Double.MAX_VALUE;
+        }
+        return value + (Math.abs(value) * HALF_ULP + Double.MIN_VALUE);
+    }
+    
+    /** Steps one ulp down, as {@link Math#nextDown} */
+    private static double nextDown(double value) {
+        return -nextUp(-value);
+    }
+    
+    private static double truncate(double value) {
+        return value < 0 ? Math.ceil(value) : Math.floor(value);
+    }
+    
+    private static void checkBinary(double[] aLo, double[] aHi, double[] bLo, double[] bHi,
+                                    double[] outLo, double[] outHi, int off, int len) {
+        checkUnary(aLo, aHi, outLo, outHi, off, len);
+        ArrayChecks.checkRange(bLo, off, len);
+        ArrayChecks.checkRange(bHi, off, len);
+        ArrayChecks.checkIntervals(bLo, bHi, off, len);
+    }
+    
+    private static void checkUnary(double[] lo, double[] hi, double[] outLo, double[] outHi, int off, int len) {
+        ArrayChecks.checkRange(lo, off, len);
+        ArrayChecks.checkRange(hi, off, len);
+        ArrayChecks.checkRange(outLo, off, len);
+        ArrayChecks.checkRange(outHi, off, len);
+        ArrayChecks.checkIntervals(lo, hi, off, len);
+    }
+}
\ No newline at end of file
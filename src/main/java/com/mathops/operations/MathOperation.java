@@ -0,0 +1,77 @@
+package com.mathops.operations;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enumerates the scalar operations offered by the operations classes
+ */
+public enum MathOperation {
+    
+    ADD("add", 2),
+    SUBTRACT("subtract", 2),
+    MULTIPLY("multiply", 2),
+    DIVIDE("divide", 2),
+    MODULO("modulo", 2),
+    POWER("power", 2),
+    SQUARE_ROOT("squareRoot", 1),
+    CUBE_ROOT("cubeRoot", 1),
+    ABSOLUTE("absolute", 1),
+    FACTORIAL("factorial", 1),
+    NATURAL_LOG("naturalLog", 1),
+    LOG10("log10", 1),
+    SIN("sin", 1),
+    COS("cos", 1),
+    TAN("tan", 1),
+    ASIN("asin", 1),
+    ACOS("acos", 1),
+    ATAN("atan", 1),
+    DEGREES_TO_RADIANS("degreesToRadians", 1),
+    RADIANS_TO_DEGREES("radiansToDegrees", 1);
+    
+    private static final Map<String, MathOperation> BY_NAME = new HashMap<>();
+    
+    static {
+        for (MathOperation operation : values()) {
+            BY_NAME.put(operation.operationName, operation);
+        }
+    }
+    
+    private final String operationName;
+    private final int arity;
+    
+    MathOperation(String operationName, int arity) {
+        this.operationName = operationName;
+        this.arity = arity;
+    }
+    
+    /**
+     * Returns the method name of the operation, e.g. {@code squareRoot}
+     * @return operation name
+     */
+    public String operationName() {
+        return operationName;
+    }
+    
+    /**
+     * Returns the number of arguments the operation takes
+     * @return 1 for unary operations, 2 for binary operations
+     */
+    public int arity() {
+        return arity;
+    }
+    
+    /**
+     * Looks up an operation by its method name
+     * @param name operation name, e.g. {@code add}
+     * @return matching operation
+     * @throws IllegalArgumentException if no operation has that name
+     */
+    public static MathOperation fromName(String name) {
+        MathOperation operation = BY_NAME.get(name);
+        if (operation == null) {
+            throw new IllegalArgumentException("Unknown operation: " + name);
+        }
+        return operation;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.mathops.operations;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Every operation as a constant primitive operator, taken from
+ * {@link OperationRegistry#standard()}. Being {@code static final}, the
+ * constants are inlined by the JIT wherever they are called directly.
+ */
+public final class MathOperators {
+    
+    private static final OperationRegistry REGISTRY = OperationRegistry.standard();
+    
+    public static final DoubleBinaryOperator ADD = REGISTRY.binary(MathOperation.ADD);
+    public static final DoubleBinaryOperator SUBTRACT = REGISTRY.binary(MathOperation.SUBTRACT);
+    public static final DoubleBinaryOperator MULTIPLY = REGISTRY.binary(MathOperation.MULTIPLY);
+    public static final DoubleBinaryOperator DIVIDE = REGISTRY.binary(MathOperation.DIVIDE);
+    public static final DoubleBinaryOperator MODULO = REGISTRY.binary(MathOperation.MODULO);
+    public static final DoubleBinaryOperator POWER = REGISTRY.binary(MathOperation.POWER);
+    public static final DoubleUnaryOperator SQUARE_ROOT = REGISTRY.unary(MathOperation.SQUARE_ROOT);
+    public static final DoubleUnaryOperator CUBE_ROOT = REGISTRY.unary(MathOperation.CUBE_ROOT);
+    public static final DoubleUnaryOperator ABSOLUTE = REGISTRY.unary(MathOperation.ABSOLUTE);
+    public static final DoubleUnaryOperator FACTORIAL = REGISTRY.unary(MathOperation.FACTORIAL);
+    public static final DoubleUnaryOperator NATURAL_LOG = REGISTRY.unary(MathOperation.NATURAL_LOG);
+    public static final DoubleUnaryOperator LOG10 = REGISTRY.unary(MathOperation.LOG10);
+    public static final DoubleUnaryOperator SIN = REGISTRY.unary(MathOperation.SIN);
+    public static final DoubleUnaryOperator COS = REGISTRY.unary(MathOperation.COS);
+    public static final DoubleUnaryOperator TAN = REGISTRY.unary(MathOperation.TAN);
+    public static final DoubleUnaryOperator ASIN = REGISTRY.unary(MathOperation.ASIN);
+    public static final DoubleUnaryOperator ACOS = REGISTRY.unary(MathOperation.ACOS);
+    public static final DoubleUnaryOperator ATAN = REGISTRY.unary(MathOperation.ATAN);
+    public static final DoubleUnaryOperator DEGREES_TO_RADIANS = REGISTRY.unary(MathOperation.DEGREES_TO_RADIANS);
+    public static final DoubleUnaryOperator RADIANS_TO_DEGREES = REGISTRY.unary(MathOperation.RADIANS_TO_DEGREES);
+    
+    private MathOperators() {
+    }
+}
\ No newline at end of file
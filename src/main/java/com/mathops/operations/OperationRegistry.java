@@ -0,0 +1,166 @@
+package com.mathops.operations;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Every {@link MathOperation} as a primitive {@link DoubleUnaryOperator} or
+ * {@link DoubleBinaryOperator}, looked up by enum or by name.
+ * <p>
+ * The operators are method references bound to the operations classes, so
+ * calling them neither boxes nor allocates. Unary operations can be fused into a
+ * {@link UnaryChain}, whose bulk form runs each stage over a block of elements
+ * at a time.
+ * <p>
+ * {@code factorial} has the contract of {@code MathService}'s factorial
+ * operator: it accepts integral arguments up to 20, whose factorials are exact
+ * as doubles, and throws {@link ArithmeticException} above.
+ */
+public final class OperationRegistry {
+    
+    private static final OperationRegistry STANDARD = new OperationRegistry(TrigonometricPrecision.STANDARD);
+    
+    private final Map<MathOperation, DoubleUnaryOperator> unary = new EnumMap<>(MathOperation.class);
+    private final Map<MathOperation, DoubleBinaryOperator> binary = new EnumMap<>(MathOperation.class);
+    private final Map<MathOperation, UnaryArrayOperator> unaryArrays = new EnumMap<>(MathOperation.class);
+    private final TrigonometricPrecision precision;
+    
+    /**
+     * Creates a registry whose trigonometric operators use the given precision
+     * @param precision trigonometric precision
+     */
+    public OperationRegistry(TrigonometricPrecision precision) {
+        this.precision = precision;
+        BasicMathOperations basic = new BasicMathOperations();
+        AdvancedMathOperations advanced = new AdvancedMathOperations();
+        TrigonometricOperations trig = new TrigonometricOperations(precision);
+        
+        binary.put(MathOperation.ADD, basic::add);
+        binary.put(MathOperation.SUBTRACT, basic::subtract);
+        binary.put(MathOperation.MULTIPLY, basic::multiply);
+        binary.put(MathOperation.DIVIDE, basic::divide);
+        binary.put(MathOperation.MODULO, basic::modulo);
+        binary.put(MathOperation.POWER, advanced::power);
+        
+        unary(MathOperation.SQUARE_ROOT, advanced::squareRoot, advanced::squareRoot);
+        unary(MathOperation.CUBE_ROOT, advanced::cubeRoot, advanced::cubeRoot);
+        unary(MathOperation.ABSOLUTE, advanced::absolute, advanced::absolute);
+        unary(MathOperation.FACTORIAL, n -> factorial(advanced, n), null);
+        unary(MathOperation.NATURAL_LOG, advanced::naturalLog, advanced::naturalLog);
+        unary(MathOperation.LOG10, advanced::log10, advanced::log10);
+        unary(MathOperation.SIN, trig::sin, trig::sin);
+        unary(MathOperation.COS, trig::cos, trig::cos);
+        unary(MathOperation.TAN, trig::tan, trig::tan);
+        unary(MathOperation.ASIN, trig::asin, trig::asin);
+        unary(MathOperation.ACOS, trig::acos, trig::acos);
+        unary(MathOperation.ATAN, trig::atan, trig::atan);
+        unary(MathOperation.DEGREES_TO_RADIANS, trig::degreesToRadians, trig::degreesToRadians);
+        unary(MathOperation.RADIANS_TO_DEGREES, trig::radiansToDegrees, trig::radiansToDegrees);
+    }
+    
+    /**
+     * Returns the shared registry with {@link TrigonometricPrecision#STANDARD} trigonometry
+     * @return standard registry
+     */
+    public static OperationRegistry standard() {
+        return STANDARD;
+    }
+    
+    public TrigonometricPrecision getPrecision() {
+        return precision;
+    }
+    
+    /**
+     * Returns a unary operation as an operator
+     * @param operation operation taking one argument
+     * @return operator
+     * @throws IllegalArgumentException if the operation takes two arguments
+     */
+    public DoubleUnaryOperator unary(MathOperation operation) {
+        DoubleUnaryOperator operator = unary.get(operation);
+        if (operator == null) {
+            throw new IllegalArgumentException(operation.operationName() + " takes 2 arguments");
+        }
+        return operator;
+    }
+    
+    /**
+     * Returns a unary operation as an operator
+     * @param name operation name, e.g. {@code sin}
+     * @return operator
+     * @throws IllegalArgumentException if there is no such operation or it takes two arguments
+     */
+    public DoubleUnaryOperator unary(String name) {
+        return unary(MathOperation.fromName(name));
+    }
+    
+    /**
+     * Returns a binary operation as an operator
+     * @param operation operation taking two arguments
+     * @return operator
+     * @throws IllegalArgumentException if the operation takes one argument
+     */
+    public DoubleBinaryOperator binary(MathOperation operation) {
+        DoubleBinaryOperator operator = binary.get(operation);
+        if (operator == null) {
+            throw new IllegalArgumentException(operation.operationName() + " takes 1 argument");
+        }
+        return operator;
+    }
+    
+    /**
+     * Returns a binary operation as an operator
+     * @param name operation name, e.g. {@code power}
+     * @return operator
+     * @throws IllegalArgumentException if there is no such operation or it takes one argument
+     */
+    public DoubleBinaryOperator binary(String name) {
+        return binary(MathOperation.fromName(name));
+    }
+    
+    /**
+     * Fuses unary operations into one operator applied left to right
+     * @param operations operations taking one argument
+     * @return chain, the identity if no operations are given
+     * @throws IllegalArgumentException if any operation takes two arguments
+     */
+    public UnaryChain chain(MathOperation... operations) {
+        DoubleUnaryOperator[] stages = new DoubleUnaryOperator[operations.length];
+        UnaryArrayOperator[] arrayStages = new UnaryArrayOperator[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            stages[i] = unary(operations[i]);
+            arrayStages[i] = unaryArrays.get(operations[i]);
+        }
+        return new UnaryChain(this, operations.clone(), stages, arrayStages);
+    }
+    
+    /**
+     * Fuses unary operations, given by name, into one operator applied left to right
+     * @param names operation names, e.g. {@code degreesToRadians}, {@code sin}
+     * @return chain
+     * @throws IllegalArgumentException if any name is unknown or takes two arguments
+     */
+    public UnaryChain chain(String... names) {
+        MathOperation[] operations = new MathOperation[names.length];
+        for (int i = 0; i < names.length; i++) {
+            operations[i] = MathOperation.fromName(names[i]);
+        }
+        return chain(operations);
+    }
+    
+    private void unary(MathOperation operation, DoubleUnaryOperator operator, UnaryArrayOperator arrayOperator) {
+        unary.put(operation, operator);
+        if (arrayOperator != null) {
+            unaryArrays.put(operation, arrayOperator);
+        }
+    }
+    
+    private static double factorial(AdvancedMathOperations advanced, double n) {
+        if (n != (int) n) {
+            throw new IllegalArgumentException("Factorial is defined only for integers");
+        }
+        return advanced.factorial((int) n);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,282 @@
+package com.mathops.operations;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sum and dot product kernels behind {@link SummationAlgorithm}.
+ * <p>
+ * With {@code u = 2^-53} and {@code S = sum |x_i|} (or {@code sum |a_i b_i|}),
+ * the absolute error of the result is bounded by about
+ * <ul>
+ *   <li>{@code NAIVE}: {@code n u S}. Four accumulators break the dependency
+ *   chain of a single running sum, so the loop is limited by loads rather than
+ *   by the latency of one addition after another.</li>
+ *   <li>{@code PAIRWISE}: {@code (log2(n / BLOCK) + BLOCK / 4) u S}. The range is
+ *   halved until it fits a block of {@value #PAIRWISE_BLOCK} elements, which is
+ *   summed naively, so the recursion costs a few calls per block.</li>
+ *   <li>{@code KAHAN_BABUSKA}: {@code u |sum| + n^2 u^2 S}. Each addition is split
+ *   by Knuth's branch-free TwoSum into the rounded sum and its exact error, and the
+ *   errors are summed separately (the Kahan-Babuska/Neumaier scheme, in the form of
+ *   Ogita, Rump and Oishi). The dot product also keeps the error of every product,
+ *   computed exactly with {@link Math#fma}.</li>
+ * </ul>
+ * An infinite or NaN term makes every algorithm return the naive infinity or NaN.
+ * <p>
+ * Ranges longer than {@value #REDUCTION_BLOCK} elements are cut into blocks of
+ * that size from the start of the range. Each block is reduced on its own, and
+ * the block results are reduced in block order with the same algorithm;
+ * {@code KAHAN_BABUSKA} blocks hand on their sum and its unrounded error, so no
+ * error term is lost. The bounds above still hold. Since the order of additions
+ * depends only on the length, the reductions given a {@link ForkJoinPool}, which
+ * reduce the blocks on it, are bit-identical to those on the calling thread.
+ */
+final class Summation {
+    
+    /** Elements summed naively at the leaves of the pairwise recursion */
+    static final int PAIRWISE_BLOCK = 128;
+    
+    /** Elements per block of a long reduction, the unit of work on a pool */
+    static final int REDUCTION_BLOCK = 1 << 12;
+    
+    /** Blocks per worker, so that uneven progress can be rebalanced by work stealing */
+    private static final int TASKS_PER_WORKER = 4;
+    
+    private Summation() {
+    }
+    
+    static double sum(double[] x, int off, int len, SummationAlgorithm algorithm) {
+        return sum(x, off, len, algorithm, null);
+    }
+    
+    /**
+     * Sums a range, reducing its blocks on the pool if one is given
+     */
+    static double sum(double[] x, int off, int len, SummationAlgorithm algorithm, ForkJoinPool pool) {
+        if (len <= REDUCTION_BLOCK) {
+            switch (algorithm) {
+                case NAIVE: return naiveSum(x, off, len);
+                case KAHAN_BABUSKA: return compensatedSum(x, off, len);
+                default: return pairwiseSum(x, off, len);
+            }
+        }
+        double[] partials = new double[partialCount(len, algorithm)];
+        forEachBlock(len, pool, (first, count) -> {
+            for (int block = first; block < first + count; block++) {
+                int start = off + block * REDUCTION_BLOCK;
+                int size = Math.min(REDUCTION_BLOCK, off + len - start);
+                if (algorithm == SummationAlgorithm.KAHAN_BABUSKA) {
+                    compensatedSum(x, start, size, partials, 2 * block);
+                } else {
+                    partials[block] = sum(x, start, size, algorithm, null);
+                }
+            }
+        });
+        return sum(partials, 0, partials.length, algorithm, null);
+    }
+    
+    static double dot(double[] a, double[] b, int off, int len, SummationAlgorithm algorithm) {
+        return dot(a, b, off, len, algorithm, null);
+    }
+    
+    /**
+     * Calculates a dot product over a range, reducing its blocks on the pool if one is given
+     */
+    static double dot(double[] a, double[] b, int off, int len, SummationAlgorithm algorithm, ForkJoinPool pool) {
+        if (len <= REDUCTION_BLOCK) {
+            switch (algorithm) {
+                case NAIVE: return naiveDot(a, b, off, len);
+                case KAHAN_BABUSKA: return compensatedDot(a, b, off, len);
+                default: return pairwiseDot(a, b, off, len);
+            }
+        }
+        double[] partials = new double[partialCount(len, algorithm)];
+        forEachBlock(len, pool, (first, count) -> {
+            for (int block = first; block < first + count; block++) {
+                int start = off + block * REDUCTION_BLOCK;
+                int size = Math.min(REDUCTION_BLOCK, off + len - start);
+                if (algorithm == SummationAlgorithm.KAHAN_BABUSKA) {
+                    compensatedDot(a, b, start, size, partials, 2 * block);
+                } else {
+                    partials[block] = dot(a, b, start, size, algorithm, null);
+                }
+            }
+        });
+        return sum(partials, 0, partials.length, algorithm, null);
+    }
+    
+    /** One partial result per block, two (sum and error) for {@code KAHAN_BABUSKA} */
+    private static int partialCount(int len, SummationAlgorithm algorithm) {
+        int blocks = (len + REDUCTION_BLOCK - 1) / REDUCTION_BLOCK;
+        return algorithm == SummationAlgorithm.KAHAN_BABUSKA ? 2 * blocks : blocks;
+    }
+    
+    /**
+     * Hands the blocks of a range of {@code len} elements to the action, in
+     * order on the calling thread or split into tasks on the pool
+     */
+    private static void forEachBlock(int len, ForkJoinPool pool, BlockAction action) {
+        int blocks = (len + REDUCTION_BLOCK - 1) / REDUCTION_BLOCK;
+        if (pool == null) {
+            action.apply(0, blocks);
+            return;
+        }
+        int grain = Math.max(1, blocks / (pool.getParallelism() * TASKS_PER_WORKER));
+        pool.invoke(new BlockTask(action, 0, blocks, grain));
+    }
+    
+    static double naiveSum(double[] x, int off, int len) {
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        int i = off;
+        for (int unrolled = off + (len & ~3); i < unrolled; i += 4) {
+            s0 += x[i];
+            s1 += x[i + 1];
+            s2 += x[i + 2];
+            s3 += x[i + 3];
+        }
+        for (int end = off + len; i < end; i++) {
+            s0 += x[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+    
+    static double pairwiseSum(double[] x, int off, int len) {
+        if (len <= PAIRWISE_BLOCK) {
+            return naiveSum(x, off, len);
+        }
+        int half = len >>> 1;
+        return pairwiseSum(x, off, half) + pairwiseSum(x, off + half, len - half);
+    }
+    
+    static double compensatedSum(double[] x, int off, int len) {
+        double sum = 0;
+        double error = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            double value = x[i];
+            double t = sum + value;
+            double z = t - sum;
+            error += (sum - (t - z)) + (value - z);
+            sum = t;
+        }
+        return withError(sum, error);
+    }
+    
+    /** {@link #compensatedSum} with the sum and its error stored unrounded at {@code out[outOff]} and after */
+    private static void compensatedSum(double[] x, int off, int len, double[] out, int outOff) {
+        double sum = 0;
+        double error = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            double value = x[i];
+            double t = sum + value;
+            double z = t - sum;
+            error += (sum - (t - z)) + (value - z);
+            sum = t;
+        }
+        out[outOff] = sum;
+        out[outOff + 1] = errorOf(sum, error);
+    }
+    
+    static double naiveDot(double[] a, double[] b, int off, int len) {
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        int i = off;
+        for (int unrolled = off + (len & ~3); i < unrolled; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (int end = off + len; i < end; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+    
+    static double pairwiseDot(double[] a, double[] b, int off, int len) {
+        if (len <= PAIRWISE_BLOCK) {
+            return naiveDot(a, b, off, len);
+        }
+        int half = len >>> 1;
+        return pairwiseDot(a, b, off, half) + pairwiseDot(a, b, off + half, len - half);
+    }
+    
+    static double compensatedDot(double[] a, double[] b, int off, int len) {
+        double sum = 0;
+        double error = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            double product = a[i] * b[i];
+            double productError = Math.fma(a[i], b[i], -product);
+            double t = sum + product;
+            double z = t - sum;
+            error += (sum - (t - z)) + (product - z) + productError;
+            sum = t;
+        }
+        return withError(sum, error);
+    }
+    
+    /** {@link #compensatedDot} with the sum and its error stored unrounded at {@code out[outOff]} and after */
+    private static void compensatedDot(double[] a, double[] b, int off, int len, double[] out, int outOff) {
+        double sum = 0;
+        double error = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            double product = a[i] * b[i];
+            double productError = Math.fma(a[i], b[i], -product);
+            double t = sum + product;
+            double z = t - sum;
+            error += (sum - (t - z)) + (product - z) + productError;
+            sum = t;
+        }
+        out[outOff] = sum;
+        out[outOff + 1] = errorOf(sum, error);
+    }
+    
+    /** Adds the accumulated error, which is NaN once the running sum has overflowed */
+    private static double withError(double sum, double error) {
+        double result = sum + error;
+        return Double.isNaN(result) && !Double.isNaN(sum) ? sum : result;
+    }
+    
+    /** The accumulated error, dropped like in {@link #withError} once the running sum has overflowed */
+    private static double errorOf(double sum, double error) {
+        return Double.isNaN(error) && !Double.isNaN(sum) ? 0 : error;
+    }
+    
+    @FunctionalInterface
+    private interface BlockAction {
+        void apply(int first, int count);
+    }
+    
+    /** Halves its range of blocks until it is no larger than the grain */
+    private static final class BlockTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final BlockAction action;
+        private final int first;
+        private final int count;
+        private final int grain;
+        
+        BlockTask(BlockAction action, int first, int count, int grain) {
+            this.action = action;
+            this.first = first;
+            this.count = count;
+            this.grain = grain;
+        }
+        
+        @Override
+        protected void compute() {
+            if (count <= grain) {
+                action.apply(first, count);
+                return;
+            }
+            int half = count >>> 1;
+            invokeAll(new BlockTask(action, first, half, grain),
+                    new BlockTask(action, first + half, count - half, grain));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.mathops.operations;
+
+/**
+ * Accuracy/speed trade-off used by the reductions of {@link BasicMathOperations},
+ * see {@link Summation} for the error bounds
+ */
+public enum SummationAlgorithm {
+    
+    /** Left to right with four independent accumulators; fastest, error grows with n */
+    NAIVE,
+    
+    /** Recursive halving over unrolled blocks; error grows with log n at nearly naive speed */
+    PAIRWISE,
+    
+    /** Error-free transformations carrying every rounding error; as if accumulated in twice the precision */
+    KAHAN_BABUSKA
+}
\ No newline at end of file
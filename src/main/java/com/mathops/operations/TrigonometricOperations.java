@@ -1,17 +1,109 @@
 package com.mathops.operations;
 
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * Trigonometric operations utility class
+ * <p>
+ * sin, cos, tan and atan can opt in to a {@link TabulatedFunction}:
+ * {@link #withTable} returns operations that serve arguments inside the
+ * table's domain from the table and the rest at the configured precision.
  */
 public class TrigonometricOperations {
     
+    private final TrigonometricPrecision precision;
+    private final TabulatedFunction sinTable;
+    private final TabulatedFunction cosTable;
+    private final TabulatedFunction tanTable;
+    private final TabulatedFunction atanTable;
+    
+    /**
+     * Creates trigonometric operations backed by {@link Math}
+     */
+    public TrigonometricOperations() {
+        this(TrigonometricPrecision.STANDARD);
+    }
+    
+    /**
+     * Creates trigonometric operations with the given accuracy/speed trade-off
+     * @param precision precision mode for sin, cos, tan and atan
+     */
+    public TrigonometricOperations(TrigonometricPrecision precision) {
+        this(precision, null, null, null, null);
+    }
+    
+    private TrigonometricOperations(TrigonometricPrecision precision, TabulatedFunction sinTable,
+                                    TabulatedFunction cosTable, TabulatedFunction tanTable,
+                                    TabulatedFunction atanTable) {
+        this.precision = precision;
+        this.sinTable = sinTable;
+        this.cosTable = cosTable;
+        this.tanTable = tanTable;
+        this.atanTable = atanTable;
+    }
+    
+    public TrigonometricPrecision getPrecision() {
+        return precision;
+    }
+    
+    /**
+     * Samples {@code sin}, {@code cos}, {@code tan} or {@code atan}, at this precision, into a table
+     * @param operation operation to tabulate
+     * @param min start of the domain
+     * @param max end of the domain
+     * @param points number of samples
+     * @param interpolation how to evaluate between samples
+     * @return table whose fallback is the operation at this precision
+     * @throws IllegalArgumentException if the operation cannot be tabulated or the domain is invalid
+     */
+    public TabulatedFunction tabulate(MathOperation operation, double min, double max, int points,
+                                      Interpolation interpolation) {
+        return TabulatedFunction.of(untabulated(operation), min, max, points, interpolation);
+    }
+    
+    /**
+     * Returns operations that evaluate {@code sin}, {@code cos}, {@code tan} or {@code atan},
+     * scalar and bulk, through a table
+     * @param operation operation to replace
+     * @param table table to use, or {@code null} to compute the operation at this precision again
+     * @return new operations with the same precision; this instance is unchanged
+     * @throws IllegalArgumentException if the operation cannot be tabulated
+     */
+    public TrigonometricOperations withTable(MathOperation operation, TabulatedFunction table) {
+        untabulated(operation);
+        return new TrigonometricOperations(precision,
+                operation == MathOperation.SIN ? table : sinTable,
+                operation == MathOperation.COS ? table : cosTable,
+                operation == MathOperation.TAN ? table : tanTable,
+                operation == MathOperation.ATAN ? table : atanTable);
+    }
+    
+    private DoubleUnaryOperator untabulated(MathOperation operation) {
+        switch (operation) {
+            case SIN: return this::computeSin;
+            case COS: return this::computeCos;
+            case TAN: return this::computeTan;
+            case ATAN: return this::computeAtan;
+            default: throw new IllegalArgumentException(operation.operationName() + " cannot be tabulated");
+        }
+    }
+    
     /**
      * Calculates sine of an angle
      * @param angleInRadians angle in radians
      * @return sine of the angle
      */
     public double sin(double angleInRadians) {
-        return Math.sin(angleInRadians);
+        return sinTable != null ? sinTable.applyAsDouble(angleInRadians) : computeSin(angleInRadians);
+    }
+    
+    private double computeSin(double angleInRadians) {
+        switch (precision) {
+            case STRICT: return StrictMath.sin(angleInRadians);
+            case FAST: return FastTrig.sin(angleInRadians);
+            default: return Math.sin(angleInRadians);
+        }
     }
     
     /**
@@ -20,7 +112,15 @@ public class TrigonometricOperations {
      * @return cosine of the angle
      */
     public double cos(double angleInRadians) {
-        return Math.cos(angleInRadians);
+        return cosTable != null ? cosTable.applyAsDouble(angleInRadians) : computeCos(angleInRadians);
+    }
+    
+    private double computeCos(double angleInRadians) {
+        switch (precision) {
+            case STRICT: return StrictMath.cos(angleInRadians);
+            case FAST: return FastTrig.cos(angleInRadians);
+            default: return Math.cos(angleInRadians);
+        }
     }
     
     /**
@@ -29,7 +129,31 @@ public class TrigonometricOperations {
      * @return tangent of the angle
      */
     public double tan(double angleInRadians) {
-        return Math.tan(angleInRadians);
+        return tanTable != null ? tanTable.applyAsDouble(angleInRadians) : computeTan(angleInRadians);
+    }
+    
+    private double computeTan(double angleInRadians) {
+        switch (precision) {
+            case STRICT: return StrictMath.tan(angleInRadians);
+            case FAST: return FastTrig.tan(angleInRadians);
+            default: return Math.tan(angleInRadians);
+        }
+    }
+    
+    /**
+     * Calculates sine and cosine of an angle together, sharing the range reduction in fast mode
+     * @param angleInRadians angle in radians
+     * @param out receives the sine at {@code out[off]} and the cosine at {@code out[off + 1]}
+     * @param off position in out
+     */
+    public void sinCos(double angleInRadians, double[] out, int off) {
+        Objects.checkFromIndexSize(off, 2, out.length);
+        if (precision == TrigonometricPrecision.FAST && sinTable == null && cosTable == null) {
+            FastTrig.sinCos(angleInRadians, out, off, out, off + 1);
+        } else {
+            out[off] = sin(angleInRadians);
+            out[off + 1] = cos(angleInRadians);
+        }
     }
     
     /**
@@ -42,7 +166,7 @@ public class TrigonometricOperations {
         if (value < -1 || value > 1) {
             throw new IllegalArgumentException("Arc sine is defined only for values between -1 and 1");
         }
-        return Math.asin(value);
+        return precision == TrigonometricPrecision.STRICT ? StrictMath.asin(value) : Math.asin(value);
     }
     
     /**
@@ -55,7 +179,7 @@ public class TrigonometricOperations {
         if (value < -1 || value > 1) {
             throw new IllegalArgumentException("Arc cosine is defined only for values between -1 and 1");
         }
-        return Math.acos(value);
+        return precision == TrigonometricPrecision.STRICT ? StrictMath.acos(value) : Math.acos(value);
     }
     
     /**
@@ -64,7 +188,15 @@ public class TrigonometricOperations {
      * @return arc tangent in radians
      */
     public double atan(double value) {
-        return Math.atan(value);
+        return atanTable != null ? atanTable.applyAsDouble(value) : computeAtan(value);
+    }
+    
+    private double computeAtan(double value) {
+        switch (precision) {
+            case STRICT: return StrictMath.atan(value);
+            case FAST: return FastTrig.atan(value);
+            default: return Math.atan(value);
+        }
     }
     
     /**
@@ -84,4 +216,253 @@ public class TrigonometricOperations {
     public double radiansToDegrees(double radians) {
         return Math.toDegrees(radians);
     }
+    
+    /**
+     * Calculates sines of array elements
+     * @param in input angles in radians
+     * @param out destination for the sines, may alias {@code in}
+     */
+    public void sin(double[] in, double[] out) {
+        sin(in, out, 0, in.length);
+    }
+    
+    /**
+     * Calculates sines of array elements over the range {@code [off, off + len)}
+     * @param in input angles in radians
+     * @param out destination for the sines, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     */
+    public void sin(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        if (sinTable != null) {
+            sinTable.apply(in, out, off, len);
+            return;
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = computeSin(in[i]);
+        }
+    }
+    
+    /**
+     * Calculates cosines of array elements
+     * @param in input angles in radians
+     * @param out destination for the cosines, may alias {@code in}
+     */
+    public void cos(double[] in, double[] out) {
+        cos(in, out, 0, in.length);
+    }
+    
+    /**
+     * Calculates cosines of array elements over the range {@code [off, off + len)}
+     * @param in input angles in radians
+     * @param out destination for the cosines, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     */
+    public void cos(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        if (cosTable != null) {
+            cosTable.apply(in, out, off, len);
+            return;
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = computeCos(in[i]);
+        }
+    }
+    
+    /**
+     * Calculates tangents of array elements
+     * @param in input angles in radians
+     * @param out destination for the tangents, may alias {@code in}
+     */
+    public void tan(double[] in, double[] out) {
+        tan(in, out, 0, in.length);
+    }
+    
+    /**
+     * Calculates tangents of array elements over the range {@code [off, off + len)}
+     * @param in input angles in radians
+     * @param out destination for the tangents, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     */
+    public void tan(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        if (tanTable != null) {
+            tanTable.apply(in, out, off, len);
+            return;
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = computeTan(in[i]);
+        }
+    }
+    
+    /**
+     * Calculates arc sines of array elements
+     * @param in input values
+     * @param out destination for the arc sines in radians, may alias {@code in}
+     * @throws IllegalArgumentException if any element is outside [-1, 1]; nothing is written in that case
+     */
+    public void asin(double[] in, double[] out) {
+        asin(in, out, 0, in.length);
+    }
+    
+    /**
+     * Calculates arc sines of array elements over the range {@code [off, off + len)}
+     * @param in input values
+     * @param out destination for the arc sines in radians, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any element is outside [-1, 1]; nothing is written in that case
+     */
+    public void asin(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        ArrayChecks.checkUnitRange(in, off, len, "Arc sine is defined only for values between -1 and 1");
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = asin(in[i]);
+        }
+    }
+    
+    /**
+     * Calculates arc cosines of array elements
+     * @param in input values
+     * @param out destination for the arc cosines in radians, may alias {@code in}
+     * @throws IllegalArgumentException if any element is outside [-1, 1]; nothing is written in that case
+     */
+    public void acos(double[] in, double[] out) {
+        acos(in, out, 0, in.length);
+    }
+    
+    /**
+     * Calculates arc cosines of array elements over the range {@code [off, off + len)}
+     * @param in input values
+     * @param out destination for the arc cosines in radians, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     * @throws IllegalArgumentException if any element is outside [-1, 1]; nothing is written in that case
+     */
+    public void acos(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        ArrayChecks.checkUnitRange(in, off, len, "Arc cosine is defined only for values between -1 and 1");
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = acos(in[i]);
+        }
+    }
+    
+    /**
+     * Calculates arc tangents of array elements
+     * @param in input values
+     * @param out destination for the arc tangents in radians, may alias {@code in}
+     */
+    public void atan(double[] in, double[] out) {
+        atan(in, out, 0, in.length);
+    }
+    
+    /**
+     * Calculates arc tangents of array elements over the range {@code [off, off + len)}
+     * @param in input values
+     * @param out destination for the arc tangents in radians, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     */
+    public void atan(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        if (atanTable != null) {
+            atanTable.apply(in, out, off, len);
+            return;
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = computeAtan(in[i]);
+        }
+    }
+    
+    /**
+     * Converts array elements from degrees to radians
+     * @param in input angles in degrees
+     * @param out destination for the angles in radians, may alias {@code in}
+     */
+    public void degreesToRadians(double[] in, double[] out) {
+        degreesToRadians(in, out, 0, in.length);
+    }
+    
+    /**
+     * Converts array elements from degrees to radians over the range {@code [off, off + len)}
+     * @param in input angles in degrees
+     * @param out destination for the angles in radians, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     */
+    public void degreesToRadians(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Math.toRadians(in[i]);
+        }
+    }
+    
+    /**
+     * Converts array elements from radians to degrees
+     * @param in input angles in radians
+     * @param out destination for the angles in degrees, may alias {@code in}
+     */
+    public void radiansToDegrees(double[] in, double[] out) {
+        radiansToDegrees(in, out, 0, in.length);
+    }
+    
+    /**
+     * Converts array elements from radians to degrees over the range {@code [off, off + len)}
+     * @param in input angles in radians
+     * @param out destination for the angles in degrees, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     */
+    public void radiansToDegrees(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = Math.toDegrees(in[i]);
+        }
+    }
+    
+    /**
+     * Calculates sines and cosines of array elements
+     * @param in input angles in radians
+     * @param sinOut destination for the sines, may alias {@code in}
+     * @param cosOut destination for the cosines
+     */
+    public void sinCos(double[] in, double[] sinOut, double[] cosOut) {
+        sinCos(in, sinOut, cosOut, 0, in.length);
+    }
+    
+    /**
+     * Calculates sines and cosines of array elements over the range {@code [off, off + len)}
+     * @param in input angles in radians
+     * @param sinOut destination for the sines, may alias {@code in}
+     * @param cosOut destination for the cosines
+     * @param off first index in all three arrays
+     * @param len number of elements
+     */
+    public void sinCos(double[] in, double[] sinOut, double[] cosOut, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(sinOut, off, len);
+        ArrayChecks.checkRange(cosOut, off, len);
+        if (precision == TrigonometricPrecision.FAST && sinTable == null && cosTable == null) {
+            for (int i = off, end = off + len; i < end; i++) {
+                FastTrig.sinCos(in[i], sinOut, i, cosOut, i);
+            }
+        } else {
+            for (int i = off, end = off + len; i < end; i++) {
+                double angle = in[i];
+                sinOut[i] = sin(angle);
+                cosOut[i] = cos(angle);
+            }
+        }
+    }
 }
\ No newline at end of file
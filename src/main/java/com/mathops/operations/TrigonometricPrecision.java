@@ -0,0 +1,19 @@
+package com.mathops.operations;
+
+/**
+ * Accuracy/speed trade-off used by {@link TrigonometricOperations}
+ */
+public enum TrigonometricPrecision {
+    
+    /** Bit-for-bit reproducible results from {@link StrictMath} */
+    STRICT,
+    
+    /** {@link Math} results, within 1 ulp and usually backed by JIT intrinsics */
+    STANDARD,
+    
+    /**
+     * Polynomial approximations with a single range reduction, see {@link FastTrig}
+     * for the error bounds
+     */
+    FAST
+}
\ No newline at end of file
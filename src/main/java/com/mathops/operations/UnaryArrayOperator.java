@@ -0,0 +1,17 @@
+package com.mathops.operations;
+
+/**
+ * Range form of a bulk unary operation, e.g. {@link TrigonometricOperations#sin(double[], double[], int, int)}
+ */
+@FunctionalInterface
+interface UnaryArrayOperator {
+    
+    /**
+     * Applies the operation to {@code in[off, off + len)} and stores the results at the same indices of {@code out}
+     * @param in input values
+     * @param out destination, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     */
+    void apply(double[] in, double[] out, int off, int len);
+}
\ No newline at end of file
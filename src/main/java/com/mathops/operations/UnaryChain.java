@@ -0,0 +1,161 @@
+package com.mathops.operations;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Unary operations fused into one operator, applied left to right.
+ * <p>
+ * Chains are immutable and built once; applying them allocates nothing. For the
+ * scalar form, building a chain fuses its stages into operators of fixed arity
+ * that hold each stage in a final field and call them in sequence, nesting them
+ * for chains of more than three stages, so a call does not loop over an array
+ * of stages; each stage is still one interface call per element. The bulk form
+ * walks the array in blocks of {@value #BLOCK_SIZE} elements and runs each
+ * stage's own range method over the whole block, so there is one interface call
+ * per stage per block and the per-element loops are those of the operations
+ * classes.
+ */
+public final class UnaryChain implements DoubleUnaryOperator {
+    
+    /** Elements per block in the bulk form, small enough to stay in L1 cache */
+    static final int BLOCK_SIZE = 256;
+    
+    private final OperationRegistry registry;
+    private final MathOperation[] operations;
+    private final DoubleUnaryOperator[] stages;
+    private final UnaryArrayOperator[] arrayStages;
+    private final DoubleUnaryOperator fused;
+    
+    UnaryChain(OperationRegistry registry, MathOperation[] operations,
+               DoubleUnaryOperator[] stages, UnaryArrayOperator[] arrayStages) {
+        this.registry = registry;
+        this.operations = operations;
+        this.stages = stages;
+        this.arrayStages = arrayStages;
+        this.fused = fuse(stages, 0);
+    }
+    
+    /**
+     * Returns the operations of the chain in the order they are applied
+     * @return unmodifiable list of operations
+     */
+    public List<MathOperation> getOperations() {
+        return Collections.unmodifiableList(Arrays.asList(operations));
+    }
+    
+    /**
+     * Returns a new chain that applies {@code next} after this one
+     * @param next operation taking one argument
+     * @return extended chain
+     * @throws IllegalArgumentException if the operation takes two arguments
+     */
+    public UnaryChain andThen(MathOperation next) {
+        MathOperation[] extended = Arrays.copyOf(operations, operations.length + 1);
+        extended[operations.length] = Objects.requireNonNull(next, "next");
+        return registry.chain(extended);
+    }
+    
+    @Override
+    public double applyAsDouble(double operand) {
+        return fused.applyAsDouble(operand);
+    }
+    
+    /**
+     * Applies the chain to every element
+     * @param in input values
+     * @param out destination, may alias {@code in}
+     */
+    public void apply(double[] in, double[] out) {
+        apply(in, out, 0, in.length);
+    }
+    
+    /**
+     * Applies the chain over the range {@code [off, off + len)}. If a stage rejects
+     * an argument, blocks before the failing one have already been written.
+     * @param in input values
+     * @param out destination, may alias {@code in}
+     * @param off first index in both arrays
+     * @param len number of elements
+     */
+    public void apply(double[] in, double[] out, int off, int len) {
+        ArrayChecks.checkRange(in, off, len);
+        ArrayChecks.checkRange(out, off, len);
+        if (stages.length == 0) {
+            System.arraycopy(in, off, out, off, len);
+            return;
+        }
+        for (int start = off, end = off + len; start < end; start += BLOCK_SIZE) {
+            int count = Math.min(BLOCK_SIZE, end - start);
+            double[] source = in;
+            for (int s = 0; s < stages.length; s++) {
+                UnaryArrayOperator arrayStage = arrayStages[s];
+                if (arrayStage != null) {
+                    arrayStage.apply(source, out, start, count);
+                } else {
+                    DoubleUnaryOperator stage = stages[s];
+                    for (int i = start; i < start + count; i++) {
+                        out[i] = stage.applyAsDouble(source[i]);
+                    }
+                }
+                source = out;
+            }
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "UnaryChain" + Arrays.toString(operations);
+    }
+    
+    /**
+     * Fuses {@code stages[from..]} into one operator: up to three stages directly,
+     * longer tails as two stages followed by the fused rest
+     */
+    private static DoubleUnaryOperator fuse(DoubleUnaryOperator[] stages, int from) {
+        switch (stages.length - from) {
+            case 0: return value -> value;
+            case 1: return stages[from];
+            case 2: return new TwoStages(stages[from], stages[from + 1]);
+            case 3: return new ThreeStages(stages[from], stages[from + 1], stages[from + 2]);
+            default: return new ThreeStages(stages[from], stages[from + 1], fuse(stages, from + 2));
+        }
+    }
+    
+    private static final class TwoStages implements DoubleUnaryOperator {
+        
+        private final DoubleUnaryOperator first;
+        private final DoubleUnaryOperator second;
+        
+        TwoStages(DoubleUnaryOperator first, DoubleUnaryOperator second) {
+            this.first = first;
+            this.second = second;
+        }
+        
+        @Override
+        public double applyAsDouble(double operand) {
+            return second.applyAsDouble(first.applyAsDouble(operand));
+        }
+    }
+    
+    private static final class ThreeStages implements DoubleUnaryOperator {
+        
+        private final DoubleUnaryOperator first;
+        private final DoubleUnaryOperator second;
+        private final DoubleUnaryOperator third;
+        
+        ThreeStages(DoubleUnaryOperator first, DoubleUnaryOperator second, DoubleUnaryOperator third) {
+            this.first = first;
+            this.second = second;
+            this.third = third;
+        }
+        
+        @Override
+        public double applyAsDouble(double operand) {
+            return third.applyAsDouble(second.applyAsDouble(first.applyAsDouble(operand)));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.mathops.random;
+
+import com.mathops.operations.TrigonometricPrecision;
+import com.mathops.stats.SummaryStatistics;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a {@link MonteCarloKernel} over many samples on a {@link ForkJoinPool}
+ * and summarizes the samples.
+ * <p>
+ * The samples are cut into blocks of {@link #BLOCK_SIZE}. Block {@code b} of a
+ * run with seed {@code s} gets its own generator, seeded from {@code s} and
+ * {@code b} alone, and its own {@link SummaryStatistics}; the block statistics
+ * are merged in a fixed binary tree over the block indices. Neither depends on
+ * which thread ran a block, so a run is bit-for-bit reproducible for a given
+ * seed and sample count whatever the pool size, and threads share nothing
+ * while sampling.
+ * <p>
+ * An exception thrown by the kernel is rethrown by {@link #run} unchanged, once
+ * the blocks already started have finished.
+ */
+public class MonteCarloEngine {
+    
+    /** Samples per block, the unit of seeding and of work handed to a thread */
+    public static final int BLOCK_SIZE = 1 << 12;
+    
+    /** Tasks per worker, so that uneven progress can be rebalanced by work stealing */
+    private static final int TASKS_PER_WORKER = 4;
+    
+    private final ForkJoinPool pool;
+    private final TrigonometricPrecision trigPrecision;
+    
+    /**
+     * Creates an engine running on the common pool
+     */
+    public MonteCarloEngine() {
+        this(ForkJoinPool.commonPool(), TrigonometricPrecision.STANDARD);
+    }
+    
+    /**
+     * Creates an engine
+     * @param pool pool executing the blocks
+     * @param trigPrecision precision of the samplers' normal distribution
+     */
+    public MonteCarloEngine(ForkJoinPool pool, TrigonometricPrecision trigPrecision) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.trigPrecision = Objects.requireNonNull(trigPrecision, "trigPrecision");
+    }
+    
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+    
+    /**
+     * Runs a simulation
+     * @param seed seed of the run; equal seeds give equal results
+     * @param samples number of samples
+     * @param kernel computes the samples of one block
+     * @return count, mean, variance and range of the samples; the standard
+     *         error of the mean is the standard deviation over the square root
+     *         of the count
+     * @throws IllegalArgumentException if the sample count is negative
+     */
+    public SummaryStatistics run(long seed, long samples, MonteCarloKernel kernel) {
+        if (samples < 0) {
+            throw new IllegalArgumentException("Sample count must not be negative");
+        }
+        Objects.requireNonNull(kernel, "kernel");
+        if (samples == 0) {
+            return new SummaryStatistics();
+        }
+        long blocks = (samples + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        long grain = Math.max(1, blocks / ((long) pool.getParallelism() * TASKS_PER_WORKER));
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        SummaryStatistics statistics = pool.invoke(new BlockTask(seed, samples, kernel, 0, blocks, grain, failure));
+        RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+        return statistics;
+    }
+    
+    /**
+     * Seed of one block: the run seed and block index mixed by SplitMix64, as
+     * {@link java.util.SplittableRandom} derives the seeds of its splits
+     */
+    static long blockSeed(long seed, long block) {
+        return Xoroshiro128PlusPlus.mix64(seed + block * Xoroshiro128PlusPlus.GOLDEN_GAMMA);
+    }
+    
+    /**
+     * Summarizes the blocks {@code [first, first + count)}. The range is always
+     * halved the same way, forked above the grain and recursed in place below
+     * it, so the merge order does not depend on the grain.
+     */
+    private final class BlockTask extends RecursiveTask<SummaryStatistics> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final long seed;
+        private final long samples;
+        private final MonteCarloKernel kernel;
+        private final long first;
+        private final long count;
+        private final long grain;
+        private final AtomicReference<RuntimeException> failure;
+        
+        BlockTask(long seed, long samples, MonteCarloKernel kernel, long first, long count, long grain,
+                  AtomicReference<RuntimeException> failure) {
+            this.seed = seed;
+            this.samples = samples;
+            this.kernel = kernel;
+            this.first = first;
+            this.count = count;
+            this.grain = grain;
+            this.failure = failure;
+        }
+        
+        @Override
+        protected SummaryStatistics compute() {
+            if (count <= grain) {
+                try {
+                    return summarize(first, count, new double[BLOCK_SIZE]);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                    return new SummaryStatistics();
+                }
+            }
+            long half = count >>> 1;
+            BlockTask left = new BlockTask(seed, samples, kernel, first, half, grain, failure);
+            BlockTask right = new BlockTask(seed, samples, kernel, first + half, count - half, grain, failure);
+            invokeAll(left, right);
+            return left.join().merge(right.join());
+        }
+        
+        private SummaryStatistics summarize(long from, long blocks, double[] buffer) {
+            if (blocks > 1) {
+                long half = blocks >>> 1;
+                SummaryStatistics left = summarize(from, half, buffer);
+                return left.merge(summarize(from + half, blocks - half, buffer));
+            }
+            if (failure.get() != null) {
+                return new SummaryStatistics();
+            }
+            long start = from * BLOCK_SIZE;
+            double[] out = samples - start >= BLOCK_SIZE ? buffer : new double[(int) (samples - start)];
+            RandomSampler sampler = new RandomSampler(new Xoroshiro128PlusPlus(blockSeed(seed, from)), trigPrecision);
+            kernel.sample(sampler, out);
+            return SummaryStatistics.of(out);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.mathops.random;
+
+/**
+ * One block of a Monte Carlo simulation, run by {@link MonteCarloEngine}
+ */
+@FunctionalInterface
+public interface MonteCarloKernel {
+    
+    /**
+     * Computes one sample of the estimated quantity per element of {@code out}.
+     * Randomness must come only from {@code random}, which is seeded for this
+     * block, for the run to be reproducible; {@code out} is scratch space whose
+     * previous contents are undefined.
+     * @param random sampler of this block
+     * @param out destination for the samples, one block long
+     */
+    void sample(RandomSampler random, double[] out);
+}
\ No newline at end of file
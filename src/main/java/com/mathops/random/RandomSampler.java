@@ -0,0 +1,208 @@
+package com.mathops.random;
+
+import com.mathops.operations.AdvancedMathOperations;
+import com.mathops.operations.TrigonometricOperations;
+import com.mathops.operations.TrigonometricPrecision;
+
+import java.util.Objects;
+
+/**
+ * Fills arrays with random samples from the uniform, normal and exponential
+ * distributions.
+ * <p>
+ * Samples are drawn in blocks: the uniform variates of a block are generated
+ * first, then transformed by the bulk kernels of {@link AdvancedMathOperations}
+ * and {@link TrigonometricOperations}, so a call costs one generator step and a
+ * few array passes per sample rather than a {@code MathService} call per sample.
+ * Normal samples use the Box-Muller transform, two per pair of uniforms.
+ * Scratch space is allocated once per sampler; like its generator, a sampler is
+ * not thread-safe.
+ */
+public final class RandomSampler {
+    
+    /** Pairs transformed per pass, small enough for the scratch arrays to stay in L1 */
+    private static final int BLOCK_SIZE = 256;
+    
+    private static final double TWO_PI = 2 * Math.PI;
+    
+    private final Xoroshiro128PlusPlus generator;
+    private final AdvancedMathOperations advancedOps = new AdvancedMathOperations();
+    private final TrigonometricOperations trigOps;
+    private double[] radius;
+    private double[] sin;
+    private double[] cos;
+    
+    /**
+     * Creates a sampler using the exact trigonometric functions
+     * @param generator source of random bits
+     */
+    public RandomSampler(Xoroshiro128PlusPlus generator) {
+        this(generator, TrigonometricPrecision.STANDARD);
+    }
+    
+    /**
+     * Creates a sampler
+     * @param generator source of random bits
+     * @param trigPrecision precision of the sine and cosine in the Box-Muller transform
+     */
+    public RandomSampler(Xoroshiro128PlusPlus generator, TrigonometricPrecision trigPrecision) {
+        this.generator = Objects.requireNonNull(generator, "generator");
+        this.trigOps = new TrigonometricOperations(trigPrecision);
+    }
+    
+    public Xoroshiro128PlusPlus getGenerator() {
+        return generator;
+    }
+    
+    /**
+     * Fills an array with uniform samples from {@code [0, 1)}
+     * @param out destination array
+     */
+    public void uniform(double[] out) {
+        uniform(out, 0, out.length);
+    }
+    
+    /**
+     * Fills the range {@code [off, off + len)} with uniform samples from {@code [0, 1)}
+     * @param out destination array
+     * @param off first index
+     * @param len number of samples
+     */
+    public void uniform(double[] out, int off, int len) {
+        Objects.checkFromIndexSize(off, len, out.length);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = generator.nextDouble();
+        }
+    }
+    
+    /**
+     * Fills an array with uniform samples from {@code [min, max)}
+     * @param min smallest value
+     * @param max bound on the largest value
+     * @param out destination array
+     */
+    public void uniform(double min, double max, double[] out) {
+        uniform(min, max, out, 0, out.length);
+    }
+    
+    /**
+     * Fills the range {@code [off, off + len)} with uniform samples from {@code [min, max)}
+     * @param min smallest value
+     * @param max bound on the largest value
+     * @param out destination array
+     * @param off first index
+     * @param len number of samples
+     * @throws IllegalArgumentException if the bounds are not finite or {@code min >= max}
+     */
+    public void uniform(double min, double max, double[] out, int off, int len) {
+        if (!(min < max) || Double.isInfinite(max - min)) {
+            throw new IllegalArgumentException("Bounds must be finite with min below max");
+        }
+        Objects.checkFromIndexSize(off, len, out.length);
+        double width = max - min;
+        for (int i = off, end = off + len; i < end; i++) {
+            double value = min + generator.nextDouble() * width;
+            // Rounding may reach max for a u just below 1
+            out[i] = value < max ? value : Math.nextDown(max);
+        }
+    }
+    
+    /**
+     * Fills an array with standard normal samples
+     * @param out destination array
+     */
+    public void normal(double[] out) {
+        normal(0, 1, out, 0, out.length);
+    }
+    
+    /**
+     * Fills an array with normal samples
+     * @param mean mean of the distribution
+     * @param standardDeviation standard deviation of the distribution
+     * @param out destination array
+     */
+    public void normal(double mean, double standardDeviation, double[] out) {
+        normal(mean, standardDeviation, out, 0, out.length);
+    }
+    
+    /**
+     * Fills the range {@code [off, off + len)} with normal samples. An odd length
+     * discards the second sample of the last pair.
+     * @param mean mean of the distribution
+     * @param standardDeviation standard deviation of the distribution
+     * @param out destination array
+     * @param off first index
+     * @param len number of samples
+     * @throws IllegalArgumentException if the standard deviation is negative or not finite
+     */
+    public void normal(double mean, double standardDeviation, double[] out, int off, int len) {
+        if (!(standardDeviation >= 0) || standardDeviation == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("Standard deviation must be finite and non-negative");
+        }
+        Objects.checkFromIndexSize(off, len, out.length);
+        ensureScratch();
+        for (int done = 0; done < len; ) {
+            int pairs = Math.min(BLOCK_SIZE, (len - done + 1) / 2);
+            for (int j = 0; j < pairs; j++) {
+                // 1 - u lies in (0, 1], so the logarithm is finite
+                radius[j] = 1 - generator.nextDouble();
+                sin[j] = generator.nextDouble() * TWO_PI;
+            }
+            advancedOps.naturalLog(radius, radius, 0, pairs);
+            for (int j = 0; j < pairs; j++) {
+                radius[j] *= -2;
+            }
+            advancedOps.squareRoot(radius, radius, 0, pairs);
+            trigOps.sinCos(sin, sin, cos, 0, pairs);
+            int index = off + done;
+            int end = off + len;
+            for (int j = 0; j < pairs; j++) {
+                out[index++] = mean + standardDeviation * radius[j] * cos[j];
+                if (index < end) {
+                    out[index++] = mean + standardDeviation * radius[j] * sin[j];
+                }
+            }
+            done = index - off;
+        }
+    }
+    
+    /**
+     * Fills an array with exponential samples
+     * @param rate rate of the distribution, the inverse of its mean
+     * @param out destination array
+     */
+    public void exponential(double rate, double[] out) {
+        exponential(rate, out, 0, out.length);
+    }
+    
+    /**
+     * Fills the range {@code [off, off + len)} with exponential samples, by inversion
+     * @param rate rate of the distribution, the inverse of its mean
+     * @param out destination array
+     * @param off first index
+     * @param len number of samples
+     * @throws IllegalArgumentException if the rate is not positive and finite
+     */
+    public void exponential(double rate, double[] out, int off, int len) {
+        if (!(rate > 0) || rate == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("Rate must be positive and finite");
+        }
+        Objects.checkFromIndexSize(off, len, out.length);
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] = 1 - generator.nextDouble();
+        }
+        advancedOps.naturalLog(out, out, off, len);
+        double scale = -1 / rate;
+        for (int i = off, end = off + len; i < end; i++) {
+            out[i] *= scale;
+        }
+    }
+    
+    private void ensureScratch() {
+        if (radius == null) {
+            radius = new double[BLOCK_SIZE];
+            sin = new double[BLOCK_SIZE];
+            cos = new double[BLOCK_SIZE];
+        }
+    }
+}
\ No newline at end of file
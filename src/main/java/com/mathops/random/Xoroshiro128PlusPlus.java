@@ -0,0 +1,126 @@
+package com.mathops.random;
+
+/**
+ * The xoroshiro128++ generator of Blackman and Vigna: 128 bits of state, a
+ * period of {@code 2^128 - 1}, and a few shifts, rotations and additions per
+ * output, with no locking.
+ * <p>
+ * Instances are not thread-safe, and are not meant to be shared: give each
+ * thread or task its own generator, made with {@link #split} or {@link #jump}
+ * from a common root, instead of sharing one {@link java.util.Random}, whose
+ * atomic seed update every thread contends for. A seed is expanded into the
+ * state with SplitMix64, so nearby seeds still give unrelated sequences.
+ */
+public final class Xoroshiro128PlusPlus {
+    
+    /** Odd increment of SplitMix64, the golden ratio in 64 bits */
+    static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    
+    /** Advances the state by {@code 2^64} steps */
+    private static final long[] JUMP = {0x2bd7a6a6e99c2ddcL, 0x0992ccaf6a6fca05L};
+    
+    private long s0;
+    private long s1;
+    
+    /**
+     * Creates a generator
+     * @param seed any value; equal seeds give equal sequences
+     */
+    public Xoroshiro128PlusPlus(long seed) {
+        this(mix64(seed + GOLDEN_GAMMA), mix64(seed + 2 * GOLDEN_GAMMA));
+    }
+    
+    private Xoroshiro128PlusPlus(long s0, long s1) {
+        // The all-zero state is the one state the generator never leaves
+        this.s0 = s0 == 0 && s1 == 0 ? GOLDEN_GAMMA : s0;
+        this.s1 = s1;
+    }
+    
+    /**
+     * Returns the next 64 random bits
+     * @return uniformly distributed long
+     */
+    public long nextLong() {
+        long a = s0;
+        long b = s1;
+        long result = Long.rotateLeft(a + b, 17) + a;
+        b ^= a;
+        s0 = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+        s1 = Long.rotateLeft(b, 28);
+        return result;
+    }
+    
+    /**
+     * Returns a uniform double in {@code [0, 1)}, a multiple of {@code 2^-53}
+     * @return random number
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1p-53;
+    }
+    
+    /**
+     * Returns a uniform int in {@code [0, bound)}, without modulo bias
+     * @param bound exclusive upper bound
+     * @return random number
+     * @throws IllegalArgumentException if the bound is not positive
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+        // Lemire's multiply-shift, rejecting the few products that would favour low values
+        long product = (nextLong() >>> 32) * bound;
+        if ((product & 0xffffffffL) < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while ((product & 0xffffffffL) < threshold) {
+                product = (nextLong() >>> 32) * bound;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+    
+    /**
+     * Creates a new generator seeded from this one's output. The two sequences
+     * are statistically independent, as with {@link java.util.SplittableRandom#split}.
+     * @return new generator; this generator advances by two steps
+     */
+    public Xoroshiro128PlusPlus split() {
+        return new Xoroshiro128PlusPlus(mix64(nextLong()), mix64(nextLong()));
+    }
+    
+    /**
+     * Creates a generator that continues this sequence {@code 2^64} steps ahead,
+     * so that the two never overlap in practice, and advances this generator to
+     * the same point. Calling it {@code n} times from one root hands out {@code n}
+     * disjoint streams.
+     * @return generator at this generator's current position
+     */
+    public Xoroshiro128PlusPlus jump() {
+        Xoroshiro128PlusPlus copy = new Xoroshiro128PlusPlus(s0, s1);
+        long t0 = 0;
+        long t1 = 0;
+        for (long word : JUMP) {
+            for (int bit = 0; bit < 64; bit++) {
+                if ((word & 1L << bit) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                }
+                nextLong();
+            }
+        }
+        s0 = t0;
+        s1 = t1;
+        return copy;
+    }
+    
+    /**
+     * SplitMix64 output function: a bijective mix of all 64 bits
+     * @param z value to mix
+     * @return mixed value
+     */
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
\ No newline at end of file
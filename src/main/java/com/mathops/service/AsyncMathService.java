@@ -0,0 +1,466 @@
+package com.mathops.service;
+
+import com.mathops.operations.BasicMathOperations;
+import com.mathops.operations.MathOperation;
+import com.mathops.operations.OperationRegistry;
+import com.mathops.operations.UnaryChain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Asynchronous facade that coalesces scalar calculations submitted from many
+ * threads into batches.
+ * <p>
+ * Every operation has its own bounded {@link RequestQueue}. One dispatcher
+ * thread drains the queues in turn, up to {@code maxBatch} requests at a time,
+ * and evaluates each batch with a single call to the bulk kernels of the
+ * operations classes, e.g. {@link BasicMathOperations#divide(double[], double[], double[], int, int)}.
+ * Batches form naturally under load, from whatever arrived while the previous
+ * batch ran; after the dispatcher has been idle it lingers for up to
+ * {@code lingerNanos}, or until a full batch is waiting, so that a burst is not
+ * split into single requests. With steady traffic no request waits for the
+ * linger time.
+ * <p>
+ * Queues hold at most {@code queueCapacity} requests, which bounds how long a
+ * request can wait behind others; when a queue is full the {@link OverloadPolicy}
+ * either runs the request on the submitting thread or rejects it. Results are
+ * bit-identical to the operators of the {@link OperationRegistry}. If a bulk
+ * kernel rejects a batch, e.g. because one divisor is zero, the batch is
+ * evaluated element by element so that only the invalid requests fail.
+ * <p>
+ * Futures and callbacks complete on the dispatcher thread; dependent work of any
+ * weight should use the {@code *Async} methods of {@link CompletableFuture}.
+ * Calls are not logged or measured by {@link Instrumentation}.
+ */
+public class AsyncMathService implements AutoCloseable {
+    
+    public static final int DEFAULT_MAX_BATCH = 256;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final long DEFAULT_LINGER_NANOS = 20_000;
+    
+    private static final int RUNNING = 0;
+    private static final int IDLE = 1;
+    private static final int LINGERING = 2;
+    
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    
+    private final OperationRegistry registry;
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final int queueCapacity;
+    private final OverloadPolicy overloadPolicy;
+    private final Lane[] lanes;
+    private final Thread dispatcher;
+    
+    /** Dispatcher state, so that producers unpark it only when it is waiting */
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+    
+    /** Submissions between their closed check and their enqueue, which close must wait for */
+    private final AtomicInteger submitting = new AtomicInteger();
+    private final LongAdder overloaded = new LongAdder();
+    private volatile boolean closed;
+    private volatile long batches;
+    private volatile long requests;
+    
+    // Dispatcher scratch space
+    private final double[] batchFirst;
+    private final double[] batchSecond;
+    private final double[] batchResults;
+    private final Object[] batchTargets;
+    
+    /**
+     * Creates a service with standard trigonometry and the default limits
+     */
+    public AsyncMathService() {
+        this(OperationRegistry.standard(), DEFAULT_MAX_BATCH, DEFAULT_LINGER_NANOS, DEFAULT_QUEUE_CAPACITY,
+                OverloadPolicy.CALLER_RUNS);
+    }
+    
+    /**
+     * Creates a service and starts its dispatcher thread
+     * @param registry operations to evaluate
+     * @param maxBatch most requests evaluated by one kernel call
+     * @param lingerNanos longest wait for a batch to fill after an idle period, 0 to never wait
+     * @param queueCapacity pending requests per operation, a power of two
+     * @param overloadPolicy what to do with requests whose queue is full
+     * @throws IllegalArgumentException if a limit is out of range
+     */
+    public AsyncMathService(OperationRegistry registry, int maxBatch, long lingerNanos, int queueCapacity,
+                            OverloadPolicy overloadPolicy) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (lingerNanos < 0) {
+            throw new IllegalArgumentException("Linger time must not be negative");
+        }
+        if (queueCapacity < 1 || Integer.bitCount(queueCapacity) != 1) {
+            throw new IllegalArgumentException("Queue capacity must be a power of two");
+        }
+        this.registry = Objects.requireNonNull(registry, "registry");
+        this.maxBatch = maxBatch;
+        this.lingerNanos = lingerNanos;
+        this.queueCapacity = queueCapacity;
+        this.overloadPolicy = Objects.requireNonNull(overloadPolicy, "overloadPolicy");
+        this.batchFirst = new double[maxBatch];
+        this.batchSecond = new double[maxBatch];
+        this.batchResults = new double[maxBatch];
+        this.batchTargets = new Object[maxBatch];
+        
+        BasicMathOperations basic = new BasicMathOperations();
+        MathOperation[] operations = MathOperation.values();
+        this.lanes = new Lane[operations.length];
+        for (MathOperation operation : operations) {
+            lanes[operation.ordinal()] = createLane(operation, basic);
+        }
+        this.dispatcher = new Thread(this::dispatch, "mathops-async-" + THREAD_COUNT.incrementAndGet());
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+    
+    public OperationRegistry getRegistry() {
+        return registry;
+    }
+    
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+    
+    public long getLingerNanos() {
+        return lingerNanos;
+    }
+    
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    public OverloadPolicy getOverloadPolicy() {
+        return overloadPolicy;
+    }
+    
+    /**
+     * Submits a unary calculation
+     * @param operation operation taking one argument
+     * @param operand argument
+     * @return future of the result; completed exceptionally if the argument is invalid or the request is rejected
+     * @throws IllegalArgumentException if the operation takes two arguments
+     */
+    public CompletableFuture<Double> submit(MathOperation operation, double operand) {
+        Lane lane = lane(operation, 1);
+        CompletableFuture<Double> future = new CompletableFuture<>();
+        enqueue(lane, operand, 0, future);
+        return future;
+    }
+    
+    /**
+     * Submits a binary calculation
+     * @param operation operation taking two arguments
+     * @param a first argument
+     * @param b second argument
+     * @return future of the result; completed exceptionally if the arguments are invalid or the request is rejected
+     * @throws IllegalArgumentException if the operation takes one argument
+     */
+    public CompletableFuture<Double> submit(MathOperation operation, double a, double b) {
+        Lane lane = lane(operation, 2);
+        CompletableFuture<Double> future = new CompletableFuture<>();
+        enqueue(lane, a, b, future);
+        return future;
+    }
+    
+    /**
+     * Submits a unary calculation whose result is passed to a callback without boxing
+     * @param operation operation taking one argument
+     * @param operand argument
+     * @param callback receives the result or the failure
+     * @throws IllegalArgumentException if the operation takes two arguments
+     */
+    public void submit(MathOperation operation, double operand, ResultCallback callback) {
+        Lane lane = lane(operation, 1);
+        enqueue(lane, operand, 0, Objects.requireNonNull(callback, "callback"));
+    }
+    
+    /**
+     * Submits a binary calculation whose result is passed to a callback without boxing
+     * @param operation operation taking two arguments
+     * @param a first argument
+     * @param b second argument
+     * @param callback receives the result or the failure
+     * @throws IllegalArgumentException if the operation takes one argument
+     */
+    public void submit(MathOperation operation, double a, double b, ResultCallback callback) {
+        Lane lane = lane(operation, 2);
+        enqueue(lane, a, b, Objects.requireNonNull(callback, "callback"));
+    }
+    
+    /**
+     * Returns the number of batches evaluated so far
+     * @return batch count
+     */
+    public long getBatchCount() {
+        return batches;
+    }
+    
+    /**
+     * Returns the number of requests evaluated by the dispatcher so far; divided by
+     * {@link #getBatchCount()} it gives the average batch size
+     * @return request count
+     */
+    public long getRequestCount() {
+        return requests;
+    }
+    
+    /**
+     * Returns the number of requests that found their queue full and were run by the caller or rejected
+     * @return overload count
+     */
+    public long getOverloadCount() {
+        return overloaded.sum();
+    }
+    
+    /**
+     * Stops accepting requests, completes every request already queued and stops the dispatcher.
+     * Later submissions fail with a {@link RejectedExecutionException}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        state.set(RUNNING);
+        LockSupport.unpark(dispatcher);
+        if (Thread.currentThread() == dispatcher) {
+            return;
+        }
+        boolean interrupted = false;
+        while (dispatcher.isAlive()) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private Lane lane(MathOperation operation, int arity) {
+        if (operation.arity() != arity) {
+            throw new IllegalArgumentException(operation.operationName() + " takes " + operation.arity()
+                    + (operation.arity() == 1 ? " argument" : " arguments"));
+        }
+        return lanes[operation.ordinal()];
+    }
+    
+    private void enqueue(Lane lane, double a, double b, Object target) {
+        submitting.incrementAndGet();
+        try {
+            if (closed) {
+                fail(target, new RejectedExecutionException("Service is closed"));
+                return;
+            }
+            if (!lane.queue.offer(a, b, target)) {
+                overloaded.increment();
+                if (overloadPolicy == OverloadPolicy.REJECT) {
+                    fail(target, new RejectedExecutionException(lane.operation.operationName() + " queue is full"));
+                } else {
+                    evaluateOne(lane, a, b, target);
+                }
+                return;
+            }
+        } finally {
+            submitting.decrementAndGet();
+        }
+        int current = state.get();
+        if ((current == IDLE || current == LINGERING && lane.queue.size() >= maxBatch)
+                && state.compareAndSet(current, RUNNING)) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+    
+    private void dispatch() {
+        while (true) {
+            boolean worked = false;
+            for (Lane lane : lanes) {
+                if (lane.queue.size() > 0) {
+                    runBatch(lane);
+                    worked = true;
+                }
+            }
+            if (worked) {
+                continue;
+            }
+            if (closed) {
+                if (submitting.get() == 0 && pending() == 0) {
+                    return;
+                }
+                Thread.onSpinWait();
+                continue;
+            }
+            // Publish IDLE before the final check, so a producer either sees IDLE or its request is seen here
+            state.set(IDLE);
+            if (pending() == 0) {
+                // close may have run since the check above; it sets closed before it unparks
+                while (state.get() == IDLE && !closed) {
+                    LockSupport.park(this);
+                }
+            }
+            state.set(RUNNING);
+            if (lingerNanos > 0 && !closed) {
+                state.set(LINGERING);
+                if (!fullBatchWaiting()) {
+                    LockSupport.parkNanos(this, lingerNanos);
+                }
+                state.set(RUNNING);
+            }
+        }
+    }
+    
+    private void runBatch(Lane lane) {
+        int count = lane.queue.drain(batchFirst, batchSecond, batchTargets, maxBatch);
+        boolean batched;
+        try {
+            lane.kernel.apply(batchFirst, batchSecond, batchResults, count);
+            batched = true;
+        } catch (RuntimeException e) {
+            batched = false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (batched) {
+                complete(batchTargets[i], batchResults[i]);
+            } else {
+                evaluateOne(lane, batchFirst[i], batchSecond[i], batchTargets[i]);
+            }
+            batchTargets[i] = null;
+        }
+        batches = batches + 1;
+        requests = requests + count;
+    }
+    
+    private void evaluateOne(Lane lane, double a, double b, Object target) {
+        double result;
+        try {
+            result = lane.unary != null ? lane.unary.applyAsDouble(a) : lane.binary.applyAsDouble(a, b);
+        } catch (RuntimeException e) {
+            fail(target, e);
+            return;
+        }
+        complete(target, result);
+    }
+    
+    private int pending() {
+        int total = 0;
+        for (Lane lane : lanes) {
+            total += lane.queue.size();
+        }
+        return total;
+    }
+    
+    private boolean fullBatchWaiting() {
+        for (Lane lane : lanes) {
+            if (lane.queue.size() >= maxBatch) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void complete(Object target, double result) {
+        try {
+            if (target instanceof ResultCallback) {
+                ((ResultCallback) target).onResult(result);
+            } else {
+                ((CompletableFuture<Double>) target).complete(result);
+            }
+        } catch (RuntimeException e) {
+            logger().warn("Result callback failed", e);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void fail(Object target, Throwable error) {
+        try {
+            if (target instanceof ResultCallback) {
+                ((ResultCallback) target).onError(error);
+            } else {
+                ((CompletableFuture<Double>) target).completeExceptionally(error);
+            }
+        } catch (RuntimeException e) {
+            logger().warn("Error callback failed", e);
+        }
+    }
+    
+    private Lane createLane(MathOperation operation, BasicMathOperations basic) {
+        if (operation.arity() == 1) {
+            UnaryChain chain = registry.chain(operation);
+            return new Lane(operation, queueCapacity, (a, b, out, len) -> chain.apply(a, out, 0, len),
+                    registry.unary(operation), null);
+        }
+        DoubleBinaryOperator binary = registry.binary(operation);
+        BatchKernel kernel;
+        switch (operation) {
+            case ADD:
+                kernel = (a, b, out, len) -> basic.add(a, b, out, 0, len);
+                break;
+            case SUBTRACT:
+                kernel = (a, b, out, len) -> basic.subtract(a, b, out, 0, len);
+                break;
+            case MULTIPLY:
+                kernel = (a, b, out, len) -> basic.multiply(a, b, out, 0, len);
+                break;
+            case DIVIDE:
+                kernel = (a, b, out, len) -> basic.divide(a, b, out, 0, len);
+                break;
+            case MODULO:
+                kernel = (a, b, out, len) -> basic.modulo(a, b, out, 0, len);
+                break;
+            default:
+                kernel = (a, b, out, len) -> {
+                    for (int i = 0; i < len; i++) {
+                        out[i] = binary.applyAsDouble(a[i], b[i]);
+                    }
+                };
+        }
+        return new Lane(operation, queueCapacity, kernel, null, binary);
+    }
+    
+    private static Logger logger() {
+        return LoggerHolder.LOGGER;
+    }
+    
+    /** Evaluates {@code len} requests from the dispatcher's scratch arrays */
+    @FunctionalInterface
+    private interface BatchKernel {
+        void apply(double[] a, double[] b, double[] out, int len);
+    }
+    
+    private static final class Lane {
+        
+        final MathOperation operation;
+        final RequestQueue queue;
+        final BatchKernel kernel;
+        final DoubleUnaryOperator unary;
+        final DoubleBinaryOperator binary;
+        
+        Lane(MathOperation operation, int capacity, BatchKernel kernel, DoubleUnaryOperator unary,
+             DoubleBinaryOperator binary) {
+            this.operation = operation;
+            this.queue = new RequestQueue(capacity);
+            this.kernel = kernel;
+            this.unary = unary;
+            this.binary = binary;
+        }
+    }
+    
+    private static final class LoggerHolder {
+        
+        static final Logger LOGGER = LoggerFactory.getLogger(AsyncMathService.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.mathops.service;
+
+import com.mathops.operations.MathOperation;
+
+/**
+ * Immutable point-in-time hit/miss statistics of one operation's result cache
+ */
+public final class CacheStats {
+    
+    private final MathOperation operation;
+    private final int capacity;
+    private final long hits;
+    private final long misses;
+    
+    CacheStats(MathOperation operation, int capacity, long hits, long misses) {
+        this.operation = operation;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+    }
+    
+    public MathOperation getOperation() {
+        return operation;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    /** Fraction of lookups answered from the cache, 0 if there were none */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s: capacity=%d hits=%d misses=%d hitRate=%.3f",
+                operation.operationName(), capacity, hits, misses, getHitRate());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.mathops.service;
+
+import com.mathops.operations.MathOperation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Math service that memoizes the results of expensive operations.
+ * <p>
+ * Each cached operation gets its own bounded {@link ResultCache}, keyed by the
+ * raw bits of its arguments so that lookups neither box nor allocate. Misses
+ * are computed through {@link MathService}, so logging and metrics still apply
+ * to the calls that are actually evaluated. Failed calls are never cached.
+ */
+public class CachingMathService extends MathService {
+    
+    /** Operations whose results can be cached */
+    public static final Set<MathOperation> CACHEABLE_OPERATIONS = Collections.unmodifiableSet(EnumSet.of(
+            MathOperation.POWER, MathOperation.NATURAL_LOG, MathOperation.LOG10,
+            MathOperation.SIN, MathOperation.COS, MathOperation.TAN, MathOperation.FACTORIAL));
+    
+    public static final int DEFAULT_CAPACITY = 4096;
+    
+    private final ResultCache powerCache;
+    private final ResultCache naturalLogCache;
+    private final ResultCache log10Cache;
+    private final ResultCache sinCache;
+    private final ResultCache cosCache;
+    private final ResultCache tanCache;
+    private final ResultCache factorialCache;
+    
+    private final ResultCache.Loader powerLoader = (base, exponent) -> Double.doubleToRawLongBits(
+            super.power(Double.longBitsToDouble(base), Double.longBitsToDouble(exponent)));
+    private final ResultCache.Loader naturalLogLoader = (number, unused) -> Double.doubleToRawLongBits(
+            super.naturalLog(Double.longBitsToDouble(number)));
+    private final ResultCache.Loader log10Loader = (number, unused) -> Double.doubleToRawLongBits(
+            super.log10(Double.longBitsToDouble(number)));
+    private final ResultCache.Loader sinLoader = (angle, unused) -> Double.doubleToRawLongBits(
+            super.sin(Double.longBitsToDouble(angle)));
+    private final ResultCache.Loader cosLoader = (angle, unused) -> Double.doubleToRawLongBits(
+            super.cos(Double.longBitsToDouble(angle)));
+    private final ResultCache.Loader tanLoader = (angle, unused) -> Double.doubleToRawLongBits(
+            super.tan(Double.longBitsToDouble(angle)));
+    private final ResultCache.Loader factorialLoader = (n, unused) -> super.factorial((int) n);
+    
+    /**
+     * Creates a service caching every cacheable operation with the default capacity
+     */
+    public CachingMathService() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Creates a service caching every cacheable operation
+     * @param capacity entries per operation cache
+     */
+    public CachingMathService(int capacity) {
+        this(Instrumentation.fromSystemProperties(), uniformCapacities(capacity));
+    }
+    
+    /**
+     * Creates a service caching only the given operations
+     * @param instrumentation logging and metrics settings
+     * @param capacities entries per operation cache; operations not in the map are not cached
+     * @throws IllegalArgumentException if an operation cannot be cached or a capacity is not positive
+     */
+    public CachingMathService(Instrumentation instrumentation, Map<MathOperation, Integer> capacities) {
+        super(instrumentation);
+        for (MathOperation operation : capacities.keySet()) {
+            if (!CACHEABLE_OPERATIONS.contains(operation)) {
+                throw new IllegalArgumentException("Operation cannot be cached: " + operation.operationName());
+            }
+        }
+        this.powerCache = createCache(capacities, MathOperation.POWER);
+        this.naturalLogCache = createCache(capacities, MathOperation.NATURAL_LOG);
+        this.log10Cache = createCache(capacities, MathOperation.LOG10);
+        this.sinCache = createCache(capacities, MathOperation.SIN);
+        this.cosCache = createCache(capacities, MathOperation.COS);
+        this.tanCache = createCache(capacities, MathOperation.TAN);
+        this.factorialCache = createCache(capacities, MathOperation.FACTORIAL);
+    }
+    
+    @Override
+    public double power(double base, double exponent) {
+        if (powerCache == null) {
+            return super.power(base, exponent);
+        }
+        return Double.longBitsToDouble(powerCache.get(
+                Double.doubleToRawLongBits(base), Double.doubleToRawLongBits(exponent), powerLoader));
+    }
+    
+    @Override
+    public double naturalLog(double number) {
+        if (naturalLogCache == null) {
+            return super.naturalLog(number);
+        }
+        return Double.longBitsToDouble(naturalLogCache.get(Double.doubleToRawLongBits(number), 0, naturalLogLoader));
+    }
+    
+    @Override
+    public double log10(double number) {
+        if (log10Cache == null) {
+            return super.log10(number);
+        }
+        return Double.longBitsToDouble(log10Cache.get(Double.doubleToRawLongBits(number), 0, log10Loader));
+    }
+    
+    @Override
+    public double sin(double angleInRadians) {
+        if (sinCache == null) {
+            return super.sin(angleInRadians);
+        }
+        return Double.longBitsToDouble(sinCache.get(Double.doubleToRawLongBits(angleInRadians), 0, sinLoader));
+    }
+    
+    @Override
+    public double cos(double angleInRadians) {
+        if (cosCache == null) {
+            return super.cos(angleInRadians);
+        }
+        return Double.longBitsToDouble(cosCache.get(Double.doubleToRawLongBits(angleInRadians), 0, cosLoader));
+    }
+    
+    @Override
+    public double tan(double angleInRadians) {
+        if (tanCache == null) {
+            return super.tan(angleInRadians);
+        }
+        return Double.longBitsToDouble(tanCache.get(Double.doubleToRawLongBits(angleInRadians), 0, tanLoader));
+    }
+    
+    @Override
+    public long factorial(int n) {
+        if (factorialCache == null) {
+            return super.factorial(n);
+        }
+        return factorialCache.get(n, 0, factorialLoader);
+    }
+    
+    /**
+     * Returns hit/miss statistics of one operation's cache
+     * @param operation cached operation
+     * @return statistics, or null if the operation is not cached
+     */
+    public CacheStats cacheStats(MathOperation operation) {
+        ResultCache cache = cacheFor(operation);
+        return cache == null ? null : new CacheStats(operation, cache.capacity(), cache.hits(), cache.misses());
+    }
+    
+    /**
+     * Returns hit/miss statistics of every cached operation
+     * @return statistics keyed by operation
+     */
+    public Map<MathOperation, CacheStats> cacheStats() {
+        Map<MathOperation, CacheStats> result = new EnumMap<>(MathOperation.class);
+        for (MathOperation operation : CACHEABLE_OPERATIONS) {
+            CacheStats stats = cacheStats(operation);
+            if (stats != null) {
+                result.put(operation, stats);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+    
+    private ResultCache cacheFor(MathOperation operation) {
+        switch (operation) {
+            case POWER: return powerCache;
+            case NATURAL_LOG: return naturalLogCache;
+            case LOG10: return log10Cache;
+            case SIN: return sinCache;
+            case COS: return cosCache;
+            case TAN: return tanCache;
+            case FACTORIAL: return factorialCache;
+            default: return null;
+        }
+    }
+    
+    private static ResultCache createCache(Map<MathOperation, Integer> capacities, MathOperation operation) {
+        Integer capacity = capacities.get(operation);
+        return capacity == null ? null : new ResultCache(capacity);
+    }
+    
+    private static Map<MathOperation, Integer> uniformCapacities(int capacity) {
+        Map<MathOperation, Integer> capacities = new EnumMap<>(MathOperation.class);
+        for (MathOperation operation : CACHEABLE_OPERATIONS) {
+            capacities.put(operation, capacity);
+        }
+        return capacities;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.mathops.service;
+
+import com.mathops.operations.MathOperation;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logging and metrics settings for {@link MathService}.
+ * <p>
+ * When logging is {@link LoggingMode#OFF} and metrics are disabled, every hook
+ * is a single predictable branch and nothing is allocated or boxed. The
+ * defaults can be overridden with system properties:
+ * <ul>
+ *     <li>{@code mathops.log.mode} - {@code off} (default), {@code sampled} or {@code all}</li>
+ *     <li>{@code mathops.log.sample-rate} - log one call in N when sampled (default 1000)</li>
+ *     <li>{@code mathops.metrics.enabled} - {@code true} to collect counters and latencies</li>
+ * </ul>
+ * Metrics are kept per {@link MathOperation}: scalar {@code double} calls and
+ * the bulk {@code double[]} forms of the same operations, one sample per batch
+ * ({@code sinCos} counts as {@code sin}). Calls without a {@code MathOperation}
+ * are logged but not measured: reductions, exact-integer, complex, interval,
+ * {@code BigDecimal} and special-function calls, and {@code bigFactorial}.
+ */
+public final class Instrumentation {
+    
+    public static final String LOG_MODE_PROPERTY = "mathops.log.mode";
+    public static final String SAMPLE_RATE_PROPERTY = "mathops.log.sample-rate";
+    public static final String METRICS_PROPERTY = "mathops.metrics.enabled";
+    
+    private static final int DEFAULT_SAMPLE_RATE = 1000;
+    
+    private final LoggingMode loggingMode;
+    private final int sampleRate;
+    private final OperationMetrics metrics;
+    
+    /**
+     * Creates instrumentation settings
+     * @param loggingMode how often calls are logged
+     * @param sampleRate log one call in this many when sampling
+     * @param metricsEnabled whether counters and latency histograms are collected
+     * @throws IllegalArgumentException if sampleRate is not positive
+     */
+    public Instrumentation(LoggingMode loggingMode, int sampleRate, boolean metricsEnabled) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("Sample rate must be positive");
+        }
+        this.loggingMode = loggingMode;
+        this.sampleRate = sampleRate;
+        this.metrics = metricsEnabled ? new OperationMetrics() : null;
+    }
+    
+    /**
+     * Returns settings with logging and metrics switched off
+     * @return disabled instrumentation
+     */
+    public static Instrumentation disabled() {
+        return new Instrumentation(LoggingMode.OFF, DEFAULT_SAMPLE_RATE, false);
+    }
+    
+    /**
+     * Reads settings from the {@code mathops.*} system properties
+     * @return configured instrumentation
+     */
+    public static Instrumentation fromSystemProperties() {
+        LoggingMode mode = LoggingMode.valueOf(
+                System.getProperty(LOG_MODE_PROPERTY, "off").trim().toUpperCase(Locale.ROOT));
+        int sampleRate = Integer.getInteger(SAMPLE_RATE_PROPERTY, DEFAULT_SAMPLE_RATE);
+        boolean metricsEnabled = Boolean.getBoolean(METRICS_PROPERTY);
+        return new Instrumentation(mode, sampleRate, metricsEnabled);
+    }
+    
+    /**
+     * Decides whether the current call should be logged
+     * @return true if the caller should emit its log statement
+     */
+    public boolean shouldLog() {
+        switch (loggingMode) {
+            case OFF:
+                return false;
+            case ALL:
+                return true;
+            default:
+                return ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+        }
+    }
+    
+    /**
+     * Marks the start of a timed call
+     * @return start timestamp, or 0 when metrics are disabled
+     */
+    public long start() {
+        return metrics == null ? 0 : System.nanoTime();
+    }
+    
+    /**
+     * Records the end of a call started with {@link #start()}
+     * @param operation operation that completed
+     * @param start value returned by {@link #start()}
+     */
+    public void record(MathOperation operation, long start) {
+        if (metrics != null) {
+            metrics.record(operation, System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Records the end of a bulk call started with {@link #start()}
+     * @param operation operation applied to every element
+     * @param start value returned by {@link #start()}
+     * @param elements number of elements in the batch
+     */
+    public void recordBatch(MathOperation operation, long start, int elements) {
+        if (metrics != null) {
+            metrics.recordBatch(operation, elements, System.nanoTime() - start);
+        }
+    }
+    
+    public LoggingMode getLoggingMode() {
+        return loggingMode;
+    }
+    
+    public int getSampleRate() {
+        return sampleRate;
+    }
+    
+    public boolean isMetricsEnabled() {
+        return metrics != null;
+    }
+    
+    /**
+     * Returns the collected metrics
+     * @return metrics, or null when metrics are disabled
+     */
+    public OperationMetrics getMetrics() {
+        return metrics;
+    }
+}
\ No newline at end of file
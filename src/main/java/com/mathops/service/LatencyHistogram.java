@@ -0,0 +1,116 @@
+package com.mathops.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of latencies in nanoseconds.
+ * <p>
+ * Values below 16 get one bucket each; larger values are grouped by power of
+ * two with 8 linear sub-buckets, which bounds the relative bucket width to
+ * 12.5%. Counts are striped over several arrays indexed by thread id so that
+ * concurrent writers rarely touch the same cache line.
+ */
+class LatencyHistogram {
+    
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = LINEAR_BUCKETS + (63 - 4) * SUB_BUCKETS;
+    private static final int MAX_STRIPES = 8;
+    
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    
+    LatencyHistogram() {
+        int stripeCount = Integer.highestOneBit(Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors()));
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+    
+    /**
+     * Records one latency value
+     * @param nanos latency in nanoseconds, negative values count as zero
+     */
+    void record(long nanos) {
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        stripes[stripe].getAndIncrement(bucketIndex(Math.max(0, nanos)));
+    }
+    
+    /**
+     * Sums all stripes into a single array of bucket counts
+     * @return bucket counts, indexed like {@link #bucketIndex(long)}
+     */
+    long[] counts() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return counts;
+    }
+    
+    /**
+     * Clears all buckets
+     */
+    void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                stripe.set(i, 0);
+            }
+        }
+    }
+    
+    /**
+     * Returns the bucket a value falls into
+     * @param value non-negative value
+     * @return bucket index
+     */
+    static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + subBucket;
+    }
+    
+    /**
+     * Returns the smallest value that falls into a bucket
+     * @param index bucket index
+     * @return lower bound of the bucket
+     */
+    static long bucketLowerBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+        int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return (1L << exponent) + ((long) subBucket << (exponent - SUB_BUCKET_BITS));
+    }
+    
+    /**
+     * Estimates a percentile from bucket counts
+     * @param counts bucket counts as returned by {@link #counts()}
+     * @param total sum of all counts
+     * @param percentile percentile between 0 and 100
+     * @return lower bound of the bucket holding the percentile, or 0 if empty
+     */
+    static long percentile(long[] counts, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketLowerBound(i);
+            }
+        }
+        return bucketLowerBound(counts.length - 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.mathops.service;
+
+/**
+ * Controls how often {@link MathService} logs individual calculations
+ */
+public enum LoggingMode {
+    
+    /** No per-call logging */
+    OFF,
+    
+    /** Logs roughly one call in every sample-rate calls */
+    SAMPLED,
+    
+    /** Logs every call */
+    ALL
+}
\ No newline at end of file
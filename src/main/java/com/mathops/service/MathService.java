@@ -1,128 +1,1178 @@
 package com.mathops.service;
 
 import com.mathops.operations.BasicMathOperations;
+import com.mathops.operations.BigDecimalMathOperations;
 import com.mathops.operations.AdvancedMathOperations;
+import com.mathops.operations.Complex;
+import com.mathops.operations.ComplexMathOperations;
+import com.mathops.operations.Interval;
+import com.mathops.operations.IntervalMathOperations;
+import com.mathops.operations.MathOperation;
+import com.mathops.operations.SpecialFunctions;
+import com.mathops.operations.SummationAlgorithm;
 import com.mathops.operations.TrigonometricOperations;
+import com.mathops.operations.TrigonometricPrecision;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * Math service that provides all mathematical operations
  */
 public class MathService {
     
-    private static final Logger logger = LoggerFactory.getLogger(MathService.class);
+    /** Exact factorials from this size on are multiplied on the common ForkJoin pool */
+    private static final int PARALLEL_FACTORIAL_THRESHOLD = 20_000;
     
     private final BasicMathOperations basicOps;
     private final AdvancedMathOperations advancedOps;
     private final TrigonometricOperations trigOps;
+    private final ComplexMathOperations complexOps;
+    private final SpecialFunctions specialFunctions;
+    private final BigDecimalMathOperations bigDecimalOps;
+    private final IntervalMathOperations intervalOps;
+    private final Instrumentation instrumentation;
+    private final Map<MathOperation, DoubleUnaryOperator> unaryOperators = new EnumMap<>(MathOperation.class);
+    private final Map<MathOperation, DoubleBinaryOperator> binaryOperators = new EnumMap<>(MathOperation.class);
     
     public MathService() {
+        this(Instrumentation.fromSystemProperties());
+    }
+    
+    public MathService(Instrumentation instrumentation) {
+        this(instrumentation, TrigonometricPrecision.STANDARD);
+    }
+    
+    public MathService(Instrumentation instrumentation, TrigonometricPrecision trigPrecision) {
+        this(instrumentation, trigPrecision, MathContext.DECIMAL128);
+    }
+    
+    /**
+     * Creates a service
+     * @param instrumentation logging and metrics settings
+     * @param trigPrecision precision of the trigonometric operations
+     * @param mathContext precision and rounding of the {@link BigDecimal} operations
+     * @throws IllegalArgumentException if the context's precision is unlimited
+     */
+    public MathService(Instrumentation instrumentation, TrigonometricPrecision trigPrecision, MathContext mathContext) {
         this.basicOps = new BasicMathOperations();
         this.advancedOps = new AdvancedMathOperations();
-        this.trigOps = new TrigonometricOperations();
+        this.trigOps = new TrigonometricOperations(trigPrecision);
+        this.complexOps = new ComplexMathOperations();
+        this.specialFunctions = new SpecialFunctions();
+        this.bigDecimalOps = new BigDecimalMathOperations(mathContext);
+        this.intervalOps = new IntervalMathOperations();
+        this.instrumentation = instrumentation;
+        
+        binaryOperators.put(MathOperation.ADD, this::add);
+        binaryOperators.put(MathOperation.SUBTRACT, this::subtract);
+        binaryOperators.put(MathOperation.MULTIPLY, this::multiply);
+        binaryOperators.put(MathOperation.DIVIDE, this::divide);
+        binaryOperators.put(MathOperation.MODULO, this::modulo);
+        binaryOperators.put(MathOperation.POWER, this::power);
+        unaryOperators.put(MathOperation.SQUARE_ROOT, this::squareRoot);
+        unaryOperators.put(MathOperation.CUBE_ROOT, this::cubeRoot);
+        unaryOperators.put(MathOperation.ABSOLUTE, this::absolute);
+        unaryOperators.put(MathOperation.FACTORIAL, n -> factorial(toFactorialArgument(n)));
+        unaryOperators.put(MathOperation.NATURAL_LOG, this::naturalLog);
+        unaryOperators.put(MathOperation.LOG10, this::log10);
+        unaryOperators.put(MathOperation.SIN, this::sin);
+        unaryOperators.put(MathOperation.COS, this::cos);
+        unaryOperators.put(MathOperation.TAN, this::tan);
+        unaryOperators.put(MathOperation.ASIN, this::asin);
+        unaryOperators.put(MathOperation.ACOS, this::acos);
+        unaryOperators.put(MathOperation.ATAN, this::atan);
+        unaryOperators.put(MathOperation.DEGREES_TO_RADIANS, this::degreesToRadians);
+        unaryOperators.put(MathOperation.RADIANS_TO_DEGREES, this::radiansToDegrees);
+    }
+    
+    public Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+    
+    public MathContext getMathContext() {
+        return bigDecimalOps.getMathContext();
+    }
+    
+    /**
+     * Returns a unary operation of this service as an operator. Calls go through
+     * the service, so they are logged and measured like direct calls, and
+     * subclasses such as {@link CachingMathService} apply.
+     * @param operation operation taking one argument
+     * @return operator; {@code factorial} accepts only integral arguments up to 20
+     * @throws IllegalArgumentException if the operation takes two arguments
+     */
+    public DoubleUnaryOperator unaryOperator(MathOperation operation) {
+        DoubleUnaryOperator operator = unaryOperators.get(operation);
+        if (operator == null) {
+            throw new IllegalArgumentException(operation.operationName() + " takes 2 arguments");
+        }
+        return operator;
+    }
+    
+    /**
+     * Returns a binary operation of this service as an operator
+     * @param operation operation taking two arguments
+     * @return operator
+     * @throws IllegalArgumentException if the operation takes one argument
+     */
+    public DoubleBinaryOperator binaryOperator(MathOperation operation) {
+        DoubleBinaryOperator operator = binaryOperators.get(operation);
+        if (operator == null) {
+            throw new IllegalArgumentException(operation.operationName() + " takes 1 argument");
+        }
+        return operator;
+    }
+    
+    /**
+     * Converts a factorial argument given as a double to an int
+     * @param n argument
+     * @return n as an int
+     * @throws IllegalArgumentException if n is not an integer in int range
+     */
+    public static int toFactorialArgument(double n) {
+        if (n != (int) n) {
+            throw new IllegalArgumentException("Factorial is defined only for integers");
+        }
+        return (int) n;
     }
     
     // Basic Operations
     public double add(double a, double b) {
-        logger.info("Adding {} and {}", a, b);
-        return basicOps.add(a, b);
+        if (instrumentation.shouldLog()) {
+            logger().info("Adding {} and {}", a, b);
+        }
+        long start = instrumentation.start();
+        double result = basicOps.add(a, b);
+        instrumentation.record(MathOperation.ADD, start);
+        return result;
     }
     
     public double subtract(double a, double b) {
-        logger.info("Subtracting {} from {}", b, a);
-        return basicOps.subtract(a, b);
+        if (instrumentation.shouldLog()) {
+            logger().info("Subtracting {} from {}", b, a);
+        }
+        long start = instrumentation.start();
+        double result = basicOps.subtract(a, b);
+        instrumentation.record(MathOperation.SUBTRACT, start);
+        return result;
     }
     
     public double multiply(double a, double b) {
-        logger.info("Multiplying {} and {}", a, b);
-        return basicOps.multiply(a, b);
+        if (instrumentation.shouldLog()) {
+            logger().info("Multiplying {} and {}", a, b);
+        }
+        long start = instrumentation.start();
+        double result = basicOps.multiply(a, b);
+        instrumentation.record(MathOperation.MULTIPLY, start);
+        return result;
     }
     
     public double divide(double a, double b) {
-        logger.info("Dividing {} by {}", a, b);
-        return basicOps.divide(a, b);
+        if (instrumentation.shouldLog()) {
+            logger().info("Dividing {} by {}", a, b);
+        }
+        long start = instrumentation.start();
+        double result = basicOps.divide(a, b);
+        instrumentation.record(MathOperation.DIVIDE, start);
+        return result;
     }
     
     public double modulo(double a, double b) {
-        logger.info("Calculating modulo of {} and {}", a, b);
-        return basicOps.modulo(a, b);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating modulo of {} and {}", a, b);
+        }
+        long start = instrumentation.start();
+        double result = basicOps.modulo(a, b);
+        instrumentation.record(MathOperation.MODULO, start);
+        return result;
     }
     
     // Advanced Operations
     public double power(double base, double exponent) {
-        logger.info("Calculating {} to the power of {}", base, exponent);
-        return advancedOps.power(base, exponent);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating {} to the power of {}", base, exponent);
+        }
+        long start = instrumentation.start();
+        double result = advancedOps.power(base, exponent);
+        instrumentation.record(MathOperation.POWER, start);
+        return result;
     }
     
     public double squareRoot(double number) {
-        logger.info("Calculating square root of {}", number);
-        return advancedOps.squareRoot(number);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating square root of {}", number);
+        }
+        long start = instrumentation.start();
+        double result = advancedOps.squareRoot(number);
+        instrumentation.record(MathOperation.SQUARE_ROOT, start);
+        return result;
     }
     
     public double cubeRoot(double number) {
-        logger.info("Calculating cube root of {}", number);
-        return advancedOps.cubeRoot(number);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating cube root of {}", number);
+        }
+        long start = instrumentation.start();
+        double result = advancedOps.cubeRoot(number);
+        instrumentation.record(MathOperation.CUBE_ROOT, start);
+        return result;
     }
     
     public double absolute(double number) {
-        logger.info("Calculating absolute value of {}", number);
-        return advancedOps.absolute(number);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating absolute value of {}", number);
+        }
+        long start = instrumentation.start();
+        double result = advancedOps.absolute(number);
+        instrumentation.record(MathOperation.ABSOLUTE, start);
+        return result;
     }
     
     public long factorial(int n) {
-        logger.info("Calculating factorial of {}", n);
-        return advancedOps.factorial(n);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating factorial of {}", n);
+        }
+        long start = instrumentation.start();
+        long result = advancedOps.factorial(n);
+        instrumentation.record(MathOperation.FACTORIAL, start);
+        return result;
+    }
+    
+    public BigInteger bigFactorial(int n) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating exact factorial of {}", n);
+        }
+        return advancedOps.bigFactorial(n, n >= PARALLEL_FACTORIAL_THRESHOLD);
     }
     
     public double naturalLog(double number) {
-        logger.info("Calculating natural logarithm of {}", number);
-        return advancedOps.naturalLog(number);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating natural logarithm of {}", number);
+        }
+        long start = instrumentation.start();
+        double result = advancedOps.naturalLog(number);
+        instrumentation.record(MathOperation.NATURAL_LOG, start);
+        return result;
     }
     
     public double log10(double number) {
-        logger.info("Calculating logarithm base 10 of {}", number);
-        return advancedOps.log10(number);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating logarithm base 10 of {}", number);
+        }
+        long start = instrumentation.start();
+        double result = advancedOps.log10(number);
+        instrumentation.record(MathOperation.LOG10, start);
+        return result;
     }
     
     // Trigonometric Operations
     public double sin(double angleInRadians) {
-        logger.info("Calculating sine of {} radians", angleInRadians);
-        return trigOps.sin(angleInRadians);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating sine of {} radians", angleInRadians);
+        }
+        long start = instrumentation.start();
+        double result = trigOps.sin(angleInRadians);
+        instrumentation.record(MathOperation.SIN, start);
+        return result;
     }
     
     public double cos(double angleInRadians) {
-        logger.info("Calculating cosine of {} radians", angleInRadians);
-        return trigOps.cos(angleInRadians);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating cosine of {} radians", angleInRadians);
+        }
+        long start = instrumentation.start();
+        double result = trigOps.cos(angleInRadians);
+        instrumentation.record(MathOperation.COS, start);
+        return result;
     }
     
     public double tan(double angleInRadians) {
-        logger.info("Calculating tangent of {} radians", angleInRadians);
-        return trigOps.tan(angleInRadians);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating tangent of {} radians", angleInRadians);
+        }
+        long start = instrumentation.start();
+        double result = trigOps.tan(angleInRadians);
+        instrumentation.record(MathOperation.TAN, start);
+        return result;
     }
     
     public double asin(double value) {
-        logger.info("Calculating arc sine of {}", value);
-        return trigOps.asin(value);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc sine of {}", value);
+        }
+        long start = instrumentation.start();
+        double result = trigOps.asin(value);
+        instrumentation.record(MathOperation.ASIN, start);
+        return result;
     }
     
     public double acos(double value) {
-        logger.info("Calculating arc cosine of {}", value);
-        return trigOps.acos(value);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc cosine of {}", value);
+        }
+        long start = instrumentation.start();
+        double result = trigOps.acos(value);
+        instrumentation.record(MathOperation.ACOS, start);
+        return result;
     }
     
     public double atan(double value) {
-        logger.info("Calculating arc tangent of {}", value);
-        return trigOps.atan(value);
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc tangent of {}", value);
+        }
+        long start = instrumentation.start();
+        double result = trigOps.atan(value);
+        instrumentation.record(MathOperation.ATAN, start);
+        return result;
     }
     
     public double degreesToRadians(double degrees) {
-        logger.info("Converting {} degrees to radians", degrees);
-        return trigOps.degreesToRadians(degrees);
+        if (instrumentation.shouldLog()) {
+            logger().info("Converting {} degrees to radians", degrees);
+        }
+        long start = instrumentation.start();
+        double result = trigOps.degreesToRadians(degrees);
+        instrumentation.record(MathOperation.DEGREES_TO_RADIANS, start);
+        return result;
     }
     
     public double radiansToDegrees(double radians) {
-        logger.info("Converting {} radians to degrees", radians);
-        return trigOps.radiansToDegrees(radians);
+        if (instrumentation.shouldLog()) {
+            logger().info("Converting {} radians to degrees", radians);
+        }
+        long start = instrumentation.start();
+        double result = trigOps.radiansToDegrees(radians);
+        instrumentation.record(MathOperation.RADIANS_TO_DEGREES, start);
+        return result;
+    }
+    
+    // Bulk Operations
+    public void add(double[] a, double[] b, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Adding {} element pairs", a.length);
+        }
+        long start = instrumentation.start();
+        basicOps.add(a, b, out);
+        instrumentation.recordBatch(MathOperation.ADD, start, a.length);
+    }
+    
+    public void subtract(double[] a, double[] b, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Subtracting {} element pairs", a.length);
+        }
+        long start = instrumentation.start();
+        basicOps.subtract(a, b, out);
+        instrumentation.recordBatch(MathOperation.SUBTRACT, start, a.length);
+    }
+    
+    public void multiply(double[] a, double[] b, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Multiplying {} element pairs", a.length);
+        }
+        long start = instrumentation.start();
+        basicOps.multiply(a, b, out);
+        instrumentation.recordBatch(MathOperation.MULTIPLY, start, a.length);
+    }
+    
+    public void divide(double[] a, double[] b, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Dividing {} element pairs", a.length);
+        }
+        long start = instrumentation.start();
+        basicOps.divide(a, b, out);
+        instrumentation.recordBatch(MathOperation.DIVIDE, start, a.length);
+    }
+    
+    public void modulo(double[] a, double[] b, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating modulo of {} element pairs", a.length);
+        }
+        long start = instrumentation.start();
+        basicOps.modulo(a, b, out);
+        instrumentation.recordBatch(MathOperation.MODULO, start, a.length);
+    }
+    
+    public void power(double[] base, double exponent, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Raising {} elements to the power of {}", base.length, exponent);
+        }
+        long start = instrumentation.start();
+        advancedOps.power(base, exponent, out);
+        instrumentation.recordBatch(MathOperation.POWER, start, base.length);
+    }
+    
+    public void squareRoot(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating square roots of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        advancedOps.squareRoot(in, out);
+        instrumentation.recordBatch(MathOperation.SQUARE_ROOT, start, in.length);
+    }
+    
+    public void cubeRoot(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating cube roots of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        advancedOps.cubeRoot(in, out);
+        instrumentation.recordBatch(MathOperation.CUBE_ROOT, start, in.length);
+    }
+    
+    public void absolute(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating absolute values of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        advancedOps.absolute(in, out);
+        instrumentation.recordBatch(MathOperation.ABSOLUTE, start, in.length);
+    }
+    
+    public void naturalLog(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating natural logarithms of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        advancedOps.naturalLog(in, out);
+        instrumentation.recordBatch(MathOperation.NATURAL_LOG, start, in.length);
+    }
+    
+    public void log10(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating logarithms base 10 of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        advancedOps.log10(in, out);
+        instrumentation.recordBatch(MathOperation.LOG10, start, in.length);
+    }
+    
+    public void sin(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating sines of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        trigOps.sin(in, out);
+        instrumentation.recordBatch(MathOperation.SIN, start, in.length);
+    }
+    
+    public void cos(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating cosines of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        trigOps.cos(in, out);
+        instrumentation.recordBatch(MathOperation.COS, start, in.length);
+    }
+    
+    public void tan(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating tangents of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        trigOps.tan(in, out);
+        instrumentation.recordBatch(MathOperation.TAN, start, in.length);
+    }
+    
+    public void sinCos(double[] in, double[] sinOut, double[] cosOut) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating sines and cosines of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        trigOps.sinCos(in, sinOut, cosOut);
+        instrumentation.recordBatch(MathOperation.SIN, start, in.length);
+    }
+    
+    public void asin(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc sines of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        trigOps.asin(in, out);
+        instrumentation.recordBatch(MathOperation.ASIN, start, in.length);
+    }
+    
+    public void acos(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc cosines of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        trigOps.acos(in, out);
+        instrumentation.recordBatch(MathOperation.ACOS, start, in.length);
+    }
+    
+    public void atan(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc tangents of {} elements", in.length);
+        }
+        long start = instrumentation.start();
+        trigOps.atan(in, out);
+        instrumentation.recordBatch(MathOperation.ATAN, start, in.length);
+    }
+    
+    public void degreesToRadians(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Converting {} elements from degrees to radians", in.length);
+        }
+        long start = instrumentation.start();
+        trigOps.degreesToRadians(in, out);
+        instrumentation.recordBatch(MathOperation.DEGREES_TO_RADIANS, start, in.length);
+    }
+    
+    public void radiansToDegrees(double[] in, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Converting {} elements from radians to degrees", in.length);
+        }
+        long start = instrumentation.start();
+        trigOps.radiansToDegrees(in, out);
+        instrumentation.recordBatch(MathOperation.RADIANS_TO_DEGREES, start, in.length);
+    }
+    
+    // Reductions
+    public double sum(double[] values, SummationAlgorithm algorithm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Summing {} elements ({})", values.length, algorithm);
+        }
+        return basicOps.sum(values, algorithm);
+    }
+    
+    public double dot(double[] a, double[] b, SummationAlgorithm algorithm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating dot product of {} element pairs ({})", a.length, algorithm);
+        }
+        return basicOps.dot(a, b, algorithm);
+    }
+    
+    public double sumOfSquares(double[] values, SummationAlgorithm algorithm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Summing squares of {} elements ({})", values.length, algorithm);
+        }
+        return basicOps.sumOfSquares(values, algorithm);
+    }
+    
+    // Exact Integer Operations
+    public long addExact(long a, long b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Adding {} and {} exactly", a, b);
+        }
+        return basicOps.addExact(a, b);
+    }
+    
+    public long subtractExact(long a, long b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Subtracting {} from {} exactly", b, a);
+        }
+        return basicOps.subtractExact(a, b);
+    }
+    
+    public long multiplyExact(long a, long b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Multiplying {} and {} exactly", a, b);
+        }
+        return basicOps.multiplyExact(a, b);
+    }
+    
+    public long floorDivide(long a, long b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Floor dividing {} by {}", a, b);
+        }
+        return basicOps.floorDivide(a, b);
+    }
+    
+    public long floorModulo(long a, long b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating {} floor modulo {}", a, b);
+        }
+        return basicOps.floorModulo(a, b);
+    }
+    
+    public long saturatedAdd(long a, long b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Adding {} and {} with saturation", a, b);
+        }
+        return basicOps.saturatedAdd(a, b);
+    }
+    
+    public long saturatedSubtract(long a, long b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Subtracting {} from {} with saturation", b, a);
+        }
+        return basicOps.saturatedSubtract(a, b);
+    }
+    
+    public long saturatedMultiply(long a, long b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Multiplying {} and {} with saturation", a, b);
+        }
+        return basicOps.saturatedMultiply(a, b);
+    }
+    
+    // Exact Integer Bulk Operations
+    public void addExact(long[] a, long[] b, long[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Adding {} long pairs exactly", a.length);
+        }
+        basicOps.addExact(a, b, out);
+    }
+    
+    public void subtractExact(long[] a, long[] b, long[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Subtracting {} long pairs exactly", a.length);
+        }
+        basicOps.subtractExact(a, b, out);
+    }
+    
+    public void multiplyExact(long[] a, long[] b, long[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Multiplying {} long pairs exactly", a.length);
+        }
+        basicOps.multiplyExact(a, b, out);
+    }
+    
+    public void floorDivide(long[] a, long[] b, long[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Floor dividing {} long pairs", a.length);
+        }
+        basicOps.floorDivide(a, b, out);
+    }
+    
+    public void floorModulo(long[] a, long[] b, long[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating floor modulo of {} long pairs", a.length);
+        }
+        basicOps.floorModulo(a, b, out);
+    }
+    
+    public void saturatedAdd(long[] a, long[] b, long[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Adding {} long pairs with saturation", a.length);
+        }
+        basicOps.saturatedAdd(a, b, out);
+    }
+    
+    public void saturatedSubtract(long[] a, long[] b, long[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Subtracting {} long pairs with saturation", a.length);
+        }
+        basicOps.saturatedSubtract(a, b, out);
+    }
+    
+    public void saturatedMultiply(long[] a, long[] b, long[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Multiplying {} long pairs with saturation", a.length);
+        }
+        basicOps.saturatedMultiply(a, b, out);
+    }
+    
+    public long sumExact(long[] values) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Summing {} longs exactly", values.length);
+        }
+        return basicOps.sumExact(values);
+    }
+    
+    // Complex Operations
+    public Complex add(Complex a, Complex b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Adding complex numbers {} and {}", a, b);
+        }
+        return complexOps.add(a, b);
+    }
+    
+    public Complex subtract(Complex a, Complex b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Subtracting complex number {} from {}", b, a);
+        }
+        return complexOps.subtract(a, b);
+    }
+    
+    public Complex multiply(Complex a, Complex b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Multiplying complex numbers {} and {}", a, b);
+        }
+        return complexOps.multiply(a, b);
+    }
+    
+    public Complex divide(Complex a, Complex b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Dividing complex number {} by {}", a, b);
+        }
+        return complexOps.divide(a, b);
+    }
+    
+    public double absolute(Complex z) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating modulus of {}", z);
+        }
+        return complexOps.absolute(z);
+    }
+    
+    public double argument(Complex z) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating argument of {}", z);
+        }
+        return complexOps.argument(z);
+    }
+    
+    public Complex exp(Complex z) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating e to the power of {}", z);
+        }
+        return complexOps.exp(z);
+    }
+    
+    public Complex naturalLog(Complex z) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating natural logarithm of {}", z);
+        }
+        return complexOps.naturalLog(z);
+    }
+    
+    public Complex power(Complex base, Complex exponent) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating {} to the power of {}", base, exponent);
+        }
+        return complexOps.power(base, exponent);
+    }
+    
+    public Complex squareRoot(Complex z) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating square root of {}", z);
+        }
+        return complexOps.squareRoot(z);
+    }
+    
+    public Complex sin(Complex z) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating sine of {}", z);
+        }
+        return complexOps.sin(z);
+    }
+    
+    public Complex cos(Complex z) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating cosine of {}", z);
+        }
+        return complexOps.cos(z);
+    }
+    
+    public Complex tan(Complex z) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating tangent of {}", z);
+        }
+        return complexOps.tan(z);
+    }
+    
+    // Complex Bulk Operations, on split real and imaginary arrays
+    public void add(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Adding {} complex element pairs", aRe.length);
+        }
+        complexOps.add(aRe, aIm, bRe, bIm, outRe, outIm);
+    }
+    
+    public void subtract(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Subtracting {} complex element pairs", aRe.length);
+        }
+        complexOps.subtract(aRe, aIm, bRe, bIm, outRe, outIm);
+    }
+    
+    public void multiply(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Multiplying {} complex element pairs", aRe.length);
+        }
+        complexOps.multiply(aRe, aIm, bRe, bIm, outRe, outIm);
+    }
+    
+    public void divide(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] outRe, double[] outIm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Dividing {} complex element pairs", aRe.length);
+        }
+        complexOps.divide(aRe, aIm, bRe, bIm, outRe, outIm);
+    }
+    
+    public void absolute(double[] re, double[] im, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating moduli of {} complex elements", re.length);
+        }
+        complexOps.absolute(re, im, out);
+    }
+    
+    public void argument(double[] re, double[] im, double[] out) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arguments of {} complex elements", re.length);
+        }
+        complexOps.argument(re, im, out);
+    }
+    
+    public void exp(double[] re, double[] im, double[] outRe, double[] outIm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating exponentials of {} complex elements", re.length);
+        }
+        complexOps.exp(re, im, outRe, outIm);
+    }
+    
+    public void naturalLog(double[] re, double[] im, double[] outRe, double[] outIm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating natural logarithms of {} complex elements", re.length);
+        }
+        complexOps.naturalLog(re, im, outRe, outIm);
+    }
+    
+    public void power(double[] re, double[] im, Complex exponent, double[] outRe, double[] outIm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Raising {} complex elements to the power of {}", re.length, exponent);
+        }
+        complexOps.power(re, im, exponent, outRe, outIm);
+    }
+    
+    public void squareRoot(double[] re, double[] im, double[] outRe, double[] outIm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating square roots of {} complex elements", re.length);
+        }
+        complexOps.squareRoot(re, im, outRe, outIm);
+    }
+    
+    public void sin(double[] re, double[] im, double[] outRe, double[] outIm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating sines of {} complex elements", re.length);
+        }
+        complexOps.sin(re, im, outRe, outIm);
+    }
+    
+    public void cos(double[] re, double[] im, double[] outRe, double[] outIm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating cosines of {} complex elements", re.length);
+        }
+        complexOps.cos(re, im, outRe, outIm);
+    }
+    
+    public void tan(double[] re, double[] im, double[] outRe, double[] outIm) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating tangents of {} complex elements", re.length);
+        }
+        complexOps.tan(re, im, outRe, outIm);
+    }
+    
+    // Special Functions
+    public double gamma(double x) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating gamma of {}", x);
+        }
+        return specialFunctions.gamma(x);
+    }
+    
+    public double logGamma(double x) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating log-gamma of {}", x);
+        }
+        return specialFunctions.logGamma(x);
+    }
+    
+    public double beta(double a, double b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating beta of {} and {}", a, b);
+        }
+        return specialFunctions.beta(a, b);
+    }
+    
+    public double regularizedIncompleteBeta(double x, double a, double b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating incomplete beta at {} for {} and {}", x, a, b);
+        }
+        return specialFunctions.regularizedIncompleteBeta(x, a, b);
+    }
+    
+    public double erf(double x) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating error function of {}", x);
+        }
+        return specialFunctions.erf(x);
+    }
+    
+    public double erfc(double x) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating complementary error function of {}", x);
+        }
+        return specialFunctions.erfc(x);
+    }
+    
+    public double besselJ0(double x) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating Bessel J0 of {}", x);
+        }
+        return specialFunctions.besselJ0(x);
+    }
+    
+    public double besselJ1(double x) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating Bessel J1 of {}", x);
+        }
+        return specialFunctions.besselJ1(x);
+    }
+    
+    // Arbitrary-Precision Operations
+    public BigDecimal add(BigDecimal a, BigDecimal b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Adding {} and {}", a, b);
+        }
+        return bigDecimalOps.add(a, b);
+    }
+    
+    public BigDecimal subtract(BigDecimal a, BigDecimal b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Subtracting {} from {}", b, a);
+        }
+        return bigDecimalOps.subtract(a, b);
+    }
+    
+    public BigDecimal multiply(BigDecimal a, BigDecimal b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Multiplying {} and {}", a, b);
+        }
+        return bigDecimalOps.multiply(a, b);
+    }
+    
+    public BigDecimal divide(BigDecimal a, BigDecimal b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Dividing {} by {}", a, b);
+        }
+        return bigDecimalOps.divide(a, b);
+    }
+    
+    public BigDecimal modulo(BigDecimal a, BigDecimal b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating modulo of {} and {}", a, b);
+        }
+        return bigDecimalOps.modulo(a, b);
+    }
+    
+    public BigDecimal power(BigDecimal base, BigDecimal exponent) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating {} to the power of {}", base, exponent);
+        }
+        return bigDecimalOps.power(base, exponent);
+    }
+    
+    public BigDecimal squareRoot(BigDecimal number) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating square root of {}", number);
+        }
+        return bigDecimalOps.squareRoot(number);
+    }
+    
+    public BigDecimal exp(BigDecimal number) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating e to the power of {}", number);
+        }
+        return bigDecimalOps.exp(number);
+    }
+    
+    public BigDecimal naturalLog(BigDecimal number) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating natural logarithm of {}", number);
+        }
+        return bigDecimalOps.naturalLog(number);
+    }
+    
+    public BigDecimal log10(BigDecimal number) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating logarithm base 10 of {}", number);
+        }
+        return bigDecimalOps.log10(number);
+    }
+    
+    public BigDecimal sin(BigDecimal angleInRadians) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating sine of {} radians", angleInRadians);
+        }
+        return bigDecimalOps.sin(angleInRadians);
+    }
+    
+    public BigDecimal cos(BigDecimal angleInRadians) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating cosine of {} radians", angleInRadians);
+        }
+        return bigDecimalOps.cos(angleInRadians);
+    }
+    
+    public BigDecimal tan(BigDecimal angleInRadians) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating tangent of {} radians", angleInRadians);
+        }
+        return bigDecimalOps.tan(angleInRadians);
+    }
+    
+    public BigDecimal asin(BigDecimal value) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc sine of {}", value);
+        }
+        return bigDecimalOps.asin(value);
+    }
+    
+    public BigDecimal acos(BigDecimal value) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc cosine of {}", value);
+        }
+        return bigDecimalOps.acos(value);
+    }
+    
+    public BigDecimal atan(BigDecimal value) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc tangent of {}", value);
+        }
+        return bigDecimalOps.atan(value);
+    }
+    
+    // Interval Operations
+    public Interval add(Interval a, Interval b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Adding {} and {}", a, b);
+        }
+        return intervalOps.add(a, b);
+    }
+    
+    public Interval subtract(Interval a, Interval b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Subtracting {} from {}", b, a);
+        }
+        return intervalOps.subtract(a, b);
+    }
+    
+    public Interval multiply(Interval a, Interval b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Multiplying {} and {}", a, b);
+        }
+        return intervalOps.multiply(a, b);
+    }
+    
+    public Interval divide(Interval a, Interval b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Dividing {} by {}", a, b);
+        }
+        return intervalOps.divide(a, b);
+    }
+    
+    public Interval modulo(Interval a, Interval b) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating modulo of {} and {}", a, b);
+        }
+        return intervalOps.modulo(a, b);
+    }
+    
+    public Interval power(Interval base, Interval exponent) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating {} to the power of {}", base, exponent);
+        }
+        return intervalOps.power(base, exponent);
+    }
+    
+    public Interval squareRoot(Interval number) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating square root of {}", number);
+        }
+        return intervalOps.squareRoot(number);
+    }
+    
+    public Interval cubeRoot(Interval number) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating cube root of {}", number);
+        }
+        return intervalOps.cubeRoot(number);
+    }
+    
+    public Interval absolute(Interval number) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating absolute value of {}", number);
+        }
+        return intervalOps.absolute(number);
+    }
+    
+    public Interval naturalLog(Interval number) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating natural logarithm of {}", number);
+        }
+        return intervalOps.naturalLog(number);
+    }
+    
+    public Interval log10(Interval number) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating logarithm base 10 of {}", number);
+        }
+        return intervalOps.log10(number);
+    }
+    
+    public Interval sin(Interval angleInRadians) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating sine of {} radians", angleInRadians);
+        }
+        return intervalOps.sin(angleInRadians);
+    }
+    
+    public Interval cos(Interval angleInRadians) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating cosine of {} radians", angleInRadians);
+        }
+        return intervalOps.cos(angleInRadians);
+    }
+    
+    public Interval tan(Interval angleInRadians) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating tangent of {} radians", angleInRadians);
+        }
+        return intervalOps.tan(angleInRadians);
+    }
+    
+    public Interval asin(Interval value) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc sine of {}", value);
+        }
+        return intervalOps.asin(value);
+    }
+    
+    public Interval acos(Interval value) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc cosine of {}", value);
+        }
+        return intervalOps.acos(value);
+    }
+    
+    public Interval atan(Interval value) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Calculating arc tangent of {}", value);
+        }
+        return intervalOps.atan(value);
+    }
+    
+    public Interval degreesToRadians(Interval degrees) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Converting {} degrees to radians", degrees);
+        }
+        return intervalOps.degreesToRadians(degrees);
+    }
+    
+    public Interval radiansToDegrees(Interval radians) {
+        if (instrumentation.shouldLog()) {
+            logger().info("Converting {} radians to degrees", radians);
+        }
+        return intervalOps.radiansToDegrees(radians);
+    }
+    
+    private static Logger logger() {
+        return LoggerHolder.LOGGER;
+    }
+    
+    /** Initialized on the first call that logs, so services that never log never start logback */
+    private static final class LoggerHolder {
+        
+        static final Logger LOGGER = LoggerFactory.getLogger(MathService.class);
     }
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.mathops.service;
+
+import com.mathops.operations.MathOperation;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Lock-free per-operation call counters and latency histograms.
+ * <p>
+ * Recording never blocks and never allocates; {@link #snapshot()} aggregates the
+ * striped counters into immutable {@link OperationStats}.
+ * <p>
+ * Scalar calls feed the latency histograms. Bulk {@code double[]} calls are
+ * recorded with {@link #recordBatch(MathOperation, int, long)} as one sample per
+ * batch plus its element count, kept apart so that batch latencies do not skew
+ * the scalar percentiles. Only operations with a {@link MathOperation} are
+ * measured; see {@link Instrumentation}.
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+    
+    private static final MathOperation[] OPERATIONS = MathOperation.values();
+    
+    private final LongAdder[] counts = new LongAdder[OPERATIONS.length];
+    private final LongAdder[] totalNanos = new LongAdder[OPERATIONS.length];
+    private final LongAccumulator[] maxNanos = new LongAccumulator[OPERATIONS.length];
+    private final LatencyHistogram[] histograms = new LatencyHistogram[OPERATIONS.length];
+    private final LongAdder[] batchCounts = new LongAdder[OPERATIONS.length];
+    private final LongAdder[] batchElements = new LongAdder[OPERATIONS.length];
+    private final LongAdder[] batchNanos = new LongAdder[OPERATIONS.length];
+    
+    public OperationMetrics() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            counts[i] = new LongAdder();
+            totalNanos[i] = new LongAdder();
+            maxNanos[i] = new LongAccumulator(Math::max, 0);
+            histograms[i] = new LatencyHistogram();
+            batchCounts[i] = new LongAdder();
+            batchElements[i] = new LongAdder();
+            batchNanos[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * Records one completed call
+     * @param operation operation that was called
+     * @param nanos elapsed time in nanoseconds
+     */
+    public void record(MathOperation operation, long nanos) {
+        int index = operation.ordinal();
+        counts[index].increment();
+        totalNanos[index].add(nanos);
+        maxNanos[index].accumulate(nanos);
+        histograms[index].record(nanos);
+    }
+    
+    /**
+     * Records one completed bulk call
+     * @param operation operation that was applied to every element
+     * @param elements number of elements in the batch
+     * @param nanos elapsed time for the whole batch in nanoseconds
+     */
+    public void recordBatch(MathOperation operation, int elements, long nanos) {
+        int index = operation.ordinal();
+        batchCounts[index].increment();
+        batchElements[index].add(elements);
+        batchNanos[index].add(nanos);
+    }
+    
+    /**
+     * Returns statistics for one operation
+     * @param operation operation of interest
+     * @return point-in-time statistics
+     */
+    public OperationStats snapshot(MathOperation operation) {
+        int index = operation.ordinal();
+        long[] buckets = histograms[index].counts();
+        long total = 0;
+        for (long bucket : buckets) {
+            total += bucket;
+        }
+        return new OperationStats(operation, counts[index].sum(), totalNanos[index].sum(), maxNanos[index].get(),
+                LatencyHistogram.percentile(buckets, total, 50),
+                LatencyHistogram.percentile(buckets, total, 90),
+                LatencyHistogram.percentile(buckets, total, 99),
+                batchCounts[index].sum(), batchElements[index].sum(), batchNanos[index].sum());
+    }
+    
+    /**
+     * Returns statistics for every operation that has been called at least once, scalar or in bulk
+     * @return statistics keyed by operation
+     */
+    public Map<MathOperation, OperationStats> snapshot() {
+        Map<MathOperation, OperationStats> result = new EnumMap<>(MathOperation.class);
+        for (MathOperation operation : OPERATIONS) {
+            int index = operation.ordinal();
+            if (counts[index].sum() > 0 || batchCounts[index].sum() > 0) {
+                result.put(operation, snapshot(operation));
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+    
+    @Override
+    public void reset() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            counts[i].reset();
+            totalNanos[i].reset();
+            maxNanos[i].reset();
+            histograms[i].reset();
+            batchCounts[i].reset();
+            batchElements[i].reset();
+            batchNanos[i].reset();
+        }
+    }
+    
+    /**
+     * Registers these metrics with the platform MBean server
+     * @param objectName JMX object name, e.g. {@code com.mathops:type=MathService}
+     * @throws IllegalStateException if registration fails
+     */
+    public void registerMBean(String objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(objectName));
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics MBean " + objectName, e);
+        }
+    }
+    
+    @Override
+    public Map<String, Long> getCounts() {
+        return byName(OperationStats::getCount);
+    }
+    
+    @Override
+    public Map<String, Double> getMeanNanos() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (OperationStats stats : snapshot().values()) {
+            result.put(stats.getOperation().operationName(), stats.getMeanNanos());
+        }
+        return result;
+    }
+    
+    @Override
+    public Map<String, Long> getP99Nanos() {
+        return byName(OperationStats::getP99Nanos);
+    }
+    
+    @Override
+    public Map<String, Long> getMaxNanos() {
+        return byName(OperationStats::getMaxNanos);
+    }
+    
+    @Override
+    public Map<String, Long> getBatchCounts() {
+        return byName(OperationStats::getBatchCount);
+    }
+    
+    @Override
+    public Map<String, Long> getBatchElements() {
+        return byName(OperationStats::getBatchElements);
+    }
+    
+    private Map<String, Long> byName(ToLongFunction<OperationStats> value) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (OperationStats stats : snapshot().values()) {
+            result.put(stats.getOperation().operationName(), value.applyAsLong(stats));
+        }
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.mathops.service;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link OperationMetrics}, keyed by operation name
+ */
+public interface OperationMetricsMXBean {
+    
+    Map<String, Long> getCounts();
+    
+    Map<String, Double> getMeanNanos();
+    
+    Map<String, Long> getP99Nanos();
+    
+    Map<String, Long> getMaxNanos();
+    
+    Map<String, Long> getBatchCounts();
+    
+    Map<String, Long> getBatchElements();
+    
+    void reset();
+}
\ No newline at end of file
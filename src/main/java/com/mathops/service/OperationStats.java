@@ -0,0 +1,104 @@
+package com.mathops.service;
+
+import com.mathops.operations.MathOperation;
+
+/**
+ * Immutable point-in-time statistics for one operation
+ * <p>
+ * The count, latency and percentiles describe scalar calls; the batch figures
+ * describe bulk calls, which are timed per batch.
+ */
+public final class OperationStats {
+    
+    private final MathOperation operation;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long batchCount;
+    private final long batchElements;
+    private final long batchNanos;
+    
+    OperationStats(MathOperation operation, long count, long totalNanos, long maxNanos,
+                   long p50Nanos, long p90Nanos, long p99Nanos,
+                   long batchCount, long batchElements, long batchNanos) {
+        this.operation = operation;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.batchCount = batchCount;
+        this.batchElements = batchElements;
+        this.batchNanos = batchNanos;
+    }
+    
+    public MathOperation getOperation() {
+        return operation;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+    
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+    
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+    
+    /** Median latency, rounded down to the histogram bucket boundary */
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+    
+    /** 90th percentile latency, rounded down to the histogram bucket boundary */
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+    
+    /** 99th percentile latency, rounded down to the histogram bucket boundary */
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+    
+    /** Number of bulk calls */
+    public long getBatchCount() {
+        return batchCount;
+    }
+    
+    /** Number of elements processed by bulk calls */
+    public long getBatchElements() {
+        return batchElements;
+    }
+    
+    /** Total time spent in bulk calls */
+    public long getBatchNanos() {
+        return batchNanos;
+    }
+    
+    /** Mean bulk time per element */
+    public double getNanosPerBatchElement() {
+        return batchElements == 0 ? 0 : (double) batchNanos / batchElements;
+    }
+    
+    @Override
+    public String toString() {
+        String scalar = String.format("%s: count=%d mean=%.1fns p50=%dns p90=%dns p99=%dns max=%dns",
+                operation.operationName(), count, getMeanNanos(), p50Nanos, p90Nanos, p99Nanos, maxNanos);
+        if (batchCount == 0) {
+            return scalar;
+        }
+        return scalar + String.format(" batches=%d elements=%d perElement=%.1fns",
+                batchCount, batchElements, getNanosPerBatchElement());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.mathops.service;
+
+/**
+ * What {@link AsyncMathService} does with a request whose operation queue is full
+ */
+public enum OverloadPolicy {
+    
+    /** Computes the result on the submitting thread, slowing producers down to the service's pace */
+    CALLER_RUNS,
+    
+    /** Fails the request at once with a {@link java.util.concurrent.RejectedExecutionException} */
+    REJECT
+}
\ No newline at end of file
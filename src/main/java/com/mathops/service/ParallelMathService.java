@@ -0,0 +1,437 @@
+package com.mathops.service;
+
+import com.mathops.operations.AdvancedMathOperations;
+import com.mathops.operations.BasicMathOperations;
+import com.mathops.operations.SummationAlgorithm;
+import com.mathops.operations.TrigonometricOperations;
+import com.mathops.operations.TrigonometricPrecision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Math service that splits large bulk operations across a {@link ForkJoinPool}.
+ * <p>
+ * Arrays shorter than the threshold take the sequential {@link MathService}
+ * path unchanged. Longer arrays are cut into contiguous chunks, sized so that
+ * each worker gets a few of them to balance load, and every chunk runs the same
+ * range method of the operations classes. Each element is computed by exactly
+ * the same code as on the sequential path, so results are bit-identical.
+ * Reductions are too: the sequential reductions already sum long arrays in
+ * fixed blocks combined in block order, and the parallel ones reduce the same
+ * blocks on the pool, so sums do not depend on the pool size either.
+ * <p>
+ * Failed argument checks throw the same exception as the sequential path, but
+ * chunks other than the failing one may already have written their results.
+ */
+public class ParallelMathService extends MathService {
+    
+    /** Arrays shorter than this are processed on the calling thread */
+    public static final int DEFAULT_THRESHOLD = 1 << 14;
+    
+    /** Smallest chunk handed to a worker, large enough to amortize task overhead */
+    private static final int MIN_CHUNK_SIZE = 1 << 12;
+    
+    /** Chunks per worker, so that uneven progress can be rebalanced by work stealing */
+    private static final int CHUNKS_PER_WORKER = 4;
+    
+    private final BasicMathOperations basicOps;
+    private final AdvancedMathOperations advancedOps;
+    private final TrigonometricOperations trigOps;
+    private final ForkJoinPool pool;
+    private final int threshold;
+    
+    /**
+     * Creates a service running on the common pool with the default threshold
+     */
+    public ParallelMathService() {
+        this(ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates a service running on the given pool with the default threshold
+     * @param pool pool executing the chunks
+     */
+    public ParallelMathService(ForkJoinPool pool) {
+        this(Instrumentation.fromSystemProperties(), TrigonometricPrecision.STANDARD, pool, DEFAULT_THRESHOLD);
+    }
+    
+    /**
+     * Creates a service
+     * @param instrumentation logging and metrics settings
+     * @param trigPrecision precision of the trigonometric operations
+     * @param pool pool executing the chunks
+     * @param threshold smallest array length processed in parallel
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public ParallelMathService(Instrumentation instrumentation, TrigonometricPrecision trigPrecision,
+                               ForkJoinPool pool, int threshold) {
+        super(instrumentation, trigPrecision);
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+        this.basicOps = new BasicMathOperations();
+        this.advancedOps = new AdvancedMathOperations();
+        this.trigOps = new TrigonometricOperations(trigPrecision);
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.threshold = threshold;
+    }
+    
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+    
+    public int getThreshold() {
+        return threshold;
+    }
+    
+    // Bulk Operations
+    @Override
+    public void add(double[] a, double[] b, double[] out) {
+        if (a.length < threshold) {
+            super.add(a, b, out);
+            return;
+        }
+        checkLength(b, a.length);
+        checkLength(out, a.length);
+        logBatch("Adding {} element pairs in parallel", a.length);
+        run(a.length, (off, len) -> basicOps.add(a, b, out, off, len));
+    }
+    
+    @Override
+    public void subtract(double[] a, double[] b, double[] out) {
+        if (a.length < threshold) {
+            super.subtract(a, b, out);
+            return;
+        }
+        checkLength(b, a.length);
+        checkLength(out, a.length);
+        logBatch("Subtracting {} element pairs in parallel", a.length);
+        run(a.length, (off, len) -> basicOps.subtract(a, b, out, off, len));
+    }
+    
+    @Override
+    public void multiply(double[] a, double[] b, double[] out) {
+        if (a.length < threshold) {
+            super.multiply(a, b, out);
+            return;
+        }
+        checkLength(b, a.length);
+        checkLength(out, a.length);
+        logBatch("Multiplying {} element pairs in parallel", a.length);
+        run(a.length, (off, len) -> basicOps.multiply(a, b, out, off, len));
+    }
+    
+    @Override
+    public void divide(double[] a, double[] b, double[] out) {
+        if (a.length < threshold) {
+            super.divide(a, b, out);
+            return;
+        }
+        checkLength(b, a.length);
+        checkLength(out, a.length);
+        logBatch("Dividing {} element pairs in parallel", a.length);
+        run(a.length, (off, len) -> basicOps.divide(a, b, out, off, len));
+    }
+    
+    @Override
+    public void modulo(double[] a, double[] b, double[] out) {
+        if (a.length < threshold) {
+            super.modulo(a, b, out);
+            return;
+        }
+        checkLength(b, a.length);
+        checkLength(out, a.length);
+        logBatch("Calculating modulo of {} element pairs in parallel", a.length);
+        run(a.length, (off, len) -> basicOps.modulo(a, b, out, off, len));
+    }
+    
+    @Override
+    public void power(double[] base, double exponent, double[] out) {
+        if (base.length < threshold) {
+            super.power(base, exponent, out);
+            return;
+        }
+        checkLength(out, base.length);
+        logBatch("Raising {} elements to a power in parallel", base.length);
+        run(base.length, (off, len) -> advancedOps.power(base, exponent, out, off, len));
+    }
+    
+    @Override
+    public void squareRoot(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.squareRoot(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Calculating square roots of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> advancedOps.squareRoot(in, out, off, len));
+    }
+    
+    @Override
+    public void cubeRoot(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.cubeRoot(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Calculating cube roots of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> advancedOps.cubeRoot(in, out, off, len));
+    }
+    
+    @Override
+    public void absolute(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.absolute(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Calculating absolute values of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> advancedOps.absolute(in, out, off, len));
+    }
+    
+    @Override
+    public void naturalLog(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.naturalLog(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Calculating natural logarithms of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> advancedOps.naturalLog(in, out, off, len));
+    }
+    
+    @Override
+    public void log10(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.log10(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Calculating logarithms base 10 of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> advancedOps.log10(in, out, off, len));
+    }
+    
+    @Override
+    public void sin(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.sin(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Calculating sines of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> trigOps.sin(in, out, off, len));
+    }
+    
+    @Override
+    public void cos(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.cos(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Calculating cosines of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> trigOps.cos(in, out, off, len));
+    }
+    
+    @Override
+    public void tan(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.tan(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Calculating tangents of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> trigOps.tan(in, out, off, len));
+    }
+    
+    @Override
+    public void sinCos(double[] in, double[] sinOut, double[] cosOut) {
+        if (in.length < threshold) {
+            super.sinCos(in, sinOut, cosOut);
+            return;
+        }
+        checkLength(sinOut, in.length);
+        checkLength(cosOut, in.length);
+        logBatch("Calculating sines and cosines of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> trigOps.sinCos(in, sinOut, cosOut, off, len));
+    }
+    
+    @Override
+    public void asin(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.asin(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Calculating arc sines of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> trigOps.asin(in, out, off, len));
+    }
+    
+    @Override
+    public void acos(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.acos(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Calculating arc cosines of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> trigOps.acos(in, out, off, len));
+    }
+    
+    @Override
+    public void atan(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.atan(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Calculating arc tangents of {} elements in parallel", in.length);
+        run(in.length, (off, len) -> trigOps.atan(in, out, off, len));
+    }
+    
+    @Override
+    public void degreesToRadians(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.degreesToRadians(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Converting {} elements from degrees to radians in parallel", in.length);
+        run(in.length, (off, len) -> trigOps.degreesToRadians(in, out, off, len));
+    }
+    
+    @Override
+    public void radiansToDegrees(double[] in, double[] out) {
+        if (in.length < threshold) {
+            super.radiansToDegrees(in, out);
+            return;
+        }
+        checkLength(out, in.length);
+        logBatch("Converting {} elements from radians to degrees in parallel", in.length);
+        run(in.length, (off, len) -> trigOps.radiansToDegrees(in, out, off, len));
+    }
+    
+    // Reductions
+    @Override
+    public double sum(double[] values, SummationAlgorithm algorithm) {
+        if (values.length < threshold) {
+            return super.sum(values, algorithm);
+        }
+        logBatch("Summing {} elements in parallel", values.length);
+        return basicOps.sum(values, algorithm, pool);
+    }
+    
+    @Override
+    public double dot(double[] a, double[] b, SummationAlgorithm algorithm) {
+        if (a.length < threshold) {
+            return super.dot(a, b, algorithm);
+        }
+        checkLength(b, a.length);
+        logBatch("Calculating dot product of {} element pairs in parallel", a.length);
+        return basicOps.dot(a, b, algorithm, pool);
+    }
+    
+    @Override
+    public double sumOfSquares(double[] values, SummationAlgorithm algorithm) {
+        if (values.length < threshold) {
+            return super.sumOfSquares(values, algorithm);
+        }
+        logBatch("Summing squares of {} elements in parallel", values.length);
+        return basicOps.sumOfSquares(values, algorithm, pool);
+    }
+    
+    private void logBatch(String message, int length) {
+        if (getInstrumentation().shouldLog()) {
+            logger().info(message, length);
+        }
+    }
+    
+    /**
+     * Checks array lengths up front so that a short array fails before any chunk runs
+     */
+    private static void checkLength(double[] array, int length) {
+        Objects.checkFromIndexSize(0, length, array.length);
+    }
+    
+    /**
+     * Runs the action over {@code [0, length)} in chunks and rethrows the first failure
+     */
+    private void run(int length, RangeAction action) {
+        invoke(action, length, chunkSize(length));
+    }
+    
+    private int chunkSize(int length) {
+        return Math.max(MIN_CHUNK_SIZE, length / (pool.getParallelism() * CHUNKS_PER_WORKER));
+    }
+    
+    private void invoke(RangeAction action, int length, int chunkSize) {
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        pool.invoke(new ChunkTask(action, 0, length, chunkSize, failure));
+        RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+    
+    private static Logger logger() {
+        return LoggerHolder.LOGGER;
+    }
+    
+    /** Initialized on the first call that logs, so services that never log never start logback */
+    private static final class LoggerHolder {
+        
+        static final Logger LOGGER = LoggerFactory.getLogger(ParallelMathService.class);
+    }
+    
+    @FunctionalInterface
+    private interface RangeAction {
+        void apply(int off, int len);
+    }
+    
+    /**
+     * Halves its range until it is no larger than the chunk size. Failures are
+     * collected rather than thrown so that the caller sees the original exception
+     * instead of the copy ForkJoinTask makes when rethrowing across threads.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final RangeAction action;
+        private final int off;
+        private final int len;
+        private final int chunkSize;
+        private final AtomicReference<RuntimeException> failure;
+        
+        ChunkTask(RangeAction action, int off, int len, int chunkSize, AtomicReference<RuntimeException> failure) {
+            this.action = action;
+            this.off = off;
+            this.len = len;
+            this.chunkSize = chunkSize;
+            this.failure = failure;
+        }
+        
+        @Override
+        protected void compute() {
+            if (failure.get() != null) {
+                return;
+            }
+            if (len <= chunkSize) {
+                try {
+                    action.apply(off, len);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+                return;
+            }
+            int half = len >>> 1;
+            invokeAll(new ChunkTask(action, off, half, chunkSize, failure),
+                    new ChunkTask(action, off + half, len - half, chunkSize, failure));
+        }
+    }
+}
\ No newline at end of file
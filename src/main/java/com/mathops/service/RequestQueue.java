@@ -0,0 +1,99 @@
+package com.mathops.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of pending calculations, written by any number of
+ * threads and drained by one.
+ * <p>
+ * Requests are stored as parallel arrays of arguments and completion targets,
+ * so enqueueing allocates nothing. Producers claim a slot by advancing the tail
+ * with a CAS and publish it through the slot's sequence number, as in Dmitry
+ * Vyukov's bounded queue; the single consumer needs no atomic operations
+ * beyond reading and releasing sequence numbers.
+ */
+final class RequestQueue {
+    
+    private final int mask;
+    private final double[] first;
+    private final double[] second;
+    private final Object[] targets;
+    private final AtomicLongArray sequence;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    
+    /**
+     * @param capacity power of two
+     */
+    RequestQueue(int capacity) {
+        this.mask = capacity - 1;
+        this.first = new double[capacity];
+        this.second = new double[capacity];
+        this.targets = new Object[capacity];
+        this.sequence = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequence.set(i, i);
+        }
+    }
+    
+    /**
+     * Enqueues a request, from any thread
+     * @return false if the queue is full
+     */
+    boolean offer(double a, double b, Object target) {
+        long pos = tail.get();
+        int index;
+        while (true) {
+            index = (int) pos & mask;
+            long difference = sequence.get(index) - pos;
+            if (difference == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+        first[index] = a;
+        second[index] = b;
+        targets[index] = target;
+        sequence.set(index, pos + 1);
+        return true;
+    }
+    
+    /**
+     * Moves up to {@code max} requests into the given arrays, from the consumer thread only.
+     * Slots already claimed by a producer but not yet published are waited for.
+     * @return number of requests moved
+     */
+    int drain(double[] a, double[] b, Object[] out, int max) {
+        long pos = head;
+        int count = (int) Math.min(max, tail.get() - pos);
+        for (int i = 0; i < count; i++, pos++) {
+            int index = (int) pos & mask;
+            while (sequence.get(index) != pos + 1) {
+                Thread.onSpinWait();
+            }
+            a[i] = first[index];
+            b[i] = second[index];
+            out[i] = targets[index];
+            targets[index] = null;
+            sequence.set(index, pos + mask + 1);
+        }
+        head = pos;
+        return count;
+    }
+    
+    /** Number of requests claimed but not yet drained */
+    int size() {
+        return (int) (tail.get() - head);
+    }
+    
+    int capacity() {
+        return mask + 1;
+    }
+}
\ No newline at end of file
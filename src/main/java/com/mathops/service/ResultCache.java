@@ -0,0 +1,148 @@
+package com.mathops.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent, size-bounded memo table keyed by up to two primitive words.
+ * <p>
+ * Entries live in one flat {@code long} array, laid out as consecutive
+ * {@code [version, key1, key2, value]} quadruples so that a whole set spans two
+ * cache lines, and keys and values are never boxed.
+ * The table is 4-way set associative: a key hashes to one set of four slots and
+ * a full set evicts with the CLOCK (second chance) approximation of LRU. Every
+ * slot is guarded by its own sequence lock. Readers never block or write to the
+ * version word; a writer that finds a slot busy simply skips caching the value.
+ * Because memoized functions are pure, a lost insert only costs a later miss.
+ */
+final class ResultCache {
+    
+    /**
+     * Computes the value for a key on a cache miss
+     */
+    interface Loader {
+        long load(long key1, long key2);
+    }
+    
+    private static final int WAYS = 4;
+    private static final int STRIDE = 4;
+    private static final int KEY1 = 1;
+    private static final int KEY2 = 2;
+    private static final int VALUE = 3;
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    
+    private final long[] entries;
+    private final boolean[] referenced;
+    private final int[] hands;
+    private final int setMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    /**
+     * Creates a cache
+     * @param capacity requested number of entries, rounded up to a power of two of at least 4
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    ResultCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        int slots = Math.max(WAYS, Integer.highestOneBit(Math.min(capacity, 1 << 30) * 2 - 1));
+        this.entries = new long[slots * STRIDE];
+        this.referenced = new boolean[slots];
+        this.hands = new int[slots / WAYS];
+        this.setMask = slots / WAYS - 1;
+    }
+    
+    /**
+     * Returns the cached value for a key, computing and caching it on a miss
+     * @param key1 first key word
+     * @param key2 second key word, 0 for single-argument functions
+     * @param loader computes the value on a miss; exceptions propagate and nothing is cached
+     * @return cached or computed value
+     */
+    long get(long key1, long key2, Loader loader) {
+        int base = (hash(key1, key2) & setMask) * WAYS;
+        for (int slot = base; slot < base + WAYS; slot++) {
+            int entry = slot * STRIDE;
+            long version = (long) LONGS.getAcquire(entries, entry);
+            if (version != 0 && (version & 1) == 0) {
+                long k1 = (long) LONGS.getOpaque(entries, entry + KEY1);
+                long k2 = (long) LONGS.getOpaque(entries, entry + KEY2);
+                long value = (long) LONGS.getOpaque(entries, entry + VALUE);
+                VarHandle.acquireFence();
+                if (k1 == key1 && k2 == key2 && (long) LONGS.getOpaque(entries, entry) == version) {
+                    if (!referenced[slot]) {
+                        referenced[slot] = true;
+                    }
+                    hits.increment();
+                    return value;
+                }
+            }
+        }
+        misses.increment();
+        long value = loader.load(key1, key2);
+        put(base, key1, key2, value);
+        return value;
+    }
+    
+    private void put(int base, long key1, long key2, long value) {
+        int slot = victim(base);
+        int entry = slot * STRIDE;
+        long version = (long) LONGS.getOpaque(entries, entry);
+        if ((version & 1) != 0 || !LONGS.compareAndSet(entries, entry, version, version + 1)) {
+            return;
+        }
+        LONGS.setOpaque(entries, entry + KEY1, key1);
+        LONGS.setOpaque(entries, entry + KEY2, key2);
+        LONGS.setOpaque(entries, entry + VALUE, value);
+        referenced[slot] = false;
+        LONGS.setRelease(entries, entry, version + 2);
+    }
+    
+    /**
+     * Picks the slot to overwrite in a set: an empty slot if there is one,
+     * otherwise the first slot at or after the clock hand that has not been
+     * referenced since the hand last passed it
+     */
+    private int victim(int base) {
+        for (int slot = base; slot < base + WAYS; slot++) {
+            if ((long) LONGS.getOpaque(entries, slot * STRIDE) == 0) {
+                return slot;
+            }
+        }
+        int set = base / WAYS;
+        int hand = hands[set];
+        for (int step = 0; step < 2 * WAYS; step++) {
+            int slot = base + ((hand + step) & (WAYS - 1));
+            if (referenced[slot]) {
+                referenced[slot] = false;
+            } else {
+                hands[set] = (hand + step + 1) & (WAYS - 1);
+                return slot;
+            }
+        }
+        return base + hand;
+    }
+    
+    private static int hash(long key1, long key2) {
+        long h = key1 * 0x9E3779B97F4A7C15L + key2;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+    
+    int capacity() {
+        return referenced.length;
+    }
+    
+    long hits() {
+        return hits.sum();
+    }
+    
+    long misses() {
+        return misses.sum();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.mathops.service;
+
+/**
+ * Receives the outcome of a calculation submitted to {@link AsyncMathService}
+ * without boxing the result. Exactly one method is called, on the thread that
+ * computed the result.
+ */
+public interface ResultCallback {
+    
+    /**
+     * Called with the result of a successful calculation
+     * @param result result
+     */
+    void onResult(double result);
+    
+    /**
+     * Called when the calculation failed or was rejected
+     * @param error cause, e.g. an {@link IllegalArgumentException} for invalid arguments
+     */
+    void onError(Throwable error);
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.mathops.stats;
+
+import com.mathops.operations.BasicMathOperations;
+
+/**
+ * Running sum with Neumaier's improvement of Kahan summation.
+ * <p>
+ * The rounding error of every addition is captured in a separate compensation
+ * term, so the result is as accurate as if it had been accumulated in twice the
+ * precision, whatever the order or magnitude of the values. Unlike plain Kahan
+ * summation this stays exact when an added value is larger than the running sum.
+ * Instances are not thread-safe; sum partitions separately and {@link #merge} them.
+ */
+public final class CompensatedSum {
+    
+    private static final BasicMathOperations BASIC = new BasicMathOperations();
+    
+    private double sum;
+    private double compensation;
+    
+    /**
+     * Adds a value
+     * @param value value to add
+     */
+    public void add(double value) {
+        double t = BASIC.add(sum, value);
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+    }
+    
+    /**
+     * Adds every element of an array
+     * @param values values to add
+     */
+    public void addAll(double[] values) {
+        for (double value : values) {
+            add(value);
+        }
+    }
+    
+    /**
+     * Adds the sum accumulated by another instance, keeping both compensation terms
+     * @param other sum to merge in; unchanged
+     */
+    public void merge(CompensatedSum other) {
+        add(other.sum);
+        add(other.compensation);
+    }
+    
+    /**
+     * Returns the compensated sum
+     * @return sum of all values added
+     */
+    public double value() {
+        double result = sum + compensation;
+        // An infinite or NaN partial sum leaves a NaN compensation; report the partial sum instead
+        return Double.isNaN(result) && !Double.isNaN(sum) ? sum : result;
+    }
+    
+    public void reset() {
+        sum = 0;
+        compensation = 0;
+    }
+    
+    @Override
+    public String toString() {
+        return Double.toString(value());
+    }
+}
\ No newline at end of file
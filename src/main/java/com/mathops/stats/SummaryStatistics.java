@@ -0,0 +1,174 @@
+package com.mathops.stats;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Single-pass count, sum, mean, variance, minimum and maximum.
+ * <p>
+ * The mean and the sum of squared deviations are updated with Welford's
+ * recurrence, which does not suffer the cancellation of the textbook
+ * {@code sum(x^2) - n * mean^2} formula. The sum is compensated. Memory use is
+ * constant whatever the number of values. Instances are not thread-safe; give
+ * each partition its own instance and combine them with {@link #merge}, which
+ * uses the pairwise update of Chan, Golub and LeVeque and gives the same result,
+ * up to rounding, as accepting every value into one instance.
+ * <p>
+ * A NaN value makes the sum, mean, variance, minimum and maximum NaN.
+ */
+public final class SummaryStatistics implements DoubleConsumer {
+    
+    private final CompensatedSum sum = new CompensatedSum();
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    /**
+     * Summarizes every element of an array
+     * @param values values to summarize
+     * @return statistics of the values
+     */
+    public static SummaryStatistics of(double[] values) {
+        SummaryStatistics statistics = new SummaryStatistics();
+        statistics.acceptAll(values);
+        return statistics;
+    }
+    
+    @Override
+    public void accept(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        sum.add(value);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+    
+    /**
+     * Accepts every element of an array
+     * @param values values to accept
+     */
+    public void acceptAll(double[] values) {
+        acceptAll(values, 0, values.length);
+    }
+    
+    /**
+     * Accepts the elements in the range {@code [off, off + len)}
+     * @param values values to accept
+     * @param off first index
+     * @param len number of elements
+     */
+    public void acceptAll(double[] values, int off, int len) {
+        if (off < 0 || len < 0 || off > values.length - len) {
+            throw new IndexOutOfBoundsException("Range [" + off + ", " + off + " + " + len
+                    + ") out of bounds for length " + values.length);
+        }
+        for (int i = off; i < off + len; i++) {
+            accept(values[i]);
+        }
+    }
+    
+    /**
+     * Combines the statistics of another partition into this one
+     * @param other statistics to merge in; unchanged
+     * @return this instance
+     */
+    public SummaryStatistics merge(SummaryStatistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+        } else {
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            double weight = (double) other.count / total;
+            mean += delta * weight;
+            m2 += other.m2 + delta * delta * count * weight;
+            count = total;
+        }
+        sum.merge(other.sum);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    /**
+     * Returns the compensated sum
+     * @return sum of the values, 0 if there are none
+     */
+    public double getSum() {
+        return sum.value();
+    }
+    
+    /**
+     * Returns the arithmetic mean
+     * @return mean, NaN if there are no values
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+    
+    /**
+     * Returns the sample variance, with divisor {@code n - 1}
+     * @return variance, NaN if there are fewer than two values
+     */
+    public double getVariance() {
+        return count < 2 ? Double.NaN : m2 / (count - 1);
+    }
+    
+    /**
+     * Returns the population variance, with divisor {@code n}
+     * @return variance, NaN if there are no values
+     */
+    public double getPopulationVariance() {
+        return count == 0 ? Double.NaN : m2 / count;
+    }
+    
+    /**
+     * Returns the sample standard deviation
+     * @return standard deviation, NaN if there are fewer than two values
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+    
+    /**
+     * Returns the smallest value
+     * @return minimum, NaN if there are no values
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+    
+    /**
+     * Returns the largest value
+     * @return maximum, NaN if there are no values
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+    
+    public void reset() {
+        sum.reset();
+        count = 0;
+        mean = 0;
+        m2 = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SummaryStatistics{count=%d, sum=%s, mean=%s, stdDev=%s, min=%s, max=%s}",
+                count, getSum(), getMean(), getStandardDeviation(), getMin(), getMax());
+    }
+}
\ No newline at end of file
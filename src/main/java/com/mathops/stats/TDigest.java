@@ -0,0 +1,355 @@
+package com.mathops.stats;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Mergeable sketch of a distribution for estimating quantiles in one pass, after
+ * Dunning's merging t-digest.
+ * <p>
+ * Values are summarized by centroids, each holding a mean and a weight. Incoming
+ * values are appended to a buffer; when it fills, the buffer is sorted and merged
+ * with the centroids, and neighbouring centroids are combined as long as the
+ * {@code k1} scale function allows. That function keeps centroids small near the
+ * tails, so extreme quantiles stay accurate, and bounds their number by about
+ * twice the compression. All arrays are allocated up front: memory depends only
+ * on the compression, never on the number of values.
+ * <p>
+ * Higher compression gives more accuracy for more memory; the default of
+ * {@value #DEFAULT_COMPRESSION} keeps the median within a small fraction of a
+ * percent of rank. Instances are not thread-safe; give each partition its own
+ * digest and combine them with {@link #merge}.
+ */
+public final class TDigest implements DoubleConsumer {
+    
+    public static final double DEFAULT_COMPRESSION = 100;
+    
+    /** Below this compression the sketch is too coarse to be useful */
+    public static final double MIN_COMPRESSION = 10;
+    
+    public static final double MAX_COMPRESSION = 10_000;
+    
+    /** Buffered values per unit of compression; a larger buffer means fewer, cheaper merges per value */
+    private static final int BUFFER_FACTOR = 20;
+    
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    
+    private final double compression;
+    private final double[] means;
+    private final double[] weights;
+    private int centroids;
+    
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int buffered;
+    private boolean unitWeights = true;
+    
+    private final double[] mergeMeans;
+    private final double[] mergeWeights;
+    
+    private long count;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+    
+    /**
+     * Creates an empty digest
+     * @param compression between {@value #MIN_COMPRESSION} and {@value #MAX_COMPRESSION}
+     */
+    public TDigest(double compression) {
+        if (!(compression >= MIN_COMPRESSION && compression <= MAX_COMPRESSION)) {
+            throw new IllegalArgumentException("Compression must be between " + MIN_COMPRESSION
+                    + " and " + MAX_COMPRESSION);
+        }
+        this.compression = compression;
+        int capacity = 2 * (int) Math.ceil(compression) + 10;
+        int bufferCapacity = BUFFER_FACTOR * (int) Math.ceil(compression);
+        means = new double[capacity];
+        weights = new double[capacity];
+        bufferMeans = new double[bufferCapacity];
+        bufferWeights = new double[bufferCapacity];
+        mergeMeans = new double[capacity + bufferCapacity];
+        mergeWeights = new double[capacity + bufferCapacity];
+    }
+    
+    /**
+     * Builds a digest of every element of an array
+     * @param values finite values
+     * @return digest with the default compression
+     */
+    public static TDigest of(double[] values) {
+        TDigest digest = new TDigest();
+        digest.acceptAll(values);
+        return digest;
+    }
+    
+    /**
+     * Adds a value
+     * @param value finite value
+     * @throws IllegalArgumentException if the value is NaN or infinite
+     */
+    @Override
+    public void accept(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("TDigest accepts only finite values");
+        }
+        add(value, 1);
+        count++;
+    }
+    
+    /**
+     * Adds every element of an array
+     * @param values finite values
+     * @throws IllegalArgumentException if any value is NaN or infinite; earlier values are kept
+     */
+    public void acceptAll(double[] values) {
+        for (double value : values) {
+            accept(value);
+        }
+    }
+    
+    /**
+     * Combines the digest of another partition into this one
+     * @param other digest to merge in; unchanged
+     * @return this instance
+     */
+    public TDigest merge(TDigest other) {
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        for (int i = 0; i < other.buffered; i++) {
+            add(other.bufferMeans[i], other.bufferWeights[i]);
+        }
+        // Centroid means lie inside the data; carry over the true extremes
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        count += other.count;
+        return this;
+    }
+    
+    /**
+     * Estimates the value at a quantile
+     * @param q quantile between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return estimate, the exact minimum and maximum at 0 and 1, NaN if the digest is empty
+     * @throws IllegalArgumentException if {@code q} is outside [0, 1]
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return min + q * (max - min);
+        }
+        double index = q * totalWeight;
+        double firstHalf = weights[0] / 2;
+        if (index <= firstHalf) {
+            return min + (means[0] - min) * (index / firstHalf);
+        }
+        int last = centroids - 1;
+        double lastHalf = weights[last] / 2;
+        if (index >= totalWeight - lastHalf) {
+            return max - (max - means[last]) * ((totalWeight - index) / lastHalf);
+        }
+        // Interpolate between the centres of the two centroids whose span holds the rank
+        double cumulative = firstHalf;
+        for (int i = 0; i < last; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (index < cumulative + gap) {
+                return means[i] + (means[i + 1] - means[i]) * ((index - cumulative) / gap);
+            }
+            cumulative += gap;
+        }
+        return means[last];
+    }
+    
+    public double getCompression() {
+        return compression;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    /**
+     * Returns the smallest value
+     * @return minimum, NaN if the digest is empty
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+    
+    /**
+     * Returns the largest value
+     * @return maximum, NaN if the digest is empty
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+    
+    /**
+     * Returns the number of centroids after merging any buffered values
+     * @return centroid count, never more than about twice the compression
+     */
+    public int getCentroidCount() {
+        compress();
+        return centroids;
+    }
+    
+    public void reset() {
+        centroids = 0;
+        buffered = 0;
+        unitWeights = true;
+        count = 0;
+        totalWeight = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("TDigest{count=%d, compression=%s, centroids=%d}",
+                count, compression, getCentroidCount());
+    }
+    
+    private void add(double mean, double weight) {
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = mean;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        unitWeights &= weight == 1;
+        totalWeight += weight;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+    
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        if (unitWeights) {
+            // Plain values: every weight is 1, so only the means need sorting
+            Arrays.sort(bufferMeans, 0, buffered);
+        } else {
+            sort(bufferMeans, bufferWeights, 0, buffered - 1);
+        }
+        
+        // Both runs are sorted by mean; merge them into the scratch arrays
+        int merged = 0;
+        for (int i = 0, j = 0; i < centroids || j < buffered; merged++) {
+            if (j == buffered || (i < centroids && means[i] <= bufferMeans[j])) {
+                mergeMeans[merged] = means[i];
+                mergeWeights[merged] = weights[i];
+                i++;
+            } else {
+                mergeMeans[merged] = bufferMeans[j];
+                mergeWeights[merged] = bufferWeights[j];
+                j++;
+            }
+        }
+        
+        int out = 0;
+        means[0] = mergeMeans[0];
+        weights[0] = mergeWeights[0];
+        double weightSoFar = 0;
+        double weightLimit = totalWeight * quantileLimit(0);
+        for (int i = 1; i < merged; i++) {
+            double proposed = weights[out] + mergeWeights[i];
+            if (weightSoFar + proposed <= weightLimit || out == means.length - 1) {
+                means[out] += (mergeMeans[i] - means[out]) * (mergeWeights[i] / proposed);
+                weights[out] = proposed;
+            } else {
+                weightSoFar += weights[out];
+                weightLimit = totalWeight * quantileLimit(weightSoFar / totalWeight);
+                out++;
+                means[out] = mergeMeans[i];
+                weights[out] = mergeWeights[i];
+            }
+        }
+        centroids = out + 1;
+        buffered = 0;
+        unitWeights = true;
+    }
+    
+    /**
+     * Largest quantile a centroid starting at {@code q} may reach: one step of the
+     * scale function {@code k1(q) = compression / (2 pi) * asin(2q - 1)}
+     */
+    private double quantileLimit(double q) {
+        double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        if (k >= compression / 4) {
+            return 1;
+        }
+        return (Math.sin(2 * Math.PI * k / compression) + 1) / 2;
+    }
+    
+    /** Sorts the inclusive range of {@code keys}, moving {@code values} along with them */
+    private static void sort(double[] keys, double[] values, int lo, int hi) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < keys[lo]) {
+                swap(keys, values, mid, lo);
+            }
+            if (keys[hi] < keys[lo]) {
+                swap(keys, values, hi, lo);
+            }
+            if (keys[hi] < keys[mid]) {
+                swap(keys, values, hi, mid);
+            }
+            double pivot = keys[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, values, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            // Recurse into the smaller side so the stack stays logarithmic
+            if (j - lo < hi - i) {
+                sort(keys, values, lo, j);
+                lo = i;
+            } else {
+                sort(keys, values, i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            double key = keys[i];
+            double value = values[i];
+            int j = i - 1;
+            while (j >= lo && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+    
+    private static void swap(double[] keys, double[] values, int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        double value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.mathops.storage;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+
+/**
+ * Receives the chunks of a column in order, see {@link ColumnReader#forEachChunk}
+ */
+@FunctionalInterface
+public interface ChunkConsumer {
+    
+    /**
+     * Processes one chunk
+     * @param firstIndex index in the column of the first value of the chunk
+     * @param values read-only view of the mapped chunk, positioned at its first value;
+     *               only valid while the reader is open
+     * @throws IOException to stop the iteration
+     */
+    void accept(long firstIndex, DoubleBuffer values) throws IOException;
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.mathops.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout of a column file, shared by {@link ColumnWriter} and {@link ColumnReader}.
+ * <p>
+ * All fields are little-endian, the native order of x86 and ARM, so mapped
+ * chunks are read as doubles without byte swapping.
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "MCOL"
+ *      4     4  format version
+ *      8     4  flags, bit 0 set when chunks carry checksums
+ *     12     4  values per chunk
+ *     16     8  number of values
+ *     24    36  reserved, zero
+ *     60     4  CRC32C of bytes 0 to 59
+ *     64        values, chunk after chunk; only the last chunk may be short
+ *               then, with checksums, one CRC32C per chunk
+ * </pre>
+ * The writer fills in the header when it is closed, so a file whose writer
+ * never finished has no magic and is rejected.
+ */
+final class ColumnFormat {
+    
+    static final int MAGIC = 'M' | 'C' << 8 | 'O' << 16 | 'L' << 24;
+    static final int VERSION = 1;
+    static final int FLAG_CHECKSUMS = 1;
+    static final int HEADER_SIZE = 64;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    
+    private static final int HEADER_CHECKSUM_OFFSET = HEADER_SIZE - Integer.BYTES;
+    
+    private ColumnFormat() {
+    }
+    
+    /**
+     * Encodes a header
+     * @param chunkSize values per chunk
+     * @param valueCount number of values
+     * @param checksums whether chunks carry checksums
+     * @return header buffer, ready to write
+     */
+    static ByteBuffer header(int chunkSize, long valueCount, boolean checksums) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+        header.putInt(0, MAGIC)
+                .putInt(4, VERSION)
+                .putInt(8, checksums ? FLAG_CHECKSUMS : 0)
+                .putInt(12, chunkSize)
+                .putLong(16, valueCount)
+                .putInt(HEADER_CHECKSUM_OFFSET, checksum(header, 0, HEADER_CHECKSUM_OFFSET));
+        return header;
+    }
+    
+    /**
+     * Verifies a header read from a file
+     * @param header {@link #HEADER_SIZE} bytes in {@link #ORDER}
+     * @throws ColumnFormatException if the magic, version or checksum is wrong
+     */
+    static void checkHeader(ByteBuffer header) throws ColumnFormatException {
+        if (header.getInt(0) != MAGIC) {
+            throw new ColumnFormatException("Not a column file, or its writer was not closed");
+        }
+        if (header.getInt(HEADER_CHECKSUM_OFFSET) != checksum(header, 0, HEADER_CHECKSUM_OFFSET)) {
+            throw new ColumnFormatException("Header checksum mismatch");
+        }
+        int version = header.getInt(4);
+        if (version != VERSION) {
+            throw new ColumnFormatException("Unsupported column file version " + version);
+        }
+    }
+    
+    static long chunkOffset(int chunk, int chunkSize) {
+        return HEADER_SIZE + (long) chunk * chunkSize * Double.BYTES;
+    }
+    
+    static int chunkCount(long valueCount, int chunkSize) {
+        return (int) ((valueCount + chunkSize - 1) / chunkSize);
+    }
+    
+    /**
+     * Calculates the CRC32C of a range of a buffer without moving its position
+     * @param buffer bytes
+     * @param from first byte
+     * @param to end of the range, exclusive
+     * @return checksum
+     */
+    static int checksum(ByteBuffer buffer, int from, int to) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().limit(to).position(from));
+        return (int) crc.getValue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.mathops.storage;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a column file is truncated, corrupt or not a column file at all
+ */
+public class ColumnFormatException extends IOException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public ColumnFormatException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
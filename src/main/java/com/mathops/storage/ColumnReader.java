@@ -0,0 +1,276 @@
+package com.mathops.storage;
+
+import com.mathops.operations.UnaryChain;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Reads a column file written by {@link ColumnWriter} through read-only memory maps.
+ * <p>
+ * The file is mapped in regions of whole chunks of up to 1 GB, so values stay
+ * in the page cache rather than on the Java heap and columns larger than the
+ * heap can be read. {@link #chunk} and {@link #forEachChunk} hand out views of
+ * the mapping without copying; {@link #transform} streams a column through a
+ * {@link UnaryChain} a small block at a time. When the file has checksums and
+ * the reader was opened with verification, every chunk handed out is checked
+ * first.
+ * <p>
+ * Readers are safe to share between threads. Closing a reader closes the file;
+ * the JDK releases the mappings when they are garbage collected, so views must
+ * not be used after {@link #close}.
+ */
+public final class ColumnReader implements Closeable {
+    
+    private static final long MAX_REGION_BYTES = 1L << 30;
+    /** Values per block in {@link #transform}, a 32 KB scratch array that stays in cache */
+    private static final int TRANSFORM_BLOCK = 1 << 12;
+    
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final long valueCount;
+    private final int chunkCount;
+    private final int chunksPerRegion;
+    private final MappedByteBuffer[] regions;
+    private final int[] chunkChecksums;
+    private final boolean verify;
+    private volatile boolean closed;
+    
+    private ColumnReader(FileChannel channel, int chunkSize, long valueCount, int[] chunkChecksums,
+                         boolean verify) throws IOException {
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+        this.valueCount = valueCount;
+        this.chunkCount = ColumnFormat.chunkCount(valueCount, chunkSize);
+        this.chunksPerRegion = (int) Math.max(1, MAX_REGION_BYTES / ((long) chunkSize * Double.BYTES));
+        this.chunkChecksums = chunkChecksums;
+        this.verify = verify && chunkChecksums != null;
+        this.regions = new MappedByteBuffer[(chunkCount + chunksPerRegion - 1) / chunksPerRegion];
+        long dataEnd = ColumnFormat.chunkOffset(0, chunkSize) + valueCount * Double.BYTES;
+        for (int r = 0; r < regions.length; r++) {
+            long start = ColumnFormat.chunkOffset(r * chunksPerRegion, chunkSize);
+            long size = Math.min(dataEnd - start, (long) chunksPerRegion * chunkSize * Double.BYTES);
+            regions[r] = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+            regions[r].order(ColumnFormat.ORDER);
+        }
+    }
+    
+    /**
+     * Opens a column file, verifying chunk checksums when it has them
+     * @param path file to read
+     * @return reader
+     * @throws ColumnFormatException if the file is not a complete column file
+     * @throws IOException if the file cannot be read
+     */
+    public static ColumnReader open(Path path) throws IOException {
+        return open(path, true);
+    }
+    
+    /**
+     * Opens a column file
+     * @param path file to read
+     * @param verifyChecksums whether to check each chunk against its checksum before handing it out
+     * @return reader
+     * @throws ColumnFormatException if the file is not a complete column file
+     * @throws IOException if the file cannot be read
+     */
+    public static ColumnReader open(Path path, boolean verifyChecksums) throws IOException {
+        FileChannel channel = FileChannel.open(Objects.requireNonNull(path, "path"), StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(ColumnFormat.HEADER_SIZE).order(ColumnFormat.ORDER);
+            readFully(channel, header, 0);
+            ColumnFormat.checkHeader(header);
+            int chunkSize = header.getInt(12);
+            long valueCount = header.getLong(16);
+            boolean checksums = (header.getInt(8) & ColumnFormat.FLAG_CHECKSUMS) != 0;
+            if (chunkSize < ColumnWriter.MIN_CHUNK_SIZE || chunkSize > ColumnWriter.MAX_CHUNK_SIZE
+                    || valueCount < 0) {
+                throw new ColumnFormatException("Invalid chunk size " + chunkSize + " or value count " + valueCount);
+            }
+            int chunkCount = ColumnFormat.chunkCount(valueCount, chunkSize);
+            long dataEnd = ColumnFormat.chunkOffset(0, chunkSize) + valueCount * Double.BYTES;
+            long expectedSize = dataEnd + (checksums ? (long) chunkCount * Integer.BYTES : 0);
+            if (channel.size() < expectedSize) {
+                throw new ColumnFormatException("Column file is truncated: expected " + expectedSize
+                        + " bytes but found " + channel.size());
+            }
+            int[] chunkChecksums = null;
+            if (checksums) {
+                ByteBuffer table = ByteBuffer.allocate(chunkCount * Integer.BYTES).order(ColumnFormat.ORDER);
+                readFully(channel, table, dataEnd);
+                chunkChecksums = new int[chunkCount];
+                table.asIntBuffer().get(chunkChecksums);
+            }
+            return new ColumnReader(channel, chunkSize, valueCount, chunkChecksums, verifyChecksums);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    
+    public int getChunkCount() {
+        return chunkCount;
+    }
+    
+    public long getValueCount() {
+        return valueCount;
+    }
+    
+    public boolean hasChecksums() {
+        return chunkChecksums != null;
+    }
+    
+    /**
+     * Returns one chunk without copying it
+     * @param index chunk number
+     * @return read-only view of the chunk, positioned at its first value
+     * @throws IndexOutOfBoundsException if there is no such chunk
+     * @throws ColumnFormatException if the chunk does not match its checksum
+     */
+    public DoubleBuffer chunk(int index) throws ColumnFormatException {
+        Objects.checkIndex(index, chunkCount);
+        checkOpen();
+        ByteBuffer region = regions[index / chunksPerRegion];
+        int from = (index % chunksPerRegion) * chunkSize * Double.BYTES;
+        int to = from + chunkLength(index) * Double.BYTES;
+        if (verify) {
+            checkChunk(region, index, from, to);
+        }
+        return region.duplicate().limit(to).position(from).slice().order(ColumnFormat.ORDER).asDoubleBuffer();
+    }
+    
+    /**
+     * Hands every chunk to the consumer in order, without copying
+     * @param consumer receives each chunk
+     * @throws ColumnFormatException if a chunk does not match its checksum
+     * @throws IOException if the consumer throws it
+     */
+    public void forEachChunk(ChunkConsumer consumer) throws IOException {
+        for (int i = 0; i < chunkCount; i++) {
+            consumer.accept((long) i * chunkSize, chunk(i));
+        }
+    }
+    
+    /**
+     * Reads one value. Checksums are not verified.
+     * @param index position in the column
+     * @return value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public double get(long index) {
+        if (index < 0 || index >= valueCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + valueCount);
+        }
+        checkOpen();
+        long regionValues = (long) chunksPerRegion * chunkSize;
+        return regions[(int) (index / regionValues)].getDouble((int) (index % regionValues) * Double.BYTES);
+    }
+    
+    /**
+     * Copies a range of values onto the heap. Checksums are not verified.
+     * @param index position in the column of the first value
+     * @param dst destination
+     * @param off first index in {@code dst}
+     * @param len number of values
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     */
+    public void read(long index, double[] dst, int off, int len) {
+        if (index < 0 || len < 0 || index > valueCount - len) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + index + ", " + index + " + " + len + ") out of bounds for length " + valueCount);
+        }
+        Objects.checkFromIndexSize(off, len, dst.length);
+        checkOpen();
+        long regionValues = (long) chunksPerRegion * chunkSize;
+        while (len > 0) {
+            DoubleBuffer values = regions[(int) (index / regionValues)].asDoubleBuffer();
+            values.position((int) (index % regionValues));
+            int n = Math.min(len, values.remaining());
+            values.get(dst, off, n);
+            index += n;
+            off += n;
+            len -= n;
+        }
+    }
+    
+    /**
+     * Applies a chain of operations to every value and appends the results to a writer.
+     * Values pass through one small heap block, so memory use does not depend on the column length.
+     * @param chain operations to apply
+     * @param out writer receiving one result per value
+     * @throws ColumnFormatException if a chunk does not match its checksum
+     * @throws IOException if writing fails
+     */
+    public void transform(UnaryChain chain, ColumnWriter out) throws IOException {
+        Objects.requireNonNull(chain, "chain");
+        double[] block = new double[Math.min(TRANSFORM_BLOCK, chunkSize)];
+        for (int i = 0; i < chunkCount; i++) {
+            DoubleBuffer values = chunk(i);
+            while (values.hasRemaining()) {
+                int n = Math.min(block.length, values.remaining());
+                values.get(block, 0, n);
+                chain.apply(block, block, 0, n);
+                out.write(block, 0, n);
+            }
+        }
+    }
+    
+    /**
+     * Checks every chunk against its checksum, whether or not the reader verifies as it goes
+     * @throws ColumnFormatException at the first chunk that does not match
+     */
+    public void verify() throws ColumnFormatException {
+        if (chunkChecksums == null) {
+            return;
+        }
+        checkOpen();
+        for (int i = 0; i < chunkCount; i++) {
+            int from = (i % chunksPerRegion) * chunkSize * Double.BYTES;
+            checkChunk(regions[i / chunksPerRegion], i, from, from + chunkLength(i) * Double.BYTES);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+    
+    private void checkChunk(ByteBuffer region, int index, int from, int to) throws ColumnFormatException {
+        if (ColumnFormat.checksum(region, from, to) != chunkChecksums[index]) {
+            throw new ColumnFormatException("Checksum mismatch in chunk " + index);
+        }
+    }
+    
+    private int chunkLength(int index) {
+        return index == chunkCount - 1 ? (int) (valueCount - (long) index * chunkSize) : chunkSize;
+    }
+    
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Reader is closed");
+        }
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new ColumnFormatException("Column file is truncated");
+            }
+            position += n;
+        }
+        buffer.flip();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.mathops.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Writes a column of doubles to a file in the format described by {@link ColumnFormat}.
+ * <p>
+ * Values are gathered in one direct buffer the size of a chunk, and each full
+ * chunk is checksummed and written straight from it, so the heap use of a
+ * writer does not depend on the length of the column. The header is written
+ * last, by {@link #close}; until then the file is not readable. Writers are
+ * not thread-safe.
+ */
+public final class ColumnWriter implements Closeable {
+    
+    /** Values per chunk unless given, 512 KB of doubles */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    public static final int MIN_CHUNK_SIZE = 1 << 8;
+    /** Largest chunk, 1 GB of doubles, so any chunk can be mapped as one buffer */
+    public static final int MAX_CHUNK_SIZE = 1 << 27;
+    
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final boolean checksums;
+    private final ByteBuffer chunk;
+    private final DoubleBuffer chunkValues;
+    private int[] chunkChecksums;
+    private int chunks;
+    private long valueCount;
+    private boolean closed;
+    
+    private ColumnWriter(FileChannel channel, int chunkSize, boolean checksums) {
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+        this.checksums = checksums;
+        this.chunk = ByteBuffer.allocateDirect(chunkSize * Double.BYTES).order(ColumnFormat.ORDER);
+        this.chunkValues = chunk.asDoubleBuffer();
+        this.chunkChecksums = new int[checksums ? 16 : 0];
+    }
+    
+    /**
+     * Creates or truncates a column file with the default chunk size and checksums
+     * @param path file to write
+     * @return writer positioned at the first value
+     * @throws IOException if the file cannot be opened
+     */
+    public static ColumnWriter create(Path path) throws IOException {
+        return create(path, DEFAULT_CHUNK_SIZE, true);
+    }
+    
+    /**
+     * Creates or truncates a column file
+     * @param path file to write
+     * @param chunkSize values per chunk
+     * @param checksums whether to store a CRC32C per chunk
+     * @return writer positioned at the first value
+     * @throws IllegalArgumentException if the chunk size is out of range
+     * @throws IOException if the file cannot be opened
+     */
+    public static ColumnWriter create(Path path, int chunkSize, boolean checksums) throws IOException {
+        if (chunkSize < MIN_CHUNK_SIZE || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between " + MIN_CHUNK_SIZE
+                    + " and " + MAX_CHUNK_SIZE);
+        }
+        FileChannel channel = FileChannel.open(Objects.requireNonNull(path, "path"), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        // Zeroed placeholder; the real header is written by close
+        channel.write(ByteBuffer.allocate(ColumnFormat.HEADER_SIZE));
+        return new ColumnWriter(channel, chunkSize, checksums);
+    }
+    
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    
+    /**
+     * Returns the number of values written so far
+     * @return value count
+     */
+    public long getValueCount() {
+        return valueCount;
+    }
+    
+    public void write(double value) throws IOException {
+        checkOpen();
+        chunkValues.put(value);
+        valueCount++;
+        if (!chunkValues.hasRemaining()) {
+            flushChunk();
+        }
+    }
+    
+    public void write(double[] values) throws IOException {
+        write(values, 0, values.length);
+    }
+    
+    /**
+     * Appends a range of an array
+     * @param values source
+     * @param off first index
+     * @param len number of values
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     * @throws IOException if writing fails
+     */
+    public void write(double[] values, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, values.length);
+        checkOpen();
+        while (len > 0) {
+            int n = Math.min(len, chunkValues.remaining());
+            chunkValues.put(values, off, n);
+            valueCount += n;
+            off += n;
+            len -= n;
+            if (!chunkValues.hasRemaining()) {
+                flushChunk();
+            }
+        }
+    }
+    
+    /**
+     * Appends the remaining values of a buffer, e.g. a chunk from {@link ColumnReader#forEachChunk},
+     * and advances its position to its limit. Copies off-heap to off-heap when the buffer is direct.
+     * @param values source
+     * @throws IOException if writing fails
+     */
+    public void write(DoubleBuffer values) throws IOException {
+        checkOpen();
+        while (values.hasRemaining()) {
+            int n = Math.min(values.remaining(), chunkValues.remaining());
+            int limit = values.limit();
+            values.limit(values.position() + n);
+            chunkValues.put(values);
+            values.limit(limit);
+            valueCount += n;
+            if (!chunkValues.hasRemaining()) {
+                flushChunk();
+            }
+        }
+    }
+    
+    /**
+     * Writes the last, possibly short, chunk, the checksums and the header, then closes the file.
+     * Closing twice does nothing.
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (chunkValues.position() > 0) {
+                flushChunk();
+            }
+            if (checksums) {
+                ByteBuffer table = ByteBuffer.allocate(chunks * Integer.BYTES).order(ColumnFormat.ORDER);
+                table.asIntBuffer().put(chunkChecksums, 0, chunks);
+                writeFully(table, ColumnFormat.chunkOffset(0, chunkSize) + valueCount * Double.BYTES);
+            }
+            writeFully(ColumnFormat.header(chunkSize, valueCount, checksums), 0);
+        } finally {
+            channel.close();
+        }
+    }
+    
+    private void flushChunk() throws IOException {
+        int bytes = chunkValues.position() * Double.BYTES;
+        if (checksums) {
+            if (chunks == chunkChecksums.length) {
+                chunkChecksums = Arrays.copyOf(chunkChecksums, chunks * 2);
+            }
+            chunkChecksums[chunks] = ColumnFormat.checksum(chunk, 0, bytes);
+        }
+        chunk.limit(bytes).position(0);
+        writeFully(chunk, ColumnFormat.chunkOffset(chunks, chunkSize));
+        chunk.clear();
+        chunkValues.clear();
+        chunks++;
+    }
+    
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+    
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+    }
+}
\ No newline at end of file
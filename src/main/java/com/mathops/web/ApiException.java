@@ -0,0 +1,24 @@
+package com.mathops.web;
+
+/**
+ * Request failure that maps to an HTTP error status
+ */
+class ApiException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final int status;
+    
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+    
+    /**
+     * Returns the HTTP status to answer with
+     * @return status code
+     */
+    int getStatus() {
+        return status;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.mathops.web;
+
+import com.mathops.operations.MathOperation;
+import com.mathops.service.MathService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Serves the calculation API:
+ * <ul>
+ *   <li>{@code GET /api/operations} lists the operations and their arity</li>
+ *   <li>{@code GET /api/{operation}?a=..[&b=..]} evaluates one call</li>
+ *   <li>{@code POST /api/batch} with {@code {"operation":"sin","a":[..]}} (and {@code "b"}
+ *       as an array, or a number for {@code power}) evaluates a whole array through
+ *       the bulk methods</li>
+ * </ul>
+ * Errors are answered as {@code {"error":".."}} with a 4xx status.
+ */
+final class CalculationHandler implements HttpHandler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CalculationHandler.class);
+    
+    static final String CONTEXT = "/api/";
+    
+    private final MathService mathService;
+    private final long maxBodyBytes;
+    private final int maxBatchSize;
+    
+    CalculationHandler(MathService mathService, long maxBodyBytes, int maxBatchSize) {
+        this.mathService = mathService;
+        this.maxBodyBytes = maxBodyBytes;
+        this.maxBatchSize = maxBatchSize;
+    }
+    
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String name = exchange.getRequestURI().getPath().substring(CONTEXT.length());
+            if (name.equals("batch")) {
+                requireMethod(exchange, "POST");
+                handleBatch(exchange);
+            } else if (name.equals("operations")) {
+                requireMethod(exchange, "GET");
+                handleOperations(exchange);
+            } else {
+                requireMethod(exchange, "GET");
+                handleCall(exchange, name);
+            }
+        } catch (ApiException e) {
+            sendError(exchange, e.getStatus(), e.getMessage());
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (IOException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            logger.error("Request {} failed", exchange.getRequestURI(), e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            // Unread request bytes are drained by the server, keeping the connection reusable
+            exchange.close();
+        }
+    }
+    
+    private void handleOperations(HttpExchange exchange) throws IOException {
+        JsonWriter json = new JsonWriter(exchange, 200);
+        json.beginArray();
+        for (MathOperation operation : MathOperation.values()) {
+            json.beginObject()
+                    .name("operation").value(operation.operationName())
+                    .name("arity").value(operation.arity())
+                    .endObject();
+        }
+        json.endArray().finish();
+    }
+    
+    private void handleCall(HttpExchange exchange, String name) throws IOException {
+        MathOperation operation = lookup(name);
+        QueryParameters query = new QueryParameters(exchange.getRequestURI().getRawQuery());
+        double a = query.getDouble("a");
+        double b = operation.arity() == 2 ? query.getDouble("b") : 0;
+        
+        JsonWriter json;
+        if (operation == MathOperation.FACTORIAL) {
+            long result = mathService.factorial(MathService.toFactorialArgument(a));
+            json = new JsonWriter(exchange, 200);
+            json.beginObject().name("operation").value(operation.operationName()).name("result").value(result);
+        } else {
+            double result = operation.arity() == 2
+                    ? mathService.binaryOperator(operation).applyAsDouble(a, b)
+                    : mathService.unaryOperator(operation).applyAsDouble(a);
+            json = new JsonWriter(exchange, 200);
+            json.beginObject().name("operation").value(operation.operationName()).name("result").value(result);
+        }
+        json.endObject().finish();
+    }
+    
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        JsonReader reader = new JsonReader(exchange.getRequestBody(), maxBodyBytes);
+        MathOperation operation = null;
+        double[] a = null;
+        double[] b = null;
+        double exponent = Double.NaN;
+        
+        reader.expect('{');
+        if (!reader.consume('}')) {
+            do {
+                String field = reader.readString();
+                reader.expect(':');
+                switch (field) {
+                    case "operation":
+                        operation = lookup(reader.readString());
+                        break;
+                    case "a":
+                        a = reader.readNumberArray(maxBatchSize);
+                        break;
+                    case "b":
+                        if (reader.peek() == '[') {
+                            b = reader.readNumberArray(maxBatchSize);
+                        } else {
+                            exponent = reader.readNumber();
+                        }
+                        break;
+                    default:
+                        throw new ApiException(400, "Unknown field: " + field);
+                }
+            } while (reader.consume(','));
+            reader.expect('}');
+        }
+        reader.expectEnd();
+        
+        if (operation == null || a == null) {
+            throw new ApiException(400, "Batch requests need \"operation\" and \"a\"");
+        }
+        if (operation == MathOperation.POWER) {
+            if (Double.isNaN(exponent)) {
+                throw new ApiException(400, "power needs a number \"b\" as the exponent");
+            }
+        } else if (operation.arity() == 2 && (b == null || b.length != a.length)) {
+            throw new ApiException(400, "\"b\" must be an array as long as \"a\"");
+        }
+        
+        JsonWriter json;
+        if (operation == MathOperation.FACTORIAL) {
+            long[] results = new long[a.length];
+            for (int i = 0; i < a.length; i++) {
+                results[i] = mathService.factorial(MathService.toFactorialArgument(a[i]));
+            }
+            json = new JsonWriter(exchange, 200);
+            json.beginObject().name("operation").value(operation.operationName()).name("results").beginArray();
+            for (long result : results) {
+                json.value(result);
+            }
+        } else {
+            double[] results = new double[a.length];
+            applyBulk(operation, a, b, exponent, results);
+            json = new JsonWriter(exchange, 200);
+            json.beginObject().name("operation").value(operation.operationName()).name("results").beginArray();
+            for (double result : results) {
+                json.value(result);
+            }
+        }
+        json.endArray().endObject().finish();
+    }
+    
+    private void applyBulk(MathOperation operation, double[] a, double[] b, double exponent, double[] out) {
+        switch (operation) {
+            case ADD: mathService.add(a, b, out); break;
+            case SUBTRACT: mathService.subtract(a, b, out); break;
+            case MULTIPLY: mathService.multiply(a, b, out); break;
+            case DIVIDE: mathService.divide(a, b, out); break;
+            case MODULO: mathService.modulo(a, b, out); break;
+            case POWER: mathService.power(a, exponent, out); break;
+            case SQUARE_ROOT: mathService.squareRoot(a, out); break;
+            case CUBE_ROOT: mathService.cubeRoot(a, out); break;
+            case ABSOLUTE: mathService.absolute(a, out); break;
+            case NATURAL_LOG: mathService.naturalLog(a, out); break;
+            case LOG10: mathService.log10(a, out); break;
+            case SIN: mathService.sin(a, out); break;
+            case COS: mathService.cos(a, out); break;
+            case TAN: mathService.tan(a, out); break;
+            case ASIN: mathService.asin(a, out); break;
+            case ACOS: mathService.acos(a, out); break;
+            case ATAN: mathService.atan(a, out); break;
+            case DEGREES_TO_RADIANS: mathService.degreesToRadians(a, out); break;
+            case RADIANS_TO_DEGREES: mathService.radiansToDegrees(a, out); break;
+            default: throw new IllegalArgumentException("Unsupported operation: " + operation.operationName());
+        }
+    }
+    
+    private static MathOperation lookup(String name) {
+        try {
+            return MathOperation.fromName(name);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(404, e.getMessage());
+        }
+    }
+    
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equals(method)) {
+            exchange.getResponseHeaders().set("Allow", method);
+            throw new ApiException(405, "Use " + method);
+        }
+    }
+    
+    static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        new JsonWriter(exchange, status)
+                .beginObject().name("error").value(message == null ? "failed" : message).endObject()
+                .finish();
+    }
+}
\ No newline at end of file
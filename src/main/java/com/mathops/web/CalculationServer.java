@@ -0,0 +1,166 @@
+package com.mathops.web;
+
+import com.mathops.service.MathService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP server exposing {@link MathService} as a JSON API.
+ * <p>
+ * Built on the JDK's {@code com.sun.net.httpserver}, which keeps HTTP/1.1
+ * connections alive between requests. The server's dispatcher thread only
+ * accepts connections and parses request headers; API requests are handed to a
+ * fixed pool of worker threads behind a bounded queue. When the queue is full a
+ * request is answered at once with {@code 503} and a {@code Retry-After} header,
+ * so an overloaded server sheds load instead of stalling the dispatcher and
+ * every connection behind it. See {@link CalculationHandler} for the endpoints;
+ * {@code GET /health} answers {@code {"status":"UP"}} on the dispatcher thread.
+ */
+public final class CalculationServer implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CalculationServer.class);
+    
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final long MAX_BODY_BYTES = 64L << 20;
+    public static final int MAX_BATCH_SIZE = 1 << 20;
+    
+    private static final int BACKLOG = 1024;
+    private static final int STOP_DELAY_SECONDS = 1;
+    /** Seconds a client is asked to wait after a 503 */
+    private static final String RETRY_AFTER_SECONDS = "1";
+    
+    static {
+        // Headers and body go out in separate writes; without TCP_NODELAY, Nagle's algorithm
+        // and delayed ACKs hold each keep-alive response back by about 40 ms
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+    
+    private final HttpServer server;
+    private final ThreadPoolExecutor executor;
+    
+    /**
+     * Creates a server with one worker per available processor
+     * @param mathService service evaluating the requests
+     * @param port port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public CalculationServer(MathService mathService, int port) throws IOException {
+        this(mathService, new InetSocketAddress(port), Runtime.getRuntime().availableProcessors(),
+                DEFAULT_QUEUE_CAPACITY);
+    }
+    
+    /**
+     * Creates a server
+     * @param mathService service evaluating the requests
+     * @param address address to listen on
+     * @param threads number of worker threads
+     * @param queueCapacity requests that may wait for a worker
+     * @throws IOException if the address cannot be bound
+     */
+    public CalculationServer(MathService mathService, InetSocketAddress address, int threads, int queueCapacity)
+            throws IOException {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Threads and queue capacity must be positive");
+        }
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new WorkerThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.server = HttpServer.create(address, BACKLOG);
+        server.createContext(CalculationHandler.CONTEXT, new WorkerHandler(
+                new CalculationHandler(mathService, MAX_BODY_BYTES, MAX_BATCH_SIZE), executor));
+        server.createContext("/health", exchange -> {
+            try {
+                new JsonWriter(exchange, 200).beginObject().name("status").value("UP").endObject().finish();
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+    
+    public void start() {
+        server.start();
+        logger.info("Calculation server listening on port {}", getPort());
+    }
+    
+    /**
+     * Returns the port the server is bound to
+     * @return local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    /**
+     * Stops accepting connections, waits briefly for exchanges in progress and shuts the workers down
+     */
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.shutdown();
+        logger.info("Calculation server stopped");
+    }
+    
+    /**
+     * Runs a handler on the workers, answering {@code 503} on the calling
+     * dispatcher thread when the executor rejects the exchange
+     */
+    private static final class WorkerHandler implements HttpHandler {
+        
+        private final HttpHandler handler;
+        private final Executor executor;
+        
+        WorkerHandler(HttpHandler handler, Executor executor) {
+            this.handler = handler;
+            this.executor = executor;
+        }
+        
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                executor.execute(() -> {
+                    try {
+                        handler.handle(exchange);
+                    } catch (IOException | RuntimeException e) {
+                        logger.debug("Exchange {} failed", exchange.getRequestURI(), e);
+                        exchange.close();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                try {
+                    exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER_SECONDS);
+                    CalculationHandler.sendError(exchange, 503, "Server overloaded");
+                } finally {
+                    exchange.close();
+                }
+            }
+        }
+    }
+    
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        
+        private final AtomicInteger count = new AtomicInteger();
+        
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "mathops-http-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
\ No newline at end of file
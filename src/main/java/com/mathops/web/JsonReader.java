@@ -0,0 +1,197 @@
+package com.mathops.web;
+
+import com.mathops.batch.DecimalParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Pull reader for the small JSON subset the API accepts: objects, strings,
+ * numbers and arrays of numbers. Reads through a fixed buffer and parses
+ * numbers from the raw bytes with {@link DecimalParser}.
+ */
+final class JsonReader {
+    
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_NUMBER_LENGTH = 64;
+    
+    private final InputStream in;
+    private final long maxBytes;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] numberBytes = new byte[MAX_NUMBER_LENGTH];
+    private final ByteBuffer numberView = ByteBuffer.wrap(numberBytes);
+    private final DecimalParser parser = new DecimalParser();
+    private int position;
+    private int limit;
+    private long consumed;
+    
+    /**
+     * Creates a reader
+     * @param in request body
+     * @param maxBytes largest body accepted
+     */
+    JsonReader(InputStream in, long maxBytes) {
+        this.in = in;
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * Returns the next non-whitespace byte without consuming it
+     * @return next byte, or -1 at the end of the body
+     */
+    int peek() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            byte b = buffer[position];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return b;
+            }
+            position++;
+        }
+    }
+    
+    /**
+     * Consumes the next token if it is the given character
+     * @return true if it was consumed
+     */
+    boolean consume(char c) throws IOException {
+        if (peek() == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+    
+    void expect(char c) throws IOException {
+        if (!consume(c)) {
+            throw syntax("expected '" + c + "'");
+        }
+    }
+    
+    /**
+     * Verifies that nothing but whitespace follows
+     */
+    void expectEnd() throws IOException {
+        if (peek() != -1) {
+            throw syntax("unexpected content after the JSON value");
+        }
+    }
+    
+    String readString() throws IOException {
+        expect('"');
+        StringBuilder s = new StringBuilder();
+        while (true) {
+            int b = next();
+            if (b == '"') {
+                return s.toString();
+            }
+            if (b == '\\') {
+                int escaped = next();
+                switch (escaped) {
+                    case '"': case '\\': case '/': s.append((char) escaped); break;
+                    case 'b': s.append('\b'); break;
+                    case 'f': s.append('\f'); break;
+                    case 'n': s.append('\n'); break;
+                    case 'r': s.append('\r'); break;
+                    case 't': s.append('\t'); break;
+                    case 'u': s.append((char) hex4()); break;
+                    default: throw syntax("invalid escape");
+                }
+            } else if (b < 0x20) {
+                throw syntax("unterminated string");
+            } else {
+                s.append((char) b);
+            }
+        }
+    }
+    
+    double readNumber() throws IOException {
+        if (peek() == -1) {
+            throw syntax("expected a number");
+        }
+        int length = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            byte b = buffer[position];
+            if (!(b >= '0' && b <= '9' || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E')) {
+                break;
+            }
+            if (length == MAX_NUMBER_LENGTH) {
+                throw syntax("number too long");
+            }
+            numberBytes[length++] = b;
+            position++;
+        }
+        if (length == 0 || !parser.parse(numberView, 0, length)) {
+            throw syntax("expected a number");
+        }
+        return parser.value();
+    }
+    
+    /**
+     * Reads an array of numbers
+     * @param maxElements largest number of elements accepted
+     * @return the numbers, in an array of exactly their count
+     */
+    double[] readNumberArray(int maxElements) throws IOException {
+        expect('[');
+        double[] values = new double[16];
+        int count = 0;
+        if (!consume(']')) {
+            do {
+                if (count == maxElements) {
+                    throw new ApiException(413, "Arrays are limited to " + maxElements + " elements");
+                }
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, (int) Math.min((long) count * 2, maxElements));
+                }
+                values[count++] = readNumber();
+            } while (consume(','));
+            expect(']');
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+    
+    private int hex4() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(next(), 16);
+            if (digit < 0) {
+                throw syntax("invalid unicode escape");
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+    
+    private int next() throws IOException {
+        if (position == limit && !fill()) {
+            throw syntax("unexpected end of input");
+        }
+        return buffer[position++] & 0xFF;
+    }
+    
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        consumed += read;
+        if (consumed > maxBytes) {
+            throw new ApiException(413, "Request body exceeds " + maxBytes + " bytes");
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+    
+    private ApiException syntax(String message) {
+        return new ApiException(400, "Malformed JSON: " + message);
+    }
+}
\ No newline at end of file
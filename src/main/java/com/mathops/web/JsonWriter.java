@@ -0,0 +1,161 @@
+package com.mathops.web;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a JSON response body straight into a byte buffer.
+ * <p>
+ * Numbers are formatted into a reused {@link StringBuilder} and copied out as
+ * ASCII, so no string is created per value. A response that fits in the buffer
+ * is sent with a {@code Content-Length}; a larger one switches to chunked
+ * transfer on the first overflow and streams the rest. Either way the
+ * connection can be kept alive. Non-finite numbers have no JSON form and are
+ * written as {@code null}.
+ */
+final class JsonWriter {
+    
+    static final int BUFFER_SIZE = 8192;
+    
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    
+    private final HttpExchange exchange;
+    private final int status;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final StringBuilder number = new StringBuilder(32);
+    private int count;
+    private boolean needsComma;
+    private OutputStream body;
+    
+    JsonWriter(HttpExchange exchange, int status) {
+        this.exchange = exchange;
+        this.status = status;
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+    }
+    
+    JsonWriter beginObject() throws IOException {
+        separate();
+        put('{');
+        needsComma = false;
+        return this;
+    }
+    
+    JsonWriter endObject() throws IOException {
+        put('}');
+        needsComma = true;
+        return this;
+    }
+    
+    JsonWriter beginArray() throws IOException {
+        separate();
+        put('[');
+        needsComma = false;
+        return this;
+    }
+    
+    JsonWriter endArray() throws IOException {
+        put(']');
+        needsComma = true;
+        return this;
+    }
+    
+    JsonWriter name(String name) throws IOException {
+        separate();
+        string(name);
+        put(':');
+        needsComma = false;
+        return this;
+    }
+    
+    JsonWriter value(double value) throws IOException {
+        separate();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            ascii("null");
+        } else {
+            number.setLength(0);
+            number.append(value);
+            ascii(number);
+        }
+        needsComma = true;
+        return this;
+    }
+    
+    JsonWriter value(long value) throws IOException {
+        separate();
+        number.setLength(0);
+        number.append(value);
+        ascii(number);
+        needsComma = true;
+        return this;
+    }
+    
+    JsonWriter value(String value) throws IOException {
+        separate();
+        string(value);
+        needsComma = true;
+        return this;
+    }
+    
+    /**
+     * Sends whatever is still buffered and completes the response body
+     * @throws IOException if the client has gone away
+     */
+    void finish() throws IOException {
+        if (body == null) {
+            // A length of 0 would mean chunked; -1 means no body
+            exchange.sendResponseHeaders(status, count == 0 ? -1 : count);
+            body = exchange.getResponseBody();
+        }
+        body.write(buffer, 0, count);
+        count = 0;
+        body.close();
+    }
+    
+    private void separate() throws IOException {
+        if (needsComma) {
+            put(',');
+        }
+    }
+    
+    private void string(CharSequence s) throws IOException {
+        put('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                put('\\');
+                put(c);
+            } else if (c < 0x20 || c >= 0x7f) {
+                put('\\');
+                put('u');
+                put(HEX[(c >> 12) & 0xf]);
+                put(HEX[(c >> 8) & 0xf]);
+                put(HEX[(c >> 4) & 0xf]);
+                put(HEX[c & 0xf]);
+            } else {
+                put(c);
+            }
+        }
+        put('"');
+    }
+    
+    private void ascii(CharSequence s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            put(s.charAt(i));
+        }
+    }
+    
+    private void put(int b) throws IOException {
+        if (count == buffer.length) {
+            if (body == null) {
+                exchange.sendResponseHeaders(status, 0);
+                body = exchange.getResponseBody();
+            }
+            body.write(buffer, 0, count);
+            count = 0;
+        }
+        buffer[count++] = (byte) b;
+    }
+}
\ No newline at end of file
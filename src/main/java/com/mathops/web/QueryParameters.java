@@ -0,0 +1,52 @@
+package com.mathops.web;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decoded parameters of a URL query string
+ */
+final class QueryParameters {
+    
+    private final Map<String, String> values = new HashMap<>();
+    
+    QueryParameters(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            values.putIfAbsent(decode(name), decode(value));
+        }
+    }
+    
+    /**
+     * Returns a required numeric parameter
+     * @param name parameter name
+     * @return parsed value
+     * @throws ApiException with status 400 if the parameter is missing or not a number
+     */
+    double getDouble(String name) {
+        String value = values.get(name);
+        if (value == null) {
+            throw new ApiException(400, "Missing parameter: " + name);
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Parameter " + name + " is not a number: " + value);
+        }
+    }
+    
+    private static String decode(String s) {
+        try {
+            return URLDecoder.decode(s, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Malformed query string");
+        }
+    }
+}
\ No newline at end of file
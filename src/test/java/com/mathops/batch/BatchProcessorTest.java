@@ -0,0 +1,117 @@
+package com.mathops.batch;
+
+import com.mathops.service.Instrumentation;
+import com.mathops.service.MathService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchProcessorTest {
+
+    private MathService mathService;
+    private BatchProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        mathService = new MathService(Instrumentation.disabled());
+        processor = new BatchProcessor(mathService);
+    }
+
+    private String run(BatchProcessor batch, String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batch.process(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))),
+                Channels.newChannel(out));
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    void testEvaluatesRecords() throws IOException {
+        String output = run(processor, "add,1,2\nsquareRoot,16\nfactorial,5\nsin,0\npower,2,-3\n");
+        assertEquals("add,1,2,3.0\nsquareRoot,16,4.0\nfactorial,5,120\nsin,0,0.0\npower,2,-3,0.125\n", output);
+    }
+
+    @Test
+    void testLastRecordWithoutNewlineAndCrLf() throws IOException {
+        assertEquals("multiply, 2.5 , 4,10.0\nsubtract,1,3,-2.0\n",
+                run(processor, "multiply, 2.5 , 4\r\nsubtract,1,3"));
+    }
+
+    @Test
+    void testSkipsBlankAndCommentLines() throws IOException {
+        assertEquals("absolute,-3,3.0\n", run(processor, "# op,arg1,arg2\n\n   \nabsolute,-3\n"));
+    }
+
+    @Test
+    void testErrorsAreReportedInline() throws IOException {
+        String output = run(processor,
+                "divide,1,0\nfoo,1\nadd,1\nadd,x,2\nfactorial,2.5\nsquareRoot,-1\nadd,1,2,3\ncos,0\n");
+        String[] lines = output.split("\n");
+        assertEquals(8, lines.length);
+        assertEquals("divide,1,0,ERROR,Division by zero is not allowed", lines[0]);
+        assertEquals("foo,1,ERROR,unknown operation", lines[1]);
+        assertEquals("add,1,ERROR,expected 2 arguments", lines[2]);
+        assertEquals("add,x,2,ERROR,invalid number", lines[3]);
+        assertEquals("factorial,2.5,ERROR,Factorial is defined only for integers", lines[4]);
+        assertTrue(lines[5].startsWith("squareRoot,-1,ERROR,"));
+        assertEquals("add,1,2,3,ERROR,expected 2 arguments", lines[6]);
+        assertEquals("cos,0,1.0", lines[7]);
+    }
+
+    @Test
+    void testSummaryCounts() throws IOException {
+        BatchSummary summary = processor.process(
+                Channels.newChannel(new ByteArrayInputStream("add,1,1\n#x\nlog10,0\n".getBytes(StandardCharsets.US_ASCII))),
+                Channels.newChannel(new ByteArrayOutputStream()));
+        assertEquals(2, summary.getRecords());
+        assertEquals(1, summary.getErrors());
+    }
+
+    @Test
+    void testParsesNumbersExactly() throws IOException {
+        String[] values = {"0.1", "-0.0", "1e22", "1e23", "123456789012345678901234", "4.9e-324",
+                "1.7976931348623157e308", "0.000001234", "NaN", "-Infinity", "3.14159265358979323846"};
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (String value : values) {
+            input.append("add,").append(value).append(",0\n");
+            expected.append("add,").append(value).append(",0,")
+                    .append(Double.parseDouble(value) + 0.0).append('\n');
+        }
+        assertEquals(expected.toString(), run(processor, input.toString()));
+    }
+
+    @Test
+    void testSmallBufferCarriesRecordsAcrossReads() throws IOException {
+        BatchProcessor small = new BatchProcessor(mathService, BatchProcessor.MIN_BUFFER_SIZE);
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            input.append("add,").append(i).append(",0.5\n");
+            expected.append("add,").append(i).append(",0.5,").append(i + 0.5).append('\n');
+        }
+        assertEquals(expected.toString(), run(small, input.toString()));
+    }
+
+    @Test
+    void testOverlongRecordIsSkipped() throws IOException {
+        BatchProcessor small = new BatchProcessor(mathService, BatchProcessor.MIN_BUFFER_SIZE);
+        StringBuilder input = new StringBuilder("add,1,");
+        for (int i = 0; i < 600; i++) {
+            input.append('0');
+        }
+        input.append("\nadd,2,2\n");
+        assertEquals("ERROR,record longer than 256 bytes\nadd,2,2,4.0\n", run(small, input.toString()));
+    }
+
+    @Test
+    void testRejectsTinyBuffer() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchProcessor(mathService, 16));
+    }
+}
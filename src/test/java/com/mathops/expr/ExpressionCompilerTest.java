@@ -0,0 +1,106 @@
+package com.mathops.expr;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionCompilerTest {
+
+    private ExpressionCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new ExpressionCompiler(2);
+    }
+
+    @Test
+    void testArithmeticPrecedence() {
+        assertEquals(14.0, compiler.compile("2 + 3 * 4").evaluate(new double[0]), 0.001);
+        assertEquals(20.0, compiler.compile("(2 + 3) * 4").evaluate(new double[0]), 0.001);
+        assertEquals(1.0, compiler.compile("7 % 3").evaluate(new double[0]), 0.001);
+        assertEquals(512.0, compiler.compile("2 ^ 3 ^ 2").evaluate(new double[0]), 0.001);
+        assertEquals(-4.0, compiler.compile("-2^2").evaluate(new double[0]), 0.001);
+        assertEquals(0.25, compiler.compile("2^-2").evaluate(new double[0]), 0.001);
+        assertEquals(1.5e3, compiler.compile("1.5e3").evaluate(new double[0]), 0.001);
+    }
+
+    @Test
+    void testVariablesAndFunctions() {
+        Expression expression = compiler.compile("sqrt(x^2 + y^2) * sin(theta)");
+        assertEquals(Arrays.asList("x", "y", "theta"), expression.getVariables());
+        double expected = Math.sqrt(3 * 3 + 4 * 4) * Math.sin(0.5);
+        assertEquals(expected, expression.evaluate(new double[] {3, 4, 0.5}), 1e-12);
+
+        Map<String, Double> bindings = new HashMap<>();
+        bindings.put("x", 3.0);
+        bindings.put("y", 4.0);
+        bindings.put("theta", 0.5);
+        assertEquals(expected, expression.evaluate(bindings), 1e-12);
+    }
+
+    @Test
+    void testBuiltInNamesAndConstants() {
+        double[] none = new double[0];
+        assertEquals(1.0, compiler.compile("ln(e)").evaluate(none), 1e-12);
+        assertEquals(0.0, compiler.compile("cos(pi / 2)").evaluate(none), 1e-12);
+        assertEquals(8.0, compiler.compile("pow(2, 3)").evaluate(none), 1e-12);
+        assertEquals(120.0, compiler.compile("factorial(5)").evaluate(none), 1e-12);
+        assertEquals(2.0, compiler.compile("cubeRoot(8) + abs(-0)").evaluate(none), 1e-12);
+        assertEquals(180.0, compiler.compile("toDegrees(pi)").evaluate(none), 1e-12);
+    }
+
+    @Test
+    void testVariableReuse() {
+        Expression expression = compiler.compile("x * x + x / 4");
+        assertEquals(1, expression.getVariables().size());
+        for (double x = -10; x <= 10; x += 0.25) {
+            assertEquals(x * x + x / 4, expression.evaluate(new double[] {x}));
+        }
+    }
+
+    @Test
+    void testOperationErrorsSurfaceOnEvaluation() {
+        Expression expression = compiler.compile("1 / (x - 1)");
+        assertEquals(1.0, expression.evaluate(new double[] {2}), 0.001);
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(new double[] {1}));
+        Expression constant = compiler.compile("sqrt(-1)");
+        assertThrows(IllegalArgumentException.class, () -> constant.evaluate(new double[0]));
+        Expression overflow = compiler.compile("fact(25)");
+        assertThrows(ArithmeticException.class, () -> overflow.evaluate(new double[0]));
+    }
+
+    @Test
+    void testSyntaxErrors() {
+        ExpressionException e = assertThrows(ExpressionException.class, () -> compiler.compile("2 + * 3"));
+        assertEquals(4, e.getPosition());
+        assertThrows(ExpressionException.class, () -> compiler.compile("(1 + 2"));
+        assertThrows(ExpressionException.class, () -> compiler.compile("foo(1)"));
+        assertThrows(ExpressionException.class, () -> compiler.compile("sin(1, 2)"));
+        assertThrows(ExpressionException.class, () -> compiler.compile("1 $ 2"));
+        assertThrows(ExpressionException.class, () -> compiler.compile(""));
+    }
+
+    @Test
+    void testMissingBindings() {
+        Expression expression = compiler.compile("x + y");
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(new double[] {1}));
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(new HashMap<>()));
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        Expression first = compiler.compile("x + 1");
+        assertSame(first, compiler.compile("x + 1"));
+        compiler.compile("x + 2");
+        compiler.compile("x + 3");
+        assertEquals(2, compiler.cachedCount());
+        assertNotSame(first, compiler.compile("x + 1"));
+        compiler.clearCache();
+        assertEquals(0, compiler.cachedCount());
+    }
+}
@@ -0,0 +1,211 @@
+package com.mathops.fft;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastFourierTransformTest {
+
+    private static final int[] SIZES = {1, 2, 3, 4, 5, 6, 7, 8, 12, 16, 100, 256, 1000, 1024, 4096, 6000};
+
+    private SplittableRandom random;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        random = new SplittableRandom(17);
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private double[] randomArray(int n) {
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextDouble(-1, 1);
+        }
+        return values;
+    }
+
+    /** O(n^2) reference, reducing jk mod n so the angles stay exact */
+    private static void naiveDft(double[] re, double[] im, double[] outRe, double[] outIm, double sign) {
+        int n = re.length;
+        for (int k = 0; k < n; k++) {
+            double sumRe = 0;
+            double sumIm = 0;
+            for (int j = 0; j < n; j++) {
+                double angle = -sign * 2 * Math.PI * ((long) j * k % n) / n;
+                double c = Math.cos(angle);
+                double s = Math.sin(angle);
+                sumRe += re[j] * c - im[j] * s;
+                sumIm += re[j] * s + im[j] * c;
+            }
+            outRe[k] = sumRe;
+            outIm[k] = sumIm;
+        }
+    }
+
+    private static double tolerance(int n) {
+        return 1e-13 * n;
+    }
+
+    @Test
+    void testForwardMatchesNaiveDft() {
+        for (int n : SIZES) {
+            double[] re = randomArray(n);
+            double[] im = randomArray(n);
+            double[] expectedRe = new double[n];
+            double[] expectedIm = new double[n];
+            naiveDft(re, im, expectedRe, expectedIm, 1);
+            FastFourierTransform.of(n).forward(re, im);
+            assertArrayEquals(expectedRe, re, tolerance(n), "real part, n = " + n);
+            assertArrayEquals(expectedIm, im, tolerance(n), "imaginary part, n = " + n);
+        }
+    }
+
+    @Test
+    void testInverseMatchesNaiveDftAndRoundTrips() {
+        for (int n : SIZES) {
+            double[] re = randomArray(n);
+            double[] im = randomArray(n);
+            double[] expectedRe = new double[n];
+            double[] expectedIm = new double[n];
+            naiveDft(re, im, expectedRe, expectedIm, -1);
+            double[] workRe = re.clone();
+            double[] workIm = im.clone();
+            FastFourierTransform transform = FastFourierTransform.of(n);
+            transform.inverse(workRe, workIm);
+            for (int k = 0; k < n; k++) {
+                assertEquals(expectedRe[k] / n, workRe[k], tolerance(n) / n);
+                assertEquals(expectedIm[k] / n, workIm[k], tolerance(n) / n);
+            }
+            transform.forward(workRe, workIm);
+            assertArrayEquals(re, workRe, 1e-12, "round trip, n = " + n);
+            assertArrayEquals(im, workIm, 1e-12, "round trip, n = " + n);
+        }
+    }
+
+    @Test
+    void testRealTransformMatchesComplex() {
+        for (int n : SIZES) {
+            double[] in = randomArray(n);
+            double[] re = in.clone();
+            double[] im = new double[n];
+            FastFourierTransform transform = FastFourierTransform.of(n);
+            transform.forward(re, im);
+            double[] outRe = new double[n / 2 + 1];
+            double[] outIm = new double[n / 2 + 1];
+            transform.forwardReal(in, outRe, outIm);
+            for (int k = 0; k <= n / 2; k++) {
+                assertEquals(re[k], outRe[k], tolerance(n), "real part " + k + ", n = " + n);
+                assertEquals(im[k], outIm[k], tolerance(n), "imaginary part " + k + ", n = " + n);
+            }
+            double[] back = new double[n];
+            transform.inverseReal(outRe, outIm, back);
+            assertArrayEquals(in, back, 1e-12, "real round trip, n = " + n);
+        }
+    }
+
+    @Test
+    void testKnownSpectra() {
+        // A unit impulse has a flat spectrum; a cosine at bin 3 has two spikes of n / 2
+        int n = 64;
+        double[] re = new double[n];
+        double[] im = new double[n];
+        re[0] = 1;
+        FastFourierTransform.of(n).forward(re, im);
+        for (int k = 0; k < n; k++) {
+            assertEquals(1, re[k], 1e-15);
+            assertEquals(0, im[k], 1e-15);
+        }
+        double[] signal = new double[n];
+        for (int j = 0; j < n; j++) {
+            signal[j] = Math.cos(2 * Math.PI * 3 * j / n);
+        }
+        double[] outRe = new double[n / 2 + 1];
+        double[] outIm = new double[n / 2 + 1];
+        FastFourierTransform.of(n).forwardReal(signal, outRe, outIm);
+        for (int k = 0; k <= n / 2; k++) {
+            assertEquals(k == 3 ? n / 2.0 : 0, outRe[k], 1e-12, "bin " + k);
+            assertEquals(0, outIm[k], 1e-12, "bin " + k);
+        }
+    }
+
+    @Test
+    void testParallelIsBitIdentical() {
+        int n = 1 << 18;
+        double[] re = randomArray(n);
+        double[] im = randomArray(n);
+        double[] parallelRe = re.clone();
+        double[] parallelIm = im.clone();
+        FastFourierTransform transform = FastFourierTransform.of(n);
+        transform.forward(re, im);
+        transform.forward(parallelRe, parallelIm, pool);
+        assertArrayEquals(re, parallelRe);
+        assertArrayEquals(im, parallelIm);
+
+        double[] in = randomArray(n);
+        double[] outRe = new double[n / 2 + 1];
+        double[] outIm = new double[n / 2 + 1];
+        double[] parallelOutRe = new double[n / 2 + 1];
+        double[] parallelOutIm = new double[n / 2 + 1];
+        transform.forwardReal(in, outRe, outIm);
+        transform.forwardReal(in, parallelOutRe, parallelOutIm, pool);
+        assertArrayEquals(outRe, parallelOutRe);
+        assertArrayEquals(outIm, parallelOutIm);
+    }
+
+    @Test
+    void testLargeTransformRoundTrips() {
+        int n = 1 << 20;
+        double[] re = randomArray(n);
+        double[] im = randomArray(n);
+        double[] workRe = re.clone();
+        double[] workIm = im.clone();
+        FastFourierTransform transform = FastFourierTransform.of(n);
+        transform.forward(workRe, workIm, pool);
+        // Parseval: the energy of the spectrum is n times the energy of the signal
+        double energy = 0;
+        double spectrum = 0;
+        for (int i = 0; i < n; i++) {
+            energy += re[i] * re[i] + im[i] * im[i];
+            spectrum += workRe[i] * workRe[i] + workIm[i] * workIm[i];
+        }
+        assertEquals(1, spectrum / (n * energy), 1e-12);
+        transform.inverse(workRe, workIm, pool);
+        assertArrayEquals(re, workRe, 1e-12);
+        assertArrayEquals(im, workIm, 1e-12);
+    }
+
+    @Test
+    void testOnlySmallPowerOfTwoPlansAreCached() {
+        assertSame(FastFourierTransform.of(512), FastFourierTransform.of(512));
+        assertSame(FastFourierTransform.of(FastFourierTransform.MAX_CACHED_SIZE),
+                FastFourierTransform.of(FastFourierTransform.MAX_CACHED_SIZE));
+        assertNotSame(FastFourierTransform.of(300), FastFourierTransform.of(300));
+        assertNotSame(FastFourierTransform.of(2 * FastFourierTransform.MAX_CACHED_SIZE),
+                FastFourierTransform.of(2 * FastFourierTransform.MAX_CACHED_SIZE));
+        assertTrue(FastFourierTransform.of(512).isRadix2());
+        assertFalse(FastFourierTransform.of(300).isRadix2());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> FastFourierTransform.of(0));
+        assertThrows(IllegalArgumentException.class, () -> FastFourierTransform.of((1 << 29) + 1));
+        FastFourierTransform transform = FastFourierTransform.of(8);
+        assertThrows(IllegalArgumentException.class, () -> transform.forward(new double[8], new double[7]));
+        assertThrows(IllegalArgumentException.class,
+                () -> transform.forwardReal(new double[8], new double[4], new double[5]));
+        assertThrows(IllegalArgumentException.class,
+                () -> transform.inverseReal(new double[5], new double[5], new double[9]));
+    }
+}
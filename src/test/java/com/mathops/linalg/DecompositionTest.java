@@ -0,0 +1,113 @@
+package com.mathops.linalg;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecompositionTest {
+
+    private SplittableRandom random;
+
+    @BeforeEach
+    void setUp() {
+        random = new SplittableRandom(5);
+    }
+
+    private DenseMatrix randomMatrix(int rows, int columns) {
+        DenseMatrix matrix = DenseMatrix.zeros(rows, columns);
+        double[] data = matrix.getData();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextDouble(-1, 1);
+        }
+        return matrix;
+    }
+
+    /** M M^T + n I is symmetric positive definite and well conditioned */
+    private DenseMatrix randomSpd(int n) {
+        DenseMatrix m = randomMatrix(n, n);
+        DenseMatrix spd = m.multiply(m.transpose());
+        for (int i = 0; i < n; i++) {
+            spd.set(i, i, spd.get(i, i) + n);
+        }
+        return spd;
+    }
+
+    private static double residual(DenseMatrix a, DenseVector x, DenseVector b) {
+        return a.multiply(x).addScaled(-1, b).norm();
+    }
+
+    @Test
+    void testLuReconstructsPermutedMatrix() {
+        DenseMatrix a = randomMatrix(40, 40);
+        LUDecomposition lu = LUDecomposition.of(a);
+        DenseMatrix product = lu.getLower().multiply(lu.getUpper());
+        int[] pivot = lu.getPivot();
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < 40; j++) {
+                assertEquals(a.get(pivot[i], j), product.get(i, j), 1e-12);
+            }
+        }
+        assertFalse(lu.isSingular());
+    }
+
+    @Test
+    void testLuSolve() {
+        DenseMatrix a = randomMatrix(150, 150);
+        DenseVector b = DenseVector.of(randomMatrix(1, 150).getData());
+        LUDecomposition lu = LUDecomposition.of(a);
+        assertEquals(0.0, residual(a, lu.solve(b), b), 1e-10);
+
+        DenseMatrix rhs = randomMatrix(150, 7);
+        DenseMatrix x = lu.solve(rhs);
+        DenseMatrix check = a.multiply(x);
+        assertArrayEquals(rhs.getData(), check.getData(), 1e-10);
+
+        assertThrows(IllegalArgumentException.class, () -> lu.solveInto(b, b));
+        assertThrows(IllegalArgumentException.class, () -> lu.solve(DenseVector.zeros(3)));
+    }
+
+    @Test
+    void testLuDeterminantAndSingular() {
+        DenseMatrix a = DenseMatrix.of(new double[][]{{0, 2, 1}, {1, 1, 0}, {3, 0, 4}});
+        assertEquals(-11.0, LUDecomposition.of(a).determinant(), 1e-12);
+
+        LUDecomposition singular = LUDecomposition.of(DenseMatrix.of(new double[][]{{1, 2}, {2, 4}}));
+        assertTrue(singular.isSingular());
+        assertEquals(0.0, singular.determinant());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> singular.solve(DenseVector.of(1, 1)));
+        assertEquals("Matrix is singular", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> LUDecomposition.of(DenseMatrix.zeros(2, 3)));
+    }
+
+    @Test
+    void testCholesky() {
+        DenseMatrix a = randomSpd(60);
+        CholeskyDecomposition cholesky = CholeskyDecomposition.of(a);
+        DenseMatrix l = cholesky.getLower();
+        assertArrayEquals(a.getData(), l.multiply(l.transpose()).getData(), 1e-10);
+        assertEquals(LUDecomposition.of(a).determinant(), cholesky.determinant(),
+                Math.abs(cholesky.determinant()) * 1e-10);
+
+        DenseVector b = DenseVector.of(randomMatrix(1, 60).getData());
+        assertEquals(0.0, residual(a, cholesky.solve(b), b), 1e-10);
+        DenseVector inPlace = b.copy();
+        cholesky.solveInto(inPlace, inPlace);
+        assertEquals(cholesky.solve(b), inPlace);
+
+        DenseMatrix rhs = randomMatrix(60, 4);
+        assertArrayEquals(rhs.getData(), a.multiply(cholesky.solve(rhs)).getData(), 1e-10);
+    }
+
+    @Test
+    void testCholeskyRejectsIndefinite() {
+        DenseMatrix indefinite = DenseMatrix.of(new double[][]{{1, 2}, {2, 1}});
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> CholeskyDecomposition.of(indefinite));
+        assertEquals("Matrix is not positive definite", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> CholeskyDecomposition.of(DenseMatrix.zeros(3, 2)));
+    }
+}
@@ -0,0 +1,158 @@
+package com.mathops.linalg;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DenseMatrixTest {
+
+    private SplittableRandom random;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        random = new SplittableRandom(11);
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private DenseMatrix randomMatrix(int rows, int columns) {
+        DenseMatrix matrix = DenseMatrix.zeros(rows, columns);
+        double[] data = matrix.getData();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextDouble(-1, 1);
+        }
+        return matrix;
+    }
+
+    private static DenseMatrix naiveMultiply(DenseMatrix a, DenseMatrix b) {
+        DenseMatrix c = DenseMatrix.zeros(a.getRows(), b.getColumns());
+        for (int i = 0; i < a.getRows(); i++) {
+            for (int j = 0; j < b.getColumns(); j++) {
+                double sum = 0;
+                for (int p = 0; p < a.getColumns(); p++) {
+                    sum += a.get(i, p) * b.get(p, j);
+                }
+                c.set(i, j, sum);
+            }
+        }
+        return c;
+    }
+
+    private static void assertMatrixEquals(DenseMatrix expected, DenseMatrix actual, double delta) {
+        assertEquals(expected.getRows(), actual.getRows());
+        assertEquals(expected.getColumns(), actual.getColumns());
+        assertArrayEquals(expected.getData(), actual.getData(), delta);
+    }
+
+    @Test
+    void testConstructionAndAccess() {
+        DenseMatrix matrix = DenseMatrix.of(new double[][]{{1, 2, 3}, {4, 5, 6}});
+        assertEquals(2, matrix.getRows());
+        assertEquals(3, matrix.getColumns());
+        assertEquals(6.0, matrix.get(1, 2));
+        matrix.set(0, 1, 9);
+        assertArrayEquals(new double[]{1, 9, 3, 4, 5, 6}, matrix.getData());
+        assertEquals(DenseMatrix.identity(2), DenseMatrix.of(new double[][]{{1, 0}, {0, 1}}));
+
+        double[] shared = new double[4];
+        DenseMatrix.wrap(2, 2, shared).set(1, 0, 7);
+        assertEquals(7.0, shared[2]);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.get(2, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.set(0, 3, 1));
+        assertThrows(IllegalArgumentException.class, () -> DenseMatrix.of(new double[][]{{1, 2}, {3}}));
+        assertThrows(IllegalArgumentException.class, () -> DenseMatrix.wrap(2, 3, new double[5]));
+        assertThrows(IllegalArgumentException.class, () -> DenseMatrix.zeros(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> DenseMatrix.zeros(65536, 65536));
+    }
+
+    @Test
+    void testMultiplyMatchesNaiveAcrossBlockBoundaries() {
+        // Sizes straddle the row, depth and column block sizes and the four-row tile
+        int[][] shapes = {{1, 1, 1}, {3, 5, 2}, {7, 300, 9}, {130, 257, 513}, {66, 64, 1030}};
+        for (int[] shape : shapes) {
+            DenseMatrix a = randomMatrix(shape[0], shape[1]);
+            DenseMatrix b = randomMatrix(shape[1], shape[2]);
+            assertMatrixEquals(naiveMultiply(a, b), a.multiply(b), 1e-12);
+        }
+    }
+
+    @Test
+    void testParallelMultiplyIsBitIdentical() {
+        DenseMatrix a = randomMatrix(300, 200);
+        DenseMatrix b = randomMatrix(200, 150);
+        DenseMatrix sequential = a.multiply(b);
+        assertEquals(sequential, a.multiply(b, pool));
+
+        DenseMatrix out = DenseMatrix.zeros(300, 150);
+        out.getData()[0] = 42;
+        a.multiplyInto(b, out, pool);
+        assertEquals(sequential, out);
+    }
+
+    @Test
+    void testMultiplyIdentityAndVector() {
+        DenseMatrix a = randomMatrix(5, 5);
+        assertEquals(a, a.multiply(DenseMatrix.identity(5)));
+
+        DenseMatrix m = DenseMatrix.of(new double[][]{{1, 2, 3}, {4, 5, 6}});
+        assertEquals(DenseVector.of(14, 32), m.multiply(DenseVector.of(1, 2, 3)));
+        DenseVector out = DenseVector.zeros(2);
+        m.multiplyInto(DenseVector.of(1, 0, -1), out);
+        assertEquals(DenseVector.of(-2, -2), out);
+    }
+
+    @Test
+    void testDimensionAndAliasingErrors() {
+        DenseMatrix a = randomMatrix(3, 4);
+        DenseMatrix square = randomMatrix(3, 3);
+        assertThrows(IllegalArgumentException.class, () -> a.multiply(a));
+        assertThrows(IllegalArgumentException.class, () -> a.multiplyInto(randomMatrix(4, 2), DenseMatrix.zeros(2, 3)));
+        assertThrows(IllegalArgumentException.class, () -> square.multiplyInto(square, square));
+        assertThrows(IllegalArgumentException.class, () -> a.multiply(DenseVector.zeros(3)));
+        DenseVector v = DenseVector.zeros(3);
+        assertThrows(IllegalArgumentException.class, () -> square.multiplyInto(v, v));
+    }
+
+    @Test
+    void testTranspose() {
+        DenseMatrix a = randomMatrix(37, 70);
+        DenseMatrix t = a.transpose();
+        assertEquals(70, t.getRows());
+        for (int i = 0; i < a.getRows(); i++) {
+            for (int j = 0; j < a.getColumns(); j++) {
+                assertEquals(a.get(i, j), t.get(j, i));
+            }
+        }
+        assertEquals(a, t.transpose());
+
+        DenseMatrix square = randomMatrix(45, 45);
+        DenseMatrix expected = square.transpose();
+        square.transposeInto(square);
+        assertEquals(expected, square);
+
+        assertThrows(IllegalArgumentException.class, () -> a.transposeInto(a));
+        assertThrows(IllegalArgumentException.class, () -> a.transposeInto(DenseMatrix.zeros(37, 70)));
+    }
+
+    @Test
+    void testVectorOperations() {
+        DenseVector x = DenseVector.of(3, 4);
+        assertEquals(5.0, x.norm());
+        assertEquals(11.0, x.dot(DenseVector.of(1, 2)));
+        x.addScaled(2, DenseVector.of(1, -1));
+        assertEquals(DenseVector.of(5, 2), x);
+        assertThrows(IllegalArgumentException.class, () -> x.dot(DenseVector.zeros(3)));
+        assertThrows(IllegalArgumentException.class, () -> DenseVector.zeros(-1));
+    }
+}
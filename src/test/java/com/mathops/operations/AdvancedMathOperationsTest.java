@@ -2,6 +2,9 @@ package com.mathops.operations;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AdvancedMathOperationsTest {
@@ -83,4 +86,88 @@ class AdvancedMathOperationsTest {
         assertThrows(IllegalArgumentException.class, () -> advancedOps.log10(0.0));
         assertThrows(IllegalArgumentException.class, () -> advancedOps.log10(-1.0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBulkSquareRoot() {
+        double[] values = {9.0, 0.0, 4.0};
+        advancedOps.squareRoot(values, values);
+        assertArrayEquals(new double[] {3.0, 0.0, 2.0}, values, 0.001);
+    }
+
+    @Test
+    void testBulkSquareRootNegative() {
+        assertThrows(IllegalArgumentException.class,
+                () -> advancedOps.squareRoot(new double[] {4.0, -1.0}, new double[2]));
+    }
+
+    @Test
+    void testBulkPower() {
+        double[] out = new double[3];
+        advancedOps.power(new double[] {2.0, 3.0, 0.5}, 2.0, out);
+        assertArrayEquals(new double[] {4.0, 9.0, 0.25}, out, 0.001);
+    }
+
+    @Test
+    void testBulkLogarithmsInvalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> advancedOps.naturalLog(new double[] {1.0, 0.0}, new double[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> advancedOps.log10(new double[] {-1.0}, new double[1]));
+    }
+
+    @Test
+    void testFactorialOverflow() {
+        assertEquals(2432902008176640000L, advancedOps.factorial(20));
+        assertThrows(ArithmeticException.class, () -> advancedOps.factorial(21));
+    }
+
+    @Test
+    void testBigFactorialMatchesNaiveProduct() {
+        BigInteger expected = BigInteger.ONE;
+        for (int n = 0; n <= 1200; n++) {
+            if (n > 0) {
+                expected = expected.multiply(BigInteger.valueOf(n));
+            }
+            assertEquals(expected, advancedOps.bigFactorial(n), "n = " + n);
+        }
+    }
+
+    @Test
+    void testBigFactorialParallelMatchesSequential() {
+        assertEquals(advancedOps.bigFactorial(30_000), advancedOps.bigFactorial(30_000, true));
+    }
+
+    @Test
+    void testBigFactorialLarge() {
+        assertEquals(3233400, advancedOps.bigFactorial(200_000, true).bitLength());
+    }
+
+    @Test
+    void testBigFactorialNegative() {
+        assertThrows(IllegalArgumentException.class, () -> advancedOps.bigFactorial(-1));
+    }
+
+    @Test
+    void testTabulatedFastPath() {
+        TabulatedFunction log = advancedOps.tabulate(MathOperation.NATURAL_LOG, 1, 100, 4096, Interpolation.CUBIC);
+        AdvancedMathOperations tabulated = advancedOps.withTable(MathOperation.NATURAL_LOG, log)
+                .withPowerTable(2.5, advancedOps.tabulatePower(2.5, 0, 10, 4096, Interpolation.CUBIC));
+        assertEquals(Math.log(42.42), tabulated.naturalLog(42.42), 1e-10);
+        assertEquals(Math.log(1e6), tabulated.naturalLog(1e6));
+        assertThrows(IllegalArgumentException.class, () -> tabulated.naturalLog(0));
+        assertEquals(Math.pow(3.3, 2.5), tabulated.power(3.3, 2.5), 1e-8);
+        assertEquals(Math.pow(3.3, 2), tabulated.power(3.3, 2));
+
+        double[] in = {1.5, 50, 99.9, 250};
+        double[] out = new double[in.length];
+        tabulated.naturalLog(in, out);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(Math.log(in[i]), out[i], log.getMaxError());
+        }
+        assertThrows(IllegalArgumentException.class, () -> tabulated.naturalLog(new double[]{-1}, out));
+        // The original operations are unchanged
+        assertEquals(Math.log(42.42), advancedOps.naturalLog(42.42));
+        assertThrows(IllegalArgumentException.class,
+                () -> advancedOps.withTable(MathOperation.FACTORIAL, log));
+    }
+}
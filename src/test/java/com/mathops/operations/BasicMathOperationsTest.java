@@ -2,6 +2,11 @@ package com.mathops.operations;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class BasicMathOperationsTest {
@@ -56,4 +61,238 @@ class BasicMathOperationsTest {
     void testModuloByZero() {
         assertThrows(IllegalArgumentException.class, () -> basicOps.modulo(5.0, 0.0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBulkAdd() {
+        double[] a = {5.0, -5.0, -3.0};
+        double[] b = {3.0, 3.0, 3.0};
+        double[] out = new double[3];
+        basicOps.add(a, b, out);
+        assertArrayEquals(new double[] {8.0, -2.0, 0.0}, out, 0.001);
+    }
+
+    @Test
+    void testBulkMultiplyRange() {
+        double[] a = {1.0, 2.0, 3.0, 4.0};
+        double[] b = {5.0, 6.0, 7.0, 8.0};
+        double[] out = new double[4];
+        basicOps.multiply(a, b, out, 1, 2);
+        assertArrayEquals(new double[] {0.0, 12.0, 21.0, 0.0}, out, 0.001);
+    }
+
+    @Test
+    void testBulkMatchesScalar() {
+        double[] a = new double[1000];
+        double[] b = new double[1000];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i * 0.37 - 150;
+            b[i] = i * 1.13 + 1;
+        }
+        double[] out = new double[a.length];
+        basicOps.subtract(a, b, out);
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(basicOps.subtract(a[i], b[i]), out[i]);
+        }
+        basicOps.divide(a, b, out);
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(basicOps.divide(a[i], b[i]), out[i]);
+        }
+    }
+
+    @Test
+    void testBulkDivideByZero() {
+        double[] out = {-1.0, -1.0};
+        assertThrows(IllegalArgumentException.class,
+                () -> basicOps.divide(new double[] {1.0, 2.0}, new double[] {1.0, 0.0}, out));
+        assertArrayEquals(new double[] {-1.0, -1.0}, out);
+        assertThrows(IllegalArgumentException.class,
+                () -> basicOps.modulo(new double[] {1.0}, new double[] {0.0}, new double[1]));
+    }
+
+    @Test
+    void testBulkRangeOutOfBounds() {
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> basicOps.add(new double[3], new double[2], new double[3]));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> basicOps.add(new double[3], new double[3], new double[3], 2, 2));
+    }
+
+    @Test
+    void testReductions() {
+        double[] values = {1.5, -2.0, 4.0, 0.5, 3.0};
+        for (SummationAlgorithm algorithm : SummationAlgorithm.values()) {
+            assertEquals(7.0, basicOps.sum(values, algorithm), algorithm.name());
+            assertEquals(2.5, basicOps.sum(values, 1, 3, algorithm), algorithm.name());
+            assertEquals(31.5, basicOps.sumOfSquares(values, algorithm), algorithm.name());
+            assertEquals(-4.5, basicOps.dot(values, new double[] {1, 2, -0.5, 0}, 0, 3, algorithm),
+                    algorithm.name());
+            assertEquals(0.0, basicOps.sum(new double[0], algorithm));
+        }
+        assertEquals(7.0, basicOps.sum(values));
+        assertEquals(31.5, basicOps.sumOfSquares(values));
+        assertEquals(31.5, basicOps.dot(values, values));
+    }
+
+    @Test
+    void testReductionsOnPoolAreBitIdentical() {
+        SplittableRandom random = new SplittableRandom(7);
+        double[] x = new double[50_001];
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = random.nextDouble(-1e6, 1e6);
+            y[i] = random.nextDouble(-1, 1);
+        }
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (SummationAlgorithm algorithm : SummationAlgorithm.values()) {
+                assertEquals(basicOps.sum(x, algorithm), basicOps.sum(x, algorithm, pool), algorithm.name());
+                assertEquals(basicOps.dot(x, y, algorithm), basicOps.dot(x, y, algorithm, pool), algorithm.name());
+                assertEquals(basicOps.sumOfSquares(x, algorithm), basicOps.sumOfSquares(x, algorithm, pool),
+                        algorithm.name());
+                assertEquals(basicOps.sum(x, algorithm), basicOps.sum(x, algorithm, null), algorithm.name());
+            }
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> basicOps.dot(x, new double[10], SummationAlgorithm.NAIVE, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testReductionRangeOutOfBounds() {
+        assertThrows(IndexOutOfBoundsException.class, () -> basicOps.dot(new double[3], new double[2]));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> basicOps.sum(new double[3], 2, 2, SummationAlgorithm.NAIVE));
+        assertThrows(NullPointerException.class, () -> basicOps.sum(new double[3], null));
+    }
+
+    @Test
+    void testExactIntegerArithmetic() {
+        assertEquals(9_007_199_254_740_993L, basicOps.addExact(9_007_199_254_740_992L, 1L));
+        assertEquals(-3, basicOps.subtractExact(2, 5));
+        assertEquals(6_000_000_000L, basicOps.multiplyExact(3_000_000_000L, 2L));
+        assertThrows(ArithmeticException.class, () -> basicOps.addExact(Long.MAX_VALUE, 1L));
+        assertThrows(ArithmeticException.class, () -> basicOps.subtractExact(Integer.MIN_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> basicOps.multiplyExact(1 << 16, 1 << 16));
+        assertThrows(ArithmeticException.class, () -> basicOps.multiplyExact(Long.MIN_VALUE, -1L));
+    }
+
+    @Test
+    void testFloorDivisionAndModulo() {
+        assertEquals(-4, basicOps.floorDivide(-7, 2));
+        assertEquals(1, basicOps.floorModulo(-7, 2));
+        assertEquals(-1L, basicOps.floorModulo(7L, -2L));
+        assertEquals(3L, basicOps.floorDivide(7L, 2L));
+        assertThrows(IllegalArgumentException.class, () -> basicOps.floorDivide(1L, 0L));
+        assertThrows(IllegalArgumentException.class, () -> basicOps.floorModulo(1, 0));
+        assertThrows(ArithmeticException.class, () -> basicOps.floorDivide(Long.MIN_VALUE, -1L));
+        assertThrows(ArithmeticException.class, () -> basicOps.floorDivide(Integer.MIN_VALUE, -1));
+        // Integer arguments to the double operations still divide as doubles
+        assertEquals(3.5, basicOps.divide(7, 2));
+    }
+
+    @Test
+    void testSaturatedArithmetic() {
+        assertEquals(Long.MAX_VALUE, basicOps.saturatedAdd(Long.MAX_VALUE, 1L));
+        assertEquals(Long.MIN_VALUE, basicOps.saturatedAdd(Long.MIN_VALUE, -1L));
+        assertEquals(Long.MAX_VALUE, basicOps.saturatedSubtract(0L, Long.MIN_VALUE));
+        assertEquals(Long.MIN_VALUE, basicOps.saturatedSubtract(-2L, Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, basicOps.saturatedMultiply(Long.MIN_VALUE, -1L));
+        assertEquals(Long.MIN_VALUE, basicOps.saturatedMultiply(Long.MAX_VALUE, -2L));
+        assertEquals(-6L, basicOps.saturatedMultiply(2L, -3L));
+        assertEquals(Integer.MAX_VALUE, basicOps.saturatedAdd(Integer.MAX_VALUE, 1));
+        assertEquals(Integer.MIN_VALUE, basicOps.saturatedSubtract(Integer.MIN_VALUE, 1));
+        assertEquals(Integer.MIN_VALUE, basicOps.saturatedMultiply(1 << 20, -(1 << 20)));
+        assertEquals(42, basicOps.saturatedAdd(40, 2));
+    }
+
+    @Test
+    void testBulkExactMatchesScalar() {
+        long[] a = {5, -7, Long.MAX_VALUE, 1L << 40, -3, Long.MIN_VALUE};
+        long[] b = {3, 2, -1, 1L << 20, -3, 1};
+        long[] out = new long[a.length];
+        basicOps.addExact(a, b, out);
+        basicOps.subtractExact(a, new long[] {1, 1, 1, 1, 1, -1}, out);
+        assertArrayEquals(new long[] {4, -8, Long.MAX_VALUE - 1, (1L << 40) - 1, -4, Long.MIN_VALUE + 1}, out);
+        long[] small = {5, -7, 1L << 40, -3};
+        long[] divisors = {3, 2, 1L << 20, -3};
+        basicOps.multiplyExact(small, divisors, out, 0, 4);
+        assertArrayEquals(new long[] {15, -14, 1L << 60, 9}, Arrays.copyOf(out, 4));
+        basicOps.floorDivide(small, divisors, out, 0, 4);
+        assertArrayEquals(new long[] {1, -4, 1L << 20, 1}, Arrays.copyOf(out, 4));
+        basicOps.floorModulo(small, divisors, out, 0, 4);
+        assertArrayEquals(new long[] {2, 1, 0, 0}, Arrays.copyOf(out, 4));
+        basicOps.saturatedAdd(a, b, out);
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(basicOps.saturatedAdd(a[i], b[i]), out[i]);
+        }
+        basicOps.saturatedSubtract(a, b, out);
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(basicOps.saturatedSubtract(a[i], b[i]), out[i]);
+        }
+        basicOps.saturatedMultiply(a, b, out);
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(basicOps.saturatedMultiply(a[i], b[i]), out[i]);
+        }
+    }
+
+    @Test
+    void testBulkFloorDivisionMatchesMath() {
+        SplittableRandom random = new SplittableRandom(7);
+        int n = 100_000;
+        long[] a = new long[n];
+        long[] b = new long[n];
+        for (int i = 0; i < n; i++) {
+            int bits = 1 + random.nextInt(63);
+            a[i] = random.nextLong() >> (64 - bits);
+            long divisor = random.nextLong() >> random.nextInt(64);
+            b[i] = divisor == 0 ? -1 : divisor;
+        }
+        a[0] = (1L << 53) - 1;
+        b[0] = 1;
+        a[1] = -(1L << 53);
+        b[1] = 3;
+        a[2] = (1L << 53) - 1;
+        b[2] = -(1L << 53);
+        long[] quotients = new long[n];
+        long[] remainders = new long[n];
+        basicOps.floorDivide(a, b, quotients);
+        basicOps.floorModulo(a, b, remainders);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Math.floorDiv(a[i], b[i]), quotients[i], a[i] + " / " + b[i]);
+            assertEquals(Math.floorMod(a[i], b[i]), remainders[i], a[i] + " mod " + b[i]);
+        }
+    }
+
+    @Test
+    void testBulkExactOverflowWritesNothing() {
+        long[] out = {-1, -1};
+        assertThrows(ArithmeticException.class,
+                () -> basicOps.addExact(new long[] {1, Long.MAX_VALUE}, new long[] {1, 1}, out));
+        assertThrows(ArithmeticException.class,
+                () -> basicOps.subtractExact(new long[] {1, Long.MIN_VALUE}, new long[] {1, 1}, out));
+        assertThrows(ArithmeticException.class,
+                () -> basicOps.multiplyExact(new long[] {2, 1L << 32}, new long[] {2, 1L << 31}, out));
+        assertThrows(ArithmeticException.class,
+                () -> basicOps.floorDivide(new long[] {4, Long.MIN_VALUE}, new long[] {2, -1}, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> basicOps.floorModulo(new long[] {4, 5}, new long[] {2, 0}, out));
+        assertArrayEquals(new long[] {-1, -1}, out);
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> basicOps.addExact(new long[3], new long[3], new long[3], 2, 2));
+    }
+
+    @Test
+    void testSumExact() {
+        // 2^53 + 1 is lost by a double sum but not by an exact one
+        long[] values = {1L << 53, 1, 2, -3, 5};
+        assertEquals((1L << 53) + 5, basicOps.sumExact(values));
+        assertEquals(0, basicOps.sumExact(values, 2, 0));
+        // Partial sums may overflow as long as the total fits
+        assertEquals(Long.MAX_VALUE, basicOps.sumExact(new long[] {Long.MAX_VALUE, 1, -1}));
+        assertEquals(Long.MIN_VALUE, basicOps.sumExact(new long[] {Long.MIN_VALUE, -5, 5}));
+        assertThrows(ArithmeticException.class, () -> basicOps.sumExact(new long[] {Long.MAX_VALUE, 1}));
+        assertThrows(ArithmeticException.class,
+                () -> basicOps.sumExact(new long[] {Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, -1}));
+    }
+}
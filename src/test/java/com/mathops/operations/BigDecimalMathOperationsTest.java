@@ -0,0 +1,122 @@
+package com.mathops.operations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigDecimalMathOperationsTest {
+
+    private static final MathContext FIFTY_DIGITS = new MathContext(50);
+
+    private BigDecimalMathOperations ops;
+
+    @BeforeEach
+    void setUp() {
+        ops = new BigDecimalMathOperations(FIFTY_DIGITS);
+    }
+
+    private static void assertDigits(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+
+    @Test
+    void testArithmeticRoundsToContext() {
+        assertEquals(FIFTY_DIGITS, ops.getMathContext());
+        assertDigits("0.33333333333333333333333333333333333333333333333333",
+                ops.divide(BigDecimal.ONE, BigDecimal.valueOf(3)));
+        assertDigits("1.0000000000000000000000000000000000000000000000000",
+                ops.add(BigDecimal.ONE, new BigDecimal("1e-60")));
+        assertDigits("0.5", ops.modulo(new BigDecimal("7.5"), BigDecimal.ONE));
+        assertDigits("-0.5", ops.modulo(new BigDecimal("-7.5"), BigDecimal.ONE));
+        assertEquals(MathContext.DECIMAL128, new BigDecimalMathOperations().getMathContext());
+    }
+
+    @Test
+    void testKnownConstants() {
+        assertDigits("2.7182818284590452353602874713526624977572470937000", ops.exp(BigDecimal.ONE));
+        assertDigits("0.69314718055994530941723212145817656807550013436026", ops.naturalLog(BigDecimal.valueOf(2)));
+        assertDigits("2.3025850929940456840179914546843642076011014886288", ops.naturalLog(BigDecimal.TEN));
+        assertDigits("1.4142135623730950488016887242096980785696718753769", ops.squareRoot(BigDecimal.valueOf(2)));
+        assertDigits("0.84147098480789650665250232163029899962256306079837", ops.sin(BigDecimal.ONE));
+        assertDigits("0.54030230586813971740093660744297660373231042061792", ops.cos(BigDecimal.ONE));
+        assertDigits("3.1415926535897932384626433832795028841971693993751", ops.acos(BigDecimal.ONE.negate()));
+        assertDigits("0.52359877559829887307710723054658381403286156656252", ops.asin(new BigDecimal("0.5")));
+        assertDigits("2.0943951023931954923084289221863352561314462662501", ops.acos(new BigDecimal("-0.5")));
+    }
+
+    @Test
+    void testHigherPrecision() {
+        BigDecimalMathOperations hundredDigits = new BigDecimalMathOperations(new MathContext(100));
+        assertDigits("3.141592653589793238462643383279502884197169399375105820974944592307816406286208998628034825342117068",
+                hundredDigits.acos(BigDecimal.ONE.negate()));
+        assertDigits("2.718281828459045235360287471352662497757247093699959574966967627724076630353547594571382178525166427",
+                hundredDigits.exp(BigDecimal.ONE));
+    }
+
+    @Test
+    void testSmallResultsKeepTheirPrecision() {
+        assertDigits("9.9999999999999999999999999999999999999995000000000E-41",
+                ops.naturalLog(new BigDecimal("1.0000000000000000000000000000000000000001")));
+        assertDigits("1E-30", ops.atan(new BigDecimal("1e-30")));
+        // pi minus its 50-digit rounding
+        assertDigits("5.8209749445923078164062862089986280348253421170680E-51",
+                ops.sin(new BigDecimal("3.1415926535897932384626433832795028841971693993751")));
+    }
+
+    @Test
+    void testLargeArguments() {
+        assertEquals(-0.8522008497671888, ops.sin(new BigDecimal("1e22")).doubleValue(), 1e-16);
+        BigDecimal angle = new BigDecimal("1e30");
+        BigDecimal sin = ops.sin(angle);
+        BigDecimal cos = ops.cos(angle);
+        assertTrue(BigDecimal.ONE.subtract(sin.multiply(sin).add(cos.multiply(cos))).abs()
+                .compareTo(new BigDecimal("1e-48")) <= 0);
+        assertDigits("-2302582.790408952689972307436692910",
+                new BigDecimalMathOperations().naturalLog(new BigDecimal("1e-999999")));
+        assertThrows(ArithmeticException.class, () -> ops.exp(new BigDecimal("1e10")));
+    }
+
+    @Test
+    void testIdentities() {
+        BigDecimal tolerance = new BigDecimal("1e-48");
+        for (String value : new String[] {"0.001", "0.75", "3.5", "123.456", "98765.4321"}) {
+            BigDecimal x = new BigDecimal(value);
+            assertTrue(ops.exp(ops.naturalLog(x)).subtract(x).abs().compareTo(tolerance.multiply(x)) <= 0, value);
+            BigDecimal tan = ops.tan(x);
+            assertTrue(ops.divide(ops.sin(x), ops.cos(x)).subtract(tan).abs()
+                    .compareTo(tolerance.multiply(tan.abs())) <= 0, value);
+        }
+        assertDigits("3", ops.log10(new BigDecimal("1000")));
+        assertDigits("-3", ops.log10(new BigDecimal("0.001")));
+        assertDigits(ops.divide(ops.naturalLog(BigDecimal.valueOf(2)), ops.naturalLog(BigDecimal.TEN)).toString(),
+                ops.log10(BigDecimal.valueOf(2)));
+    }
+
+    @Test
+    void testPower() {
+        assertDigits("515377520732011331036461129765621272702107522001",
+                ops.power(BigDecimal.valueOf(3), BigDecimal.valueOf(100)));
+        assertDigits("-8", ops.power(BigDecimal.valueOf(-2), BigDecimal.valueOf(3)));
+        assertDigits("0.25", ops.power(BigDecimal.valueOf(2), BigDecimal.valueOf(-2)));
+        assertEquals(ops.squareRoot(BigDecimal.valueOf(2)), ops.power(BigDecimal.valueOf(2), new BigDecimal("0.5")));
+        assertDigits("1", ops.power(BigDecimal.ZERO, BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> ops.power(BigDecimal.valueOf(-2), new BigDecimal("0.5")));
+        assertThrows(IllegalArgumentException.class, () -> ops.power(BigDecimal.ZERO, BigDecimal.ONE.negate()));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BigDecimalMathOperations(MathContext.UNLIMITED));
+        assertThrows(IllegalArgumentException.class, () -> ops.divide(BigDecimal.ONE, BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> ops.modulo(BigDecimal.ONE, BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> ops.squareRoot(BigDecimal.ONE.negate()));
+        assertThrows(IllegalArgumentException.class, () -> ops.naturalLog(BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> ops.log10(BigDecimal.ONE.negate()));
+        assertThrows(IllegalArgumentException.class, () -> ops.asin(new BigDecimal("1.5")));
+        assertThrows(IllegalArgumentException.class, () -> ops.acos(new BigDecimal("-1.0001")));
+    }
+}
@@ -0,0 +1,221 @@
+package com.mathops.operations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComplexMathOperationsTest {
+
+    private static final double EPS = 1e-12;
+
+    private ComplexMathOperations complexOps;
+
+    @BeforeEach
+    void setUp() {
+        complexOps = new ComplexMathOperations();
+    }
+
+    private static void assertComplex(double re, double im, Complex actual, double tolerance) {
+        assertEquals(re, actual.getReal(), tolerance, "real part of " + actual);
+        assertEquals(im, actual.getImaginary(), tolerance, "imaginary part of " + actual);
+    }
+
+    @Test
+    void testArithmetic() {
+        Complex a = Complex.of(3, 4);
+        Complex b = Complex.of(1, -2);
+        assertEquals(Complex.of(4, 2), complexOps.add(a, b));
+        assertEquals(Complex.of(2, 6), complexOps.subtract(a, b));
+        assertEquals(Complex.of(11, -2), complexOps.multiply(a, b));
+        assertComplex(-1, 2, complexOps.divide(a, b), EPS);
+        assertEquals(5.0, complexOps.absolute(a), EPS);
+        assertEquals(Math.atan2(4, 3), complexOps.argument(a), EPS);
+        assertEquals(Complex.of(3, -4), a.conjugate());
+        assertEquals("3.0+4.0i", a.toString());
+        assertEquals("1.0-2.0i", b.toString());
+    }
+
+    @Test
+    void testDivisionAndModulusAvoidOverflow() {
+        Complex big = Complex.of(1e300, 1e300);
+        assertComplex(1, 0, complexOps.divide(big, big), EPS);
+        assertEquals(Math.sqrt(2) * 1e300, complexOps.absolute(big), 1e286);
+        assertEquals(Math.sqrt(2) * 1e-300, complexOps.absolute(Complex.of(1e-300, 1e-300)), 1e-314);
+    }
+
+    @Test
+    void testTranscendentalIdentities() {
+        // e^(i pi) = -1
+        assertComplex(-1, 0, complexOps.exp(Complex.of(0, Math.PI)), EPS);
+        assertComplex(Math.log(5), Math.atan2(4, 3), complexOps.naturalLog(Complex.of(3, 4)), EPS);
+        // i^i = e^(-pi / 2)
+        assertComplex(Math.exp(-Math.PI / 2), 0, complexOps.power(Complex.I, Complex.I), EPS);
+        assertComplex(0, 1, complexOps.squareRoot(Complex.ofReal(-1)), EPS);
+        assertComplex(1, -2, complexOps.squareRoot(Complex.of(-3, -4)), EPS);
+        assertComplex(-7, 24, Complex.of(3, 4).pow(2), 1e-11);
+
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            Complex z = Complex.of(4 * random.nextDouble() - 2, 4 * random.nextDouble() - 2);
+            Complex sin = complexOps.sin(z);
+            Complex cos = complexOps.cos(z);
+            Complex one = sin.multiply(sin).add(cos.multiply(cos));
+            assertComplex(1, 0, one, 1e-12);
+            Complex tan = complexOps.tan(z);
+            assertComplex(sin.divide(cos).getReal(), sin.divide(cos).getImaginary(), tan, 1e-9);
+            assertComplex(z.getReal(), z.getImaginary(), complexOps.exp(z).log(), 1e-12);
+        }
+        assertComplex(0, 1, complexOps.tan(Complex.of(1, 400)), EPS);
+        assertComplex(0, -1, complexOps.tan(Complex.of(1, -400)), EPS);
+    }
+
+    @Test
+    void testScalarDomainErrors() {
+        assertThrows(IllegalArgumentException.class, () -> complexOps.divide(Complex.ONE, Complex.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> complexOps.naturalLog(Complex.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> complexOps.power(Complex.ZERO, Complex.of(-1, 0)));
+        assertEquals(Complex.ZERO, complexOps.power(Complex.ZERO, Complex.of(2, 1)));
+        assertEquals(Complex.ONE, complexOps.power(Complex.ZERO, Complex.ZERO));
+    }
+
+    @Test
+    void testBulkMatchesScalar() {
+        int n = 257;
+        Random random = new Random(11);
+        double[] aRe = new double[n];
+        double[] aIm = new double[n];
+        double[] bRe = new double[n];
+        double[] bIm = new double[n];
+        for (int i = 0; i < n; i++) {
+            aRe[i] = 6 * random.nextDouble() - 3;
+            aIm[i] = 6 * random.nextDouble() - 3;
+            bRe[i] = 6 * random.nextDouble() - 3;
+            bIm[i] = 6 * random.nextDouble() - 3;
+        }
+        double[] outRe = new double[n];
+        double[] outIm = new double[n];
+        double[] out = new double[n];
+        Complex exponent = Complex.of(0.5, -1.25);
+
+        complexOps.add(aRe, aIm, bRe, bIm, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).add(Complex.of(bRe[i], bIm[i])), Complex.of(outRe[i], outIm[i]));
+        }
+        complexOps.subtract(aRe, aIm, bRe, bIm, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).subtract(Complex.of(bRe[i], bIm[i])),
+                    Complex.of(outRe[i], outIm[i]));
+        }
+        complexOps.multiply(aRe, aIm, bRe, bIm, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).multiply(Complex.of(bRe[i], bIm[i])),
+                    Complex.of(outRe[i], outIm[i]));
+        }
+        complexOps.divide(aRe, aIm, bRe, bIm, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).divide(Complex.of(bRe[i], bIm[i])),
+                    Complex.of(outRe[i], outIm[i]));
+        }
+        complexOps.absolute(aRe, aIm, out);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).abs(), out[i]);
+        }
+        complexOps.argument(aRe, aIm, out);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).arg(), out[i]);
+        }
+        complexOps.exp(aRe, aIm, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).exp(), Complex.of(outRe[i], outIm[i]));
+        }
+        complexOps.naturalLog(aRe, aIm, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).log(), Complex.of(outRe[i], outIm[i]));
+        }
+        complexOps.power(aRe, aIm, exponent, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertComplex(outRe[i], outIm[i], Complex.of(aRe[i], aIm[i]).pow(exponent), 1e-12);
+        }
+        complexOps.squareRoot(aRe, aIm, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).sqrt(), Complex.of(outRe[i], outIm[i]));
+        }
+        complexOps.sin(aRe, aIm, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).sin(), Complex.of(outRe[i], outIm[i]));
+        }
+        complexOps.cos(aRe, aIm, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).cos(), Complex.of(outRe[i], outIm[i]));
+        }
+        complexOps.tan(aRe, aIm, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Complex.of(aRe[i], aIm[i]).tan(), Complex.of(outRe[i], outIm[i]));
+        }
+    }
+
+    @Test
+    void testBulkInPlaceAndRange() {
+        double[] re = {1, 2, 3, 4};
+        double[] im = {1, -1, 0.5, 2};
+        // Square elements 1 and 2 in place
+        complexOps.multiply(re, im, re, im, re, im, 1, 2);
+        assertArrayEquals(new double[] {1, 3, 8.75, 4}, re, EPS);
+        assertArrayEquals(new double[] {1, -4, 3, 2}, im, EPS);
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> complexOps.add(re, im, re, im, re, new double[2], 0, 4));
+    }
+
+    @Test
+    void testBulkDomainErrorsWriteNothing() {
+        double[] re = {1, 0, 2};
+        double[] im = {1, 0, 2};
+        double[] outRe = new double[3];
+        double[] outIm = new double[3];
+        assertThrows(IllegalArgumentException.class,
+                () -> complexOps.divide(re, im, re, im, outRe, outIm));
+        assertThrows(IllegalArgumentException.class, () -> complexOps.naturalLog(re, im, outRe, outIm));
+        assertThrows(IllegalArgumentException.class,
+                () -> complexOps.power(re, im, Complex.of(-0.5, 1), outRe, outIm));
+        assertArrayEquals(new double[3], outRe);
+        assertArrayEquals(new double[3], outIm);
+
+        complexOps.power(re, im, Complex.ofReal(2), outRe, outIm);
+        assertEquals(0, outRe[1]);
+        assertEquals(0, outIm[1]);
+        assertComplex(outRe[2], outIm[2], Complex.of(0, 8), 1e-12);
+    }
+
+    @Test
+    void testBulkPowerMatchesScalarOnOverflow() {
+        double[] re = {10, 1e300, 2};
+        double[] im = {0, 0, 0};
+        double[] outRe = new double[3];
+        double[] outIm = new double[3];
+        Complex exponent = Complex.ofReal(400);
+        complexOps.power(re, im, exponent, outRe, outIm);
+        for (int i = 0; i < re.length; i++) {
+            Complex expected = Complex.of(re[i], im[i]).pow(exponent);
+            assertEquals(expected, Complex.of(outRe[i], outIm[i]));
+        }
+        assertEquals(Double.POSITIVE_INFINITY, outRe[0]);
+        assertEquals(0.0, outIm[0]);
+    }
+
+    @Test
+    void testInterleaving() {
+        double[] interleaved = {1, 2, 3, 4, 5, 6};
+        double[] re = new double[3];
+        double[] im = new double[3];
+        complexOps.deinterleave(interleaved, re, im);
+        assertArrayEquals(new double[] {1, 3, 5}, re);
+        assertArrayEquals(new double[] {2, 4, 6}, im);
+        double[] back = new double[6];
+        complexOps.interleave(re, im, back);
+        assertArrayEquals(interleaved, back);
+        assertThrows(IndexOutOfBoundsException.class, () -> complexOps.interleave(re, im, new double[5]));
+    }
+}
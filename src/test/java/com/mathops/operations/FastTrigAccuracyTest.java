@@ -0,0 +1,90 @@
+package com.mathops.operations;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the documented error bounds of {@link TrigonometricPrecision#FAST}
+ * against {@link StrictMath} over the whole reduced-argument range.
+ */
+class FastTrigAccuracyTest {
+
+    private static final int SAMPLES = 2_000_000;
+
+    private final TrigonometricOperations fast = new TrigonometricOperations(TrigonometricPrecision.FAST);
+
+    @Test
+    void testSinCosBoundNearZero() {
+        for (int i = 0; i <= SAMPLES; i++) {
+            double x = -8 * Math.PI + 16 * Math.PI * i / SAMPLES;
+            assertSinCos(x);
+        }
+    }
+
+    @Test
+    void testSinCosBoundOverReducedRange() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            assertSinCos(random.nextDouble(-FastTrig.MAX_REDUCED_ARGUMENT, FastTrig.MAX_REDUCED_ARGUMENT));
+        }
+    }
+
+    @Test
+    void testSinCosBoundNearMultiplesOfHalfPi() {
+        for (int k = -700_000; k <= 700_000; k += 7) {
+            double x = k * (Math.PI / 2);
+            assertSinCos(x);
+            assertSinCos(Math.nextUp(x));
+            assertSinCos(Math.nextDown(x));
+        }
+    }
+
+    @Test
+    void testTanBound() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = random.nextDouble(-FastTrig.MAX_REDUCED_ARGUMENT, FastTrig.MAX_REDUCED_ARGUMENT);
+            double expected = StrictMath.tan(x);
+            double bound = FastTrig.SIN_COS_ERROR_BOUND * (1 + expected * expected);
+            assertTrue(Math.abs(fast.tan(x) - expected) <= bound, "tan(" + x + ")");
+        }
+    }
+
+    @Test
+    void testAtanBound() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = i % 2 == 0 ? random.nextDouble(-4, 4) : Math.scalb(random.nextDouble(-1, 1), random.nextInt(-60, 60));
+            assertTrue(Math.abs(fast.atan(x) - StrictMath.atan(x)) <= FastTrig.ATAN_ERROR_BOUND, "atan(" + x + ")");
+        }
+    }
+
+    @Test
+    void testSpecialValues() {
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(fast.sin(-0.0)));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(fast.tan(-0.0)));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(fast.atan(-0.0)));
+        assertEquals(1.0, fast.cos(0.0));
+        assertTrue(Double.isNaN(fast.sin(Double.NaN)));
+        assertTrue(Double.isNaN(fast.cos(Double.POSITIVE_INFINITY)));
+        assertTrue(Double.isNaN(fast.atan(Double.NaN)));
+        assertEquals(Math.PI / 2, fast.atan(Double.POSITIVE_INFINITY));
+        assertEquals(-Math.PI / 2, fast.atan(Double.NEGATIVE_INFINITY));
+        assertEquals(Math.sin(1e10), fast.sin(1e10));
+        assertEquals(Math.cos(Double.MAX_VALUE), fast.cos(Double.MAX_VALUE));
+    }
+
+    private void assertSinCos(double x) {
+        double[] pair = new double[2];
+        fast.sinCos(x, pair, 0);
+        double sin = StrictMath.sin(x);
+        double cos = StrictMath.cos(x);
+        assertTrue(Math.abs(fast.sin(x) - sin) <= FastTrig.SIN_COS_ERROR_BOUND, "sin(" + x + ")");
+        assertTrue(Math.abs(fast.cos(x) - cos) <= FastTrig.SIN_COS_ERROR_BOUND, "cos(" + x + ")");
+        assertEquals(fast.sin(x), pair[0]);
+        assertEquals(fast.cos(x), pair[1]);
+    }
+}
@@ -0,0 +1,263 @@
+package com.mathops.operations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalMathOperationsTest {
+
+    private static final BigDecimalMathOperations EXACT = new BigDecimalMathOperations(new MathContext(40));
+
+    private IntervalMathOperations intervalOps;
+
+    @BeforeEach
+    void setUp() {
+        intervalOps = new IntervalMathOperations();
+    }
+
+    /** Asserts that the 40-digit value of f at every sample of x lies in the enclosure */
+    private static void assertEncloses(Interval x, UnaryOperator<BigDecimal> f, Interval enclosure) {
+        SplittableRandom random = new SplittableRandom(Double.hashCode(x.getLower()));
+        for (int i = 0; i < 12; i++) {
+            double sample = i == 0 ? x.getLower() : i == 1 ? x.getUpper()
+                    : Math.min(x.getUpper(), x.getLower() + (x.getUpper() - x.getLower()) * random.nextDouble());
+            BigDecimal exact = f.apply(new BigDecimal(sample));
+            boolean aboveLower = enclosure.getLower() == Double.NEGATIVE_INFINITY
+                    || new BigDecimal(enclosure.getLower()).compareTo(exact) <= 0;
+            boolean belowUpper = enclosure.getUpper() == Double.POSITIVE_INFINITY
+                    || exact.compareTo(new BigDecimal(enclosure.getUpper())) <= 0;
+            assertTrue(aboveLower && belowUpper,
+                    () -> enclosure + " misses " + exact + " at " + sample);
+        }
+    }
+
+    private static Interval randomInterval(SplittableRandom random, double min, double max) {
+        double a = random.nextDouble(min, max);
+        double b = random.nextBoolean() ? a : random.nextDouble(min, max);
+        return Interval.of(Math.min(a, b), Math.max(a, b));
+    }
+
+    @Test
+    void testArithmeticEnclosesExactResults() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int n = 0; n < 300; n++) {
+            Interval a = randomInterval(random, -100, 100);
+            Interval b = Interval.point(random.nextDouble(0.01, 10) * (random.nextBoolean() ? 1 : -1));
+            BigDecimal y = new BigDecimal(b.getLower());
+            assertEncloses(a, x -> x.add(y), intervalOps.add(a, b));
+            assertEncloses(a, x -> x.subtract(y), intervalOps.subtract(a, b));
+            assertEncloses(a, x -> x.multiply(y), intervalOps.multiply(a, b));
+            assertEncloses(a, x -> EXACT.divide(x, y), intervalOps.divide(a, b));
+            assertEncloses(a, x -> x.remainder(y), intervalOps.modulo(a, b));
+            assertEncloses(a, x -> x.abs(), intervalOps.absolute(a));
+        }
+    }
+
+    @Test
+    void testFunctionsEncloseExactResults() {
+        SplittableRandom random = new SplittableRandom(11);
+        BigDecimal third = EXACT.divide(BigDecimal.ONE, BigDecimal.valueOf(3));
+        for (int n = 0; n < 200; n++) {
+            Interval positive = randomInterval(random, 1e-3, 1e3);
+            assertEncloses(positive, EXACT::squareRoot, intervalOps.squareRoot(positive));
+            assertEncloses(positive, x -> EXACT.power(x, third), intervalOps.cubeRoot(positive));
+            assertEncloses(positive, EXACT::naturalLog, intervalOps.naturalLog(positive));
+            assertEncloses(positive, EXACT::log10, intervalOps.log10(positive));
+            assertEncloses(positive, x -> EXACT.power(x, new BigDecimal("2.5")),
+                    intervalOps.power(positive, Interval.point(2.5)));
+            Interval angles = randomInterval(random, -20, 20);
+            assertEncloses(angles, EXACT::sin, intervalOps.sin(angles));
+            assertEncloses(angles, EXACT::cos, intervalOps.cos(angles));
+            assertEncloses(angles, EXACT::tan, intervalOps.tan(angles));
+            assertEncloses(angles, EXACT::atan, intervalOps.atan(angles));
+            assertEncloses(angles, x -> EXACT.power(x, BigDecimal.valueOf(3)), intervalOps.power(angles, Interval.point(3)));
+            Interval unit = randomInterval(random, -1, 1);
+            assertEncloses(unit, EXACT::asin, intervalOps.asin(unit));
+            assertEncloses(unit, EXACT::acos, intervalOps.acos(unit));
+        }
+        Interval huge = Interval.of(1e22, Math.nextUp(1e22));
+        assertEncloses(huge, EXACT::sin, intervalOps.sin(huge));
+        Interval large = Interval.of(1e7, 1e7 + 2);
+        assertEncloses(large, EXACT::sin, intervalOps.sin(large));
+        assertEncloses(large, EXACT::cos, intervalOps.cos(large));
+    }
+
+    @Test
+    void testTrigonometricExtrema() {
+        assertEquals(Interval.of(Math.nextDown(Math.min(Math.sin(1), Math.sin(2))), 1), intervalOps.sin(Interval.of(1, 2)));
+        assertEquals(-1.0, intervalOps.sin(Interval.of(-2, -1)).getLower(), 0.0);
+        assertEquals(1.0, intervalOps.cos(Interval.of(-0.5, 0.5)).getUpper(), 0.0);
+        assertEquals(-1.0, intervalOps.cos(Interval.of(3, 3.3)).getLower(), 0.0);
+        // Both extrema across a width between pi and 2 pi
+        assertEquals(Interval.of(-1, 1), intervalOps.sin(Interval.of(1, 5)));
+        assertEquals(Interval.of(-1, 1), intervalOps.cos(Interval.of(0, 7)));
+        assertTrue(intervalOps.sin(Interval.of(0.1, 0.2)).getUpper() < 0.2);
+        // Next to an extremum the quick test defers to the derivative
+        assertEquals(1.0, intervalOps.sin(Interval.of(1.5, Math.nextUp(Math.PI / 2))).getUpper(), 0.0);
+        assertTrue(intervalOps.sin(Interval.of(1.5, Math.PI / 2)).getUpper() <= 1);
+        assertEquals(-1.0, intervalOps.cos(Interval.of(Math.nextDown(Math.PI), 3.2)).getLower(), 0.0);
+        assertEquals(1.0, intervalOps.cos(Interval.of(1e7 + 3, 1e7 + 4)).getUpper(), 0.0);
+        assertEquals(Interval.ENTIRE, intervalOps.tan(Interval.of(1.5, 1.6)));
+        assertEquals(Interval.ENTIRE, intervalOps.tan(Interval.of(0, 3.2)));
+        assertTrue(intervalOps.tan(Interval.of(-1, 1)).contains(Interval.of(Math.tan(-1), Math.tan(1))));
+    }
+
+    @Test
+    void testDivisionByIntervalsContainingZero() {
+        Interval positive = Interval.of(1, 2);
+        assertEquals(Interval.of(Math.nextDown(0.25), Double.POSITIVE_INFINITY),
+                intervalOps.divide(positive, Interval.of(0, 4)));
+        assertEquals(Interval.of(Double.NEGATIVE_INFINITY, Math.nextUp(-0.25)),
+                intervalOps.divide(positive, Interval.of(-4, 0)));
+        assertEquals(Interval.of(Double.NEGATIVE_INFINITY, Math.nextUp(-0.25)),
+                intervalOps.divide(Interval.of(-2, -1), Interval.of(0, 4)));
+        assertEquals(Interval.ENTIRE, intervalOps.divide(positive, Interval.of(-1, 1)));
+        assertEquals(Interval.ENTIRE, intervalOps.divide(Interval.of(-1, 1), Interval.of(0, 1)));
+        assertEquals(Interval.ZERO, intervalOps.divide(Interval.ZERO, Interval.of(-1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> intervalOps.divide(positive, Interval.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> intervalOps.modulo(positive, Interval.ZERO));
+    }
+
+    @Test
+    void testPowerAndModulo() {
+        Interval square = intervalOps.power(Interval.of(-2, 3), Interval.point(2));
+        assertEquals(0.0, square.getLower(), 0.0);
+        assertTrue(square.contains(9));
+        assertTrue(intervalOps.power(Interval.of(-2, -1), Interval.point(3)).contains(Interval.of(-8, -1)));
+        Interval reciprocal = intervalOps.power(Interval.of(0, 2), Interval.point(-1));
+        assertEquals(Double.POSITIVE_INFINITY, reciprocal.getUpper(), 0.0);
+        assertTrue(reciprocal.getLower() <= 0.5 && reciprocal.getLower() > 0.49);
+        assertEquals(Interval.ENTIRE, intervalOps.power(Interval.of(-1, 2), Interval.point(-3)));
+        assertTrue(intervalOps.power(Interval.of(2, 3), Interval.of(1, 2)).contains(Interval.of(2, 9)));
+        assertEquals(Interval.ONE, intervalOps.power(Interval.of(-5, 5), Interval.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> intervalOps.power(Interval.of(-2, 1), Interval.point(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> intervalOps.power(Interval.ZERO, Interval.point(-1)));
+
+        Interval remainder = intervalOps.modulo(Interval.of(7, 8), Interval.point(3));
+        assertTrue(remainder.contains(Interval.of(1, 2)) && remainder.width() < 1.001);
+        assertEquals(Interval.of(0, 3), intervalOps.modulo(Interval.of(0, 10), Interval.point(3)));
+        assertEquals(Interval.of(-1, 0), intervalOps.modulo(Interval.of(-5, 0), Interval.of(-1, 1)));
+    }
+
+    @Test
+    void testDomainErrors() {
+        assertThrows(IllegalArgumentException.class, () -> intervalOps.squareRoot(Interval.of(-1, 4)));
+        assertThrows(IllegalArgumentException.class, () -> intervalOps.naturalLog(Interval.of(0, 1)));
+        assertThrows(IllegalArgumentException.class, () -> intervalOps.log10(Interval.of(-2, -1)));
+        assertThrows(IllegalArgumentException.class, () -> intervalOps.asin(Interval.of(0, 1.5)));
+        assertThrows(IllegalArgumentException.class, () -> intervalOps.acos(Interval.of(-1.5, 0)));
+        assertEquals(0.0, intervalOps.squareRoot(Interval.of(0, 4)).getLower(), 0.0);
+        assertEquals(0.0, intervalOps.acos(Interval.ONE).getLower(), 0.0);
+        assertTrue(intervalOps.acos(Interval.point(-1)).getUpper() > Math.PI);
+    }
+
+    @Test
+    void testDegreeConversions() {
+        assertTrue(intervalOps.degreesToRadians(Interval.point(180)).contains(Math.PI));
+        BigDecimal pi = EXACT.acos(BigDecimal.ONE.negate());
+        Interval radians = intervalOps.degreesToRadians(Interval.point(180));
+        assertTrue(new BigDecimal(radians.getLower()).compareTo(pi) < 0 && new BigDecimal(radians.getUpper()).compareTo(pi) > 0);
+        assertTrue(intervalOps.radiansToDegrees(Interval.of(0, Math.PI)).contains(Interval.of(0, 180)));
+    }
+
+    @Test
+    void testBulkMatchesScalar() {
+        SplittableRandom random = new SplittableRandom(3);
+        int n = 64;
+        double[] aLo = new double[n];
+        double[] aHi = new double[n];
+        double[] bLo = new double[n];
+        double[] bHi = new double[n];
+        for (int i = 0; i < n; i++) {
+            Interval a = randomInterval(random, -10, 10);
+            Interval b = i % 8 == 0 ? Interval.of(-1, 1) : randomInterval(random, 0.5, 4);
+            aLo[i] = a.getLower();
+            aHi[i] = a.getUpper();
+            bLo[i] = b.getLower();
+            bHi[i] = b.getUpper();
+        }
+        aLo[5] = 0;
+        aHi[5] = 0;
+        bLo[5] = Double.NEGATIVE_INFINITY;
+        double[] outLo = new double[n];
+        double[] outHi = new double[n];
+        assertBinaryMatches(intervalOps::add, (a, b) -> intervalOps.add(a, b), aLo, aHi, bLo, bHi, outLo, outHi);
+        assertBinaryMatches(intervalOps::multiply, (a, b) -> intervalOps.multiply(a, b), aLo, aHi, bLo, bHi, outLo, outHi);
+        assertBinaryMatches(intervalOps::divide, (a, b) -> intervalOps.divide(a, b), aLo, aHi, bLo, bHi, outLo, outHi);
+
+        intervalOps.sin(aLo, aHi, outLo, outHi);
+        assertUnaryMatches(intervalOps::sin, aLo, aHi, outLo, outHi);
+        intervalOps.tan(aLo, aHi, outLo, outHi);
+        assertUnaryMatches(intervalOps::tan, aLo, aHi, outLo, outHi);
+        intervalOps.power(aLo, aHi, 3, outLo, outHi);
+        assertUnaryMatches(x -> intervalOps.power(x, Interval.point(3)), aLo, aHi, outLo, outHi);
+        intervalOps.squareRoot(bLo, bHi, outLo, outHi, 1, 4);
+        for (int i = 1; i < 5; i++) {
+            assertEquals(intervalOps.squareRoot(Interval.of(bLo[i], bHi[i])), Interval.of(outLo[i], outHi[i]));
+        }
+        double[] copyLo = aLo.clone();
+        double[] copyHi = aHi.clone();
+        intervalOps.cos(copyLo, copyHi, copyLo, copyHi);
+        assertUnaryMatches(intervalOps::cos, aLo, aHi, copyLo, copyHi);
+    }
+
+    private interface BulkBinary {
+        void apply(double[] aLo, double[] aHi, double[] bLo, double[] bHi, double[] outLo, double[] outHi);
+    }
+
+    private interface ScalarBinary {
+        Interval apply(Interval a, Interval b);
+    }
+
+    private static void assertBinaryMatches(BulkBinary bulk, ScalarBinary scalar, double[] aLo, double[] aHi,
+                                            double[] bLo, double[] bHi, double[] outLo, double[] outHi) {
+        bulk.apply(aLo, aHi, bLo, bHi, outLo, outHi);
+        for (int i = 0; i < aLo.length; i++) {
+            Interval expected = scalar.apply(Interval.of(aLo[i], aHi[i]), Interval.of(bLo[i], bHi[i]));
+            assertEquals(expected, Interval.of(outLo[i], outHi[i]), "index " + i);
+        }
+    }
+
+    private static void assertUnaryMatches(Function<Interval, Interval> scalar, double[] lo, double[] hi,
+                                           double[] outLo, double[] outHi) {
+        for (int i = 0; i < lo.length; i++) {
+            assertEquals(scalar.apply(Interval.of(lo[i], hi[i])), Interval.of(outLo[i], outHi[i]), "index " + i);
+        }
+    }
+
+    @Test
+    void testBulkWritesNothingOnInvalidInput() {
+        double[] outLo = new double[3];
+        double[] outHi = new double[3];
+        assertThrows(IllegalArgumentException.class,
+                () -> intervalOps.squareRoot(new double[] {1, 2, -1}, new double[] {2, 3, 1}, outLo, outHi));
+        assertThrows(IllegalArgumentException.class,
+                () -> intervalOps.sin(new double[] {1, 3, 2}, new double[] {2, 2, 2}, outLo, outHi));
+        assertThrows(IllegalArgumentException.class, () -> intervalOps.divide(new double[] {1, 1, 1},
+                new double[] {2, 2, 2}, new double[] {1, 0, 1}, new double[] {1, 0, 1}, outLo, outHi));
+        assertThrows(IllegalArgumentException.class,
+                () -> intervalOps.power(new double[] {1, -1, 2}, new double[] {2, 1, 3}, 0.5, outLo, outHi));
+        assertArrayEquals(new double[3], outLo);
+        assertArrayEquals(new double[3], outHi);
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> intervalOps.atan(new double[3], new double[3], outLo, outHi, 2, 2));
+    }
+
+    @Test
+    void testPointEnclosureIsTight() {
+        Interval sum = intervalOps.add(Interval.point(0.1), Interval.point(0.2));
+        assertTrue(sum.contains(0.1 + 0.2));
+        assertTrue(sum.width() <= 2 * Math.ulp(0.3) + Math.ulp(sum.width()));
+        Interval root = intervalOps.squareRoot(Interval.point(2));
+        assertEquals(Math.nextDown(Math.sqrt(2)), root.getLower(), 0.0);
+        assertEquals(Math.nextUp(Math.sqrt(2)), root.getUpper(), 0.0);
+    }
+}
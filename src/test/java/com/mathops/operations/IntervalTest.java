@@ -0,0 +1,47 @@
+package com.mathops.operations;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTest {
+
+    @Test
+    void testCreation() {
+        Interval interval = Interval.of(-1.5, 2);
+        assertEquals(-1.5, interval.getLower(), 0.0);
+        assertEquals(2.0, interval.getUpper(), 0.0);
+        assertTrue(Interval.point(3).isPoint());
+        assertEquals(Interval.of(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY), Interval.ENTIRE);
+        assertThrows(IllegalArgumentException.class, () -> Interval.of(2, 1));
+        assertThrows(IllegalArgumentException.class, () -> Interval.of(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> Interval.point(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class,
+                () -> Interval.of(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY));
+    }
+
+    @Test
+    void testQueries() {
+        Interval interval = Interval.of(1, 3);
+        assertTrue(interval.contains(1));
+        assertTrue(interval.contains(3));
+        assertFalse(interval.contains(3.5));
+        assertTrue(interval.contains(Interval.of(1.5, 2)));
+        assertFalse(interval.contains(Interval.of(0, 2)));
+        assertEquals(2.0, interval.midpoint(), 0.0);
+        assertTrue(interval.width() >= 2);
+        assertEquals(Interval.of(-1, 3), interval.hull(Interval.point(-1)));
+        assertEquals(0.0, Interval.ENTIRE.midpoint(), 0.0);
+        assertEquals(5.0, Interval.of(5, Double.POSITIVE_INFINITY).midpoint(), 0.0);
+        // Halving each bound first keeps the midpoint of the widest finite interval finite
+        assertEquals(0.0, Interval.of(-Double.MAX_VALUE, Double.MAX_VALUE).midpoint(), 0.0);
+    }
+
+    @Test
+    void testEqualsAndToString() {
+        assertEquals(Interval.of(0.5, 1), Interval.of(0.5, 1));
+        assertEquals(Interval.of(0.5, 1).hashCode(), Interval.of(0.5, 1).hashCode());
+        assertNotEquals(Interval.of(0.5, 1), Interval.of(0.5, 2));
+        assertEquals("[0.5, 1.0]", Interval.of(0.5, 1).toString());
+    }
+}
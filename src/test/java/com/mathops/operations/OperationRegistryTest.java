@@ -0,0 +1,122 @@
+package com.mathops.operations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationRegistryTest {
+
+    private OperationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = OperationRegistry.standard();
+    }
+
+    @Test
+    void testEveryOperationIsRegistered() {
+        for (MathOperation operation : MathOperation.values()) {
+            if (operation.arity() == 1) {
+                assertNotNull(registry.unary(operation));
+                assertThrows(IllegalArgumentException.class, () -> registry.binary(operation));
+            } else {
+                assertNotNull(registry.binary(operation));
+                assertThrows(IllegalArgumentException.class, () -> registry.unary(operation));
+            }
+        }
+    }
+
+    @Test
+    void testLookupByName() {
+        assertEquals(5.0, registry.binary("add").applyAsDouble(2, 3), 0.001);
+        assertEquals(1024.0, registry.binary("power").applyAsDouble(2, 10), 0.001);
+        assertEquals(3.0, registry.unary("squareRoot").applyAsDouble(9), 0.001);
+        assertThrows(IllegalArgumentException.class, () -> registry.unary("nope"));
+        assertThrows(IllegalArgumentException.class, () -> registry.binary("sin"));
+    }
+
+    @Test
+    void testOperatorsMatchOperationsClasses() {
+        assertEquals(new TrigonometricOperations().sin(0.7), MathOperators.SIN.applyAsDouble(0.7));
+        assertEquals(new BasicMathOperations().modulo(10, 3), MathOperators.MODULO.applyAsDouble(10, 3));
+        assertThrows(IllegalArgumentException.class, () -> MathOperators.DIVIDE.applyAsDouble(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> MathOperators.NATURAL_LOG.applyAsDouble(-1));
+    }
+
+    @Test
+    void testFactorialOperator() {
+        DoubleUnaryOperator factorial = MathOperators.FACTORIAL;
+        assertEquals(120.0, factorial.applyAsDouble(5));
+        assertEquals(2432902008176640000.0, factorial.applyAsDouble(20));
+        assertThrows(ArithmeticException.class, () -> factorial.applyAsDouble(21));
+        assertThrows(ArithmeticException.class, () -> factorial.applyAsDouble(200));
+        assertThrows(IllegalArgumentException.class, () -> factorial.applyAsDouble(2.5));
+        assertThrows(IllegalArgumentException.class, () -> factorial.applyAsDouble(-1));
+    }
+
+    @Test
+    void testPrecisionIsApplied() {
+        OperationRegistry strict = new OperationRegistry(TrigonometricPrecision.STRICT);
+        assertEquals(TrigonometricPrecision.STRICT, strict.getPrecision());
+        assertEquals(StrictMath.tan(1.3), strict.unary(MathOperation.TAN).applyAsDouble(1.3));
+    }
+
+    @Test
+    void testChain() {
+        UnaryChain chain = registry.chain("degreesToRadians", "sin", "absolute");
+        assertEquals(Arrays.asList(MathOperation.DEGREES_TO_RADIANS, MathOperation.SIN, MathOperation.ABSOLUTE),
+                chain.getOperations());
+        assertEquals(0.5, chain.applyAsDouble(-30), 1e-12);
+
+        UnaryChain extended = chain.andThen(MathOperation.SQUARE_ROOT);
+        assertEquals(Math.sqrt(0.5), extended.applyAsDouble(-30), 1e-12);
+        assertEquals(3, chain.getOperations().size());
+        assertThrows(IllegalArgumentException.class, () -> chain.andThen(MathOperation.ADD));
+        assertEquals(4.0, registry.chain(new MathOperation[0]).applyAsDouble(4.0));
+    }
+
+    @Test
+    void testChainsOfEveryLengthApplyStagesInOrder() {
+        MathOperation[] operations = {MathOperation.ABSOLUTE, MathOperation.SQUARE_ROOT, MathOperation.NATURAL_LOG,
+                MathOperation.SIN, MathOperation.DEGREES_TO_RADIANS, MathOperation.COS, MathOperation.CUBE_ROOT};
+        for (int length = 0; length <= operations.length; length++) {
+            UnaryChain chain = registry.chain(Arrays.copyOf(operations, length));
+            double expected = -7.5;
+            for (int i = 0; i < length; i++) {
+                expected = registry.unary(operations[i]).applyAsDouble(expected);
+            }
+            assertEquals(expected, chain.applyAsDouble(-7.5), "length " + length);
+        }
+    }
+
+    @Test
+    void testBulkChainMatchesScalar() {
+        UnaryChain chain = registry.chain(MathOperation.ABSOLUTE, MathOperation.FACTORIAL, MathOperation.LOG10);
+        double[] in = new double[1000];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = (i % 40) - 20;
+        }
+        double[] out = new double[in.length];
+        chain.apply(in, out);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(chain.applyAsDouble(in[i]), out[i]);
+        }
+
+        double[] inPlace = in.clone();
+        registry.chain(new MathOperation[0]).apply(inPlace, inPlace, 10, 5);
+        assertArrayEquals(in, inPlace);
+        chain.apply(inPlace, inPlace);
+        assertArrayEquals(out, inPlace);
+    }
+
+    @Test
+    void testBulkChainChecksRange() {
+        UnaryChain chain = registry.chain(MathOperation.SIN);
+        assertThrows(IndexOutOfBoundsException.class, () -> chain.apply(new double[4], new double[3]));
+        assertThrows(IndexOutOfBoundsException.class, () -> chain.apply(new double[4], new double[4], 2, 3));
+    }
+}
@@ -0,0 +1,324 @@
+package com.mathops.operations;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * High-precision {@link BigDecimal} reference values for {@link SpecialFunctions},
+ * computed from series and continued fractions that converge to any precision.
+ * Arguments are taken exactly, intermediate results carry at least
+ * {@value #DIGITS} significant digits and the results are rounded to double
+ * once. Slow by design: it is the yardstick for the accuracy tests and the
+ * speed benchmark.
+ */
+public final class SpecialFunctionReference {
+
+    /** Significant digits carried by every intermediate result */
+    public static final int DIGITS = 50;
+
+    private static final MathContext MC = new MathContext(DIGITS + 10, RoundingMode.HALF_EVEN);
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+
+    /** Bernoulli numbers B2, B4, ..., B30 as numerator and denominator pairs */
+    private static final long[][] BERNOULLI = {
+        {1, 6}, {-1, 30}, {1, 42}, {-1, 30}, {5, 66}, {-691, 2730}, {7, 6}, {-3617, 510},
+        {43867, 798}, {-174611, 330}, {854513, 138}, {-236364091, 2730}, {8553103, 6},
+        {-23749461029L, 870}, {8615841276005L, 14322},
+    };
+
+    /** Log-gamma arguments are shifted up to at least this before Stirling's series */
+    private static final int STIRLING_SHIFT = 40;
+
+    private static final BigDecimal PI = computePi(MC);
+    private static final BigDecimal SQRT_PI = PI.sqrt(MC);
+    private static final BigDecimal HALF_LOG_TWO_PI = log(TWO.multiply(PI, MC), MC).multiply(HALF, MC);
+
+    private SpecialFunctionReference() {
+    }
+
+    /**
+     * @param x input number, not zero or a negative integer
+     * @return gamma of x
+     */
+    public static double gamma(double x) {
+        if (x > 0) {
+            return exp(logGamma(new BigDecimal(x)), MC).doubleValue();
+        }
+        BigDecimal value = new BigDecimal(x);
+        BigDecimal reflected = exp(logGamma(BigDecimal.ONE.subtract(value)), MC);
+        return PI.divide(sinPi(value).multiply(reflected, MC), MC).doubleValue();
+    }
+
+    /**
+     * @param x positive input number
+     * @return log of gamma of x
+     */
+    public static double logGamma(double x) {
+        return logGamma(new BigDecimal(x)).doubleValue();
+    }
+
+    /**
+     * @param x input number
+     * @return erf of x
+     */
+    public static double erf(double x) {
+        return erf(new BigDecimal(x)).doubleValue();
+    }
+
+    /**
+     * @param x input number
+     * @return erfc of x
+     */
+    public static double erfc(double x) {
+        return erfc(new BigDecimal(x)).doubleValue();
+    }
+
+    /**
+     * @param x upper limit of integration, between 0 and 1
+     * @param a positive first parameter
+     * @param b positive second parameter
+     * @return I_x(a, b)
+     */
+    public static double regularizedIncompleteBeta(double x, double a, double b) {
+        if (x == 0 || x == 1) {
+            return x;
+        }
+        BigDecimal bx = new BigDecimal(x);
+        BigDecimal ba = new BigDecimal(a);
+        BigDecimal bb = new BigDecimal(b);
+        if (x <= 0.5) {
+            return incompleteBetaSeries(bx, ba, bb).doubleValue();
+        }
+        return BigDecimal.ONE.subtract(incompleteBetaSeries(BigDecimal.ONE.subtract(bx), bb, ba)).doubleValue();
+    }
+
+    /**
+     * @param x input number
+     * @return J0 of x
+     */
+    public static double besselJ0(double x) {
+        return bessel(new BigDecimal(x), 0).doubleValue();
+    }
+
+    /**
+     * @param x input number
+     * @return J1 of x
+     */
+    public static double besselJ1(double x) {
+        return bessel(new BigDecimal(x), 1).doubleValue();
+    }
+
+    /**
+     * Stirling's series with 15 Bernoulli terms after shifting the argument
+     * to at least {@value #STIRLING_SHIFT}
+     */
+    private static BigDecimal logGamma(BigDecimal x) {
+        BigDecimal product = BigDecimal.ONE;
+        BigDecimal z = x;
+        while (z.compareTo(BigDecimal.valueOf(STIRLING_SHIFT)) < 0) {
+            product = product.multiply(z, MC);
+            z = z.add(BigDecimal.ONE);
+        }
+        BigDecimal logZ = log(z, MC);
+        BigDecimal result = z.subtract(HALF).multiply(logZ, MC).subtract(z).add(HALF_LOG_TWO_PI);
+        BigDecimal zSquare = z.multiply(z, MC);
+        BigDecimal power = z;
+        for (int k = 1; k <= BERNOULLI.length; k++) {
+            BigDecimal coefficient = BigDecimal.valueOf(BERNOULLI[k - 1][0])
+                    .divide(BigDecimal.valueOf(BERNOULLI[k - 1][1] * (2L * k) * (2L * k - 1)), MC);
+            result = result.add(coefficient.divide(power, MC), MC);
+            power = power.multiply(zSquare, MC);
+        }
+        return result.subtract(log(product, MC), MC);
+    }
+
+    private static BigDecimal sinPi(BigDecimal x) {
+        BigDecimal reduced = x.remainder(TWO);
+        return sin(PI.multiply(reduced, MC), MC);
+    }
+
+    /**
+     * Taylor series {@code 2/sqrt(pi) sum (-1)^n x^(2n+1) / (n! (2n+1))} for
+     * |x| up to 3, {@code 1 - erfc(x)} beyond
+     */
+    private static BigDecimal erf(BigDecimal x) {
+        if (x.abs().compareTo(BigDecimal.valueOf(3)) > 0) {
+            BigDecimal tail = erfc(x.abs());
+            BigDecimal erf = BigDecimal.ONE.subtract(tail);
+            return x.signum() < 0 ? erf.negate() : erf;
+        }
+        BigDecimal square = x.multiply(x, MC).negate();
+        BigDecimal power = x;
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(DIGITS + 10);
+        for (int n = 0; ; n++) {
+            BigDecimal term = power.divide(BigDecimal.valueOf(2L * n + 1), MC);
+            sum = sum.add(term, MC);
+            if (term.abs().compareTo(threshold) < 0) {
+                break;
+            }
+            power = power.multiply(square, MC).divide(BigDecimal.valueOf(n + 1), MC);
+        }
+        return sum.multiply(TWO, MC).divide(SQRT_PI, MC);
+    }
+
+    /**
+     * {@code 1 - erf(x)} below 3, and the continued fraction
+     * {@code exp(-x^2) / sqrt(pi) / (x + (1/2) / (x + 1 / (x + (3/2) / (x + ...))))} from 3 on
+     */
+    private static BigDecimal erfc(BigDecimal x) {
+        if (x.compareTo(BigDecimal.valueOf(3)) < 0) {
+            return BigDecimal.ONE.subtract(erf(x), MC);
+        }
+        BigDecimal fraction = x;
+        for (int n = 2000; n >= 1; n--) {
+            fraction = x.add(BigDecimal.valueOf(n).multiply(HALF).divide(fraction, MC), MC);
+        }
+        return exp(x.multiply(x, MC).negate(), MC).divide(SQRT_PI.multiply(fraction, MC), MC);
+    }
+
+    /**
+     * {@code x^a (1-x)^b / (a B(a, b)) * sum (a+b)_n / (a+1)_n x^n}, for x up to 1/2
+     */
+    private static BigDecimal incompleteBetaSeries(BigDecimal x, BigDecimal a, BigDecimal b) {
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal term = BigDecimal.ONE;
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(DIGITS + 10);
+        for (int n = 0; ; n++) {
+            sum = sum.add(term, MC);
+            BigDecimal ratio = a.add(b).add(BigDecimal.valueOf(n))
+                    .divide(a.add(BigDecimal.ONE).add(BigDecimal.valueOf(n)), MC);
+            term = term.multiply(ratio, MC).multiply(x, MC);
+            if (ratio.multiply(x).compareTo(BigDecimal.ONE) < 0 && term.compareTo(sum.multiply(threshold)) < 0) {
+                break;
+            }
+        }
+        BigDecimal logFront = a.multiply(log(x, MC), MC)
+                .add(b.multiply(log(BigDecimal.ONE.subtract(x), MC), MC))
+                .subtract(logGamma(a)).subtract(logGamma(b)).add(logGamma(a.add(b)));
+        return exp(logFront, MC).multiply(sum, MC).divide(a, MC);
+    }
+
+    /**
+     * Power series {@code sum (-1)^k (x/2)^(2k+n) / (k! (k+n)!)}, with enough
+     * guard digits to absorb its cancellation for large x
+     */
+    private static BigDecimal bessel(BigDecimal x, int order) {
+        int guard = (int) (x.abs().doubleValue() / Math.log(10)) + 10;
+        MathContext mc = new MathContext(DIGITS + guard, RoundingMode.HALF_EVEN);
+        BigDecimal half = x.multiply(HALF);
+        BigDecimal square = half.multiply(half).negate();
+        BigDecimal term = order == 0 ? BigDecimal.ONE : half;
+        BigDecimal sum = term;
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(DIGITS + 10);
+        for (int k = 1; ; k++) {
+            term = term.multiply(square, mc).divide(BigDecimal.valueOf((long) k * (k + order)), mc);
+            sum = sum.add(term, mc);
+            if (term.abs().compareTo(threshold) < 0 && k > square.abs().doubleValue()) {
+                break;
+            }
+        }
+        return sum.round(MC);
+    }
+
+    // Elementary functions
+
+    private static BigDecimal computePi(MathContext mc) {
+        MathContext wide = new MathContext(mc.getPrecision() + 10, RoundingMode.HALF_EVEN);
+        BigDecimal atanFifth = arctanInverse(5, wide);
+        BigDecimal atanInverse239 = arctanInverse(239, wide);
+        return atanFifth.multiply(BigDecimal.valueOf(16)).subtract(atanInverse239.multiply(BigDecimal.valueOf(4)))
+                .round(mc);
+    }
+
+    private static BigDecimal arctanInverse(int n, MathContext mc) {
+        BigDecimal inverse = BigDecimal.ONE.divide(BigDecimal.valueOf(n), mc);
+        BigDecimal inverseSquare = inverse.multiply(inverse, mc);
+        BigDecimal power = inverse;
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(mc.getPrecision() + 2);
+        for (int k = 0; power.compareTo(threshold) > 0; k++) {
+            BigDecimal term = power.divide(BigDecimal.valueOf(2L * k + 1), mc);
+            sum = (k & 1) == 0 ? sum.add(term, mc) : sum.subtract(term, mc);
+            power = power.multiply(inverseSquare, mc);
+        }
+        return sum;
+    }
+
+    /**
+     * Taylor series after halving the argument below 1, then repeated squaring
+     */
+    static BigDecimal exp(BigDecimal x, MathContext mc) {
+        int halvings = Math.max(0, (int) Math.ceil(Math.log(Math.abs(x.doubleValue()) + 1) / Math.log(2)) + 1);
+        MathContext wide = new MathContext(mc.getPrecision() + halvings + 10, RoundingMode.HALF_EVEN);
+        BigDecimal reduced = x.divide(BigDecimal.valueOf(2).pow(halvings), wide);
+        BigDecimal term = BigDecimal.ONE;
+        BigDecimal sum = BigDecimal.ONE;
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(wide.getPrecision());
+        for (int k = 1; term.abs().compareTo(threshold) > 0; k++) {
+            term = term.multiply(reduced, wide).divide(BigDecimal.valueOf(k), wide);
+            sum = sum.add(term, wide);
+        }
+        for (int i = 0; i < halvings; i++) {
+            sum = sum.multiply(sum, wide);
+        }
+        return sum.round(mc);
+    }
+
+    /**
+     * Newton's iteration {@code y += 2 (x - e^y) / (x + e^y)} from the double logarithm
+     */
+    static BigDecimal log(BigDecimal x, MathContext mc) {
+        if (x.signum() <= 0) {
+            throw new IllegalArgumentException("Logarithm is not defined for non-positive numbers");
+        }
+        MathContext wide = new MathContext(mc.getPrecision() + 10, RoundingMode.HALF_EVEN);
+        // Split off a power of ten so that the double estimate cannot overflow
+        int exponent = x.precision() - x.scale() - 1;
+        BigDecimal mantissa = x.movePointLeft(exponent);
+        BigDecimal y = new BigDecimal(Math.log(mantissa.doubleValue()));
+        for (int i = 0; i < 6; i++) {
+            BigDecimal e = exp(y, wide);
+            y = y.add(TWO.multiply(mantissa.subtract(e), wide).divide(mantissa.add(e), wide), wide);
+        }
+        BigDecimal ln10 = exponent == 0 ? BigDecimal.ZERO : Ln10Holder.LN10;
+        return y.add(ln10.multiply(BigDecimal.valueOf(exponent), wide), wide).round(mc);
+    }
+
+    private static BigDecimal sin(BigDecimal x, MathContext mc) {
+        MathContext wide = new MathContext(mc.getPrecision() + 10, RoundingMode.HALF_EVEN);
+        BigDecimal square = x.multiply(x, wide).negate();
+        BigDecimal term = x;
+        BigDecimal sum = x;
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(wide.getPrecision());
+        for (int k = 1; term.abs().compareTo(threshold) > 0; k++) {
+            term = term.multiply(square, wide).divide(BigDecimal.valueOf((2L * k) * (2L * k + 1)), wide);
+            sum = sum.add(term, wide);
+        }
+        return sum.round(mc);
+    }
+
+    private static final class Ln10Holder {
+        static final BigDecimal LN10 = lnTen();
+
+        private static BigDecimal lnTen() {
+            MathContext wide = new MathContext(MC.getPrecision() + 10, RoundingMode.HALF_EVEN);
+            // ln 10 = 3 ln 2 + ln 1.25, with both logarithms from their double estimates
+            BigDecimal ln2 = newtonLog(TWO, wide);
+            BigDecimal ln125 = newtonLog(new BigDecimal("1.25"), wide);
+            return ln2.multiply(BigDecimal.valueOf(3)).add(ln125).round(wide);
+        }
+
+        private static BigDecimal newtonLog(BigDecimal x, MathContext mc) {
+            BigDecimal y = new BigDecimal(Math.log(x.doubleValue()));
+            for (int i = 0; i < 6; i++) {
+                BigDecimal e = exp(y, mc);
+                y = y.add(TWO.multiply(x.subtract(e), mc).divide(x.add(e), mc), mc);
+            }
+            return y;
+        }
+    }
+}
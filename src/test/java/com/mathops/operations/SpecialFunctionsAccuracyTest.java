@@ -0,0 +1,101 @@
+package com.mathops.operations;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the error bounds documented on {@link SpecialFunctions} against the
+ * {@link SpecialFunctionReference} values
+ */
+class SpecialFunctionsAccuracyTest {
+
+    private static final int SAMPLES = 200;
+
+    private final SpecialFunctions special = new SpecialFunctions();
+
+    private static void assertRelative(DoubleUnaryOperator function, DoubleUnaryOperator reference,
+                                       double x, double bound) {
+        double expected = reference.applyAsDouble(x);
+        assertEquals(expected, function.applyAsDouble(x), bound * Math.abs(expected), "x = " + x);
+    }
+
+    private static void assertAbsolute(DoubleUnaryOperator function, DoubleUnaryOperator reference,
+                                       double x, double bound) {
+        assertEquals(reference.applyAsDouble(x), function.applyAsDouble(x), bound, "x = " + x);
+    }
+
+    @Test
+    void testGammaBound() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = random.nextDouble(-30, SpecialFunctions.MAX_GAMMA_ARGUMENT);
+            assertRelative(special::gamma, SpecialFunctionReference::gamma, x, 1e-14);
+        }
+        for (int n = 1; n <= 20; n++) {
+            assertRelative(special::gamma, SpecialFunctionReference::gamma, -n + 1e-9, 1e-14);
+            assertRelative(special::gamma, SpecialFunctionReference::gamma, -n - 1e-9, 1e-14);
+        }
+    }
+
+    @Test
+    void testLogGammaBound() {
+        SplittableRandom random = new SplittableRandom(2);
+        for (int i = 0; i < SAMPLES; i++) {
+            double small = random.nextDouble(0.01, 3);
+            assertAbsolute(special::logGamma, SpecialFunctionReference::logGamma, small, 1e-15);
+            double large = Math.exp(random.nextDouble(Math.log(3), Math.log(1e12)));
+            assertRelative(special::logGamma, SpecialFunctionReference::logGamma, large, 1e-15);
+        }
+    }
+
+    @Test
+    void testErrorFunctionBound() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = random.nextDouble(-6, 6);
+            assertAbsolute(special::erf, SpecialFunctionReference::erf, x, Math.ulp(special.erf(x)));
+            double y = random.nextDouble(-6, 27);
+            assertAbsolute(special::erfc, SpecialFunctionReference::erfc, y, Math.ulp(special.erfc(y)));
+        }
+    }
+
+    @Test
+    void testIncompleteBetaBound() {
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = random.nextDouble();
+            double a = random.nextDouble(0.1, 60);
+            double b = random.nextDouble(0.1, 100 - a);
+            assertEquals(SpecialFunctionReference.regularizedIncompleteBeta(x, a, b),
+                    special.regularizedIncompleteBeta(x, a, b), 5e-14, "x = " + x + ", a = " + a + ", b = " + b);
+        }
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            double x = random.nextDouble(0.2, 0.5);
+            double a = random.nextDouble(100, 500);
+            double b = random.nextDouble(a, 1000 - a);
+            assertEquals(SpecialFunctionReference.regularizedIncompleteBeta(x, a, b),
+                    special.regularizedIncompleteBeta(x, a, b), 5e-13, "x = " + x + ", a = " + a + ", b = " + b);
+        }
+    }
+
+    @Test
+    void testBesselBound() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = random.nextDouble(-60, 60);
+            assertAbsolute(special::besselJ0, SpecialFunctionReference::besselJ0, x, 1e-15);
+            assertAbsolute(special::besselJ1, SpecialFunctionReference::besselJ1, x, 1e-15);
+        }
+        // Either side of the switches between series, recurrence and asymptotic expansion
+        for (double edge : new double[] {2, SpecialFunctions.HANKEL_LIMIT}) {
+            for (double x : new double[] {Math.nextDown(edge), edge, Math.nextUp(edge)}) {
+                assertAbsolute(special::besselJ0, SpecialFunctionReference::besselJ0, x, 1e-15);
+                assertAbsolute(special::besselJ1, SpecialFunctionReference::besselJ1, x, 1e-15);
+            }
+        }
+    }
+}
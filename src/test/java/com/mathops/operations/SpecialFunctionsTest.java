@@ -0,0 +1,147 @@
+package com.mathops.operations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecialFunctionsTest {
+
+    private SpecialFunctions special;
+
+    @BeforeEach
+    void setUp() {
+        special = new SpecialFunctions();
+    }
+
+    @Test
+    void testGammaGeneralizesFactorial() {
+        AdvancedMathOperations advancedOps = new AdvancedMathOperations();
+        for (int n = 0; n <= 20; n++) {
+            assertEquals((double) advancedOps.factorial(n), special.gamma(n + 1), 0.0);
+        }
+        assertEquals(advancedOps.bigFactorial(170).doubleValue(), special.gamma(171), 0.0);
+        assertEquals(Math.sqrt(Math.PI), special.gamma(0.5), 1e-15);
+        assertEquals(-2 * Math.sqrt(Math.PI), special.gamma(-0.5), 1e-15);
+        assertEquals(0.75 * Math.sqrt(Math.PI), special.gamma(2.5), 1e-15);
+    }
+
+    @Test
+    void testGammaLimits() {
+        assertTrue(Double.isFinite(special.gamma(SpecialFunctions.MAX_GAMMA_ARGUMENT)));
+        assertEquals(Double.POSITIVE_INFINITY, special.gamma(Math.nextUp(SpecialFunctions.MAX_GAMMA_ARGUMENT)));
+        assertEquals(1e300, special.gamma(1e-300), 1e285);
+        assertTrue(Double.isNaN(special.gamma(Double.NaN)));
+        assertThrows(IllegalArgumentException.class, () -> special.gamma(0.0));
+        assertThrows(IllegalArgumentException.class, () -> special.gamma(-3.0));
+    }
+
+    @Test
+    void testLogGamma() {
+        assertEquals(0.0, special.logGamma(1.0), 0.0);
+        assertEquals(0.0, special.logGamma(2.0), 0.0);
+        assertEquals(Math.log(special.gamma(30.5)), special.logGamma(30.5), 1e-13);
+        assertEquals(Math.log(special.gamma(150.25)), special.logGamma(150.25), 1e-12);
+        // 1000! overflows a double, its logarithm does not
+        assertEquals(5912.128178488163, special.logGamma(1001), 1e-11);
+        assertThrows(IllegalArgumentException.class, () -> special.logGamma(0.0));
+        assertThrows(IllegalArgumentException.class, () -> special.logGamma(-1.5));
+    }
+
+    @Test
+    void testBeta() {
+        assertEquals(1.0 / 12, special.beta(2, 3), 1e-16);
+        assertEquals(Math.PI, special.beta(0.5, 0.5), 1e-14);
+        assertEquals(special.beta(2.5, 7), special.beta(7, 2.5), 1e-16);
+        assertEquals(Math.exp(special.logBeta(300, 400)), special.beta(300, 400), 1e-13 * special.beta(300, 400));
+        assertThrows(IllegalArgumentException.class, () -> special.beta(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> special.logBeta(1, -1));
+    }
+
+    @Test
+    void testRegularizedIncompleteBeta() {
+        assertEquals(0.0, special.regularizedIncompleteBeta(0, 2, 3), 0.0);
+        assertEquals(1.0, special.regularizedIncompleteBeta(1, 2, 3), 0.0);
+        // I_x(1, 1) = x and I_x(a, 1) = x^a
+        assertEquals(0.3, special.regularizedIncompleteBeta(0.3, 1, 1), 1e-15);
+        assertEquals(Math.pow(0.7, 4.5), special.regularizedIncompleteBeta(0.7, 4.5, 1), 1e-15);
+        // Symmetry I_x(a, b) = 1 - I_(1-x)(b, a)
+        assertEquals(1 - special.regularizedIncompleteBeta(0.6, 5, 2),
+                special.regularizedIncompleteBeta(0.4, 2, 5), 1e-15);
+        assertEquals(0.5, special.regularizedIncompleteBeta(0.5, 40, 40), 5e-14);
+        assertThrows(IllegalArgumentException.class, () -> special.regularizedIncompleteBeta(1.5, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> special.regularizedIncompleteBeta(0.5, 0, 3));
+    }
+
+    @Test
+    void testErrorFunction() {
+        assertEquals(0.0, special.erf(0), 0.0);
+        assertEquals(1.0, special.erfc(0), 0.0);
+        assertEquals(0.8427007929497149, special.erf(1), 1e-16);
+        assertEquals(-special.erf(0.7), special.erf(-0.7), 0.0);
+        assertEquals(1.0, special.erf(Double.POSITIVE_INFINITY), 0.0);
+        assertEquals(2.0, special.erfc(Double.NEGATIVE_INFINITY), 0.0);
+        // 1 - erf(10) is zero in double; erfc keeps it
+        assertEquals(2.088487583762545e-45, special.erfc(10), 1e-60);
+        assertEquals(0.0, special.erfc(30), 0.0);
+        assertTrue(Double.isNaN(special.erf(Double.NaN)));
+    }
+
+    @Test
+    void testBesselFunctions() {
+        assertEquals(1.0, special.besselJ0(0), 0.0);
+        assertEquals(0.0, special.besselJ1(0), 0.0);
+        assertEquals(0.7651976865579666, special.besselJ0(1), 1e-16);
+        assertEquals(0.44005058574493355, special.besselJ1(1), 1e-16);
+        // First zeros of J0 and J1
+        assertEquals(0.0, special.besselJ0(2.404825557695773), 1e-15);
+        assertEquals(0.0, special.besselJ1(3.8317059702075125), 1e-15);
+        assertEquals(special.besselJ0(12.5), special.besselJ0(-12.5), 0.0);
+        assertEquals(-special.besselJ1(40), special.besselJ1(-40), 0.0);
+        assertEquals(0.0, special.besselJ0(Double.POSITIVE_INFINITY), 0.0);
+    }
+
+    @Test
+    void testBulkMatchesScalar() {
+        double[] in = {0.25, 1.5, 3.75, 10, 30.5, 170.5};
+        double[] out = new double[in.length];
+        special.gamma(in, out);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(special.gamma(in[i]), out[i], 0.0);
+        }
+        special.logGamma(in, out);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(special.logGamma(in[i]), out[i], 0.0);
+        }
+        special.erfc(in, out, 1, 3);
+        for (int i = 1; i < 4; i++) {
+            assertEquals(special.erfc(in[i]), out[i], 0.0);
+        }
+        double[] copy = in.clone();
+        special.besselJ1(copy, copy);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(special.besselJ1(in[i]), copy[i], 0.0);
+        }
+        double[] x = {0, 0.2, 0.5, 0.9, 1};
+        double[] result = new double[x.length];
+        special.regularizedIncompleteBeta(x, 2.5, 4, result);
+        for (int i = 0; i < x.length; i++) {
+            assertEquals(special.regularizedIncompleteBeta(x[i], 2.5, 4), result[i], 0.0);
+        }
+    }
+
+    @Test
+    void testBulkWritesNothingOnInvalidInput() {
+        double[] out = new double[3];
+        assertThrows(IllegalArgumentException.class, () -> special.gamma(new double[] {1.5, 2.5, -2}, out));
+        assertThrows(IllegalArgumentException.class, () -> special.logGamma(new double[] {1.5, 0, 2}, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> special.regularizedIncompleteBeta(new double[] {0.5, 0.25, 1.25}, 2, 3, out));
+        assertArrayEquals(new double[3], out);
+        assertThrows(IndexOutOfBoundsException.class, () -> special.erf(new double[4], out, 1, 3));
+        double[] values = {-1, 2, 3};
+        // Only the range is validated, so the pole outside it is ignored
+        special.gamma(values, out, 1, 2);
+        assertArrayEquals(new double[] {0, 1, 2}, out);
+    }
+}
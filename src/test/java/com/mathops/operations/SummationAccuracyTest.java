@@ -0,0 +1,164 @@
+package com.mathops.operations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks every summation algorithm against an exact {@link BigDecimal} reference,
+ * using the error bounds documented on {@link Summation}
+ */
+class SummationAccuracyTest {
+
+    private static final double U = Math.ulp(1.0) / 2;
+    private static final int SIZE = 100_000;
+
+    private BasicMathOperations basicOps;
+    private double[] x;
+    private double[] y;
+
+    @BeforeEach
+    void setUp() {
+        basicOps = new BasicMathOperations();
+        SplittableRandom random = new SplittableRandom(2024);
+        x = new double[SIZE];
+        y = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            // Mixed signs and magnitudes spanning 40 binades make the sums ill-conditioned
+            x[i] = Math.scalb(random.nextDouble(-1, 1), random.nextInt(-20, 20));
+            y[i] = Math.scalb(random.nextDouble(-1, 1), random.nextInt(-20, 20));
+        }
+    }
+
+    private static double exactSum(double[] values) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (double value : values) {
+            sum = sum.add(new BigDecimal(value));
+        }
+        return sum.doubleValue();
+    }
+
+    private static double exactDot(double[] a, double[] b) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < a.length; i++) {
+            sum = sum.add(new BigDecimal(a[i]).multiply(new BigDecimal(b[i])));
+        }
+        return sum.doubleValue();
+    }
+
+    private static double absoluteSum(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += Math.abs(a[i] * b[i]);
+        }
+        return sum;
+    }
+
+    private static double[] ones(int length) {
+        double[] ones = new double[length];
+        Arrays.fill(ones, 1.0);
+        return ones;
+    }
+
+    private static void assertWithinBounds(double exact, double condition, double naive, double pairwise,
+                                           double compensated, int n) {
+        assertEquals(exact, naive, n * U * condition, "naive");
+        assertEquals(exact, pairwise, (Math.log(n) / Math.log(2) + Summation.PAIRWISE_BLOCK / 4.0) * U * condition,
+                "pairwise");
+        assertEquals(exact, compensated, Math.ulp(exact) + (double) n * n * U * U * condition, "compensated");
+    }
+
+    @Test
+    void testSumAgainstBigDecimal() {
+        double exact = exactSum(x);
+        double condition = absoluteSum(x, ones(SIZE));
+        assertWithinBounds(exact, condition,
+                basicOps.sum(x, SummationAlgorithm.NAIVE),
+                basicOps.sum(x, SummationAlgorithm.PAIRWISE),
+                basicOps.sum(x, SummationAlgorithm.KAHAN_BABUSKA), SIZE);
+    }
+
+    @Test
+    void testDotAgainstBigDecimal() {
+        double exact = exactDot(x, y);
+        double condition = absoluteSum(x, y);
+        assertWithinBounds(exact, condition,
+                basicOps.dot(x, y, SummationAlgorithm.NAIVE),
+                basicOps.dot(x, y, SummationAlgorithm.PAIRWISE),
+                basicOps.dot(x, y, SummationAlgorithm.KAHAN_BABUSKA), SIZE);
+    }
+
+    @Test
+    void testSumOfSquaresAgainstBigDecimal() {
+        double exact = exactDot(x, x);
+        assertWithinBounds(exact, exact,
+                basicOps.sumOfSquares(x, SummationAlgorithm.NAIVE),
+                basicOps.sumOfSquares(x, SummationAlgorithm.PAIRWISE),
+                basicOps.sumOfSquares(x, SummationAlgorithm.KAHAN_BABUSKA), SIZE);
+    }
+
+    @Test
+    void testCompensatedIsCorrectlyRoundedUnderCancellation() {
+        double[] values = new double[3000];
+        for (int i = 0; i < values.length; i += 3) {
+            values[i] = 1e16;
+            values[i + 1] = 1.0;
+            values[i + 2] = -1e16;
+        }
+        assertEquals(1000.0, basicOps.sum(values, SummationAlgorithm.KAHAN_BABUSKA));
+        assertNotEquals(1000.0, basicOps.sum(values, SummationAlgorithm.NAIVE));
+
+        double[] tenths = new double[1_000_000];
+        Arrays.fill(tenths, 0.1);
+        assertEquals(exactSum(tenths), basicOps.sum(tenths, SummationAlgorithm.KAHAN_BABUSKA));
+    }
+
+    @Test
+    void testCompensatedBlocksKeepTheirErrors() {
+        // Each of the first two blocks rounds by a quarter in the same direction
+        double[] values = new double[4 * Summation.REDUCTION_BLOCK];
+        Arrays.fill(values, 0.25);
+        values[0] = 1e16;
+        values[Summation.REDUCTION_BLOCK] = -1e16;
+        double[] ones = new double[values.length];
+        Arrays.fill(ones, 1);
+        double exact = 0.25 * (values.length - 2);
+        assertEquals(exact, basicOps.sum(values, SummationAlgorithm.KAHAN_BABUSKA));
+        assertEquals(exact, basicOps.dot(values, ones, SummationAlgorithm.KAHAN_BABUSKA));
+    }
+
+    @Test
+    void testCompensatedDotKeepsProductErrors() {
+        // 1 + 2^-30 squared has a 2^-60 term that the rounded product drops
+        double a = 1 + Math.scalb(1.0, -30);
+        double[] u = {a, -1, -Math.scalb(1.0, -29)};
+        double[] v = {a, 1, 1};
+        assertEquals(Math.scalb(1.0, -60), basicOps.dot(u, v, SummationAlgorithm.KAHAN_BABUSKA));
+        assertEquals(0.0, basicOps.dot(u, v, SummationAlgorithm.NAIVE));
+    }
+
+    @Test
+    void testNonFiniteTerms() {
+        for (SummationAlgorithm algorithm : SummationAlgorithm.values()) {
+            double[] values = new double[1000];
+            values[500] = Double.POSITIVE_INFINITY;
+            assertEquals(Double.POSITIVE_INFINITY, basicOps.sum(values, algorithm), algorithm.name());
+            values[700] = Double.NaN;
+            assertTrue(Double.isNaN(basicOps.sum(values, algorithm)), algorithm.name());
+            assertEquals(Double.POSITIVE_INFINITY, basicOps.sumOfSquares(new double[]{1e200, 1e200}, algorithm),
+                    algorithm.name());
+
+            double[] blocks = new double[3 * Summation.REDUCTION_BLOCK];
+            blocks[0] = Double.MAX_VALUE;
+            blocks[Summation.REDUCTION_BLOCK] = Double.MAX_VALUE;
+            assertEquals(Double.POSITIVE_INFINITY, basicOps.sum(blocks, algorithm), algorithm.name());
+            blocks[2 * Summation.REDUCTION_BLOCK] = Double.NaN;
+            assertTrue(Double.isNaN(basicOps.sum(blocks, algorithm)), algorithm.name());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.mathops.operations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TabulatedFunctionTest {
+
+    @TempDir
+    Path dir;
+
+    private static double trueMaxError(TabulatedFunction table, DoubleUnaryOperator exact) {
+        Random random = new Random(3);
+        double error = 0;
+        for (int i = 0; i < 200_000; i++) {
+            double x = table.getMin() + random.nextDouble() * (table.getMax() - table.getMin());
+            error = Math.max(error, Math.abs(table.applyAsDouble(x) - exact.applyAsDouble(x)));
+        }
+        return error;
+    }
+
+    @Test
+    void testExactAtSamples() {
+        for (Interpolation interpolation : Interpolation.values()) {
+            TabulatedFunction table = TabulatedFunction.of(Math::cbrt, 0, 8, 9, interpolation);
+            for (int k = 0; k <= 8; k++) {
+                assertEquals(Math.cbrt(k), table.applyAsDouble(k), 1e-15, interpolation + " at " + k);
+            }
+        }
+    }
+
+    @Test
+    void testErrorShrinksWithOrder() {
+        double nearest = TabulatedFunction.of(Math::atan, -4, 4, 1024, Interpolation.NEAREST).getMaxError();
+        double linear = TabulatedFunction.of(Math::atan, -4, 4, 1024, Interpolation.LINEAR).getMaxError();
+        double cubic = TabulatedFunction.of(Math::atan, -4, 4, 1024, Interpolation.CUBIC).getMaxError();
+        assertTrue(nearest < 5e-3, "nearest " + nearest);
+        assertTrue(linear < 5e-6, "linear " + linear);
+        assertTrue(cubic < 1e-9, "cubic " + cubic);
+
+        // Doubling the points cuts linear error by 4 and cubic error by about 16
+        double linear2 = TabulatedFunction.of(Math::atan, -4, 4, 2047, Interpolation.LINEAR).getMaxError();
+        double cubic2 = TabulatedFunction.of(Math::atan, -4, 4, 2047, Interpolation.CUBIC).getMaxError();
+        assertEquals(4, linear / linear2, 0.5);
+        assertTrue(cubic / cubic2 > 10, "cubic ratio " + cubic / cubic2);
+    }
+
+    @Test
+    void testMeasuredErrorMatchesRandomProbes() {
+        DoubleUnaryOperator[] functions = {Math::log, Math::cbrt, x -> Math.pow(x, 1.7)};
+        for (DoubleUnaryOperator function : functions) {
+            for (Interpolation interpolation : Interpolation.values()) {
+                TabulatedFunction table = TabulatedFunction.of(function, 0.5, 20, 500, interpolation);
+                double observed = trueMaxError(table, function);
+                assertTrue(observed <= table.getMaxError() * 1.05,
+                        interpolation + ": observed " + observed + " reported " + table.getMaxError());
+                assertTrue(observed >= table.getMaxError() * 0.5);
+            }
+        }
+    }
+
+    @Test
+    void testFallbackOutsideDomain() {
+        TabulatedFunction table = TabulatedFunction.of(Math::sin, 0, 1, 16, Interpolation.LINEAR);
+        assertEquals(Math.sin(5), table.applyAsDouble(5));
+        assertEquals(Math.sin(-0.1), table.applyAsDouble(-0.1));
+        assertTrue(Double.isNaN(table.applyAsDouble(Double.NaN)));
+        assertTrue(table.covers(1));
+        assertFalse(table.covers(Math.nextUp(1.0)));
+    }
+
+    @Test
+    void testBulkMatchesScalar() {
+        for (Interpolation interpolation : Interpolation.values()) {
+            TabulatedFunction table = TabulatedFunction.of(Math::log10, 1, 1000, 1000, interpolation);
+            double[] in = {1, 2.5, 999.999, 1000, 0.5, 1e6, 77.7};
+            double[] out = in.clone();
+            table.apply(out, out);
+            for (int i = 0; i < in.length; i++) {
+                assertEquals(table.applyAsDouble(in[i]), out[i]);
+            }
+        }
+    }
+
+    @Test
+    void testSerializationRoundTrip() throws IOException {
+        TabulatedFunction table = TabulatedFunction.of(Math::atan, -10, 10, 3000, Interpolation.CUBIC);
+        Path file = dir.resolve("atan.tab");
+        table.save(file);
+        TabulatedFunction loaded = TabulatedFunction.load(file, Math::atan);
+        assertEquals(table.getInterpolation(), loaded.getInterpolation());
+        assertEquals(table.getPoints(), loaded.getPoints());
+        assertEquals(table.getMaxError(), loaded.getMaxError());
+        Random random = new Random(5);
+        for (int i = 0; i < 10_000; i++) {
+            double x = -12 + 24 * random.nextDouble();
+            assertEquals(table.applyAsDouble(x), loaded.applyAsDouble(x));
+        }
+    }
+
+    @Test
+    void testCorruptStreamRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TabulatedFunction.of(Math::sqrt, 0, 1, 64, Interpolation.LINEAR).writeTo(bytes);
+        byte[] data = bytes.toByteArray();
+        data[100] ^= 1;
+        assertThrows(IOException.class, () -> TabulatedFunction.readFrom(new ByteArrayInputStream(data), Math::sqrt));
+        assertThrows(IOException.class,
+                () -> TabulatedFunction.readFrom(new ByteArrayInputStream(new byte[64]), Math::sqrt));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> TabulatedFunction.of(Math::sin, 1, 1, 100, Interpolation.LINEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> TabulatedFunction.of(Math::sin, 0, 1, 3, Interpolation.LINEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> TabulatedFunction.of(Math::sin, 0, Double.POSITIVE_INFINITY, 100, Interpolation.LINEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> TabulatedFunction.of(Math::log, 0, 1, 100, Interpolation.LINEAR));
+    }
+}
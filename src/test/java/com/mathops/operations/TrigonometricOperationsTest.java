@@ -79,4 +79,86 @@ class TrigonometricOperationsTest {
         assertEquals(90.0, trigOps.radiansToDegrees(Math.PI / 2), 0.001);
         assertEquals(180.0, trigOps.radiansToDegrees(Math.PI), 0.001);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBulkSinRange() {
+        double[] in = {0.0, Math.PI / 2, Math.PI / 6, 1.0};
+        double[] out = new double[4];
+        trigOps.sin(in, out, 1, 2);
+        assertArrayEquals(new double[] {0.0, 1.0, 0.5, 0.0}, out, 0.001);
+    }
+
+    @Test
+    void testBulkMatchesScalar() {
+        double[] in = new double[1000];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = i * 0.01 - 5;
+        }
+        double[] out = new double[in.length];
+        trigOps.cos(in, out);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(trigOps.cos(in[i]), out[i]);
+        }
+    }
+
+    @Test
+    void testBulkAsinInvalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> trigOps.asin(new double[] {0.5, 2.0}, new double[2]));
+    }
+
+    @Test
+    void testSinCos() {
+        double[] pair = new double[3];
+        trigOps.sinCos(Math.PI / 6, pair, 1);
+        assertEquals(0.5, pair[1], 0.001);
+        assertEquals(Math.sqrt(3) / 2, pair[2], 0.001);
+        assertThrows(IndexOutOfBoundsException.class, () -> trigOps.sinCos(1.0, pair, 2));
+    }
+
+    @Test
+    void testPrecisionModesAgree() {
+        TrigonometricOperations strict = new TrigonometricOperations(TrigonometricPrecision.STRICT);
+        TrigonometricOperations fast = new TrigonometricOperations(TrigonometricPrecision.FAST);
+        assertEquals(TrigonometricPrecision.STANDARD, trigOps.getPrecision());
+        for (double x = -10; x <= 10; x += 0.1) {
+            assertEquals(strict.sin(x), fast.sin(x), 1e-15);
+            assertEquals(strict.cos(x), fast.cos(x), 1e-15);
+            assertEquals(strict.atan(x), fast.atan(x), 1e-15);
+            assertEquals(strict.sin(x), trigOps.sin(x), 1e-15);
+        }
+    }
+
+    @Test
+    void testBulkSinCosFast() {
+        TrigonometricOperations fast = new TrigonometricOperations(TrigonometricPrecision.FAST);
+        double[] in = {0.0, 1.0, 2.0, -3.0};
+        double[] sines = new double[4];
+        double[] cosines = new double[4];
+        fast.sinCos(in, sines, cosines);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(Math.sin(in[i]), sines[i], 1e-15);
+            assertEquals(Math.cos(in[i]), cosines[i], 1e-15);
+        }
+    }
+
+    @Test
+    void testTabulatedFastPath() {
+        TabulatedFunction sin = trigOps.tabulate(MathOperation.SIN, -Math.PI, Math.PI, 8192, Interpolation.CUBIC);
+        TrigonometricOperations tabulated = trigOps.withTable(MathOperation.SIN, sin);
+        assertTrue(sin.getMaxError() < 1e-12);
+        assertEquals(Math.sin(1.0), tabulated.sin(1.0), 1e-12);
+        assertEquals(Math.sin(10.0), tabulated.sin(10.0));
+        assertEquals(Math.cos(1.0), tabulated.cos(1.0));
+
+        double[] in = {-3, -1, 0, 2, 4};
+        double[] sines = new double[in.length];
+        double[] cosines = new double[in.length];
+        tabulated.sinCos(in, sines, cosines);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(Math.sin(in[i]), sines[i], 1e-12);
+            assertEquals(Math.cos(in[i]), cosines[i]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> trigOps.withTable(MathOperation.ASIN, sin));
+    }
+}
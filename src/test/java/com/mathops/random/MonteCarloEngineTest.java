@@ -0,0 +1,99 @@
+package com.mathops.random;
+
+import com.mathops.operations.TrigonometricPrecision;
+import com.mathops.service.Instrumentation;
+import com.mathops.service.MathService;
+import com.mathops.stats.SummaryStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloEngineTest {
+
+    /** Fraction of the unit square inside the quarter circle, pi / 4 */
+    private static final MonteCarloKernel QUARTER_CIRCLE = (random, out) -> {
+        double[] y = new double[out.length];
+        random.uniform(out);
+        random.uniform(y);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = out[i] * out[i] + y[i] * y[i] <= 1 ? 1 : 0;
+        }
+    };
+
+    private ForkJoinPool pool;
+    private MonteCarloEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        engine = new MonteCarloEngine(pool, TrigonometricPrecision.STANDARD);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testEstimatesPi() {
+        long samples = 2_000_000;
+        SummaryStatistics statistics = engine.run(1, samples, QUARTER_CIRCLE);
+        assertEquals(samples, statistics.getCount());
+        double standardError = statistics.getStandardDeviation() / Math.sqrt(samples);
+        assertEquals(Math.PI / 4, statistics.getMean(), 5 * standardError);
+    }
+
+    @Test
+    void testReproducibleWhateverThePoolSize() {
+        long samples = 50 * MonteCarloEngine.BLOCK_SIZE + 123;
+        // E[sqrt(-2 ln u)] over MathService bulk calls, independent of the samplers' own transforms
+        MathService mathService = new MathService(Instrumentation.disabled());
+        MonteCarloKernel kernel = (random, out) -> {
+            random.uniform(out);
+            for (int i = 0; i < out.length; i++) {
+                out[i] = 1 - out[i];
+            }
+            mathService.naturalLog(out, out);
+            mathService.multiply(out, fill(out.length, -2), out);
+            mathService.squareRoot(out, out);
+        };
+        SummaryStatistics expected = engine.run(9, samples, kernel);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            SummaryStatistics actual = new MonteCarloEngine(single, TrigonometricPrecision.STANDARD)
+                    .run(9, samples, kernel);
+            assertEquals(expected.getCount(), actual.getCount());
+            assertEquals(expected.getMean(), actual.getMean(), 0.0);
+            assertEquals(expected.getVariance(), actual.getVariance(), 0.0);
+            assertEquals(expected.getMax(), actual.getMax(), 0.0);
+        } finally {
+            single.shutdown();
+        }
+        assertEquals(Math.sqrt(Math.PI / 2), expected.getMean(), 0.01);
+        assertNotEquals(expected.getMean(), engine.run(10, samples, kernel).getMean());
+    }
+
+    @Test
+    void testEdgeCases() {
+        assertEquals(0, engine.run(1, 0, QUARTER_CIRCLE).getCount());
+        assertEquals(1, engine.run(1, 1, QUARTER_CIRCLE).getCount());
+        assertThrows(IllegalArgumentException.class, () -> engine.run(1, -1, QUARTER_CIRCLE));
+        IllegalStateException failure = new IllegalStateException("kernel failed");
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> engine.run(1, 100 * MonteCarloEngine.BLOCK_SIZE, (random, out) -> {
+                    throw failure;
+                }));
+        assertSame(failure, thrown);
+    }
+
+    private static double[] fill(int length, double value) {
+        double[] array = new double[length];
+        Arrays.fill(array, value);
+        return array;
+    }
+}
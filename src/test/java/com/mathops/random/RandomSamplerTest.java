@@ -0,0 +1,73 @@
+package com.mathops.random;
+
+import com.mathops.operations.TrigonometricPrecision;
+import com.mathops.stats.SummaryStatistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomSamplerTest {
+
+    private static final int SIZE = 200_001;
+
+    @Test
+    void testUniform() {
+        RandomSampler sampler = new RandomSampler(new Xoroshiro128PlusPlus(1));
+        double[] out = new double[SIZE];
+        sampler.uniform(-2, 3, out);
+        SummaryStatistics statistics = SummaryStatistics.of(out);
+        assertEquals(0.5, statistics.getMean(), 0.02);
+        assertEquals(25.0 / 12, statistics.getVariance(), 0.02);
+        assertTrue(statistics.getMin() >= -2 && statistics.getMax() < 3);
+        assertThrows(IllegalArgumentException.class, () -> sampler.uniform(1, 1, out));
+        assertThrows(IllegalArgumentException.class, () -> sampler.uniform(0, Double.POSITIVE_INFINITY, out));
+        assertThrows(IndexOutOfBoundsException.class, () -> sampler.uniform(out, SIZE, 1));
+    }
+
+    @Test
+    void testNormal() {
+        for (TrigonometricPrecision precision : TrigonometricPrecision.values()) {
+            RandomSampler sampler = new RandomSampler(new Xoroshiro128PlusPlus(2), precision);
+            double[] out = new double[SIZE];
+            sampler.normal(10, 3, out);
+            SummaryStatistics statistics = SummaryStatistics.of(out);
+            assertEquals(10, statistics.getMean(), 0.03, precision.name());
+            assertEquals(9, statistics.getVariance(), 0.1, precision.name());
+            long withinOneSd = 0;
+            for (double value : out) {
+                if (Math.abs(value - 10) < 3) {
+                    withinOneSd++;
+                }
+            }
+            assertEquals(0.6827, (double) withinOneSd / SIZE, 0.005, precision.name());
+        }
+        RandomSampler sampler = new RandomSampler(new Xoroshiro128PlusPlus(2));
+        assertThrows(IllegalArgumentException.class, () -> sampler.normal(0, -1, new double[1]));
+    }
+
+    @Test
+    void testNormalRangesAreSeamless() {
+        double[] whole = new double[1001];
+        new RandomSampler(new Xoroshiro128PlusPlus(5)).normal(whole);
+        // An odd-length range stops after the cosine half of its last pair
+        double[] parts = new double[1001];
+        RandomSampler sampler = new RandomSampler(new Xoroshiro128PlusPlus(5));
+        sampler.normal(0, 1, parts, 0, 600);
+        sampler.normal(0, 1, parts, 600, 401);
+        assertArrayEquals(whole, parts);
+        sampler.normal(0, 1, parts, 3, 0);
+        assertArrayEquals(whole, parts);
+    }
+
+    @Test
+    void testExponential() {
+        RandomSampler sampler = new RandomSampler(new Xoroshiro128PlusPlus(4));
+        double[] out = new double[SIZE];
+        sampler.exponential(0.5, out);
+        SummaryStatistics statistics = SummaryStatistics.of(out);
+        assertEquals(2, statistics.getMean(), 0.02);
+        assertEquals(4, statistics.getVariance(), 0.1);
+        assertTrue(statistics.getMin() >= 0);
+        assertThrows(IllegalArgumentException.class, () -> sampler.exponential(0, out));
+    }
+}
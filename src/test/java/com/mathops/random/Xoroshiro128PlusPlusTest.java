@@ -0,0 +1,71 @@
+package com.mathops.random;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Xoroshiro128PlusPlusTest {
+
+    @Test
+    void testReferenceOutput() {
+        // First output of SplitMix64 seeded with 0
+        assertEquals(0xe220a8397b1dcdafL, Xoroshiro128PlusPlus.mix64(Xoroshiro128PlusPlus.GOLDEN_GAMMA));
+        // Computed with an independent implementation of the reference algorithm
+        Xoroshiro128PlusPlus generator = new Xoroshiro128PlusPlus(42);
+        assertEquals(-1690267358668702685L, generator.nextLong());
+        assertEquals(6098722386207918385L, generator.nextLong());
+        assertEquals(-905081495677017275L, generator.nextLong());
+    }
+
+    @Test
+    void testJump() {
+        Xoroshiro128PlusPlus root = new Xoroshiro128PlusPlus(42);
+        Xoroshiro128PlusPlus first = root.jump();
+        assertEquals(new Xoroshiro128PlusPlus(42).nextLong(), first.nextLong());
+        // 2^64 steps ahead, as computed from the transition matrix raised to 2^64
+        assertEquals(-2393818737776610973L, root.nextLong());
+        Xoroshiro128PlusPlus second = new Xoroshiro128PlusPlus(42);
+        second.jump();
+        assertEquals(-2393818737776610973L, second.jump().nextLong());
+    }
+
+    @Test
+    void testReproducibleAndSplit() {
+        Xoroshiro128PlusPlus a = new Xoroshiro128PlusPlus(7);
+        Xoroshiro128PlusPlus b = new Xoroshiro128PlusPlus(7);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+        }
+        Xoroshiro128PlusPlus child = a.split();
+        b.split();
+        assertEquals(a.nextLong(), b.nextLong());
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(seen.add(a.nextLong()));
+            assertTrue(seen.add(child.nextLong()));
+        }
+        assertNotEquals(new Xoroshiro128PlusPlus(0).nextLong(), new Xoroshiro128PlusPlus(1).nextLong());
+    }
+
+    @Test
+    void testBoundedValues() {
+        Xoroshiro128PlusPlus generator = new Xoroshiro128PlusPlus(3);
+        int[] counts = new int[6];
+        double sum = 0;
+        for (int i = 0; i < 60_000; i++) {
+            double u = generator.nextDouble();
+            assertTrue(u >= 0 && u < 1);
+            sum += u;
+            counts[generator.nextInt(6)]++;
+        }
+        assertEquals(0.5, sum / 60_000, 0.01);
+        for (int count : counts) {
+            assertEquals(10_000, count, 500);
+        }
+        assertEquals(0, generator.nextInt(1));
+        assertThrows(IllegalArgumentException.class, () -> generator.nextInt(0));
+    }
+}
@@ -0,0 +1,256 @@
+package com.mathops.service;
+
+import com.mathops.operations.MathOperation;
+import com.mathops.operations.OperationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncMathServiceTest {
+
+    private final OperationRegistry registry = OperationRegistry.standard();
+    private AsyncMathService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    private static Throwable failure(CompletableFuture<Double> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        return e.getCause();
+    }
+
+    @Test
+    void testResultsMatchScalarOperatorsAcrossThreads() throws Exception {
+        service = new AsyncMathService();
+        MathOperation[] operations = {MathOperation.ADD, MathOperation.DIVIDE, MathOperation.POWER,
+                MathOperation.SIN, MathOperation.SQUARE_ROOT, MathOperation.NATURAL_LOG, MathOperation.FACTORIAL};
+        int threads = 4;
+        int perThread = 5000;
+        List<Thread> workers = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            workers.add(new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                List<CompletableFuture<Double>> futures = new ArrayList<>();
+                double[] expected = new double[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    MathOperation operation = operations[i % operations.length];
+                    double a = operation == MathOperation.FACTORIAL ? random.nextInt(20) : random.nextDouble(0.5, 50);
+                    double b = random.nextDouble(0.5, 5);
+                    if (operation.arity() == 1) {
+                        expected[i] = registry.unary(operation).applyAsDouble(a);
+                        futures.add(service.submit(operation, a));
+                    } else {
+                        expected[i] = registry.binary(operation).applyAsDouble(a, b);
+                        futures.add(service.submit(operation, a, b));
+                    }
+                }
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        assertEquals(expected[i], futures.get(i).get(10, TimeUnit.SECONDS));
+                    }
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (error.get() != null) {
+            throw new AssertionError(error.get());
+        }
+        service.close();
+        // Requests that found their queue full ran on the submitting thread
+        assertEquals(threads * perThread, service.getRequestCount() + service.getOverloadCount());
+    }
+
+    @Test
+    void testRequestsAreCoalescedIntoBatches() throws Exception {
+        service = new AsyncMathService(registry, 64, 0, 1024, OverloadPolicy.CALLER_RUNS);
+        CountDownLatch release = new CountDownLatch(1);
+        blockDispatcher(release);
+        List<CompletableFuture<Double>> futures = new ArrayList<>();
+        for (int i = 0; i < 640; i++) {
+            futures.add(service.submit(MathOperation.COS, i));
+        }
+        release.countDown();
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(Math.cos(i), futures.get(i).get(10, TimeUnit.SECONDS));
+        }
+        service.close();
+        // The blocking request, then ten full batches
+        assertEquals(641, service.getRequestCount());
+        assertEquals(11, service.getBatchCount());
+    }
+
+    @Test
+    void testLingerWaitsForBurstToFillBatch() throws Exception {
+        service = new AsyncMathService(registry, 32, TimeUnit.SECONDS.toNanos(5), 1024, OverloadPolicy.CALLER_RUNS);
+        // Let the dispatcher go idle, so the first request starts a linger period
+        Thread.sleep(100);
+        List<CompletableFuture<Double>> futures = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            futures.add(service.submit(MathOperation.SIN, i));
+        }
+        // The full batch wakes the dispatcher long before the linger time ends
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(Math.sin(i), futures.get(i).get(2, TimeUnit.SECONDS));
+        }
+        service.close();
+        assertEquals(1, service.getBatchCount());
+    }
+
+    @Test
+    void testInvalidArgumentFailsOnlyItsRequest() throws Exception {
+        service = new AsyncMathService(registry, 64, TimeUnit.MILLISECONDS.toNanos(200), 1024,
+                OverloadPolicy.CALLER_RUNS);
+        CompletableFuture<Double> before = service.submit(MathOperation.DIVIDE, 1, 4);
+        CompletableFuture<Double> invalid = service.submit(MathOperation.DIVIDE, 1, 0);
+        CompletableFuture<Double> after = service.submit(MathOperation.DIVIDE, 3, 2);
+        CompletableFuture<Double> log = service.submit(MathOperation.NATURAL_LOG, -1);
+        assertEquals(0.25, before.get(10, TimeUnit.SECONDS));
+        assertEquals(1.5, after.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, failure(invalid));
+        assertInstanceOf(IllegalArgumentException.class, failure(log));
+    }
+
+    @Test
+    void testCallbacksReceivePrimitiveResults() throws Exception {
+        service = new AsyncMathService();
+        CountDownLatch done = new CountDownLatch(2);
+        double[] result = new double[1];
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        service.submit(MathOperation.POWER, 2, 10, new ResultCallback() {
+            @Override
+            public void onResult(double value) {
+                result[0] = value;
+                done.countDown();
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                done.countDown();
+            }
+        });
+        service.submit(MathOperation.SQUARE_ROOT, -4, new ResultCallback() {
+            @Override
+            public void onResult(double value) {
+                done.countDown();
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                error.set(e);
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(1024, result[0]);
+        assertInstanceOf(IllegalArgumentException.class, error.get());
+    }
+
+    /** Blocks the dispatcher inside a callback so the queue can be filled */
+    private void blockDispatcher(CountDownLatch release) throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        service.submit(MathOperation.ABSOLUTE, -1, new ResultCallback() {
+            @Override
+            public void onResult(double value) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                blocked.countDown();
+            }
+        });
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRejectPolicyFailsFastWhenQueueIsFull() throws Exception {
+        service = new AsyncMathService(registry, 4, 0, 4, OverloadPolicy.REJECT);
+        CountDownLatch release = new CountDownLatch(1);
+        blockDispatcher(release);
+        List<CompletableFuture<Double>> queued = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            queued.add(service.submit(MathOperation.ABSOLUTE, -i));
+        }
+        CompletableFuture<Double> rejected = service.submit(MathOperation.ABSOLUTE, -9);
+        assertInstanceOf(RejectedExecutionException.class, failure(rejected));
+        assertEquals(1, service.getOverloadCount());
+        release.countDown();
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, queued.get(i).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testCallerRunsPolicyComputesOnSubmittingThread() throws Exception {
+        service = new AsyncMathService(registry, 4, 0, 4, OverloadPolicy.CALLER_RUNS);
+        CountDownLatch release = new CountDownLatch(1);
+        blockDispatcher(release);
+        for (int i = 0; i < 4; i++) {
+            service.submit(MathOperation.ABSOLUTE, -i);
+        }
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> completedOn = new AtomicReference<>();
+        CompletableFuture<Double> overflow = service.submit(MathOperation.ABSOLUTE, -9);
+        assertTrue(overflow.isDone());
+        overflow.thenRun(() -> completedOn.set(Thread.currentThread()));
+        assertSame(caller, completedOn.get());
+        assertEquals(9, overflow.get());
+        assertEquals(1, service.getOverloadCount());
+        release.countDown();
+    }
+
+    @Test
+    void testCloseCompletesQueuedRequestsAndRejectsNewOnes() throws Exception {
+        service = new AsyncMathService(registry, 16, TimeUnit.SECONDS.toNanos(5), 1024, OverloadPolicy.CALLER_RUNS);
+        List<CompletableFuture<Double>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(service.submit(MathOperation.MULTIPLY, i, 2));
+        }
+        service.close();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(futures.get(i).isDone());
+            assertEquals(2.0 * i, futures.get(i).get());
+        }
+        assertInstanceOf(RejectedExecutionException.class, failure(service.submit(MathOperation.SIN, 1)));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        service = new AsyncMathService();
+        assertThrows(IllegalArgumentException.class, () -> service.submit(MathOperation.ADD, 1));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(MathOperation.SIN, 1, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AsyncMathService(registry, 0, 0, 16, OverloadPolicy.REJECT));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AsyncMathService(registry, 16, -1, 16, OverloadPolicy.REJECT));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AsyncMathService(registry, 16, 0, 100, OverloadPolicy.REJECT));
+    }
+}
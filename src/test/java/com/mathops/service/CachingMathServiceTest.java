@@ -0,0 +1,131 @@
+package com.mathops.service;
+
+import com.mathops.operations.MathOperation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingMathServiceTest {
+
+    @Test
+    void testResultsMatchUncachedService() {
+        CachingMathService cached = new CachingMathService(64);
+        MathService plain = new MathService(Instrumentation.disabled());
+        for (int round = 0; round < 3; round++) {
+            for (double x = 0.5; x < 20; x += 0.5) {
+                assertEquals(plain.power(x, 1.5), cached.power(x, 1.5));
+                assertEquals(plain.naturalLog(x), cached.naturalLog(x));
+                assertEquals(plain.log10(x), cached.log10(x));
+                assertEquals(plain.sin(x), cached.sin(x));
+                assertEquals(plain.cos(x), cached.cos(x));
+                assertEquals(plain.tan(x), cached.tan(x));
+            }
+            for (int n = 0; n <= 20; n++) {
+                assertEquals(plain.factorial(n), cached.factorial(n));
+            }
+        }
+    }
+
+    @Test
+    void testHitAndMissCounts() {
+        CachingMathService cached = new CachingMathService(64);
+        cached.sin(1.0);
+        cached.sin(1.0);
+        cached.sin(1.0);
+        cached.sin(2.0);
+        CacheStats stats = cached.cacheStats(MathOperation.SIN);
+        assertEquals(2, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate(), 1e-9);
+        assertEquals(CachingMathService.CACHEABLE_OPERATIONS.size(), cached.cacheStats().size());
+    }
+
+    @Test
+    void testSignedZeroIsDistinct() {
+        CachingMathService cached = new CachingMathService(64);
+        assertEquals(Double.doubleToRawLongBits(0.0), Double.doubleToRawLongBits(cached.sin(0.0)));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(cached.sin(-0.0)));
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        CachingMathService cached = new CachingMathService(64);
+        assertThrows(IllegalArgumentException.class, () -> cached.naturalLog(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> cached.naturalLog(-1.0));
+        assertThrows(ArithmeticException.class, () -> cached.factorial(25));
+        assertEquals(0, cached.cacheStats(MathOperation.NATURAL_LOG).getHits());
+    }
+
+    @Test
+    void testPerOperationConfiguration() {
+        Map<MathOperation, Integer> capacities = new EnumMap<>(MathOperation.class);
+        capacities.put(MathOperation.COS, 16);
+        CachingMathService cached = new CachingMathService(Instrumentation.disabled(), capacities);
+        assertEquals(16, cached.cacheStats(MathOperation.COS).getCapacity());
+        assertNull(cached.cacheStats(MathOperation.SIN));
+        assertEquals(Math.sin(1.0), cached.sin(1.0));
+
+        capacities.put(MathOperation.ADD, 16);
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingMathService(Instrumentation.disabled(), capacities));
+    }
+
+    @Test
+    void testEvictionKeepsCapacityBounded() {
+        CachingMathService cached = new CachingMathService(16);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(Math.log(i + 1.0), cached.naturalLog(i + 1.0));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            cached.naturalLog(i + 1.0);
+        }
+        CacheStats stats = cached.cacheStats(MathOperation.NATURAL_LOG);
+        assertEquals(16, stats.getCapacity());
+        assertTrue(stats.getHits() < 100, "hits: " + stats.getHits());
+    }
+
+    @Test
+    void testRecentlyUsedEntriesSurvive() {
+        CachingMathService cached = new CachingMathService(16);
+        for (int i = 0; i < 1_000; i++) {
+            cached.cos(0.5);
+            cached.cos(i + 1.0);
+        }
+        CacheStats stats = cached.cacheStats(MathOperation.COS);
+        assertTrue(stats.getHits() >= 990, "hits: " + stats.getHits());
+    }
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+        CachingMathService cached = new CachingMathService(256);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int seed = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 200_000; i++) {
+                        double x = ((i * 31 + seed) % 1000) * 0.01;
+                        if (cached.sin(x) != Math.sin(x) || cached.power(x, 2.5) != Math.pow(x, 2.5)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.mathops.service;
+
+import com.mathops.operations.Complex;
+import com.mathops.operations.Interval;
+import com.mathops.operations.MathOperation;
+import com.mathops.operations.OperationRegistry;
+import com.mathops.operations.TrigonometricPrecision;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MathServiceTest {
+
+    @Test
+    void testDisabledInstrumentation() {
+        MathService mathService = new MathService(Instrumentation.disabled());
+        assertEquals(8.0, mathService.add(5.0, 3.0), 0.001);
+        assertFalse(mathService.getInstrumentation().isMetricsEnabled());
+        assertNull(mathService.getInstrumentation().getMetrics());
+        assertFalse(mathService.getInstrumentation().shouldLog());
+    }
+
+    @Test
+    void testMetricsCountCalls() {
+        MathService mathService = new MathService(new Instrumentation(LoggingMode.OFF, 1, true));
+        for (int i = 0; i < 100; i++) {
+            mathService.add(i, 1);
+        }
+        mathService.sin(1.0);
+        mathService.factorial(5);
+
+        OperationMetrics metrics = mathService.getInstrumentation().getMetrics();
+        Map<MathOperation, OperationStats> snapshot = metrics.snapshot();
+        assertEquals(3, snapshot.size());
+        assertEquals(100, snapshot.get(MathOperation.ADD).getCount());
+        assertEquals(1, snapshot.get(MathOperation.SIN).getCount());
+        assertEquals(1, snapshot.get(MathOperation.FACTORIAL).getCount());
+        assertTrue(snapshot.get(MathOperation.ADD).getP50Nanos() <= snapshot.get(MathOperation.ADD).getMaxNanos());
+        assertEquals(100L, metrics.getCounts().get("add"));
+
+        metrics.reset();
+        assertTrue(metrics.snapshot().isEmpty());
+    }
+
+    @Test
+    void testMetricsCountBatches() {
+        MathService mathService = new MathService(new Instrumentation(LoggingMode.OFF, 1, true));
+        double[] values = new double[64];
+        mathService.add(1.0, 2.0);
+        mathService.add(values, values, new double[64]);
+        mathService.add(values, values, new double[64]);
+        mathService.sin(values, new double[64]);
+
+        OperationStats add = mathService.getInstrumentation().getMetrics().snapshot(MathOperation.ADD);
+        assertEquals(1, add.getCount());
+        assertEquals(2, add.getBatchCount());
+        assertEquals(128, add.getBatchElements());
+        OperationStats sin = mathService.getInstrumentation().getMetrics().snapshot(MathOperation.SIN);
+        assertEquals(0, sin.getCount());
+        assertEquals(1, sin.getBatchCount());
+        assertEquals(64L, mathService.getInstrumentation().getMetrics().getBatchElements().get("sin"));
+        assertEquals(0L, mathService.getInstrumentation().getMetrics().getCounts().get("sin"));
+    }
+
+    @Test
+    void testFailedCallsAreNotCounted() {
+        MathService mathService = new MathService(new Instrumentation(LoggingMode.OFF, 1, true));
+        assertThrows(IllegalArgumentException.class, () -> mathService.divide(1.0, 0.0));
+        assertEquals(0, mathService.getInstrumentation().getMetrics().snapshot(MathOperation.DIVIDE).getCount());
+    }
+
+    @Test
+    void testLoggingModes() {
+        assertTrue(new Instrumentation(LoggingMode.ALL, 1000, false).shouldLog());
+        assertTrue(new Instrumentation(LoggingMode.SAMPLED, 1, false).shouldLog());
+        assertThrows(IllegalArgumentException.class, () -> new Instrumentation(LoggingMode.SAMPLED, 0, false));
+    }
+
+    @Test
+    void testHistogramBuckets() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 100, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index < LatencyHistogram.BUCKET_COUNT);
+            long lower = LatencyHistogram.bucketLowerBound(index);
+            assertTrue(lower <= value);
+            assertTrue(value - lower <= Math.max(0, value / 8), "bucket too wide for " + value);
+        }
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+        long[] counts = histogram.counts();
+        long p50 = LatencyHistogram.percentile(counts, 100, 50);
+        long p99 = LatencyHistogram.percentile(counts, 100, 99);
+        assertTrue(p50 >= 50_000 * 7 / 8 && p50 <= 50_000, "p50 was " + p50);
+        assertTrue(p99 >= 99_000 * 7 / 8 && p99 <= 99_000, "p99 was " + p99);
+    }
+
+    @Test
+    void testOperatorsGoThroughService() {
+        MathService mathService = new MathService(new Instrumentation(LoggingMode.OFF, 1, true));
+        assertEquals(7.0, mathService.binaryOperator(MathOperation.ADD).applyAsDouble(3, 4), 0.001);
+        assertEquals(24.0, mathService.unaryOperator(MathOperation.FACTORIAL).applyAsDouble(4), 0.001);
+        assertEquals(1, mathService.getInstrumentation().getMetrics().snapshot(MathOperation.ADD).getCount());
+        assertEquals(1, mathService.getInstrumentation().getMetrics().snapshot(MathOperation.FACTORIAL).getCount());
+
+        assertThrows(IllegalArgumentException.class, () -> mathService.unaryOperator(MathOperation.ADD));
+        assertThrows(IllegalArgumentException.class, () -> mathService.binaryOperator(MathOperation.SIN));
+        assertThrows(IllegalArgumentException.class,
+                () -> mathService.unaryOperator(MathOperation.FACTORIAL).applyAsDouble(1.5));
+    }
+
+    @Test
+    void testFactorialOperatorMatchesRegistry() {
+        DoubleUnaryOperator service = new MathService().unaryOperator(MathOperation.FACTORIAL);
+        DoubleUnaryOperator registry = OperationRegistry.standard().unary(MathOperation.FACTORIAL);
+        for (int n = 0; n <= 20; n++) {
+            assertEquals(service.applyAsDouble(n), registry.applyAsDouble(n));
+        }
+        for (double n : new double[] {21, 25, 200}) {
+            assertThrows(ArithmeticException.class, () -> service.applyAsDouble(n));
+            assertThrows(ArithmeticException.class, () -> registry.applyAsDouble(n));
+        }
+        for (double n : new double[] {-1, 2.5, 1e10, Double.NaN}) {
+            assertThrows(IllegalArgumentException.class, () -> service.applyAsDouble(n));
+            assertThrows(IllegalArgumentException.class, () -> registry.applyAsDouble(n));
+        }
+    }
+
+    @Test
+    void testComplexOperations() {
+        MathService mathService = new MathService(new Instrumentation(LoggingMode.OFF, 1, false));
+        assertEquals(Complex.of(-5, 10), mathService.multiply(Complex.of(1, 2), Complex.of(3, 4)));
+        assertEquals(5.0, mathService.absolute(Complex.of(3, 4)), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> mathService.divide(Complex.ONE, Complex.ZERO));
+
+        double[] re = {1, 0};
+        double[] im = {0, 1};
+        double[] outRe = new double[2];
+        double[] outIm = new double[2];
+        mathService.multiply(re, im, re, im, outRe, outIm);
+        assertArrayEquals(new double[] {1, -1}, outRe, 1e-12);
+        assertArrayEquals(new double[] {0, 0}, outIm, 1e-12);
+    }
+
+    @Test
+    void testExactIntegerOperations() {
+        MathService mathService = new MathService(new Instrumentation(LoggingMode.OFF, 1, false));
+        assertEquals(9_007_199_254_740_993L, mathService.addExact(9_007_199_254_740_992L, 1));
+        assertEquals(-4L, mathService.floorDivide(-7, 2));
+        assertEquals(Long.MAX_VALUE, mathService.saturatedMultiply(Long.MAX_VALUE, 2));
+        assertThrows(ArithmeticException.class, () -> mathService.multiplyExact(Long.MAX_VALUE, 2));
+        assertThrows(IllegalArgumentException.class, () -> mathService.floorModulo(1, 0));
+
+        long[] a = {10, -10, 1L << 60};
+        long[] b = {3, 3, 4};
+        long[] out = new long[3];
+        mathService.floorModulo(a, b, out);
+        assertArrayEquals(new long[] {1, 2, 0}, out);
+        mathService.addExact(a, b, out);
+        assertArrayEquals(new long[] {13, -7, (1L << 60) + 4}, out);
+        assertEquals((1L << 60) + 10, mathService.sumExact(out));
+    }
+
+    @Test
+    void testSpecialFunctions() {
+        MathService mathService = new MathService(new Instrumentation(LoggingMode.OFF, 1, false));
+        assertEquals(120.0, mathService.gamma(6), 0.0);
+        assertEquals(Math.log(120), mathService.logGamma(6), 1e-15);
+        assertEquals(1.0 / 12, mathService.beta(2, 3), 1e-16);
+        assertEquals(0.5, mathService.regularizedIncompleteBeta(0.5, 3, 3), 1e-15);
+        assertEquals(1.0, mathService.erf(1) + mathService.erfc(1), 1e-16);
+        assertEquals(1.0, mathService.besselJ0(0), 0.0);
+        assertEquals(0.0, mathService.besselJ1(0), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> mathService.gamma(-2));
+    }
+
+    @Test
+    void testArbitraryPrecision() {
+        MathService mathService = new MathService(new Instrumentation(LoggingMode.OFF, 1, false),
+                TrigonometricPrecision.STANDARD, new MathContext(40));
+        assertEquals(new MathContext(40), mathService.getMathContext());
+        assertEquals(new BigDecimal("1.41421356237309504880168872420969807857"),
+                mathService.squareRoot(BigDecimal.valueOf(2)));
+        assertEquals(new BigDecimal("0.6931471805599453094172321214581765680755"),
+                mathService.naturalLog(BigDecimal.valueOf(2)));
+        assertEquals(new BigDecimal("0.3333333333333333333333333333333333333333"),
+                mathService.divide(BigDecimal.ONE, BigDecimal.valueOf(3)));
+        assertEquals(MathContext.DECIMAL128, new MathService(Instrumentation.disabled()).getMathContext());
+        assertThrows(IllegalArgumentException.class, () -> mathService.divide(BigDecimal.ONE, BigDecimal.ZERO));
+    }
+
+    @Test
+    void testIntervalOperations() {
+        MathService mathService = new MathService(Instrumentation.disabled());
+        Interval sum = mathService.add(Interval.point(0.1), Interval.point(0.2));
+        assertTrue(sum.contains(0.1 + 0.2) && sum.getLower() < sum.getUpper());
+        assertEquals(1.0, mathService.sin(Interval.of(1, 2)).getUpper(), 0.0);
+        assertTrue(mathService.squareRoot(Interval.of(4, 9)).contains(Interval.of(2, 3)));
+        assertTrue(mathService.degreesToRadians(Interval.point(180)).contains(Math.PI));
+        assertEquals(Interval.ENTIRE, mathService.divide(Interval.ONE, Interval.of(-1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> mathService.naturalLog(Interval.of(-1, 1)));
+    }
+}
@@ -0,0 +1,157 @@
+package com.mathops.service;
+
+import com.mathops.operations.SummationAlgorithm;
+import com.mathops.operations.TrigonometricPrecision;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelMathServiceTest {
+
+    private static final int SIZE = 100_003;
+
+    private ForkJoinPool pool;
+    private MathService sequential;
+    private ParallelMathService parallel;
+    private double[] a;
+    private double[] b;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        sequential = new MathService(Instrumentation.disabled());
+        parallel = new ParallelMathService(Instrumentation.disabled(), TrigonometricPrecision.STANDARD, pool, 1000);
+        SplittableRandom random = new SplittableRandom(42);
+        a = new double[SIZE];
+        b = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            a[i] = random.nextDouble(0.001, 1000);
+            b[i] = random.nextDouble(0.001, 10);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testBinaryOperationsAreBitIdentical() {
+        double[] expected = new double[SIZE];
+        double[] actual = new double[SIZE];
+
+        sequential.add(a, b, expected);
+        parallel.add(a, b, actual);
+        assertArrayEquals(expected, actual);
+
+        sequential.divide(a, b, expected);
+        parallel.divide(a, b, actual);
+        assertArrayEquals(expected, actual);
+
+        sequential.modulo(a, b, expected);
+        parallel.modulo(a, b, actual);
+        assertArrayEquals(expected, actual);
+
+        sequential.power(a, 1.7, expected);
+        parallel.power(a, 1.7, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void testUnaryOperationsAreBitIdentical() {
+        double[] expected = new double[SIZE];
+        double[] actual = new double[SIZE];
+
+        sequential.naturalLog(a, expected);
+        parallel.naturalLog(a, actual);
+        assertArrayEquals(expected, actual);
+
+        sequential.sin(a, expected);
+        parallel.sin(a, actual);
+        assertArrayEquals(expected, actual);
+
+        sequential.cubeRoot(a, expected);
+        parallel.cubeRoot(a, actual);
+        assertArrayEquals(expected, actual);
+
+        double[] expectedCos = new double[SIZE];
+        double[] actualCos = new double[SIZE];
+        sequential.sinCos(a, expected, expectedCos);
+        parallel.sinCos(a, actual, actualCos);
+        assertArrayEquals(expected, actual);
+        assertArrayEquals(expectedCos, actualCos);
+    }
+
+    @Test
+    void testReductionsAreBitIdentical() {
+        for (SummationAlgorithm algorithm : SummationAlgorithm.values()) {
+            assertEquals(sequential.sum(a, algorithm), parallel.sum(a, algorithm), algorithm.name());
+            assertEquals(sequential.dot(a, b, algorithm), parallel.dot(a, b, algorithm), algorithm.name());
+            assertEquals(sequential.sumOfSquares(a, algorithm), parallel.sumOfSquares(a, algorithm), algorithm.name());
+        }
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> parallel.dot(a, new double[10], SummationAlgorithm.PAIRWISE));
+    }
+
+    @Test
+    void testReductionsDoNotDependOnPoolSize() {
+        for (int parallelism : new int[] {1, 3, 7}) {
+            ForkJoinPool other = new ForkJoinPool(parallelism);
+            try {
+                ParallelMathService service = new ParallelMathService(
+                        Instrumentation.disabled(), TrigonometricPrecision.STANDARD, other, 1000);
+                for (SummationAlgorithm algorithm : SummationAlgorithm.values()) {
+                    String message = algorithm + " on " + parallelism + " workers";
+                    assertEquals(parallel.sum(a, algorithm), service.sum(a, algorithm), message);
+                    assertEquals(parallel.dot(a, b, algorithm), service.dot(a, b, algorithm), message);
+                    assertEquals(parallel.sumOfSquares(a, algorithm), service.sumOfSquares(a, algorithm), message);
+                }
+            } finally {
+                other.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void testInPlace() {
+        double[] expected = a.clone();
+        sequential.squareRoot(expected, expected);
+        parallel.squareRoot(a, a);
+        assertArrayEquals(expected, a);
+    }
+
+    @Test
+    void testSmallArraysStaySequential() {
+        double[] out = new double[3];
+        parallel.multiply(new double[]{1, 2, 3}, new double[]{4, 5, 6}, out);
+        assertArrayEquals(new double[]{4, 10, 18}, out);
+    }
+
+    @Test
+    void testFailureRethrowsOriginalException() {
+        b[SIZE - 1] = 0;
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> parallel.divide(a, b, new double[SIZE]));
+        assertEquals("Division by zero is not allowed", e.getMessage());
+
+        a[SIZE / 2] = -1;
+        assertThrows(IllegalArgumentException.class, () -> parallel.squareRoot(a, new double[SIZE]));
+    }
+
+    @Test
+    void testShortOutputFailsBeforeWriting() {
+        assertThrows(IndexOutOfBoundsException.class, () -> parallel.sin(a, new double[SIZE - 1]));
+        assertThrows(IndexOutOfBoundsException.class, () -> parallel.add(a, new double[10], new double[SIZE]));
+    }
+
+    @Test
+    void testInvalidThreshold() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelMathService(Instrumentation.disabled(), TrigonometricPrecision.STANDARD, pool, 0));
+    }
+}
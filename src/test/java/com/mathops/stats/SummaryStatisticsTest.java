@@ -0,0 +1,112 @@
+package com.mathops.stats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SummaryStatisticsTest {
+
+    private SummaryStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new SummaryStatistics();
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, statistics.getCount());
+        assertEquals(0.0, statistics.getSum());
+        assertTrue(Double.isNaN(statistics.getMean()));
+        assertTrue(Double.isNaN(statistics.getVariance()));
+        assertTrue(Double.isNaN(statistics.getMin()));
+        assertTrue(Double.isNaN(statistics.getMax()));
+    }
+
+    @Test
+    void testBasicStatistics() {
+        statistics.acceptAll(new double[]{2, 4, 4, 4, 5, 5, 7, 9});
+        assertEquals(8, statistics.getCount());
+        assertEquals(40.0, statistics.getSum());
+        assertEquals(5.0, statistics.getMean());
+        assertEquals(4.0, statistics.getPopulationVariance(), 1e-12);
+        assertEquals(32.0 / 7, statistics.getVariance(), 1e-12);
+        assertEquals(Math.sqrt(32.0 / 7), statistics.getStandardDeviation(), 1e-12);
+        assertEquals(2.0, statistics.getMin());
+        assertEquals(9.0, statistics.getMax());
+    }
+
+    @Test
+    void testVarianceWithLargeOffset() {
+        // The naive sum-of-squares formula loses every digit here
+        double offset = 1e9;
+        statistics.acceptAll(new double[]{offset + 4, offset + 7, offset + 13, offset + 16});
+        assertEquals(30.0, statistics.getVariance(), 1e-6);
+        assertEquals(offset + 10, statistics.getMean());
+    }
+
+    @Test
+    void testCompensatedSum() {
+        CompensatedSum sum = new CompensatedSum();
+        sum.addAll(new double[]{1.0, 1e100, 1.0, -1e100});
+        assertEquals(2.0, sum.value());
+
+        CompensatedSum tenths = new CompensatedSum();
+        double naive = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            tenths.add(0.1);
+            naive += 0.1;
+        }
+        assertEquals(100_000.0, tenths.value());
+        assertNotEquals(100_000.0, naive);
+
+        CompensatedSum infinite = new CompensatedSum();
+        infinite.addAll(new double[]{1, Double.POSITIVE_INFINITY, 2});
+        assertEquals(Double.POSITIVE_INFINITY, infinite.value());
+    }
+
+    @Test
+    void testMergeMatchesSinglePass() {
+        Random random = new Random(42);
+        double[] values = new double[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian() * 3 + 100;
+        }
+        SummaryStatistics whole = SummaryStatistics.of(values);
+
+        SummaryStatistics merged = new SummaryStatistics();
+        for (int off = 0; off < values.length; off += 1500) {
+            SummaryStatistics part = new SummaryStatistics();
+            part.acceptAll(values, off, Math.min(1500, values.length - off));
+            merged.merge(part);
+        }
+        merged.merge(new SummaryStatistics());
+
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.getSum(), merged.getSum(), 1e-9);
+        assertEquals(whole.getMean(), merged.getMean(), 1e-12);
+        assertEquals(whole.getVariance(), merged.getVariance(), 1e-9);
+        assertEquals(whole.getMin(), merged.getMin());
+        assertEquals(whole.getMax(), merged.getMax());
+    }
+
+    @Test
+    void testNanPropagates() {
+        statistics.acceptAll(new double[]{1, Double.NaN, 3});
+        assertTrue(Double.isNaN(statistics.getMean()));
+        assertTrue(Double.isNaN(statistics.getSum()));
+        assertTrue(Double.isNaN(statistics.getMax()));
+    }
+
+    @Test
+    void testRangeChecksAndReset() {
+        assertThrows(IndexOutOfBoundsException.class, () -> statistics.acceptAll(new double[4], 2, 3));
+        statistics.accept(5);
+        statistics.reset();
+        assertEquals(0, statistics.getCount());
+        assertTrue(Double.isNaN(statistics.getMin()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.mathops.stats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TDigestTest {
+
+    private TDigest digest;
+
+    @BeforeEach
+    void setUp() {
+        digest = new TDigest();
+    }
+
+    /** Fraction of the sorted data below an estimate; compares quantiles by rank rather than value */
+    private static double rankOf(double[] sorted, double estimate) {
+        int rank = Arrays.binarySearch(sorted, estimate);
+        return (double) (rank < 0 ? -rank - 1 : rank) / sorted.length;
+    }
+
+    @Test
+    void testEmptyAndSingleValue() {
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+        digest.accept(7);
+        assertEquals(7.0, digest.quantile(0));
+        assertEquals(7.0, digest.quantile(0.5));
+        assertEquals(7.0, digest.quantile(1));
+    }
+
+    @Test
+    void testUniformQuantiles() {
+        for (int i = 0; i < 100_000; i++) {
+            digest.accept(i);
+        }
+        assertEquals(100_000, digest.getCount());
+        assertEquals(0.0, digest.quantile(0));
+        assertEquals(99_999.0, digest.quantile(1));
+        for (double q : new double[]{0.001, 0.01, 0.25, 0.5, 0.75, 0.99, 0.999}) {
+            assertEquals(q * 100_000, digest.quantile(q), 100_000 * 0.005, "q=" + q);
+        }
+    }
+
+    @Test
+    void testSkewedDistributionRankError() {
+        Random random = new Random(7);
+        double[] values = new double[200_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 2);
+        }
+        digest.acceptAll(values);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : new double[]{0.001, 0.01, 0.1, 0.5, 0.9, 0.99, 0.999}) {
+            assertEquals(q, rankOf(sorted, digest.quantile(q)), 0.005, "q=" + q);
+        }
+        assertEquals(sorted[0], digest.getMin());
+        assertEquals(sorted[sorted.length - 1], digest.getMax());
+    }
+
+    @Test
+    void testMemoryIsBounded() {
+        Random random = new Random(1);
+        for (int i = 0; i < 1_000_000; i++) {
+            digest.accept(i % 2 == 0 ? i : random.nextDouble());
+        }
+        assertTrue(digest.getCentroidCount() <= 2 * TDigest.DEFAULT_COMPRESSION + 10,
+                "centroids=" + digest.getCentroidCount());
+    }
+
+    @Test
+    void testMergeOfPartitions() {
+        Random random = new Random(3);
+        double[] values = new double[100_000];
+        TDigest merged = new TDigest();
+        for (int p = 0; p < 10; p++) {
+            TDigest part = new TDigest();
+            for (int i = 0; i < 10_000; i++) {
+                double value = random.nextGaussian() + p;
+                values[p * 10_000 + i] = value;
+                part.accept(value);
+            }
+            merged.merge(part);
+        }
+        merged.merge(new TDigest());
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        assertEquals(values.length, merged.getCount());
+        assertEquals(sorted[0], merged.getMin());
+        assertEquals(sorted[sorted.length - 1], merged.getMax());
+        for (double q : new double[]{0.001, 0.01, 0.25, 0.5, 0.75, 0.99, 0.999}) {
+            assertEquals(q, rankOf(sorted, merged.quantile(q)), 0.005, "q=" + q);
+        }
+        assertTrue(merged.getCentroidCount() <= 2 * TDigest.DEFAULT_COMPRESSION + 10);
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> digest.accept(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> digest.accept(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> digest.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> digest.quantile(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new TDigest(1));
+    }
+
+    @Test
+    void testReset() {
+        digest.acceptAll(new double[]{1, 2, 3});
+        digest.reset();
+        assertEquals(0, digest.getCount());
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+        digest.accept(4);
+        assertEquals(4.0, digest.quantile(0.5));
+    }
+}
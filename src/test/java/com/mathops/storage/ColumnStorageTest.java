@@ -0,0 +1,162 @@
+package com.mathops.storage;
+
+import com.mathops.operations.MathOperation;
+import com.mathops.operations.OperationRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnStorageTest {
+
+    private static final int CHUNK = ColumnWriter.MIN_CHUNK_SIZE;
+
+    @TempDir
+    Path dir;
+
+    private static double[] randomValues(int n) {
+        Random random = new Random(7);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextGaussian() * 1e3;
+        }
+        return values;
+    }
+
+    private Path write(double[] values, boolean checksums) throws IOException {
+        Path file = dir.resolve("column.bin");
+        try (ColumnWriter writer = ColumnWriter.create(file, CHUNK, checksums)) {
+            // Mix single values and ranges that straddle chunk boundaries
+            int third = values.length / 3;
+            writer.write(values[0]);
+            writer.write(values, 1, third - 1);
+            writer.write(DoubleBuffer.wrap(values, third, third));
+            writer.write(values, 2 * third, values.length - 2 * third);
+            assertEquals(values.length, writer.getValueCount());
+        }
+        return file;
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        double[] values = randomValues(CHUNK * 5 + 17);
+        try (ColumnReader reader = ColumnReader.open(write(values, true))) {
+            assertEquals(values.length, reader.getValueCount());
+            assertEquals(6, reader.getChunkCount());
+            assertTrue(reader.hasChecksums());
+            reader.verify();
+
+            double[] copy = new double[values.length];
+            reader.forEachChunk((first, chunk) -> {
+                assertTrue(chunk.isReadOnly());
+                chunk.get(copy, (int) first, chunk.remaining());
+            });
+            assertArrayEquals(values, copy);
+            assertEquals(17, reader.chunk(5).remaining());
+
+            double[] range = new double[600];
+            reader.read(CHUNK - 100, range, 0, range.length);
+            for (int i = 0; i < range.length; i++) {
+                assertEquals(values[CHUNK - 100 + i], range[i]);
+            }
+            assertEquals(values[values.length - 1], reader.get(values.length - 1));
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.get(values.length));
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.read(values.length - 1, range, 0, 2));
+        }
+    }
+
+    @Test
+    void testWithoutChecksums() throws IOException {
+        double[] values = randomValues(CHUNK * 2);
+        Path file = write(values, false);
+        assertEquals(ColumnFormat.HEADER_SIZE + values.length * 8L, Files.size(file));
+        try (ColumnReader reader = ColumnReader.open(file)) {
+            assertFalse(reader.hasChecksums());
+            assertEquals(2, reader.getChunkCount());
+            assertEquals(values[CHUNK], reader.chunk(1).get(0));
+        }
+    }
+
+    @Test
+    void testEmptyColumn() throws IOException {
+        Path file = dir.resolve("empty.bin");
+        ColumnWriter.create(file).close();
+        try (ColumnReader reader = ColumnReader.open(file)) {
+            assertEquals(0, reader.getValueCount());
+            assertEquals(0, reader.getChunkCount());
+            reader.forEachChunk((first, chunk) -> fail("No chunks expected"));
+        }
+    }
+
+    @Test
+    void testTransform() throws IOException {
+        double[] values = randomValues(CHUNK * 3 + 5);
+        Path out = dir.resolve("result.bin");
+        try (ColumnReader reader = ColumnReader.open(write(values, true));
+             ColumnWriter writer = ColumnWriter.create(out, CHUNK, true)) {
+            reader.transform(OperationRegistry.standard().chain(MathOperation.ABSOLUTE, MathOperation.SQUARE_ROOT),
+                    writer);
+        }
+        try (ColumnReader reader = ColumnReader.open(out)) {
+            assertEquals(values.length, reader.getValueCount());
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(Math.sqrt(Math.abs(values[i])), reader.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testCorruptChunkDetected() throws IOException {
+        double[] values = randomValues(CHUNK * 3);
+        Path file = write(values, true);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), ColumnFormat.chunkOffset(1, CHUNK) + 3);
+        }
+        try (ColumnReader reader = ColumnReader.open(file)) {
+            assertNotNull(reader.chunk(0));
+            ColumnFormatException e = assertThrows(ColumnFormatException.class, () -> reader.chunk(1));
+            assertTrue(e.getMessage().contains("chunk 1"));
+            assertThrows(ColumnFormatException.class, reader::verify);
+        }
+        try (ColumnReader reader = ColumnReader.open(file, false)) {
+            assertEquals(CHUNK, reader.chunk(1).remaining());
+        }
+    }
+
+    @Test
+    void testInvalidFilesRejected() throws IOException {
+        Path file = dir.resolve("text.csv");
+        Files.write(file, new byte[100]);
+        assertThrows(ColumnFormatException.class, () -> ColumnReader.open(file));
+
+        Path column = write(randomValues(CHUNK * 2), true);
+        try (FileChannel channel = FileChannel.open(column, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(column) - 4);
+        }
+        assertThrows(ColumnFormatException.class, () -> ColumnReader.open(column));
+
+        Path unfinished = dir.resolve("unfinished.bin");
+        ColumnWriter writer = ColumnWriter.create(unfinished);
+        writer.write(randomValues(10));
+        assertThrows(ColumnFormatException.class, () -> ColumnReader.open(unfinished));
+        writer.close();
+        assertThrows(IllegalStateException.class, () -> writer.write(1.0));
+    }
+
+    @Test
+    void testChunkSizeValidated() {
+        Path file = dir.resolve("bad.bin");
+        assertThrows(IllegalArgumentException.class, () -> ColumnWriter.create(file, 16, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> ColumnWriter.create(file, ColumnWriter.MAX_CHUNK_SIZE + 1, true));
+    }
+}
@@ -0,0 +1,171 @@
+package com.mathops.web;
+
+import com.mathops.service.Instrumentation;
+import com.mathops.service.MathService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculationServerTest {
+
+    private static CalculationServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        server = new CalculationServer(new MathService(Instrumentation.disabled()),
+                new InetSocketAddress("localhost", 0), 2, 16);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        server.close();
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+    @Test
+    void testSingleOperations() throws Exception {
+        HttpResponse<String> response = get("/api/add?a=1.5&b=2");
+        assertEquals(200, response.statusCode());
+        assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(""));
+        assertEquals("{\"operation\":\"add\",\"result\":3.5}", response.body());
+        assertEquals("{\"operation\":\"squareRoot\",\"result\":4.0}", get("/api/squareRoot?a=16").body());
+        assertEquals("{\"operation\":\"factorial\",\"result\":3628800}", get("/api/factorial?a=10").body());
+        assertEquals("{\"operation\":\"divide\",\"result\":null}", get("/api/divide?a=1e308&b=1e-308").body());
+    }
+
+    @Test
+    void testErrors() throws Exception {
+        HttpResponse<String> response = get("/api/divide?a=1&b=0");
+        assertEquals(400, response.statusCode());
+        assertEquals("{\"error\":\"Division by zero is not allowed\"}", response.body());
+        assertEquals(400, get("/api/add?a=1").statusCode());
+        assertEquals(400, get("/api/add?a=x&b=1").statusCode());
+        assertEquals(400, get("/api/factorial?a=2.5").statusCode());
+        assertEquals(404, get("/api/unknown?a=1").statusCode());
+        assertEquals(405, post("/api/add?a=1&b=2", "").statusCode());
+    }
+
+    @Test
+    void testBatch() throws Exception {
+        HttpResponse<String> response = post("/api/batch", "{\"operation\": \"multiply\", \"a\": [1, 2.5, -3], \"b\": [2, 2, 2]}");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"operation\":\"multiply\",\"results\":[2.0,5.0,-6.0]}", response.body());
+        assertEquals("{\"operation\":\"power\",\"results\":[1.0,8.0]}",
+                post("/api/batch", "{\"operation\":\"power\",\"a\":[1,2],\"b\":3}").body());
+        assertEquals("{\"operation\":\"factorial\",\"results\":[1,2,6]}",
+                post("/api/batch", "{\"operation\":\"factorial\",\"a\":[1,2,3]}").body());
+        assertEquals("{\"operation\":\"sin\",\"results\":[]}",
+                post("/api/batch", "{\"operation\":\"sin\",\"a\":[]}").body());
+    }
+
+    @Test
+    void testBatchErrors() throws Exception {
+        assertEquals(400, post("/api/batch", "{\"operation\":\"add\",\"a\":[1,2],\"b\":[1]}").statusCode());
+        assertEquals(400, post("/api/batch", "{\"operation\":\"add\",\"a\":[1,2").statusCode());
+        assertEquals(400, post("/api/batch", "{\"operation\":\"sin\",\"a\":[1],\"c\":1}").statusCode());
+        assertEquals(400, post("/api/batch", "{\"operation\":\"log10\",\"a\":[1,0]}").statusCode());
+        assertEquals(404, post("/api/batch", "{\"operation\":\"foo\",\"a\":[1]}").statusCode());
+        assertEquals(405, get("/api/batch").statusCode());
+    }
+
+    @Test
+    void testLargeBatchIsStreamed() throws Exception {
+        int size = 20_000;
+        StringBuilder body = new StringBuilder("{\"operation\":\"absolute\",\"a\":[");
+        for (int i = 0; i < size; i++) {
+            body.append(i == 0 ? "" : ",").append(-i);
+        }
+        body.append("]}");
+        HttpResponse<String> response = post("/api/batch", body.toString());
+        assertEquals(200, response.statusCode());
+        assertFalse(response.headers().firstValue("Content-Length").isPresent());
+        assertTrue(response.body().startsWith("{\"operation\":\"absolute\",\"results\":[0.0,1.0,2.0,"));
+        assertTrue(response.body().endsWith("19999.0]}"));
+    }
+
+    @Test
+    void testHealthAndOperations() throws Exception {
+        assertEquals("{\"status\":\"UP\"}", get("/health").body());
+        String operations = get("/api/operations").body();
+        assertTrue(operations.startsWith("[{\"operation\":\"add\",\"arity\":2},"));
+        assertTrue(operations.contains("{\"operation\":\"sin\",\"arity\":1}"));
+    }
+
+    @Test
+    void testOverloadIsAnsweredWith503() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MathService blocking = new MathService(Instrumentation.disabled()) {
+            @Override
+            public double sin(double angle) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.sin(angle);
+            }
+        };
+        try (CalculationServer overloaded = new CalculationServer(blocking,
+                new InetSocketAddress("localhost", 0), 1, 1)) {
+            overloaded.start();
+            URI sin = URI.create("http://localhost:" + overloaded.getPort() + "/api/sin?a=0");
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            responses.add(client.sendAsync(HttpRequest.newBuilder(sin).build(), HttpResponse.BodyHandlers.ofString()));
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+            // One request fills the queue, the others are rejected while the worker is busy
+            for (int i = 0; i < 3; i++) {
+                responses.add(client.sendAsync(HttpRequest.newBuilder(sin).build(),
+                        HttpResponse.BodyHandlers.ofString()));
+            }
+            HttpResponse<String> rejected = responses.get(1)
+                    .applyToEither(responses.get(2), Function.identity())
+                    .applyToEither(responses.get(3), Function.identity())
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals(503, rejected.statusCode());
+            assertEquals("1", rejected.headers().firstValue("Retry-After").orElse(null));
+            assertEquals("{\"error\":\"Server overloaded\"}", rejected.body());
+
+            release.countDown();
+            int ok = 0;
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                int status = response.get(10, TimeUnit.SECONDS).statusCode();
+                assertTrue(status == 200 || status == 503, "status " + status);
+                ok += status == 200 ? 1 : 0;
+            }
+            assertEquals(2, ok);
+        }
+    }
+}